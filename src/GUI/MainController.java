@@ -99,8 +99,26 @@ public class MainController implements Initializable {
 		sidebarWrapText(); // for sideBarList
 		displayMessage();
 		display(); // start program with all tasks in table
+		refreshWhenOverdue();
 
 	}
+
+	// updates the table when a task becomes overdue while no command is entered
+	private void refreshWhenOverdue() {
+		_UI.setOverdueListener(new Runnable() {
+			@Override
+			public void run() {
+				Platform.runLater(new Runnable() {
+					@Override
+					public void run() {
+						if (_UI.updateOverdueTasks()) {
+							display();
+						}
+					}
+				});
+			}
+		});
+	}
 	
 	//--------------------------- HANDLE KEYS PRESSED METHODS -----------------------------
 	/**
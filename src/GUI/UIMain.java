@@ -82,6 +82,26 @@ public class UIMain extends Application {
 	public void passInput(String input) {
 		logic.run(input);
 	}	
+
+	/**
+	 * Called by MainController to be told when a task becomes overdue. The
+	 * listener is run on a background thread.
+	 * 
+	 * @param listener
+	 *            - run when the next task becomes overdue
+	 */
+	public void setOverdueListener(Runnable listener) {
+		logic.setOverdueListener(listener);
+	}
+
+	/**
+	 * Called by MainController to mark the tasks which have become overdue.
+	 * 
+	 * @return true if the status of any task was changed
+	 */
+	public boolean updateOverdueTasks() {
+		return logic.updateOverdueTasks();
+	}
 	
 	//---------------------------------- GETTERS ----------------------------------------
 	/**
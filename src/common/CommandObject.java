@@ -2,12 +2,17 @@
 
 package common;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 public class CommandObject {
 	
 	private int commandType;
 	private TaskObject taskObj;
 	private int index = -1;
 	private int lastSearchedIndex = -1;
+	// Undo or redo commands of a batch, undone or redone together from the first in the deque
+	private Deque<CommandObject> groupedCommands = new ArrayDeque<CommandObject>();
 	
 	public CommandObject() {
 	}
@@ -30,6 +35,11 @@ public class CommandObject {
 		this.lastSearchedIndex = lastSearchedIndex;
 	}
 	
+	public CommandObject(int commandType, Deque<CommandObject> groupedCommands) {
+		this.commandType = commandType;
+		this.groupedCommands = groupedCommands;
+	}
+	
 	public int getCommandType() {
 		return commandType;
 	}
@@ -45,6 +55,10 @@ public class CommandObject {
 	public int getLastSearchedIndex() {
 		return lastSearchedIndex;
 	}
+	
+	public Deque<CommandObject> getGroupedCommands() {
+		return groupedCommands;
+	}
 
 	public void setCommandType(int newCommandType) {
 		this.commandType = newCommandType;
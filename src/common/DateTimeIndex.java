@@ -0,0 +1,171 @@
+package common;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Index of the dates and times of events and deadlines, used by TaskList to find the tasks which may match a
+ * date search, and the occurrences which may clash with a new event, without going through every task. <br>
+ * Two interval trees are kept. The first holds the start and end of every event and deadline, as searched by
+ * Search: the range from start to end for an event, and the start and end on their own for a deadline. The
+ * second holds every occurrence in the task date times of the events and deadlines which are not completed,
+ * as checked for clashes by Add. A deadline occurrence is held as its start only. <br>
+ * Only a window of the occurrences of a recurrence with a count or an until date and time is stored, so the
+ * recurring tasks with occurrences after those in their task date times are also kept, for Add to generate
+ * their later occurrences when a new event goes on past them.
+ */
+class DateTimeIndex {
+
+	private IntervalTree startEndTimes = new IntervalTree();
+	private IntervalTree occurrences = new IntervalTree();
+	// Nodes added for each task, to remove them when the task is removed or changed
+	private IdentityHashMap<TaskObject, ArrayList<IntervalTree.Node>> indexedStartEndTimes =
+			new IdentityHashMap<TaskObject, ArrayList<IntervalTree.Node>>();
+	private IdentityHashMap<TaskObject, ArrayList<IntervalTree.Node>> indexedOccurrences =
+			new IdentityHashMap<TaskObject, ArrayList<IntervalTree.Node>>();
+	private Set<TaskObject> continuingRecurrences = TitleIndex.newTaskSet();
+
+	void add(TaskObject task) {
+		if (task == null || indexedStartEndTimes.containsKey(task)) {
+			return;
+		}
+		indexedStartEndTimes.put(task, addStartEndTimes(task));
+		indexedOccurrences.put(task, addOccurrences(task));
+		if (hasLaterOccurrences(task)) {
+			continuingRecurrences.add(task);
+		}
+	}
+
+	void remove(TaskObject task) {
+		if (task == null || !indexedStartEndTimes.containsKey(task)) {
+			return;
+		}
+		removeNodes(startEndTimes, indexedStartEndTimes.remove(task));
+		removeNodes(occurrences, indexedOccurrences.remove(task));
+		continuingRecurrences.remove(task);
+	}
+
+	// Re-indexes the task with its current category, status, dates and times
+	void update(TaskObject task) {
+		if (task != null && indexedStartEndTimes.containsKey(task)) {
+			remove(task);
+			add(task);
+		}
+	}
+
+	void clear() {
+		startEndTimes.clear();
+		occurrences.clear();
+		indexedStartEndTimes.clear();
+		indexedOccurrences.clear();
+		continuingRecurrences.clear();
+	}
+
+	/**
+	 * Returns the events whose range from start to end overlaps the range from start to end, both inclusive,
+	 * and the deadlines whose start or end is within the range.
+	 */
+	Set<TaskObject> getTasksOverlapping(LocalDateTime start, LocalDateTime end) {
+		ArrayList<IntervalTree.Node> nodes = new ArrayList<IntervalTree.Node>();
+		startEndTimes.findOverlapping(toSeconds(start), toSeconds(end), nodes);
+		Set<TaskObject> tasks = TitleIndex.newTaskSet();
+		for (int i = 0; i < nodes.size(); i++) {
+			tasks.add(nodes.get(i).getTask());
+		}
+		return tasks;
+	}
+
+	/**
+	 * Returns the occurrences of events and deadlines which are not completed that overlap the range from
+	 * start to end, both inclusive, grouped by task.
+	 */
+	IdentityHashMap<TaskObject, ArrayList<LocalDateTimePair>> getOccurrencesOverlapping(LocalDateTime start,
+			LocalDateTime end) {
+		ArrayList<IntervalTree.Node> nodes = new ArrayList<IntervalTree.Node>();
+		occurrences.findOverlapping(toSeconds(start), toSeconds(end), nodes);
+		IdentityHashMap<TaskObject, ArrayList<LocalDateTimePair>> overlappingOccurrences =
+				new IdentityHashMap<TaskObject, ArrayList<LocalDateTimePair>>();
+		for (int i = 0; i < nodes.size(); i++) {
+			TaskObject task = nodes.get(i).getTask();
+			if (!overlappingOccurrences.containsKey(task)) {
+				overlappingOccurrences.put(task, new ArrayList<LocalDateTimePair>());
+			}
+			overlappingOccurrences.get(task).add(nodes.get(i).getDateTimePair());
+		}
+		return overlappingOccurrences;
+	}
+
+	/**
+	 * Returns the recurring events and deadlines which are not completed that have occurrences after those in
+	 * their task date times.
+	 */
+	Set<TaskObject> getTasksWithLaterOccurrences() {
+		Set<TaskObject> tasks = TitleIndex.newTaskSet();
+		tasks.addAll(continuingRecurrences);
+		return tasks;
+	}
+
+	private ArrayList<IntervalTree.Node> addStartEndTimes(TaskObject task) {
+		ArrayList<IntervalTree.Node> nodes = new ArrayList<IntervalTree.Node>();
+		LocalDateTime startDateTime = task.getStartDateTime();
+		LocalDateTime endDateTime = task.getEndDateTime();
+		if (startDateTime == null || endDateTime == null) {
+			return nodes;
+		}
+		long start = toSeconds(startDateTime);
+		long end = toSeconds(endDateTime);
+		if (task.getCategoryType() == TaskCategory.EVENT) {
+			nodes.add(startEndTimes.add(start, end, task, null));
+		} else if (task.getCategoryType() == TaskCategory.DEADLINE) {
+			nodes.add(startEndTimes.add(start, start, task, null));
+			if (end != start) {
+				nodes.add(startEndTimes.add(end, end, task, null));
+			}
+		}
+		return nodes;
+	}
+
+	private ArrayList<IntervalTree.Node> addOccurrences(TaskObject task) {
+		ArrayList<IntervalTree.Node> nodes = new ArrayList<IntervalTree.Node>();
+		boolean isEvent = task.getCategoryType() == TaskCategory.EVENT;
+		boolean isDeadline = task.getCategoryType() == TaskCategory.DEADLINE;
+		if ((!isEvent && !isDeadline) || task.getStatusType() == TaskStatus.COMPLETED
+				|| task.getTaskDateTimes() == null) {
+			return nodes;
+		}
+		ArrayList<LocalDateTimePair> taskDateTimes = task.getTaskDateTimes();
+		for (int i = 0; i < taskDateTimes.size(); i++) {
+			LocalDateTimePair pair = taskDateTimes.get(i);
+			if (pair == null || pair.getStartDateTime() == null) {
+				continue;
+			}
+			long start = toSeconds(pair.getStartDateTime());
+			long end = start;
+			if (isEvent && pair.getEndDateTime() != null) {
+				end = toSeconds(pair.getEndDateTime());
+			}
+			nodes.add(occurrences.add(start, end, task, pair));
+		}
+		return nodes;
+	}
+
+	private static boolean hasLaterOccurrences(TaskObject task) {
+		TaskCategory category = task.getCategoryType();
+		return (category == TaskCategory.EVENT || category == TaskCategory.DEADLINE)
+				&& task.getStatusType() != TaskStatus.COMPLETED && task.getIsRecurring()
+				&& !task.isInfiniteRecurrence() && task.getPendingOccurrenceCount() > 0;
+	}
+
+	private static void removeNodes(IntervalTree tree, ArrayList<IntervalTree.Node> nodes) {
+		for (int i = 0; i < nodes.size(); i++) {
+			tree.remove(nodes.get(i));
+		}
+	}
+
+	private static long toSeconds(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,163 @@
+package common;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.PriorityQueue;
+
+/**
+ * Index of the times at which tasks become overdue, used by TaskList to find the tasks which have become
+ * overdue, and the time at which the next task does, without going through every task. <br>
+ * A task becomes overdue at its start date time if it is an event or deadline which is not recurring and is
+ * neither completed nor overdue, as marked by Overdue. A recurring event or deadline which is not completed
+ * has its current occurrence split off as overdue by Recurring once it is over, which is after the end of an
+ * event occurrence and after the start of a deadline occurrence. The tasks are kept in a priority queue
+ * ordered by the time they become overdue. Entries of tasks which are removed or changed are only marked as removed, and are
+ * dropped when they reach the head of the queue or when the queue is rebuilt.
+ */
+class DueTimeIndex {
+
+	// The queue is rebuilt once it holds more removed entries than this, and more removed entries than tasks
+	private static final int MIN_REMOVED_BEFORE_REBUILD = 64;
+
+	private static final Comparator<Entry> DUE_ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry first, Entry second) {
+			return first.dueDateTime.compareTo(second.dueDateTime);
+		}
+	};
+
+	private PriorityQueue<Entry> dueTasks = new PriorityQueue<Entry>(11, DUE_ORDER);
+	// Entry added for each task in the list, or null if the task does not become overdue
+	private IdentityHashMap<TaskObject, Entry> indexedTasks = new IdentityHashMap<TaskObject, Entry>();
+	private int removedCount = 0;
+
+	private static class Entry {
+		private final TaskObject task;
+		private final LocalDateTime dueDateTime;
+		private boolean isRemoved = false;
+
+		private Entry(TaskObject task, LocalDateTime dueDateTime) {
+			this.task = task;
+			this.dueDateTime = dueDateTime;
+		}
+	}
+
+	void add(TaskObject task) {
+		if (task == null || indexedTasks.containsKey(task)) {
+			return;
+		}
+		Entry entry = null;
+		if (isBecomingOverdue(task)) {
+			entry = new Entry(task, getDueDateTime(task));
+			dueTasks.add(entry);
+		}
+		indexedTasks.put(task, entry);
+	}
+
+	void remove(TaskObject task) {
+		if (task == null || !indexedTasks.containsKey(task)) {
+			return;
+		}
+		Entry entry = indexedTasks.remove(task);
+		if (entry != null) {
+			entry.isRemoved = true;
+			removedCount++;
+			rebuildIfMostlyRemoved();
+		}
+	}
+
+	// Re-indexes the task with its current category, status, start date time and occurrences
+	void update(TaskObject task) {
+		if (task != null && indexedTasks.containsKey(task)) {
+			remove(task);
+			add(task);
+		}
+	}
+
+	void clear() {
+		dueTasks.clear();
+		indexedTasks.clear();
+		removedCount = 0;
+	}
+
+	/**
+	 * Returns the time at which the next task becomes overdue, or null if no task will.
+	 */
+	LocalDateTime getNextDueDateTime() {
+		dropRemovedHead();
+		if (dueTasks.isEmpty()) {
+			return null;
+		}
+		return dueTasks.peek().dueDateTime;
+	}
+
+	/**
+	 * Returns the tasks which become overdue before the date time, in the order they become overdue. The
+	 * tasks stay in the index until their status is changed.
+	 */
+	ArrayList<TaskObject> getTasksDueBefore(LocalDateTime dateTime) {
+		ArrayList<Entry> dueEntries = new ArrayList<Entry>();
+		dropRemovedHead();
+		while (!dueTasks.isEmpty() && dueTasks.peek().dueDateTime.isBefore(dateTime)) {
+			dueEntries.add(dueTasks.poll());
+			dropRemovedHead();
+		}
+		ArrayList<TaskObject> tasks = new ArrayList<TaskObject>();
+		for (int i = 0; i < dueEntries.size(); i++) {
+			tasks.add(dueEntries.get(i).task);
+			dueTasks.add(dueEntries.get(i));
+		}
+		return tasks;
+	}
+
+	private static boolean isBecomingOverdue(TaskObject task) {
+		TaskCategory category = task.getCategoryType();
+		TaskStatus status = task.getStatusType();
+		if ((category != TaskCategory.EVENT && category != TaskCategory.DEADLINE)
+				|| status == TaskStatus.COMPLETED || status == TaskStatus.OVERDUE) {
+			return false;
+		}
+		if (task.getIsRecurring()) {
+			return task.getTaskDateTimes() != null && !task.getTaskDateTimes().isEmpty()
+					&& task.getTaskDateTimes().get(0).getStartDateTime() != null
+					&& task.getTaskDateTimes().get(0).getEndDateTime() != null;
+		}
+		return task.getStartDateTime() != null && !task.getStartDateTime().equals(LocalDateTime.MAX);
+	}
+
+	// The current occurrence of a recurring task is the first of its task date times
+	private static LocalDateTime getDueDateTime(TaskObject task) {
+		if (!task.getIsRecurring()) {
+			return task.getStartDateTime();
+		}
+		LocalDateTimePair occurrence = task.getTaskDateTimes().get(0);
+		if (occurrence.getEndDateTime().isEqual(LocalDateTime.MAX)) {
+			return occurrence.getStartDateTime();
+		}
+		return occurrence.getEndDateTime();
+	}
+
+	private void dropRemovedHead() {
+		while (!dueTasks.isEmpty() && dueTasks.peek().isRemoved) {
+			dueTasks.poll();
+			removedCount--;
+		}
+	}
+
+	private void rebuildIfMostlyRemoved() {
+		if (removedCount < MIN_REMOVED_BEFORE_REBUILD || removedCount < dueTasks.size() - removedCount) {
+			return;
+		}
+		PriorityQueue<Entry> remainingTasks = new PriorityQueue<Entry>(Math.max(11, indexedTasks.size()),
+				DUE_ORDER);
+		for (Entry entry : dueTasks) {
+			if (!entry.isRemoved) {
+				remainingTasks.add(entry);
+			}
+		}
+		dueTasks = remainingTasks;
+		removedCount = 0;
+	}
+}
@@ -5,6 +5,7 @@ package common;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * A class for storing relevant information about a task's recurrence. 
@@ -54,6 +55,16 @@ public class Interval implements Comparator<Interval> {
 		// Count cannot be a valid value if until exists
 	}
 
+	// Copy constructor, used when a snapshot of a task has to be kept apart from the live task
+	public Interval(Interval other) {
+		this.freq = other.getFrequency();
+		this.interval = other.getTimeInterval();
+		this.count = other.getCount();
+		this.until = other.getUntil();
+		this.byDay = other.getByDay();
+		this.byDayArray = Arrays.copyOf(other.getByDayArray(), other.getByDayArray().length);
+	}
+
 	public String getFrequency() {
 		return freq;
 	}
@@ -136,6 +147,26 @@ public class Interval implements Comparator<Interval> {
 		return 0;
 	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Interval)) {
+			return false;
+		}
+		Interval other = (Interval) obj;
+		return (Objects.equals(freq, other.getFrequency()) && interval == other.getTimeInterval()
+				&& count == other.getCount() && Objects.equals(until, other.getUntil())
+				&& Objects.equals(byDay, other.getByDay())
+				&& Arrays.equals(byDayArray, other.getByDayArray()));
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(freq, interval, count, until, byDay) * 31 + Arrays.hashCode(byDayArray);
+	}
+
 	// Returns true if all the values are the default values
 	public boolean isNull() {
 		return (freq.equals("") && interval == -1 && count == -1 && until.equals(LocalDateTime.MAX));
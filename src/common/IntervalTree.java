@@ -0,0 +1,197 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Augmented interval tree of the date and time ranges of tasks, used by DateTimeIndex to find the ranges
+ * which overlap a range of date and time in O(log n + k) time for k overlapping ranges. <br>
+ * Ranges are kept in a treap ordered by their start, and every node also keeps the latest end in its subtree,
+ * so that subtrees which end before the range searched for are skipped. Start and end are stored as seconds
+ * since the epoch, rounded down, which keeps every overlap between the original date times. Both ends of a
+ * range are inclusive.
+ */
+class IntervalTree {
+
+	private Node root = null;
+	private int size = 0;
+	// Breaks ties between ranges with the same start, so that every node has its own place in the tree
+	private long nextSequence = 0;
+	private Random random = new Random();
+
+	/**
+	 * A range in the tree, kept by the caller to remove the range later.
+	 */
+	static class Node {
+
+		private final long start;
+		private final long end;
+		private final long sequence;
+		private final int priority;
+		private final TaskObject task;
+		private final LocalDateTimePair dateTimePair;
+		private long maxEnd;
+		private Node left = null;
+		private Node right = null;
+
+		private Node(long start, long end, long sequence, int priority, TaskObject task,
+				LocalDateTimePair dateTimePair) {
+			this.start = start;
+			this.end = end;
+			this.sequence = sequence;
+			this.priority = priority;
+			this.task = task;
+			this.dateTimePair = dateTimePair;
+			this.maxEnd = end;
+		}
+
+		TaskObject getTask() {
+			return task;
+		}
+
+		LocalDateTimePair getDateTimePair() {
+			return dateTimePair;
+		}
+	}
+
+	/**
+	 * Adds the range from start to end, which are swapped if start is after end.
+	 *
+	 * @return the node of the range, to be passed to <code>remove</code>
+	 */
+	Node add(long start, long end, TaskObject task, LocalDateTimePair dateTimePair) {
+		Node node = new Node(Math.min(start, end), Math.max(start, end), nextSequence++, random.nextInt(), task,
+				dateTimePair);
+		root = insert(root, node);
+		size++;
+		return node;
+	}
+
+	void remove(Node node) {
+		int originalSize = size;
+		root = delete(root, node);
+		assert (size == originalSize - 1);
+	}
+
+	void clear() {
+		root = null;
+		size = 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Adds the nodes of the ranges which overlap the range from start to end, in order of their start.
+	 */
+	void findOverlapping(long start, long end, ArrayList<Node> overlappingNodes) {
+		findOverlapping(root, Math.min(start, end), Math.max(start, end), overlappingNodes);
+	}
+
+	private static void findOverlapping(Node node, long start, long end, ArrayList<Node> overlappingNodes) {
+		if (node == null || node.maxEnd < start) {
+			return;
+		}
+		findOverlapping(node.left, start, end, overlappingNodes);
+		if (node.start > end) {
+			return;
+		}
+		if (node.end >= start) {
+			overlappingNodes.add(node);
+		}
+		findOverlapping(node.right, start, end, overlappingNodes);
+	}
+
+	// ------------------------------------ TREAP ------------------------------------
+
+	private static Node insert(Node subtree, Node node) {
+		if (subtree == null) {
+			return node;
+		}
+		if (isBefore(node, subtree)) {
+			subtree.left = insert(subtree.left, node);
+			if (subtree.left.priority > subtree.priority) {
+				subtree = rotateRight(subtree);
+			}
+		} else {
+			subtree.right = insert(subtree.right, node);
+			if (subtree.right.priority > subtree.priority) {
+				subtree = rotateLeft(subtree);
+			}
+		}
+		updateMaxEnd(subtree);
+		return subtree;
+	}
+
+	private Node delete(Node subtree, Node node) {
+		if (subtree == null) {
+			return null;
+		}
+		if (subtree == node) {
+			size--;
+			return merge(subtree.left, subtree.right);
+		}
+		if (isBefore(node, subtree)) {
+			subtree.left = delete(subtree.left, node);
+		} else {
+			subtree.right = delete(subtree.right, node);
+		}
+		updateMaxEnd(subtree);
+		return subtree;
+	}
+
+	// Every node in the first subtree comes before every node in the second subtree
+	private static Node merge(Node first, Node second) {
+		if (first == null) {
+			return second;
+		}
+		if (second == null) {
+			return first;
+		}
+		if (first.priority > second.priority) {
+			first.right = merge(first.right, second);
+			updateMaxEnd(first);
+			return first;
+		}
+		second.left = merge(first, second.left);
+		updateMaxEnd(second);
+		return second;
+	}
+
+	private static Node rotateRight(Node node) {
+		Node newRoot = node.left;
+		node.left = newRoot.right;
+		newRoot.right = node;
+		updateMaxEnd(node);
+		updateMaxEnd(newRoot);
+		return newRoot;
+	}
+
+	private static Node rotateLeft(Node node) {
+		Node newRoot = node.right;
+		node.right = newRoot.left;
+		newRoot.left = node;
+		updateMaxEnd(node);
+		updateMaxEnd(newRoot);
+		return newRoot;
+	}
+
+	private static void updateMaxEnd(Node node) {
+		long maxEnd = node.end;
+		if (node.left != null && node.left.maxEnd > maxEnd) {
+			maxEnd = node.left.maxEnd;
+		}
+		if (node.right != null && node.right.maxEnd > maxEnd) {
+			maxEnd = node.right.maxEnd;
+		}
+		node.maxEnd = maxEnd;
+	}
+
+	private static boolean isBefore(Node first, Node second) {
+		if (first.start != second.start) {
+			return first.start < second.start;
+		}
+		return first.sequence < second.sequence;
+	}
+}
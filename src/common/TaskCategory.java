@@ -0,0 +1,45 @@
+package common;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Category of a task. <br>
+ * Tasks are saved with the name of their category, so that files saved when the category was a string can
+ * still be loaded. Any other category, including the empty category of a new TaskObject, is OTHER.
+ */
+public enum TaskCategory {
+	@SerializedName("event")
+	EVENT("event"),
+	@SerializedName("deadline")
+	DEADLINE("deadline"),
+	@SerializedName("floating")
+	FLOATING("floating"),
+	@SerializedName("")
+	OTHER("");
+
+	private final String name;
+
+	private TaskCategory(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public static TaskCategory fromName(String name) {
+		if (name == null) {
+			return OTHER;
+		}
+		switch (name) {
+		case "event":
+			return EVENT;
+		case "deadline":
+			return DEADLINE;
+		case "floating":
+			return FLOATING;
+		default:
+			return OTHER;
+		}
+	}
+}
@@ -0,0 +1,674 @@
+package common;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The list of tasks maintained by Logic, which also keeps an index from task ID to task so that a task can
+ * be found by its task ID without going through the whole list. <br>
+ * The index is updated by every method which adds, replaces or removes tasks, including removals through
+ * the iterators of the list. Sorting the list does not change the index. Changes made through
+ * <code>subList().set</code> are not tracked. <code>reindex</code> should be called after changing the task
+ * ID of a task in the list, although looking the task up by its previous task ID also rebuilds the index. <br>
+ * The first title search also builds an index from the words in the titles of the tasks, which is then kept
+ * up to date in the same way. <code>titleChanged</code> should be called after changing the title of a task
+ * in the list. <br>
+ * Likewise, the first date search or clash check builds an index of the dates and times of the events and
+ * deadlines in the list. <code>dateTimesChanged</code> should be called after changing the category, status,
+ * start or end date time, or task date times of a task in the list. The same call keeps the index of the
+ * times at which tasks become overdue up to date, which is built when it is first needed.
+ */
+public class TaskList extends ArrayList<TaskObject> {
+
+	private static final long serialVersionUID = 1L;
+
+	private TaskIdIndex index = new TaskIdIndex();
+	// Number of tasks in the list whose task ID is shared with an earlier task
+	private int duplicateCount = 0;
+	// Built on the first title search
+	private TitleIndex titleIndex = null;
+	// Built on the first date search or clash check
+	private DateTimeIndex dateTimeIndex = null;
+	// Built when the next task to become overdue is first needed
+	private DueTimeIndex dueTimeIndex = null;
+	// Changed whenever tasks are added, removed or moved, so that positions are only found again when needed.
+	// Positions stay up to date as tasks are added to the end of the list
+	private int version = 0;
+	private IdentityHashMap<TaskObject, Integer> positions = null;
+	// Last task of each task ID which is shared by several tasks, found together with the positions
+	private HashMap<Integer, TaskObject> lastDuplicates = null;
+	private int positionsVersion = -1;
+
+	public TaskList() {
+	}
+
+	public TaskList(Collection<? extends TaskObject> tasks) {
+		super(tasks);
+		reindex();
+	}
+
+	/**
+	 * Returns the list itself if it is already a TaskList, or a TaskList containing the same tasks otherwise.
+	 */
+	public static TaskList wrap(ArrayList<TaskObject> taskList) {
+		if (taskList instanceof TaskList) {
+			return (TaskList) taskList;
+		}
+		return new TaskList(taskList);
+	}
+
+	/**
+	 * Finds the task with the specified task ID, using the index of the list if it is a TaskList and going
+	 * through the list otherwise.
+	 *
+	 * @return the task with the task ID, or null if there is none
+	 */
+	public static TaskObject findByTaskId(ArrayList<TaskObject> taskList, int taskId) {
+		if (taskList instanceof TaskList) {
+			return ((TaskList) taskList).getByTaskId(taskId);
+		}
+		for (int i = 0; i < taskList.size(); i++) {
+			if (taskList.get(i).getTaskId() == taskId) {
+				return taskList.get(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the last task in the list with the specified task ID, which is the task that commands acting on a
+	 * task ID have always changed when several tasks share it.
+	 *
+	 * @return the last task with the task ID, or null if there is none
+	 */
+	public static TaskObject findLastByTaskId(ArrayList<TaskObject> taskList, int taskId) {
+		if (taskList instanceof TaskList) {
+			return ((TaskList) taskList).getLastByTaskId(taskId);
+		}
+		for (int i = taskList.size() - 1; i >= 0; i--) {
+			if (taskList.get(i).getTaskId() == taskId) {
+				return taskList.get(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Updates the title index of the list after the title of a task in it has changed. Does nothing if the
+	 * list is not a TaskList.
+	 */
+	public static void titleChanged(ArrayList<TaskObject> taskList, TaskObject task) {
+		if (taskList instanceof TaskList && ((TaskList) taskList).titleIndex != null) {
+			((TaskList) taskList).titleIndex.update(task);
+		}
+	}
+
+	/**
+	 * Updates the date time and due time indexes of the list after the category, status, dates or times of a
+	 * task in it have changed. Does nothing if the list is not a TaskList.
+	 */
+	public static void dateTimesChanged(ArrayList<TaskObject> taskList, TaskObject task) {
+		if (!(taskList instanceof TaskList)) {
+			return;
+		}
+		if (((TaskList) taskList).dateTimeIndex != null) {
+			((TaskList) taskList).dateTimeIndex.update(task);
+		}
+		if (((TaskList) taskList).dueTimeIndex != null) {
+			((TaskList) taskList).dueTimeIndex.update(task);
+		}
+	}
+
+	/**
+	 * Returns the position of the task with the specified task ID in the list, or -1 if there is none. The
+	 * position is found from the positions of the tasks in a TaskList, and by going through other lists.
+	 */
+	public static int findIndexOfTaskId(ArrayList<TaskObject> taskList, int taskId) {
+		TaskObject task = findByTaskId(taskList, taskId);
+		if (task == null) {
+			return -1;
+		}
+		if (taskList instanceof TaskList) {
+			return ((TaskList) taskList).getPosition(task);
+		}
+		// Tasks are compared by reference, so this finds the exact task object
+		return taskList.indexOf(task);
+	}
+
+	/**
+	 * Returns the position of the last task with the specified task ID in the list, or -1 if there is none.
+	 * The position is found from the positions of the tasks in a TaskList, and by going through other lists.
+	 */
+	public static int findIndexOfLastTaskId(ArrayList<TaskObject> taskList, int taskId) {
+		TaskObject task = findLastByTaskId(taskList, taskId);
+		if (task == null) {
+			return -1;
+		}
+		if (taskList instanceof TaskList) {
+			return ((TaskList) taskList).getPosition(task);
+		}
+		return taskList.lastIndexOf(task);
+	}
+
+	// ------------------------------------ LOOKUP ------------------------------------
+
+	public TaskObject getByTaskId(int taskId) {
+		TaskObject task = index.get(taskId);
+		if (task != null && task.getTaskId() != taskId) {
+			reindex();
+			task = index.get(taskId);
+		}
+		return task;
+	}
+
+	/**
+	 * Returns the last task with the specified task ID. The index holds the first such task, so the last of
+	 * the tasks sharing a task ID is found together with the positions of the tasks, when there are any.
+	 */
+	public TaskObject getLastByTaskId(int taskId) {
+		TaskObject task = getByTaskId(taskId);
+		if (task == null || duplicateCount == 0) {
+			return task;
+		}
+		updatePositions();
+		TaskObject lastTask = lastDuplicates.get(taskId);
+		if (lastTask == null) {
+			return task;
+		}
+		return lastTask;
+	}
+
+	public boolean containsTaskId(int taskId) {
+		return getByTaskId(taskId) != null;
+	}
+
+	/**
+	 * Removes every task with the specified task ID.
+	 *
+	 * @return true if any task was removed
+	 */
+	public boolean removeByTaskId(int taskId) {
+		boolean isRemoved = false;
+		TaskObject task = getByTaskId(taskId);
+		while (task != null) {
+			remove(task);
+			isRemoved = true;
+			task = getByTaskId(taskId);
+		}
+		return isRemoved;
+	}
+
+	/**
+	 * Rebuilds the indexes from the tasks currently in the list.
+	 */
+	public void reindex() {
+		index.clear();
+		duplicateCount = 0;
+		if (titleIndex != null) {
+			titleIndex.clear();
+		}
+		if (dateTimeIndex != null) {
+			dateTimeIndex.clear();
+		}
+		if (dueTimeIndex != null) {
+			dueTimeIndex.clear();
+		}
+		for (int i = 0; i < size(); i++) {
+			indexTask(get(i));
+		}
+		version++;
+	}
+
+	// ------------------------------------ TITLE SEARCH ------------------------------------
+
+	/**
+	 * Returns the tasks with a word in the title, lowercased and split on spaces, which is equal to the word.
+	 */
+	public Set<TaskObject> getTasksWithTitleWord(String word) {
+		return Collections.unmodifiableSet(getTitleIndex().getTasksWithWord(word));
+	}
+
+	/**
+	 * Returns the tasks with a word in the title, lowercased and split on spaces, which starts with the prefix.
+	 * Words with surrounding whitespace are also checked with the whitespace trimmed.
+	 */
+	public Set<TaskObject> getTasksWithTitleWordStartingWith(String prefix) {
+		return getTitleIndex().getTasksWithWordStartingWith(prefix);
+	}
+
+	/**
+	 * Returns the tasks with a word in the title, lowercased and split on spaces, which ends with the suffix.
+	 * Words with surrounding whitespace are also checked with the whitespace trimmed.
+	 */
+	public Set<TaskObject> getTasksWithTitleWordEndingWith(String suffix) {
+		return getTitleIndex().getTasksWithWordEndingWith(suffix);
+	}
+
+	/**
+	 * Returns the tasks in the collection which are in this list, in the order they appear in this list.
+	 */
+	public ArrayList<TaskObject> inListOrder(Collection<TaskObject> tasks) {
+		updatePositions();
+		ArrayList<TaskObject> orderedTasks = new ArrayList<TaskObject>();
+		for (TaskObject task : tasks) {
+			if (positions.containsKey(task)) {
+				orderedTasks.add(task);
+			}
+		}
+		Collections.sort(orderedTasks, new Comparator<TaskObject>() {
+			@Override
+			public int compare(TaskObject first, TaskObject second) {
+				return Integer.compare(positions.get(first), positions.get(second));
+			}
+		});
+		return orderedTasks;
+	}
+
+	// Returns the first position of the task in the list, or -1 if it is not in the list
+	private int getPosition(TaskObject task) {
+		updatePositions();
+		Integer position = positions.get(task);
+		if (position == null) {
+			return -1;
+		}
+		return position;
+	}
+
+	// Finds the positions of the tasks again if the list has changed since they were last found
+	private void updatePositions() {
+		if (positionsVersion == version) {
+			return;
+		}
+		positions = new IdentityHashMap<TaskObject, Integer>();
+		lastDuplicates = new HashMap<Integer, TaskObject>();
+		// Going from the end of the list, the first duplicate found for a task ID is the last one
+		for (int i = size() - 1; i >= 0; i--) {
+			TaskObject task = get(i);
+			positions.put(task, i);
+			if (isDuplicate(task) && !lastDuplicates.containsKey(task.getTaskId())) {
+				lastDuplicates.put(task.getTaskId(), task);
+			}
+		}
+		positionsVersion = version;
+	}
+
+	// Keeps the positions up to date after the tasks from the position on were added to the end of the list
+	private void addPositionsFrom(int position) {
+		for (int i = position; i < size(); i++) {
+			TaskObject task = get(i);
+			if (!positions.containsKey(task)) {
+				positions.put(task, i);
+			}
+			if (isDuplicate(task)) {
+				lastDuplicates.put(task.getTaskId(), task);
+			}
+		}
+		positionsVersion = version;
+	}
+
+	// Checks if the task shares its task ID with an earlier task, which is the one held by the index
+	private boolean isDuplicate(TaskObject task) {
+		return duplicateCount > 0 && task != null && index.get(task.getTaskId()) != task;
+	}
+
+	// ------------------------------------ DATE SEARCH ------------------------------------
+
+	/**
+	 * Returns the events whose range from start to end date time overlaps the range from start to end, both
+	 * inclusive, and the deadlines whose start or end date time is within the range, whatever their status.
+	 */
+	public Set<TaskObject> getTasksOverlapping(LocalDateTime start, LocalDateTime end) {
+		return getDateTimeIndex().getTasksOverlapping(start, end);
+	}
+
+	/**
+	 * Returns the task date times of the events and deadlines which are not completed that overlap the range
+	 * from start to end, both inclusive, grouped by task. An occurrence of a deadline overlaps the range if
+	 * its start date time is within the range.
+	 */
+	public IdentityHashMap<TaskObject, ArrayList<LocalDateTimePair>> getOccurrencesOverlapping(
+			LocalDateTime start, LocalDateTime end) {
+		return getDateTimeIndex().getOccurrencesOverlapping(start, end);
+	}
+
+	/**
+	 * Returns the recurring events and deadlines which are not completed that have occurrences after those in
+	 * their task date times, which are only a window of the occurrences of a long recurrence.
+	 */
+	public Set<TaskObject> getTasksWithLaterOccurrences() {
+		return getDateTimeIndex().getTasksWithLaterOccurrences();
+	}
+
+	// ------------------------------------ OVERDUE TASKS ------------------------------------
+
+	/**
+	 * Returns the date time at which the next task becomes overdue, which is the earliest start date time of
+	 * the events and deadlines which are not recurring, completed or overdue, or the earliest time at which
+	 * the current occurrence of a recurring event or deadline which is not completed is over. Returns null if
+	 * there are no such tasks.
+	 */
+	public LocalDateTime getNextDueDateTime() {
+		return getDueTimeIndex().getNextDueDateTime();
+	}
+
+	/**
+	 * Returns the events and deadlines which are not recurring, completed or overdue that start before the
+	 * date time, and the recurring events and deadlines which are not completed whose current occurrence is
+	 * over before the date time, in the order they become overdue.
+	 */
+	public ArrayList<TaskObject> getTasksDueBefore(LocalDateTime dateTime) {
+		return getDueTimeIndex().getTasksDueBefore(dateTime);
+	}
+
+	private DueTimeIndex getDueTimeIndex() {
+		if (dueTimeIndex == null) {
+			dueTimeIndex = new DueTimeIndex();
+			for (int i = 0; i < size(); i++) {
+				dueTimeIndex.add(get(i));
+			}
+		}
+		return dueTimeIndex;
+	}
+
+	private DateTimeIndex getDateTimeIndex() {
+		if (dateTimeIndex == null) {
+			dateTimeIndex = new DateTimeIndex();
+			for (int i = 0; i < size(); i++) {
+				dateTimeIndex.add(get(i));
+			}
+		}
+		return dateTimeIndex;
+	}
+
+	private TitleIndex getTitleIndex() {
+		if (titleIndex == null) {
+			titleIndex = new TitleIndex();
+			for (int i = 0; i < size(); i++) {
+				titleIndex.add(get(i));
+			}
+		}
+		return titleIndex;
+	}
+
+	// ------------------------------------ CHANGES TO THE LIST ------------------------------------
+
+	@Override
+	public boolean add(TaskObject task) {
+		boolean isPositionsKept = positionsVersion == version;
+		super.add(task);
+		indexTask(task);
+		if (isPositionsKept) {
+			addPositionsFrom(size() - 1);
+		}
+		return true;
+	}
+
+	@Override
+	public void add(int position, TaskObject task) {
+		super.add(position, task);
+		indexTask(task);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends TaskObject> tasks) {
+		boolean isPositionsKept = positionsVersion == version;
+		int firstPosition = size();
+		boolean isChanged = super.addAll(tasks);
+		for (TaskObject task : tasks) {
+			indexTask(task);
+		}
+		if (isPositionsKept) {
+			addPositionsFrom(firstPosition);
+		}
+		return isChanged;
+	}
+
+	@Override
+	public boolean addAll(int position, Collection<? extends TaskObject> tasks) {
+		boolean isChanged = super.addAll(position, tasks);
+		for (TaskObject task : tasks) {
+			indexTask(task);
+		}
+		return isChanged;
+	}
+
+	@Override
+	public TaskObject set(int position, TaskObject task) {
+		TaskObject replacedTask = super.set(position, task);
+		unindexTask(replacedTask);
+		indexTask(task);
+		return replacedTask;
+	}
+
+	@Override
+	public TaskObject remove(int position) {
+		TaskObject removedTask = super.remove(position);
+		unindexTask(removedTask);
+		return removedTask;
+	}
+
+	@Override
+	public boolean remove(Object task) {
+		boolean isRemoved = super.remove(task);
+		if (isRemoved) {
+			unindexTask((TaskObject) task);
+		}
+		return isRemoved;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> tasks) {
+		boolean isChanged = super.removeAll(tasks);
+		reindex();
+		return isChanged;
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> tasks) {
+		boolean isChanged = super.retainAll(tasks);
+		reindex();
+		return isChanged;
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super TaskObject> filter) {
+		boolean isChanged = super.removeIf(filter);
+		reindex();
+		return isChanged;
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<TaskObject> operator) {
+		super.replaceAll(operator);
+		reindex();
+	}
+
+	@Override
+	protected void removeRange(int fromPosition, int toPosition) {
+		super.removeRange(fromPosition, toPosition);
+		reindex();
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		index.clear();
+		duplicateCount = 0;
+		if (titleIndex != null) {
+			titleIndex.clear();
+		}
+		if (dateTimeIndex != null) {
+			dateTimeIndex.clear();
+		}
+		if (dueTimeIndex != null) {
+			dueTimeIndex.clear();
+		}
+		version++;
+	}
+
+	@Override
+	public void sort(Comparator<? super TaskObject> comparator) {
+		super.sort(comparator);
+		version++;
+	}
+
+	@Override
+	public Object clone() {
+		return new TaskList(this);
+	}
+
+	private void indexTask(TaskObject task) {
+		version++;
+		if (task != null && !index.putIfAbsent(task.getTaskId(), task)) {
+			duplicateCount++;
+		}
+		if (titleIndex != null) {
+			titleIndex.add(task);
+		}
+		if (dateTimeIndex != null) {
+			dateTimeIndex.add(task);
+		}
+		if (dueTimeIndex != null) {
+			dueTimeIndex.add(task);
+		}
+	}
+
+	// Called after the task has been taken out of the list
+	private void unindexTask(TaskObject task) {
+		version++;
+		if (task == null) {
+			return;
+		}
+		if (titleIndex != null) {
+			titleIndex.remove(task);
+		}
+		if (dateTimeIndex != null) {
+			dateTimeIndex.remove(task);
+		}
+		if (dueTimeIndex != null) {
+			dueTimeIndex.remove(task);
+		}
+		int taskId = task.getTaskId();
+		if (index.get(taskId) != task) {
+			if (duplicateCount > 0) {
+				duplicateCount--;
+			} else {
+				// The task ID of the task was changed while it was in the list
+				reindex();
+			}
+			return;
+		}
+		index.remove(taskId);
+		if (duplicateCount > 0) {
+			// Another task with the same task ID takes the place of the removed task in the index
+			for (int i = 0; i < size(); i++) {
+				if (get(i).getTaskId() == taskId) {
+					index.putIfAbsent(taskId, get(i));
+					duplicateCount--;
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Hash table from task ID to task using open addressing over primitive int keys, so that task IDs are not
+	 * boxed into Integer objects on every lookup.
+	 */
+	private static class TaskIdIndex {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private int[] keys = new int[INITIAL_CAPACITY];
+		// A null value marks an empty slot, so every int, including -1, can be used as a key
+		private TaskObject[] values = new TaskObject[INITIAL_CAPACITY];
+		private int size = 0;
+
+		private TaskObject get(int key) {
+			int mask = keys.length - 1;
+			for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+				if (keys[slot] == key) {
+					return values[slot];
+				}
+			}
+			return null;
+		}
+
+		// Returns false without changing anything if the key is already present
+		private boolean putIfAbsent(int key, TaskObject value) {
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (values[slot] != null) {
+				if (keys[slot] == key) {
+					return false;
+				}
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			values[slot] = value;
+			size++;
+			if (size * 2 > keys.length) {
+				resize(keys.length * 2);
+			}
+			return true;
+		}
+
+		private void remove(int key) {
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (values[slot] != null && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			if (values[slot] == null) {
+				return;
+			}
+			values[slot] = null;
+			size--;
+			// Moves back the entries after the removed slot which would otherwise no longer be found
+			int next = (slot + 1) & mask;
+			while (values[next] != null) {
+				int home = hash(keys[next]) & mask;
+				boolean isBetween = slot <= next ? (slot < home && home <= next) : (slot < home || home <= next);
+				if (!isBetween) {
+					keys[slot] = keys[next];
+					values[slot] = values[next];
+					values[next] = null;
+					slot = next;
+				}
+				next = (next + 1) & mask;
+			}
+		}
+
+		private void clear() {
+			keys = new int[INITIAL_CAPACITY];
+			values = new TaskObject[INITIAL_CAPACITY];
+			size = 0;
+		}
+
+		private void resize(int capacity) {
+			int[] oldKeys = keys;
+			TaskObject[] oldValues = values;
+			keys = new int[capacity];
+			values = new TaskObject[capacity];
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldValues[i] != null) {
+					putIfAbsent(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
+
+		private static int hash(int key) {
+			int hash = key * 0x9E3779B9;
+			return hash ^ (hash >>> 16);
+		}
+	}
+}
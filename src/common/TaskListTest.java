@@ -0,0 +1,199 @@
+package common;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TaskListTest {
+
+	private TaskList taskList;
+
+	@Before
+	public void setUp() {
+		taskList = new TaskList();
+		for (int i = 1; i <= 100; i++) {
+			taskList.add(new TaskObject("task " + i, "floating", "incomplete", i));
+		}
+	}
+
+	@Test
+	// Tasks added to the list are found by task ID
+	public void testFindAddedTasks() {
+		for (int i = 1; i <= 100; i++) {
+			assertEquals("task " + i, taskList.getByTaskId(i).getTitle());
+		}
+		assertNull(taskList.getByTaskId(101));
+		assertNull(taskList.getByTaskId(-1));
+	}
+
+	@Test
+	// Removing tasks by position, by object and through the iterator updates the index
+	public void testRemoveTasks() {
+		taskList.remove(0);
+		taskList.remove(taskList.getByTaskId(50));
+		Iterator<TaskObject> iterator = taskList.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().getTaskId() % 10 == 0) {
+				iterator.remove();
+			}
+		}
+		assertNull(taskList.getByTaskId(1));
+		assertNull(taskList.getByTaskId(50));
+		assertNull(taskList.getByTaskId(20));
+		assertEquals("task 99", taskList.getByTaskId(99).getTitle());
+		assertEquals(89, taskList.size());
+		for (int i = 0; i < taskList.size(); i++) {
+			assertSame(taskList.get(i), taskList.getByTaskId(taskList.get(i).getTaskId()));
+		}
+	}
+
+	@Test
+	// Sorting the list keeps the index, and positions are found from the task ID
+	public void testSortAndPosition() {
+		Collections.sort(taskList, new Comparator<TaskObject>() {
+			@Override
+			public int compare(TaskObject first, TaskObject second) {
+				return Integer.compare(second.getTaskId(), first.getTaskId());
+			}
+		});
+		assertEquals(0, TaskList.findIndexOfTaskId(taskList, 100));
+		assertEquals(99, TaskList.findIndexOfTaskId(taskList, 1));
+		assertEquals(-1, TaskList.findIndexOfTaskId(taskList, 200));
+	}
+
+	@Test
+	// A task sharing its task ID with a removed task takes its place in the index
+	public void testDuplicateTaskIds() {
+		TaskObject duplicate = new TaskObject("duplicate", "floating", "incomplete", 5);
+		taskList.add(duplicate);
+		assertEquals("task 5", taskList.getByTaskId(5).getTitle());
+		taskList.remove(4);
+		assertSame(duplicate, taskList.getByTaskId(5));
+		taskList.add(new TaskObject("another", "floating", "incomplete", 5));
+		assertTrue(taskList.removeByTaskId(5));
+		assertNull(taskList.getByTaskId(5));
+		assertEquals(99, taskList.size());
+	}
+
+	@Test
+	// Changing the task ID of a task in the list is picked up when the index is rebuilt
+	public void testChangedTaskId() {
+		taskList.get(9).setTaskId(1000);
+		assertNull(taskList.getByTaskId(10));
+		assertEquals("task 10", taskList.getByTaskId(1000).getTitle());
+		taskList.get(10).setTaskId(1001);
+		taskList.reindex();
+		assertEquals("task 11", taskList.getByTaskId(1001).getTitle());
+		taskList.set(0, new TaskObject("replaced", "floating", "incomplete", 2000));
+		assertNull(taskList.getByTaskId(1));
+		assertEquals("replaced", taskList.getByTaskId(2000).getTitle());
+	}
+
+	@Test
+	// Occurrences of events and deadlines which are not completed are found by the range they overlap
+	public void testOccurrencesOverlapping() {
+		LocalDateTime monday = LocalDateTime.of(2016, 4, 4, 10, 0);
+		ArrayList<LocalDateTimePair> lectureTimes = new ArrayList<LocalDateTimePair>();
+		for (int week = 0; week < 10; week++) {
+			lectureTimes.add(new LocalDateTimePair(monday.plusWeeks(week), monday.plusWeeks(week).plusHours(2)));
+		}
+		TaskObject lecture = new TaskObject("lecture", monday, monday.plusHours(2), "event", "incomplete", 200,
+				true, lectureTimes);
+		ArrayList<LocalDateTimePair> reportTimes = new ArrayList<LocalDateTimePair>();
+		reportTimes.add(new LocalDateTimePair(monday.plusDays(1)));
+		TaskObject report = new TaskObject("report", monday.plusDays(1), "deadline", "incomplete", 201, false,
+				reportTimes);
+		taskList.add(lecture);
+		taskList.add(report);
+
+		assertEquals(1, taskList.getOccurrencesOverlapping(monday.plusHours(1), monday.plusHours(3))
+				.get(lecture).size());
+		assertEquals(10, taskList.getOccurrencesOverlapping(monday, monday.plusWeeks(10)).get(lecture).size());
+		assertTrue(taskList.getOccurrencesOverlapping(monday.plusHours(3), monday.plusDays(1).minusMinutes(1))
+				.isEmpty());
+		assertTrue(taskList.getOccurrencesOverlapping(monday.plusDays(1), monday.plusDays(1))
+				.containsKey(report));
+
+		lecture.setStatus("completed");
+		TaskList.dateTimesChanged(taskList, lecture);
+		assertFalse(taskList.getOccurrencesOverlapping(monday, monday.plusWeeks(10)).containsKey(lecture));
+		// Completed tasks are still found by their start and end date times
+		assertTrue(taskList.getTasksOverlapping(monday, monday).contains(lecture));
+
+		taskList.remove(report);
+		assertTrue(taskList.getOccurrencesOverlapping(monday, monday.plusWeeks(10)).isEmpty());
+		assertTrue(taskList.getTasksOverlapping(monday.plusDays(1), monday.plusDays(1)).isEmpty());
+	}
+
+	@Test
+	// Non-recurring events and deadlines which are neither completed nor overdue are found by when they start
+	public void testTasksDueBefore() {
+		LocalDateTime monday = LocalDateTime.of(2016, 4, 4, 10, 0);
+		TaskObject report = new TaskObject("report", monday.plusDays(1), "deadline", "incomplete", 201);
+		TaskObject meeting = new TaskObject("meeting", monday, monday.plusHours(1), "event", "incomplete", 202);
+		TaskObject exam = new TaskObject("exam", monday.plusDays(2), "deadline", "completed", 203);
+		taskList.add(report);
+		taskList.add(meeting);
+		taskList.add(exam);
+
+		assertEquals(monday, taskList.getNextDueDateTime());
+		ArrayList<TaskObject> dueTasks = taskList.getTasksDueBefore(monday.plusDays(3));
+		assertEquals(2, dueTasks.size());
+		assertSame(meeting, dueTasks.get(0));
+		assertSame(report, dueTasks.get(1));
+		// Tasks are only taken out once their status changes
+		assertEquals(2, taskList.getTasksDueBefore(monday.plusDays(3)).size());
+
+		meeting.setStatus("overdue");
+		TaskList.dateTimesChanged(taskList, meeting);
+		assertEquals(monday.plusDays(1), taskList.getNextDueDateTime());
+		report.setStartDateTime(monday.plusDays(4));
+		TaskList.dateTimesChanged(taskList, report);
+		assertTrue(taskList.getTasksDueBefore(monday.plusDays(3)).isEmpty());
+		assertEquals(monday.plusDays(4), taskList.getNextDueDateTime());
+
+		taskList.remove(report);
+		assertNull(taskList.getNextDueDateTime());
+	}
+
+	@Test
+	// Commands acting on a shared task ID find the last task with it, in TaskLists and plain lists
+	public void testFindLastOfDuplicateTaskIds() {
+		assertSame(taskList.get(4), taskList.getLastByTaskId(5));
+		TaskObject duplicate = new TaskObject("duplicate", "floating", "incomplete", 5);
+		taskList.add(duplicate);
+		assertSame(duplicate, TaskList.findLastByTaskId(taskList, 5));
+		assertEquals(100, TaskList.findIndexOfLastTaskId(taskList, 5));
+		assertEquals("task 6", TaskList.findLastByTaskId(taskList, 6).getTitle());
+		assertNull(TaskList.findLastByTaskId(taskList, 200));
+		assertEquals(-1, TaskList.findIndexOfLastTaskId(taskList, 200));
+		TaskObject secondDuplicate = new TaskObject("second duplicate", "floating", "incomplete", 5);
+		taskList.add(secondDuplicate);
+		assertEquals(101, TaskList.findIndexOfLastTaskId(taskList, 5));
+		assertEquals(4, TaskList.findIndexOfTaskId(taskList, 5));
+		taskList.remove(secondDuplicate);
+		assertEquals(100, TaskList.findIndexOfLastTaskId(taskList, 5));
+
+		ArrayList<TaskObject> plainList = new ArrayList<TaskObject>(taskList);
+		assertSame(duplicate, TaskList.findLastByTaskId(plainList, 5));
+		assertEquals(100, TaskList.findIndexOfLastTaskId(plainList, 5));
+	}
+
+	@Test
+	// Lists which are not TaskLists are searched from the start
+	public void testFindInPlainList() {
+		ArrayList<TaskObject> plainList = new ArrayList<TaskObject>(taskList);
+		assertEquals("task 7", TaskList.findByTaskId(plainList, 7).getTitle());
+		assertEquals(6, TaskList.findIndexOfTaskId(plainList, 7));
+		TaskList wrappedList = TaskList.wrap(plainList);
+		assertSame(wrappedList, TaskList.wrap(wrappedList));
+		assertEquals("task 7", wrappedList.getByTaskId(7).getTitle());
+	}
+}
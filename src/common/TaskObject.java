@@ -4,6 +4,7 @@ package common;
 
 import java.time.LocalDateTime;
 import java.time.DateTimeException;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 
 /**
@@ -26,8 +27,11 @@ public class TaskObject implements Comparable<TaskObject> {
 	protected String title = "";
 	protected LocalDateTime startDateTime = LocalDateTime.MAX;
 	protected LocalDateTime endDateTime = LocalDateTime.MAX;
-	protected String category = ""; // deadline, event, or floating
-	protected String status = ""; // completed, overdue or incomplete
+	protected TaskCategory category = TaskCategory.OTHER; // deadline, event, or floating
+	protected TaskStatus status = TaskStatus.OTHER; // completed, overdue or incomplete
+	// text of a category or status which is none of the above, null otherwise
+	protected String otherCategory;
+	protected String otherStatus;
 	protected int taskId = -1;
 	protected String timeOutputString = ""; // stores date time in the desired output for GUI
 	protected Interval interval = new Interval();
@@ -36,6 +40,21 @@ public class TaskObject implements Comparable<TaskObject> {
 	protected boolean isRecurring;
 	// stores all occurrences that has been deleted (if any)
 	protected ArrayList<LocalDateTimePair> deletedTaskDateTimes = new ArrayList<LocalDateTimePair>();
+	// number of occurrences of a recurrence with a count which come after the last of the taskDateTimes
+	protected int pendingOccurrenceCount = 0;
+
+	// Sort key of a task whose status is not overdue, incomplete or completed
+	public static final long UNRANKED_SORT_KEY = -1;
+	private static final long MIN_EPOCH_SECOND = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+	private static final int STATUS_RANK_SHIFT = 60;
+
+	// Sort keys packed into primitives, worked out again whenever the status or dates are replaced. They are
+	// transient so that they are not saved, and are worked out on first use for tasks loaded from storage.
+	private transient long startSortKey;
+	private transient long endSortKey;
+	private transient TaskStatus sortKeyStatus;
+	private transient LocalDateTime sortKeyStartDateTime;
+	private transient LocalDateTime sortKeyEndDateTime;
 
 	// Checks to facilitate undo processes
 	protected boolean isEditAll = false;
@@ -49,8 +68,8 @@ public class TaskObject implements Comparable<TaskObject> {
 		this.title = title;
 		this.startDateTime = startDateTime;
 		this.endDateTime = endDateTime;
-		this.category = category;
-		this.status = status;
+		setCategory(category);
+		setStatus(status);
 		this.taskId = taskId;
 		this.isRecurring = isRecurring;
 		this.taskDateTimes = taskDateTimes;
@@ -62,8 +81,8 @@ public class TaskObject implements Comparable<TaskObject> {
 		this.title = title;
 		this.startDateTime = startDateTime;
 		this.endDateTime = endDateTime;
-		this.category = category;
-		this.status = status;
+		setCategory(category);
+		setStatus(status);
 		this.taskId = taskId;
 	}
 
@@ -73,8 +92,8 @@ public class TaskObject implements Comparable<TaskObject> {
 		this.title = title;
 		this.startDateTime = startDateTime;
 		this.endDateTime = LocalDateTime.MAX;
-		this.category = category;
-		this.status = status;
+		setCategory(category);
+		setStatus(status);
 		this.taskId = taskId;
 		this.isRecurring = isRecurring;
 		this.taskDateTimes = taskDateTimes;
@@ -85,8 +104,8 @@ public class TaskObject implements Comparable<TaskObject> {
 		this.title = title;
 		this.startDateTime = startDateTime;
 		this.endDateTime = LocalDateTime.MAX;
-		this.category = category;
-		this.status = status;
+		setCategory(category);
+		setStatus(status);
 		this.taskId = taskId;
 	}
 
@@ -95,8 +114,8 @@ public class TaskObject implements Comparable<TaskObject> {
 		this.title = title;
 		this.startDateTime = LocalDateTime.MAX;
 		this.endDateTime = LocalDateTime.MAX;
-		this.category = category;
-		this.status = status;
+		setCategory(category);
+		setStatus(status);
 		this.taskId = taskId;
 	}
 
@@ -148,6 +167,15 @@ public class TaskObject implements Comparable<TaskObject> {
 
 	}
 
+	// Copy constructor, duplicates the interval and occurrence lists so the copy is unaffected by later
+	// changes made to the original task
+	public TaskObject(TaskObject task) {
+		setTaskObject(task);
+		this.interval = new Interval(task.getInterval());
+		this.taskDateTimes = copyDateTimes(task.getTaskDateTimes());
+		this.deletedTaskDateTimes = copyDateTimes(task.getDeletedTaskDateTimes());
+	}
+
 	// ------------------------------------ USEFUL METHODS ------------------------------------
 
 	public void addToTaskDateTimes() {
@@ -191,7 +219,7 @@ public class TaskObject implements Comparable<TaskObject> {
 	// Checks if title, dates and times are invalid values
 	public boolean isSearchKeywordPresent() {
 		return (!this.title.equals("") || !this.startDateTime.equals(LocalDateTime.MAX)
-				|| !this.category.equals("") || !this.status.equals(""));
+				|| !getCategory().equals("") || !getStatus().equals(""));
 	}
 	
 	public boolean isInfiniteRecurrence() {
@@ -200,10 +228,43 @@ public class TaskObject implements Comparable<TaskObject> {
 
 	public boolean isNull() {
 		return (title.equals("") && startDateTime.equals(LocalDateTime.MAX)
-				&& endDateTime.equals(LocalDateTime.MAX) && category.equals("") && status.equals("")
+				&& endDateTime.equals(LocalDateTime.MAX) && getCategory().equals("") && getStatus().equals("")
 				&& taskId == -1 && timeOutputString.equals(""));
 	}
 	
+	// Checks if every stored attribute of both tasks is the same, used by storage to detect changed tasks
+	public boolean hasSameDetails(TaskObject task) {
+		return (title.equals(task.getTitle()) && startDateTime.equals(task.getStartDateTime())
+				&& endDateTime.equals(task.getEndDateTime()) && getCategory().equals(task.getCategory())
+				&& getStatus().equals(task.getStatus()) && taskId == task.getTaskId()
+				&& isRecurring == task.getIsRecurring() && interval.equals(task.getInterval())
+				&& isSameDateTimes(taskDateTimes, task.getTaskDateTimes())
+				&& pendingOccurrenceCount == task.getPendingOccurrenceCount()
+				&& isSameDateTimes(deletedTaskDateTimes, task.getDeletedTaskDateTimes()));
+	}
+
+	private static ArrayList<LocalDateTimePair> copyDateTimes(ArrayList<LocalDateTimePair> dateTimes) {
+		ArrayList<LocalDateTimePair> copy = new ArrayList<LocalDateTimePair>();
+		for (int i = 0; i < dateTimes.size(); i++) {
+			copy.add(new LocalDateTimePair(dateTimes.get(i).getStartDateTime(),
+					dateTimes.get(i).getEndDateTime()));
+		}
+		return copy;
+	}
+
+	private static boolean isSameDateTimes(ArrayList<LocalDateTimePair> first,
+			ArrayList<LocalDateTimePair> second) {
+		if (first.size() != second.size()) {
+			return false;
+		}
+		for (int i = 0; i < first.size(); i++) {
+			if (!first.get(i).equals(second.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	// for testing purpose
 	public void resetAttributes() {
 		setTitle("");
@@ -217,6 +278,51 @@ public class TaskObject implements Comparable<TaskObject> {
 		return 0;
 	}
 
+	// ------------------------------------ SORT KEYS ------------------------------------
+
+	/**
+	 * Returns the rank of the status in the upper bits, overdue first, then incomplete, then completed, and
+	 * the start date/time to the second in the lower bits, so that comparing the keys of two tasks compares
+	 * their status and then their start date/time. Returns UNRANKED_SORT_KEY for any other status.
+	 */
+	public long getStartSortKey() {
+		updateSortKeys();
+		return startSortKey;
+	}
+
+	/**
+	 * Returns the end date/time to the second as a number which compares in the same order.
+	 */
+	public long getEndSortKey() {
+		updateSortKeys();
+		return endSortKey;
+	}
+
+	// Compares references only, as the status and dates are immutable and replaced whenever they change
+	private void updateSortKeys() {
+		if (sortKeyStatus == status && sortKeyStartDateTime == startDateTime
+				&& sortKeyEndDateTime == endDateTime) {
+			return;
+		}
+		TaskStatus statusType = getStatusType();
+		if (statusType == TaskStatus.OTHER || startDateTime == null || endDateTime == null) {
+			startSortKey = UNRANKED_SORT_KEY;
+			endSortKey = UNRANKED_SORT_KEY;
+		} else {
+			// the constants of TaskStatus are in the order of the list
+			startSortKey = ((long) statusType.ordinal() << STATUS_RANK_SHIFT) | toSortSeconds(startDateTime);
+			endSortKey = toSortSeconds(endDateTime);
+		}
+		sortKeyStatus = status;
+		sortKeyStartDateTime = startDateTime;
+		sortKeyEndDateTime = endDateTime;
+	}
+
+	// Seconds from LocalDateTime.MIN, which fit in the bits below the status rank
+	private static long toSortSeconds(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC) - MIN_EPOCH_SECOND;
+	}
+
 	// ------------------------------------ GETTERS/SETTERS ------------------------------------
 
 	public String getTitle() {
@@ -232,11 +338,28 @@ public class TaskObject implements Comparable<TaskObject> {
 	}
 
 	public String getCategory() {
-		return category;
+		TaskCategory categoryType = getCategoryType();
+		if (categoryType == TaskCategory.OTHER && otherCategory != null) {
+			return otherCategory;
+		}
+		return categoryType.getName();
 	}
 
 	public String getStatus() {
-		return status;
+		TaskStatus statusType = getStatusType();
+		if (statusType == TaskStatus.OTHER && otherStatus != null) {
+			return otherStatus;
+		}
+		return statusType.getName();
+	}
+
+	// A category or status saved as text which is not a known name is loaded as null
+	public TaskCategory getCategoryType() {
+		return category == null ? TaskCategory.OTHER : category;
+	}
+
+	public TaskStatus getStatusType() {
+		return status == null ? TaskStatus.OTHER : status;
 	}
 
 	public int getTaskId() {
@@ -271,6 +394,10 @@ public class TaskObject implements Comparable<TaskObject> {
 		return deletedTaskDateTimes;
 	}
 
+	public int getPendingOccurrenceCount() {
+		return pendingOccurrenceCount;
+	}
+
 	public void setTitle(String newTitle) {
 		this.title = newTitle;
 	}
@@ -284,11 +411,23 @@ public class TaskObject implements Comparable<TaskObject> {
 	}
 
 	public void setCategory(String newCategory) {
+		this.category = TaskCategory.fromName(newCategory);
+		this.otherCategory = (category == TaskCategory.OTHER) ? newCategory : null;
+	}
+
+	public void setCategory(TaskCategory newCategory) {
 		this.category = newCategory;
+		this.otherCategory = null;
 	}
 
 	public void setStatus(String newStatus) {
+		this.status = TaskStatus.fromName(newStatus);
+		this.otherStatus = (status == TaskStatus.OTHER) ? newStatus : null;
+	}
+
+	public void setStatus(TaskStatus newStatus) {
 		this.status = newStatus;
+		this.otherStatus = null;
 	}
 
 	public void setTaskId(int newTaskId) {
@@ -315,18 +454,31 @@ public class TaskObject implements Comparable<TaskObject> {
 		this.taskDateTimes = newTaskDateTimes;
 	}
 
+	public void setDeletedTaskDateTimes(ArrayList<LocalDateTimePair> newDeletedTaskDateTimes) {
+		this.deletedTaskDateTimes = newDeletedTaskDateTimes;
+	}
+
+	public void setIsContainingOnlyTaskDateTimes(boolean isContainingOnlyTaskDateTimes) {
+		this.isContainingOnlyTaskDateTimes = isContainingOnlyTaskDateTimes;
+	}
+
+	public void setPendingOccurrenceCount(int pendingOccurrenceCount) {
+		this.pendingOccurrenceCount = pendingOccurrenceCount;
+	}
+
 	// Essentially creates a copy of the task object that is passed into this method
 	public void setTaskObject(TaskObject task) {
 		this.title = task.getTitle();
 		this.startDateTime = task.getStartDateTime();
 		this.endDateTime = task.getEndDateTime();
-		this.category = task.getCategory();
-		this.status = task.getStatus();
+		setCategory(task.getCategory());
+		setStatus(task.getStatus());
 		this.taskId = task.getTaskId();
 		this.timeOutputString = task.getTimeOutputString();
 		this.isRecurring = task.getIsRecurring();
 		this.interval = task.getInterval();
 		this.taskDateTimes = task.getTaskDateTimes();
+		this.pendingOccurrenceCount = task.getPendingOccurrenceCount();
 		this.isEditAll = task.getIsEditAll();
 		this.isContainingOnlyTaskDateTimes = task.getIsContainingOnlyTaskDateTimes();
 		
@@ -0,0 +1,46 @@
+package common;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Status of a task. Overdue, incomplete and completed tasks are listed in this order, which is also the
+ * order of the constants. <br>
+ * Tasks are saved with the name of their status, so that files saved when the status was a string can
+ * still be loaded. Any other status, including the empty status of a new TaskObject, is OTHER.
+ */
+public enum TaskStatus {
+	@SerializedName("overdue")
+	OVERDUE("overdue"),
+	@SerializedName("incomplete")
+	INCOMPLETE("incomplete"),
+	@SerializedName("completed")
+	COMPLETED("completed"),
+	@SerializedName("")
+	OTHER("");
+
+	private final String name;
+
+	private TaskStatus(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public static TaskStatus fromName(String name) {
+		if (name == null) {
+			return OTHER;
+		}
+		switch (name) {
+		case "overdue":
+			return OVERDUE;
+		case "incomplete":
+			return INCOMPLETE;
+		case "completed":
+			return COMPLETED;
+		default:
+			return OTHER;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package common;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index from the words in the titles of tasks to the tasks, used by TaskList to find the tasks
+ * which may match a title search without going through every title. <br>
+ * Titles are lowercased and split on spaces as Search does. Both the words and the words with surrounding
+ * whitespace trimmed are indexed. Words are kept sorted to find words starting with a sequence of characters,
+ * and kept reversed and sorted to find words ending with a sequence of characters.
+ */
+class TitleIndex {
+
+	private static final String WORD_SEPARATOR = " ";
+
+	private TreeMap<String, Set<TaskObject>> words = new TreeMap<String, Set<TaskObject>>();
+	private TreeMap<String, Set<TaskObject>> reversedWords = new TreeMap<String, Set<TaskObject>>();
+	// Title of each task at the time it was indexed
+	private IdentityHashMap<TaskObject, String> indexedTitles = new IdentityHashMap<TaskObject, String>();
+
+	void add(TaskObject task) {
+		if (task == null || indexedTitles.containsKey(task)) {
+			return;
+		}
+		String title = task.getTitle();
+		indexedTitles.put(task, title);
+		for (String word : getWords(title)) {
+			addToIndex(words, word, task);
+			addToIndex(reversedWords, reverse(word), task);
+		}
+	}
+
+	void remove(TaskObject task) {
+		if (task == null || !indexedTitles.containsKey(task)) {
+			return;
+		}
+		String title = indexedTitles.remove(task);
+		for (String word : getWords(title)) {
+			removeFromIndex(words, word, task);
+			removeFromIndex(reversedWords, reverse(word), task);
+		}
+	}
+
+	// Re-indexes the task if its title has changed since it was indexed
+	void update(TaskObject task) {
+		if (task != null && indexedTitles.containsKey(task) && !task.getTitle().equals(indexedTitles.get(task))) {
+			remove(task);
+			add(task);
+		}
+	}
+
+	void clear() {
+		words.clear();
+		reversedWords.clear();
+		indexedTitles.clear();
+	}
+
+	Set<TaskObject> getTasksWithWord(String word) {
+		Set<TaskObject> tasks = words.get(word);
+		return tasks == null ? Collections.<TaskObject>emptySet() : tasks;
+	}
+
+	Set<TaskObject> getTasksWithWordStartingWith(String prefix) {
+		return collectStartingWith(words, prefix);
+	}
+
+	Set<TaskObject> getTasksWithWordEndingWith(String suffix) {
+		return collectStartingWith(reversedWords, reverse(suffix));
+	}
+
+	private Set<TaskObject> collectStartingWith(TreeMap<String, Set<TaskObject>> index, String prefix) {
+		Set<TaskObject> tasks = newTaskSet();
+		for (Map.Entry<String, Set<TaskObject>> entry : index.tailMap(prefix, true).entrySet()) {
+			if (!entry.getKey().startsWith(prefix)) {
+				break;
+			}
+			tasks.addAll(entry.getValue());
+		}
+		return tasks;
+	}
+
+	private static Set<String> getWords(String title) {
+		Set<String> titleWords = new HashSet<String>();
+		String[] splitTitle = title.toLowerCase().split(WORD_SEPARATOR);
+		for (int i = 0; i < splitTitle.length; i++) {
+			if (!splitTitle[i].isEmpty()) {
+				titleWords.add(splitTitle[i]);
+			}
+			String trimmedWord = splitTitle[i].trim();
+			if (!trimmedWord.isEmpty()) {
+				titleWords.add(trimmedWord);
+			}
+		}
+		return titleWords;
+	}
+
+	private static void addToIndex(TreeMap<String, Set<TaskObject>> index, String word, TaskObject task) {
+		Set<TaskObject> tasks = index.get(word);
+		if (tasks == null) {
+			tasks = newTaskSet();
+			index.put(word, tasks);
+		}
+		tasks.add(task);
+	}
+
+	private static void removeFromIndex(TreeMap<String, Set<TaskObject>> index, String word, TaskObject task) {
+		Set<TaskObject> tasks = index.get(word);
+		if (tasks != null) {
+			tasks.remove(task);
+			if (tasks.isEmpty()) {
+				index.remove(word);
+			}
+		}
+	}
+
+	// Tasks are compared by reference, as TaskObject does not override equals
+	static Set<TaskObject> newTaskSet() {
+		return Collections.newSetFromMap(new IdentityHashMap<TaskObject, Boolean>());
+	}
+
+	private static String reverse(String word) {
+		return new StringBuilder(word).reverse().toString();
+	}
+}
@@ -0,0 +1,61 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the commands in a script file as one batch, such as to import many tasks at once, and prints the
+ * output. Each line of the script is one command, as it would be entered in AdultTaskFinder. Blank lines and
+ * lines starting with # are skipped. <br>
+ * The tasks are saved once, after the last command, and the whole script can be undone with a single undo
+ * the next time AdultTaskFinder is run.
+ * <p>
+ * Usage: BatchMain [script file]
+ */
+public class BatchMain {
+
+	private static final String COMMENT_PREFIX = "#";
+
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			System.err.println("Usage: BatchMain <script file>");
+			System.exit(2);
+		}
+
+		List<String> inputs;
+		try {
+			inputs = readScript(args[0]);
+		} catch (IOException e) {
+			System.err.println("Unable to read script " + args[0]);
+			System.exit(2);
+			return;
+		}
+
+		Logic logic = new Logic();
+		int failedCount = logic.runBatch(inputs);
+		ArrayList<String> output = logic.getOutput();
+		for (int i = 0; i < output.size(); i++) {
+			System.out.println(output.get(i));
+		}
+
+		// waits for the tasks to be written before exiting
+		Exit exit = new Exit(logic.getTaskList());
+		exit.saveToExternalFile();
+		System.exit(failedCount == 0 ? 0 : 1);
+	}
+
+	// Comment lines are read as blank lines, so that commands keep their line numbers in the output
+	private static List<String> readScript(String filePath) throws IOException {
+		List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+		for (int i = 0; i < lines.size(); i++) {
+			if (lines.get(i).trim().startsWith(COMMENT_PREFIX)) {
+				lines.set(i, "");
+			}
+		}
+		return lines;
+	}
+}
@@ -162,7 +162,8 @@ public class CommandFacade {
 		setLastOutputTaskList(taskList);
 		boolean isAddSingleOccurrence = add.getIsAddSingleOccurrence();
 		boolean isExceptionThrown = add.getIsExceptionThrown();
-		sortFunction();
+		// a single occurrence added back is not saved by Add
+		sortFunction(isAddSingleOccurrence);
 
 		if (!isExceptionThrown) {
 			if (isUndoAction) {
@@ -220,11 +221,15 @@ public class CommandFacade {
 	private void editFunction() {
 		Edit edit = new Edit(commandObj, lastOutputTaskList, taskList, lastSearchedIndex);
 		setOutput(edit.run());
-		Incomplete.markAllIncompleteTasks(taskList);
-		Overdue.markAllOverdueTasks(taskList);
+		// only the edited task can have been moved into the future, while tasks which have become overdue
+		// since are found from the due times of the task list
+		boolean isStatusChanged = Incomplete.markIncompleteIfNotDue(taskList, edit.getEditTask());
+		isStatusChanged = !Overdue.markTasksDueBefore(taskList, LocalDateTime.now()).isEmpty()
+				|| isStatusChanged;
 		setLastOutputTaskList(taskList);
 		boolean isExceptionThrown = edit.getIsExceptionThrown();
-		sortFunction();
+		// statuses changed after the edit was saved are saved with the sorted list
+		sortFunction(isStatusChanged);
 		
 		// if it was a single occurrence that was edited, call search-by-index to update the sidebar
 		callSearchByIndexToUpdateSidebar(edit.getIsEditSingleOccurrence());
@@ -385,10 +390,18 @@ public class CommandFacade {
 	
 	/**
 	 * Calls the Sort function, which sorts the task list according to status, then start date/time, then
-	 * end date/time, then title.
+	 * end date/time, then title. The task list is only saved again if its order was changed.
 	 */
 	private void sortFunction() {
-		Sort sort = new Sort(taskList);
+		sortFunction(false);
+	}
+
+	/**
+	 * Sorts the task list, saving it even if its order is unchanged when the command has made changes which
+	 * have not been saved.
+	 */
+	private void sortFunction(boolean hasUnsavedChanges) {
+		Sort sort = new Sort(taskList, hasUnsavedChanges);
 		sort.run();
 		setLastOutputTaskList(taskList);
 	}
@@ -514,10 +527,9 @@ public class CommandFacade {
 	
 	// Returns the new index of the task with the specified task ID in the sorted list
 	private int getNewIndexLocationOfTask(int searchTaskId) {
-		for (int i = 0; i < taskList.size(); i++) {
-			if (taskList.get(i).getTaskId() == searchTaskId) {
-				return i+1;
-			}
+		int index = TaskList.findIndexOfTaskId(taskList, searchTaskId);
+		if (index != -1) {
+			return index + 1;
 		}
 		return -1;
 	}
@@ -551,7 +563,7 @@ public class CommandFacade {
 	private void filterOutCompletedTasks() {
 		ArrayList<TaskObject> newLastOutputTaskList = new ArrayList<TaskObject>();
 		for (int i = 0; i < lastOutputTaskList.size(); i++) {
-			if (!lastOutputTaskList.get(i).getStatus().equals(STATUS_COMPLETED)) {
+			if (lastOutputTaskList.get(i).getStatusType() != TaskStatus.COMPLETED) {
 				newLastOutputTaskList.add(lastOutputTaskList.get(i));
 			}
 		}
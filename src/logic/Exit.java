@@ -9,7 +9,6 @@ import java.util.logging.Logger;
 import common.AtfLogger;
 import common.TaskObject;
 import storage.FileStorage;
-import storage.IStorage;
 
 public class Exit {
 
@@ -26,13 +25,23 @@ public class Exit {
 		System.exit(0);
 	}
 
+	// Waits for any saves still being written in the background before returning
 	public void saveToExternalFile() {
-		IStorage storage = FileStorage.getInstance();
+		FileStorage storage = FileStorage.getInstance();
 		try {
 			storage.save(taskList);
-			logger.info("saved tasks before exiting");
+			storage.flush();
+			if (storage.pollWriteError() == null) {
+				storage.backup();
+				storage.sync();
+				logger.info("saved tasks before exiting");
+			} else {
+				logger.warning("did not save tasks properly");
+			}
 		} catch (IOException e) {
 			logger.warning("did not save tasks properly");
+		} catch (InterruptedException e) {
+			logger.warning("exited before tasks were saved");
 		}
 	}
 }
@@ -4,7 +4,9 @@ package logic;
 
 import parser.*;
 import storage.FileStorage;
+import storage.TaskLoadListener;
 import logic.mark.*;
+import logic.sort.Sort;
 import logic.timeoutput.*;
 import logic.exceptions.*;
 
@@ -20,6 +22,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +35,7 @@ import static logic.constants.Strings.*;
 
 import common.AtfLogger;
 import common.CommandObject;
+import common.TaskList;
 import common.TaskObject;
 
 /**
@@ -56,8 +62,10 @@ import common.TaskObject;
 public class Logic {
 
 	static Logger logger = AtfLogger.getLogger();
+	// Parses the inputs of a batch in parallel before they are run in order
+	private static final BatchParser batchParser = new BatchParser();
 	// Maintained throughout the entire running operation of the program
-	protected ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
+	protected ArrayList<TaskObject> taskList = new TaskList();
 	private Deque<CommandObject> undoList = new ArrayDeque<CommandObject>();
 	private Deque<CommandObject> redoList = new ArrayDeque<CommandObject>();
 	private int taskId; // For generation of a unique task ID for each task
@@ -73,18 +81,38 @@ public class Logic {
 	// Stores the index of the last task searched
 	private int lastSearchedIndex = -1;
 	private int sortedIndex = -1;
+	// Released when the first page of tasks can be shown and when all tasks have been loaded on startup.
+	// The loader only sets the output and last output task list before releasing firstPageLoaded, and
+	// only sets the fields read by commands before releasing taskListLoaded
+	private CountDownLatch firstPageLoaded = new CountDownLatch(0);
+	private CountDownLatch taskListLoaded = new CountDownLatch(0);
+	// Copies of the tasks shown as the first page before all tasks were loaded, which stay the last output
+	// task list until the first command replaces them with the loaded tasks
+	private ArrayList<TaskObject> shownFirstPage = null;
+	// Set if the first page was shown once it was full, before the rest of the tasks for it were loaded
+	private boolean isFirstPageCut = false;
+	// Error in loading tasks after the first page was shown, which is shown in place of the first command
+	private String loadErrorMessage = null;
+	// Set by the GUI to be told when a task becomes overdue while no command is entered
+	private OverdueScheduler overdueScheduler = null;
+	// Set once the task list has been loaded, after which overdue checks can be scheduled
+	private boolean isOverdueCheckReady = false;
 
 	/**
 	 * Constructor called by UI only upon starting up. Loads all existing tasks and checks each task to see
 	 * whether any of them are overdue, and updates their corresponding statuses. Sets the next Task ID of a
 	 * task which will be added to the list. Also calls method to set up the list of tasks which will be shown
-	 * to users, as well as the relevant welcome message.
+	 * to users, as well as the relevant welcome message. <br>
+	 * Tasks are loaded in the background, and the constructor returns as soon as the first page of overdue
+	 * tasks and tasks due today has been loaded. Commands wait for the remaining tasks to be loaded.
 	 */
 	public Logic() {
-		taskList = new ArrayList<TaskObject>();
+		taskList = new TaskList();
 		undoList = new ArrayDeque<CommandObject>();
 		redoList = new ArrayDeque<CommandObject>();
-		runPreProcessingOfList();
+		applyStorageSettings();
+		enableWriteBehindStorage();
+		startLoadingTaskList();
 	}
 	
 //@@author A0124636H
@@ -116,19 +144,274 @@ public class Logic {
 	 *            String input that is obtained from UI component. 
 	 */
 	public void run(String userInput) {
+		awaitTaskListLoaded();
+		// Saved task lists are copied by the background writer while it holds this lock
+		synchronized (FileStorage.getInstance().getTaskListLock()) {
+			if (finishLoading()) {
+				return;
+			}
+			try {
+				setUserInput(userInput);
+				CommandObject commandObj = callParser();
+				parseCommandObject(commandObj, false, false);
+				TimeOutput.setTimeOutputForGui(taskList);
+			} catch (Exception e) {
+				output.clear();
+				output.add(MESSAGE_FAILED_PROCESSING);
+			}
+			checkBackgroundSave();
+			scheduleOverdueCheck();
+		}
+	}
+
+	/**
+	 * Runs a batch of user inputs, such as the lines of a script, in order. Each input is processed as by
+	 * <code>run</code>, but the task list is saved and its time output updated only once, after the last
+	 * input. All the changes made by the batch are undone or redone together by a single undo or redo. <br>
+	 * Undo and redo inputs within the batch only reach the inputs of the same batch. An exit input ends the
+	 * batch without exiting. The output lists the number of inputs processed and each input which failed.
+	 * <br>
+	 * All the inputs are parsed in parallel first, as parsing does not depend on the task list. Task IDs
+	 * are given as each parsed input is run, in the same order as by <code>run</code>.
+	 * 
+	 * @param userInputs
+	 *            Inputs in the order they are to be processed. Blank inputs are skipped.
+	 * @return the number of inputs which failed to be processed, or the number of inputs if tasks could
+	 *         not be loaded on startup
+	 */
+	public int runBatch(List<String> userInputs) {
+		awaitTaskListLoaded();
+		synchronized (FileStorage.getInstance().getTaskListLock()) {
+			if (finishLoading()) {
+				return userInputs.size();
+			}
+			return runBatchInputs(userInputs);
+		}
+	}
+
+	private int runBatchInputs(List<String> userInputs) {
+		Deque<CommandObject> previousUndoList = undoList;
+		Deque<CommandObject> previousRedoList = redoList;
+		BatchUndoList batchUndoList = new BatchUndoList();
+		setUndoList(batchUndoList);
+		setRedoList(new ArrayDeque<CommandObject>());
+
+		ArrayList<String> inputs = new ArrayList<String>();
+		ArrayList<Integer> lineNumbers = new ArrayList<Integer>();
+		for (int i = 0; i < userInputs.size(); i++) {
+			if (!userInputs.get(i).trim().isEmpty()) {
+				inputs.add(userInputs.get(i));
+				lineNumbers.add(i + 1);
+			}
+		}
+		ArrayList<ParseResult> results = batchParser.parseAll(inputs);
+
+		ArrayList<String> failedOutput = new ArrayList<String>();
+		int inputCount = 0;
+		int failedCount = 0;
+		FileStorage storage = FileStorage.getInstance();
+		storage.deferSaves();
 		try {
-			setUserInput(userInput);
-			CommandObject commandObj = callParser();
-			parseCommandObject(commandObj, false, false);
+			for (int i = 0; i < inputs.size(); i++) {
+				int lineNumber = lineNumbers.get(i);
+				inputCount++;
+				try {
+					setUserInput(inputs.get(i));
+					CommandObject commandObj = applyParseResult(results.get(i));
+					if (commandObj.getCommandType() == INDEX_EXIT) {
+						failedOutput.add(String.format(MESSAGE_BATCH_EXIT_IGNORED, lineNumber));
+						inputCount--;
+						break;
+					}
+					parseCommandObject(commandObj, false, false);
+				} catch (Exception e) {
+					failedCount++;
+					failedOutput.add(String.format(MESSAGE_BATCH_FAILED_LINE, lineNumber, inputs.get(i)));
+					logger.log(Level.WARNING, "failed to process batch input " + lineNumber);
+				}
+			}
 			TimeOutput.setTimeOutputForGui(taskList);
-		} catch (Exception e) {
-			output.clear();
-			output.add(MESSAGE_FAILED_PROCESSING);
+		} finally {
+			resumeBatchSaves(storage);
+			endBatchUndo(batchUndoList.isCleared, previousUndoList, previousRedoList);
+		}
+
+		ArrayList<String> batchOutput = new ArrayList<String>();
+		batchOutput.add(String.format(MESSAGE_BATCH_PROCESSED, inputCount - failedCount, inputCount));
+		batchOutput.addAll(failedOutput);
+		setOutput(batchOutput);
+		checkBackgroundSave();
+		scheduleOverdueCheck();
+		return failedCount;
+	}
+
+	private void resumeBatchSaves(FileStorage storage) {
+		try {
+			storage.resumeSaves(taskList);
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "unable to save task list after batch");
+		}
+	}
+
+	// Restores the undo and redo lists from before the batch, with the changes of the batch as one undo
+	private void endBatchUndo(boolean isUndoListCleared, Deque<CommandObject> previousUndoList,
+			Deque<CommandObject> previousRedoList) {
+		Deque<CommandObject> batchCommands = new ArrayDeque<CommandObject>(undoList);
+		setUndoList(previousUndoList);
+		setRedoList(previousRedoList);
+		// delete all and load clear the undo list, which leaves nothing from before them to undo
+		if (isUndoListCleared) {
+			undoList.clear();
+			redoList.clear();
+		}
+		if (!batchCommands.isEmpty()) {
+			redoList.clear();
+			undoList.push(new CommandObject(INDEX_BATCH, batchCommands));
+		}
+	}
+
+	/**
+	 * Undo list used while a batch is run, which records whether an input of the batch has cleared it.
+	 */
+	private static class BatchUndoList extends ArrayDeque<CommandObject> {
+
+		private static final long serialVersionUID = 1L;
+
+		private boolean isCleared = false;
+
+		@Override
+		public void clear() {
+			isCleared = true;
+			super.clear();
+		}
+	}
+
+	/**
+	 * Sets the listener to be run when the next task becomes overdue. The listener is run on a background
+	 * thread, and should call <code>updateOverdueTasks</code> on the thread which runs commands.
+	 */
+	public synchronized void setOverdueListener(Runnable listener) {
+		overdueScheduler = new OverdueScheduler(listener);
+		// Tasks still being loaded are scheduled by the loader once loading is done
+		if (isOverdueCheckReady) {
+			overdueScheduler.schedule(taskList);
+		}
+	}
+
+	/**
+	 * Marks the tasks which have become overdue since the last command or update, and saves the task list
+	 * if any have. Only the tasks which have become overdue are checked.
+	 * 
+	 * @return true if the status of any task was changed
+	 */
+	public boolean updateOverdueTasks() {
+		awaitTaskListLoaded();
+		synchronized (FileStorage.getInstance().getTaskListLock()) {
+			boolean isLoadErrorShown = finishLoading();
+			LocalDateTime now = LocalDateTime.now();
+			ArrayList<TaskObject> overdueTasks = Overdue.markTasksDueBefore(taskList, now);
+			overdueTasks.addAll(updateRecurringTasksDueBefore(now));
+			if (!overdueTasks.isEmpty()) {
+				Sort sort = new Sort(taskList, true);
+				sort.run();
+				TimeOutput.setTimeOutputForGui(overdueTasks);
+				checkBackgroundSave();
+			}
+			scheduleOverdueCheck();
+			return isLoadErrorShown || !overdueTasks.isEmpty();
+		}
+	}
+
+	// Splits the occurrences which are over from recurring tasks. A task whose recurrence cannot be updated
+	// is removed, as on startup, so that it is not found again by the next overdue check
+	private ArrayList<TaskObject> updateRecurringTasksDueBefore(LocalDateTime now) {
+		try {
+			return Recurring.updateTasksDueBefore(taskList, now);
+		} catch (RecurrenceException e) {
+			if (e.getTaskId() != -1) {
+				removeFromTaskList(e.getTaskId());
+			}
+			logger.log(Level.WARNING, "unable to update recurrences which are over");
+			return new ArrayList<TaskObject>();
+		}
+	}
+
+	private synchronized void scheduleOverdueCheck() {
+		isOverdueCheckReady = true;
+		if (overdueScheduler != null) {
+			overdueScheduler.schedule(taskList);
+		}
+	}
+
+	// Settings such as the format of the data file are read from the storage settings file on startup
+	private void applyStorageSettings() {
+		try {
+			FileStorage.getInstance().applySettings();
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "unable to read storage settings, using defaults");
+		}
+	}
+
+	// Saves made by the main Logic object are written to disk in the background, so that commands do not
+	// wait for the disk
+	private void enableWriteBehindStorage() {
+		try {
+			FileStorage.getInstance().setWriteBehind(true);
+		} catch (InterruptedException e) {
+			logger.log(Level.WARNING, "unable to enable background saving");
+		}
+	}
+
+	// Replaces the output with an error message if a background save has failed since the last command
+	private void checkBackgroundSave() {
+		IOException saveError = FileStorage.getInstance().pollWriteError();
+		if (saveError != null) {
+			ArrayList<String> errorOutput = new ArrayList<String>();
+			errorOutput.add(MESSAGE_REQUEST_SAVE_LOCATION);
+			setOutput(errorOutput);
+			logger.log(Level.WARNING, "background save failed");
 		}
 	}
 	
 	// ---------------------------- INITIAL PRE-PROCESSING OF TASK LIST ----------------------------
 
+	// Runs the pre-processing of the task list in a background thread, returning once the first page of
+	// tasks is ready to be shown
+	private void startLoadingTaskList() {
+		firstPageLoaded = new CountDownLatch(1);
+		taskListLoaded = new CountDownLatch(1);
+		Thread loader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					synchronized (FileStorage.getInstance().getTaskListLock()) {
+						runPreProcessingOfList();
+					}
+				} finally {
+					firstPageLoaded.countDown();
+					taskListLoaded.countDown();
+				}
+			}
+		}, "atf-task-loader");
+		loader.setDaemon(true);
+		loader.start();
+		awaitLatch(firstPageLoaded);
+	}
+
+	// Waits for tasks still being loaded on startup, so that commands are run on the full task list
+	private void awaitTaskListLoaded() {
+		awaitLatch(taskListLoaded);
+	}
+
+	private void awaitLatch(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.log(Level.WARNING, "interrupted while waiting for tasks to be loaded");
+		}
+	}
+
 //@@author A0124052X
 	
 	// Called when the task list is first initialised on startup of the program
@@ -140,7 +423,11 @@ public class Logic {
 			checkOverdue();
 			Recurring.updateRecurringEvents(taskList);
 			Recurring.updateRecurringDeadlines(taskList);
-			createFirstOutputTaskList();
+			if (shownFirstPage == null) {
+				createFirstOutputTaskList();
+			} else if (isFirstPageCut) {
+				addRemainingTasksToFirstPage();
+			}
 		} catch (RecurrenceException e) {
 			String exceptionMessage;
 			if (e.getTaskId() != -1) {
@@ -149,27 +436,41 @@ public class Logic {
 			} else {
 				exceptionMessage = e.getRecurrenceExceptionMessage();
 			}
-			output.add(exceptionMessage);
+			showLoadError(exceptionMessage);
 			logger.log(Level.WARNING, "unable to update recurrences");
 		} catch (InvalidPathException e) {
 			logger.warning("invalid file path provided");
-			output.add(MESSAGE_LOAD_EXCEPTION_IFP + ". " + MESSAGE_LOAD_BACKUP);
+			showLoadError(MESSAGE_LOAD_EXCEPTION_IFP + ". " + MESSAGE_LOAD_BACKUP);
 		} catch (FileNotFoundException e) {
-			output.add(MESSAGE_LOAD_EXCEPTION_FNF + ". " + MESSAGE_LOAD_BACKUP);
+			showLoadError(MESSAGE_LOAD_EXCEPTION_FNF + ". " + MESSAGE_LOAD_BACKUP);
 			logger.log(Level.WARNING,
 					"unable to read information from external file storage, file not found");
 		} catch (IOException e) {
-			output.add(MESSAGE_LOAD_EXCEPTION_IO + ". " + MESSAGE_LOAD_BACKUP);
+			showLoadError(MESSAGE_LOAD_EXCEPTION_IO + ". " + MESSAGE_LOAD_BACKUP);
 			logger.log(Level.WARNING,
 					"unable to read information from external file storage, general IO exception");
 		} catch (JsonSyntaxException e) {
-			output.add(MESSAGE_LOAD_EXCEPTION_JSON + ". " + MESSAGE_LOAD_BACKUP);
+			showLoadError(MESSAGE_LOAD_EXCEPTION_JSON + ". " + MESSAGE_LOAD_BACKUP);
 			logger.log(Level.WARNING,
 					"unable to read information from external file storage, Json syntax error");
 		}
+		scheduleOverdueCheck();
 		logger.info("Start logic");
 	}
 
+	// Replaces the list of tasks to be shown on startup with the full task list and error message. If the first
+	// page of tasks is already shown, the error is kept to be shown by the first command instead
+	private void showLoadError(String message) {
+		if (shownFirstPage != null) {
+			loadErrorMessage = message;
+			return;
+		}
+		ArrayList<String> errorOutput = new ArrayList<String>();
+		errorOutput.add(message);
+		setLastOutputTaskList(taskList);
+		setOutput(errorOutput);
+	}
+
 	/**
 	 * Internal method which is called during the initialisation of Logic object. Purpose of this method is
 	 * to call storage and retrieve all existing task information from the external file source, if available
@@ -187,8 +488,142 @@ public class Logic {
 	private void loadTaskList() throws 
 			InvalidPathException, FileNotFoundException, JsonSyntaxException, IOException {
 		FileStorage storage = FileStorage.getInstance();
-		taskList = storage.load();
-		setLastOutputTaskList(taskList);
+		FirstPageLoader loader = new FirstPageLoader();
+		storage.load(loader);
+		taskList = loader.getLoadedTaskList();
+		if (!loader.isFirstPageShown()) {
+			setLastOutputTaskList(taskList);
+		}
+	}
+
+	/**
+	 * Collects the tasks as they are loaded from storage. Overdue tasks and tasks due today are copied into a
+	 * first page, which is shown once it is full or once a task which is sorted after all of them is loaded.
+	 * The first page stays shown once all tasks have been loaded, so that tasks given by index in the first
+	 * command are the ones the user sees. A first page which was shown once it was full has the rest of the
+	 * overdue tasks and tasks due today added after it.
+	 */
+	private class FirstPageLoader implements TaskLoadListener {
+
+		private ArrayList<TaskObject> loadedTaskList = new TaskList();
+		private ArrayList<TaskObject> firstPage = new ArrayList<TaskObject>();
+		private boolean isFirstPageShown = false;
+		private LocalDate today = LocalDate.now();
+
+		@Override
+		public void taskLoaded(TaskObject task) {
+			loadedTaskList.add(task);
+			if (isFirstPageShown) {
+				return;
+			}
+			if (isOverdueOrDueToday(task)) {
+				firstPage.add(new TaskObject(task));
+				if (firstPage.size() >= FIRST_PAGE_SIZE) {
+					isFirstPageCut = true;
+					showFirstPage();
+				}
+			} else if (!firstPage.isEmpty() && isSortedAfterFirstPage(task)) {
+				showFirstPage();
+			}
+		}
+
+		// Non-recurring tasks dated before today will be marked as overdue
+		private boolean isOverdueOrDueToday(TaskObject task) {
+			if (task.getStatus().equals(STATUS_OVERDUE)) {
+				return true;
+			}
+			if (task.getStatus().equals(STATUS_COMPLETED)
+					|| task.getStartDateTime().equals(LocalDateTime.MAX)) {
+				return false;
+			}
+			LocalDate startDate = task.getStartDateTime().toLocalDate();
+			return startDate.equals(today) || (!task.getIsRecurring() && startDate.isBefore(today));
+		}
+
+		// Saved tasks are sorted by status and then by date, so no more tasks for the first page follow
+		private boolean isSortedAfterFirstPage(TaskObject task) {
+			return task.getStatus().equals(STATUS_COMPLETED)
+					|| task.getStartDateTime().toLocalDate().isAfter(today);
+		}
+
+		private void showFirstPage() {
+			Overdue.markAllOverdueTasks(firstPage);
+			TimeOutput.setTimeOutputForGui(firstPage);
+			ArrayList<String> firstOutput = new ArrayList<String>();
+			firstOutput.add(MESSAGE_WELCOME_TASKS_OVERDUE_TODAY);
+			setLastOutputTaskList(firstPage);
+			setOutput(firstOutput);
+			shownFirstPage = firstPage;
+			isFirstPageShown = true;
+			firstPageLoaded.countDown();
+			logger.log(Level.INFO, "showing first page of tasks before all tasks are loaded");
+		}
+
+		public ArrayList<TaskObject> getLoadedTaskList() {
+			return loadedTaskList;
+		}
+
+		public boolean isFirstPageShown() {
+			return isFirstPageShown;
+		}
+	}
+
+	/*
+	 * Adds the overdue tasks and tasks due today which were not loaded in time for the full first page after
+	 * the tasks on it, as they would have been shown on startup, so that the tasks already shown keep their
+	 * indexes.
+	 */
+	private void addRemainingTasksToFirstPage() {
+		ArrayList<TaskObject> firstOutputTaskList = new ArrayList<TaskObject>();
+		addOverdueTasksToFirstOutputTaskList(firstOutputTaskList);
+		addTasksDueTodayToFirstOutputTaskList(firstOutputTaskList);
+
+		ArrayList<TaskObject> firstPage = new ArrayList<TaskObject>(shownFirstPage);
+		HashSet<Integer> shownTaskIds = new HashSet<Integer>();
+		for (int i = 0; i < firstPage.size(); i++) {
+			shownTaskIds.add(firstPage.get(i).getTaskId());
+		}
+		for (int i = 0; i < firstOutputTaskList.size(); i++) {
+			if (shownTaskIds.add(firstOutputTaskList.get(i).getTaskId())) {
+				firstPage.add(firstOutputTaskList.get(i));
+			}
+		}
+		setLastOutputTaskList(firstPage);
+		shownFirstPage = firstPage;
+		logger.log(Level.INFO, "added the remaining overdue and tasks due today to the first page");
+	}
+
+	/**
+	 * Called by the first command once all tasks have been loaded. The copies of the tasks on the first page,
+	 * which is still shown, are replaced by the loaded tasks with the same task IDs and in the same order.
+	 * Tasks which are no longer in the task list are kept as copies. <br>
+	 * If loading failed after the first page was shown, the full task list and error message are shown
+	 * instead, and the command is not run as the user has not seen the task list it would change.
+	 * 
+	 * @return true if the error in loading tasks is shown in place of the command
+	 */
+	private boolean finishLoading() {
+		if (shownFirstPage == null) {
+			return false;
+		}
+		ArrayList<TaskObject> firstPage = shownFirstPage;
+		shownFirstPage = null;
+		if (loadErrorMessage != null) {
+			showLoadError(loadErrorMessage);
+			loadErrorMessage = null;
+			return true;
+		}
+		ArrayList<TaskObject> loadedFirstPage = new ArrayList<TaskObject>();
+		for (int i = 0; i < firstPage.size(); i++) {
+			TaskObject loadedTask = TaskList.findByTaskId(taskList, firstPage.get(i).getTaskId());
+			if (loadedTask == null) {
+				loadedFirstPage.add(firstPage.get(i));
+			} else {
+				loadedFirstPage.add(loadedTask);
+			}
+		}
+		setLastOutputTaskList(loadedFirstPage);
+		return false;
 	}
 
 //@@author A0124636H
@@ -290,11 +725,9 @@ public class Logic {
 	}
 
 	private void removeFromTaskList(int taskId) {
-		for (int i = 0; i < taskList.size(); i++) {
-			if (taskList.get(i).getTaskId() == taskId) {
-				taskList.remove(i);
-			}
-		}
+		TaskList tasks = TaskList.wrap(taskList);
+		tasks.removeByTaskId(taskId);
+		taskList = tasks;
 	}
 	
 //@@author A0124636H
@@ -308,9 +741,26 @@ public class Logic {
 	 *         execute
 	 */
 	private CommandObject callParser() throws Exception {
-		Parser parser = new Parser(userInput, taskId);
+		ParseResult result = InputParser.getInstance().parse(userInput, taskId);
+		taskId++;
+		return result.toCommandObject();
+	}
+
+	/**
+	 * Gives the next task ID to an input parsed ahead of being run, as <code>callParser</code> does.
+	 * 
+	 * @param result
+	 *            Parsed input, or null if the input could not be parsed
+	 * @return CommandObject containing information on the task to be manipulated, as well as the command to
+	 *         execute
+	 */
+	private CommandObject applyParseResult(ParseResult result) throws Exception {
+		if (result == null) {
+			throw new Exception("unable to parse input");
+		}
+		CommandObject commandObj = result.toCommandObject(taskId);
 		taskId++;
-		return parser.run();
+		return commandObj;
 	}
 
 	/**
@@ -339,7 +789,7 @@ public class Logic {
 
 	// Retrieves the updated lists from the CommandFacade class and updates the corresponding lists in Logic
 	private void updateLists(CommandFacade commandFacade) {
-		setTaskList(commandFacade.getTaskList());
+		setTaskList(TaskList.wrap(commandFacade.getTaskList()));
 		setUndoList(commandFacade.getUndoList());
 		setRedoList(commandFacade.getRedoList());
 		setLastOutputTaskList(commandFacade.getLastOutputTaskList());
@@ -352,6 +802,7 @@ public class Logic {
 	// ---------------------------- GETTERS AND SETTERS ----------------------------
 
 	public ArrayList<TaskObject> getTaskList() {
+		awaitTaskListLoaded();
 		return taskList;
 	}
 
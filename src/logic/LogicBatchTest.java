@@ -0,0 +1,86 @@
+package logic;
+
+import static org.junit.Assert.*;
+import static logic.constants.Index.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import common.CommandObject;
+import common.TaskList;
+
+public class LogicBatchTest {
+
+	private Logic logic;
+
+	@Before
+	public void setUp() {
+		logic = new Logic(new TaskList(), new ArrayDeque<CommandObject>(), new ArrayDeque<CommandObject>());
+	}
+
+	@Test // Test batch is processed in order, failed inputs are listed and blank inputs are skipped
+	public void testRunBatch() {
+		int failedCount = logic.runBatch(Arrays.asList("add buy milk", "", "edit x", "add buy eggs",
+				"add pay bills", "delete 1"));
+
+		ArrayList<String> expectedOutput = new ArrayList<String>();
+		expectedOutput.add("4 of 5 commands processed.");
+		expectedOutput.add("Failed to process command 3: edit x");
+
+		assertEquals(1, failedCount);
+		assertEquals(expectedOutput, logic.getOutput());
+		assertEquals(2, logic.getTaskList().size());
+		assertEquals(1, logic.getUndoList().size());
+		assertEquals(INDEX_BATCH, logic.getUndoList().peek().getCommandType());
+		assertEquals(4, logic.getUndoList().peek().getGroupedCommands().size());
+	}
+
+	@Test // Test a batch is undone and redone as a whole
+	public void testUndoRedoBatch() {
+		logic.run("add buy milk");
+		logic.runBatch(Arrays.asList("add buy eggs", "add pay bills", "done 1"));
+		assertEquals(3, logic.getTaskList().size());
+		assertEquals(2, logic.getUndoList().size());
+
+		logic.run("undo");
+		assertEquals("Batch undone.", logic.getOutput().get(0));
+		assertEquals(1, logic.getTaskList().size());
+		assertEquals("buy milk", logic.getTaskList().get(0).getTitle());
+		assertEquals("incomplete", logic.getTaskList().get(0).getStatus());
+		assertEquals(1, logic.getUndoList().size());
+		assertEquals(1, logic.getRedoList().size());
+
+		logic.run("redo");
+		assertEquals("Batch redone.", logic.getOutput().get(0));
+		assertEquals(3, logic.getTaskList().size());
+		assertEquals(2, logic.getUndoList().size());
+		assertEquals(0, logic.getRedoList().size());
+	}
+
+	@Test // Test exit ends the batch without exiting
+	public void testExitEndsBatch() {
+		int failedCount = logic.runBatch(Arrays.asList("add buy milk", "exit", "add buy eggs"));
+
+		ArrayList<String> expectedOutput = new ArrayList<String>();
+		expectedOutput.add("1 of 1 commands processed.");
+		expectedOutput.add("Command 2 exits, remaining commands not processed.");
+
+		assertEquals(0, failedCount);
+		assertEquals(expectedOutput, logic.getOutput());
+		assertEquals(1, logic.getTaskList().size());
+	}
+
+	@Test // Test delete all in a batch clears the undo list from before the batch
+	public void testDeleteAllInBatch() {
+		logic.run("add buy milk");
+		logic.runBatch(Arrays.asList("delete all", "add buy eggs"));
+
+		assertEquals(1, logic.getTaskList().size());
+		assertEquals(1, logic.getUndoList().size());
+		assertEquals(INDEX_BATCH, logic.getUndoList().peek().getCommandType());
+	}
+}
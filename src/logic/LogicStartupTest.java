@@ -0,0 +1,115 @@
+package logic;
+
+import static org.junit.Assert.*;
+import static logic.constants.Index.*;
+import static logic.constants.Strings.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import common.TaskList;
+import common.TaskObject;
+import storage.Constants;
+import storage.FileStorage;
+
+public class LogicStartupTest {
+
+	private static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+
+	private TaskObject dueToday;
+	private TaskObject overdue;
+
+	@Before
+	public void setUp() throws Exception {
+		deleteInfo();
+		LocalDate today = LocalDate.now();
+		dueToday = new TaskObject("due today", today.atTime(23, 59), CATEGORY_DEADLINE, STATUS_INCOMPLETE, 1);
+		overdue = new TaskObject("overdue", today.minusDays(1).atTime(12, 0), CATEGORY_DEADLINE,
+				STATUS_INCOMPLETE, 2);
+		TaskObject completed = new TaskObject("completed", today.plusDays(1).atTime(12, 0), CATEGORY_DEADLINE,
+				STATUS_COMPLETED, 3);
+		// Saved in this order, the task dated yesterday is only marked overdue, and sorted first, once loaded
+		ArrayList<TaskObject> savedTaskList = new ArrayList<TaskObject>();
+		savedTaskList.add(dueToday);
+		savedTaskList.add(overdue);
+		savedTaskList.add(completed);
+		FileStorage storage = FileStorage.getInstance();
+		storage.save(savedTaskList);
+		storage.flush();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		FileStorage.getInstance().flush();
+		deleteInfo();
+	}
+
+	private static void deleteInfo() throws IOException {
+		Files.deleteIfExists(dataFilePath);
+		Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+		FileStorage.getInstance().reloadSaveLocation();
+	}
+
+	@Test // Test first page shown before all tasks are loaded stays shown once they are loaded
+	public void testFirstPageKept() {
+		Logic logic = new Logic();
+		ArrayList<String> expectedOutput = new ArrayList<String>();
+		expectedOutput.add(MESSAGE_WELCOME_TASKS_OVERDUE_TODAY);
+
+		assertEquals(expectedOutput, logic.getOutput());
+		assertEquals(2, logic.getLastOutputTaskList().size());
+		assertEquals(dueToday.getTaskId(), logic.getLastOutputTaskList().get(0).getTaskId());
+		assertEquals(overdue.getTaskId(), logic.getLastOutputTaskList().get(1).getTaskId());
+		assertEquals(3, logic.getTaskList().size());
+		assertEquals(expectedOutput, logic.getOutput());
+	}
+
+	@Test // Test index given by the first command refers to the task shown at that index on the first page
+	public void testIndexCommandAfterLoad() {
+		Logic logic = new Logic();
+		logic.run("delete 1");
+
+		assertEquals(2, logic.getTaskList().size());
+		assertNull(TaskList.findByTaskId(logic.getTaskList(), dueToday.getTaskId()));
+		assertNotNull(TaskList.findByTaskId(logic.getTaskList(), overdue.getTaskId()));
+	}
+
+	@Test // Test task shown on the first page is the loaded task once the first command has been run
+	public void testFirstPageReplacedByLoadedTasks() {
+		Logic logic = new Logic();
+		logic.run("done 2");
+
+		TaskObject loadedOverdue = TaskList.findByTaskId(logic.getTaskList(), overdue.getTaskId());
+		assertEquals(STATUS_COMPLETED, loadedOverdue.getStatus());
+	}
+
+	@Test // Test overdue tasks which do not fit on the full first page are added after it once loaded
+	public void testFullFirstPageCompleted() throws Exception {
+		LocalDate yesterday = LocalDate.now().minusDays(1);
+		ArrayList<TaskObject> savedTaskList = new ArrayList<TaskObject>();
+		for (int i = 1; i <= FIRST_PAGE_SIZE + 5; i++) {
+			savedTaskList.add(new TaskObject("overdue " + i, yesterday.atTime(12, 0), CATEGORY_DEADLINE,
+					STATUS_OVERDUE, i));
+		}
+		FileStorage storage = FileStorage.getInstance();
+		storage.save(savedTaskList);
+		storage.flush();
+
+		Logic logic = new Logic();
+		logic.getTaskList();
+
+		assertEquals(FIRST_PAGE_SIZE + 5, logic.getLastOutputTaskList().size());
+		for (int i = 0; i < FIRST_PAGE_SIZE + 5; i++) {
+			assertEquals(i + 1, logic.getLastOutputTaskList().get(i).getTaskId());
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+package logic;
+
+import common.Interval;
+import common.LocalDateTimePair;
+import common.TaskObject;
+import logic.exceptions.RecurrenceException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+import static logic.constants.Strings.*;
+
+/**
+ * Generates the occurrences of a recurring task one at a time from its Interval, so that occurrences are only
+ * created when they are needed instead of all at once. <br>
+ * A recurrence ends after its until date and time, or once its count of occurrences has been generated, and
+ * goes on forever otherwise. Occurrences which have been deleted are skipped, but still count towards the
+ * count of the recurrence.
+ */
+public class OccurrenceGenerator {
+
+	// Count of a recurrence which is not limited by its number of occurrences
+	public static final int COUNT_UNLIMITED = -1;
+
+	private Interval interval;
+	private LocalDateTimePair nextOccurrence;
+	private int remainingCount;
+	private ArrayList<LocalDateTimePair> deletedOccurrences;
+
+	/**
+	 * @param interval
+	 *            Interval of the recurrence.
+	 * @param firstOccurrence
+	 *            First occurrence to be generated.
+	 * @param count
+	 *            Number of occurrences to be generated, including the first, or COUNT_UNLIMITED.
+	 * @param deletedOccurrences
+	 *            Occurrences to be skipped.
+	 */
+	public OccurrenceGenerator(Interval interval, LocalDateTimePair firstOccurrence, int count,
+			ArrayList<LocalDateTimePair> deletedOccurrences) {
+		this.interval = interval;
+		this.nextOccurrence = firstOccurrence;
+		this.remainingCount = count;
+		this.deletedOccurrences = deletedOccurrences;
+	}
+
+	/**
+	 * Creates a generator of the occurrences of a recurring task which come after the last of its task date
+	 * times. A recurrence with a count or an until date and time continues for the pending occurrences of the
+	 * task, while a recurrence without either continues forever.
+	 *
+	 * @throws RecurrenceException
+	 *             if the interval of the task is invalid
+	 */
+	public static OccurrenceGenerator after(TaskObject task) throws RecurrenceException {
+		ArrayList<LocalDateTimePair> taskDateTimes = task.getTaskDateTimes();
+		LocalDateTimePair lastOccurrence = taskDateTimes.get(taskDateTimes.size() - 1);
+		int count = COUNT_UNLIMITED;
+		if (!task.isInfiniteRecurrence()) {
+			count = task.getPendingOccurrenceCount();
+		}
+		return new OccurrenceGenerator(task.getInterval(),
+				Recurring.setNextTimePair(task.getInterval(), lastOccurrence), count,
+				task.getDeletedTaskDateTimes());
+	}
+
+	public boolean hasNext() throws RecurrenceException {
+		while (nextOccurrence != null) {
+			if (remainingCount == 0 || isAfterUntil(nextOccurrence)) {
+				nextOccurrence = null;
+			} else if (isDeleted(nextOccurrence)) {
+				moveToNextOccurrence();
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public LocalDateTimePair next() throws RecurrenceException {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		LocalDateTimePair occurrence = nextOccurrence;
+		moveToNextOccurrence();
+		return occurrence;
+	}
+
+	/**
+	 * Counts the occurrences which are still to be generated, including deleted occurrences, and moves past
+	 * them. Returns COUNT_UNLIMITED for a recurrence which goes on forever. <br>
+	 * The count is worked out directly when the recurrence has no until date and time, or its occurrences are
+	 * a fixed length of time apart, and by going through the occurrences one at a time otherwise.
+	 */
+	public int countRemaining() throws RecurrenceException {
+		if (remainingCount == COUNT_UNLIMITED && interval.getUntil().isEqual(LocalDateTime.MAX)) {
+			return COUNT_UNLIMITED;
+		}
+		long count = countOccurrencesUntil();
+		if (count < 0) {
+			count = 0;
+			while (nextOccurrence != null && remainingCount != 0 && !isAfterUntil(nextOccurrence)) {
+				count++;
+				moveToNextOccurrence();
+			}
+		}
+		nextOccurrence = null;
+		return (int) Math.min(count, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the number of occurrences after those generated so far which are still to come, including
+	 * deleted occurrences, or COUNT_UNLIMITED for a recurrence without a count. Unlike countRemaining, this
+	 * does not go through the occurrences.
+	 */
+	public int getRemainingCount() {
+		if (nextOccurrence == null && remainingCount != COUNT_UNLIMITED) {
+			return 0;
+		}
+		return remainingCount;
+	}
+
+	/**
+	 * Adds the occurrences which end before the specified date and time to the list of taken occurrences,
+	 * and moves past them. A deadline occurrence ends at its start. <br>
+	 * When occurrences are a fixed length of time apart, the number of occurrences to be taken is worked out
+	 * from the interval directly instead of comparing every occurrence.
+	 *
+	 * @throws RecurrenceException
+	 *             if the interval is invalid
+	 */
+	public void takeOccurrencesEndingBefore(LocalDateTime dateTime, ArrayList<LocalDateTimePair> taken)
+			throws RecurrenceException {
+		long elapsedCount = countOccurrencesEndingBefore(dateTime);
+		if (elapsedCount > 0) {
+			taken.ensureCapacity(taken.size() + (int) Math.min(elapsedCount, Integer.MAX_VALUE));
+		}
+		while (nextOccurrence != null && remainingCount != 0 && !isAfterUntil(nextOccurrence)) {
+			if (elapsedCount == 0 || (elapsedCount < 0 && !getEndOf(nextOccurrence).isBefore(dateTime))) {
+				break;
+			}
+			if (!isDeleted(nextOccurrence)) {
+				taken.add(nextOccurrence);
+			}
+			moveToNextOccurrence();
+			if (elapsedCount > 0) {
+				elapsedCount--;
+			}
+		}
+	}
+
+	/*
+	 * Counts the occurrences from the next occurrence on which end before the date and time, ignoring the
+	 * count, until and deleted occurrences of the recurrence. Returns -1 if occurrences are not a fixed
+	 * length of time apart, as with monthly or yearly recurrences, or recurrences on days of the week.
+	 */
+	private long countOccurrencesEndingBefore(LocalDateTime dateTime) {
+		Duration step = getFixedStep();
+		if (step == null || nextOccurrence == null) {
+			return -1;
+		}
+		LocalDateTime firstEnd = getEndOf(nextOccurrence);
+		if (!firstEnd.isBefore(dateTime)) {
+			return 0;
+		}
+		long elapsedCount = Duration.between(firstEnd, dateTime).getSeconds() / step.getSeconds();
+		// Whole number of steps rounded down, plus the occurrence ending in the last part of a step
+		if (firstEnd.plus(step.multipliedBy(elapsedCount)).isBefore(dateTime)) {
+			elapsedCount++;
+		}
+		return elapsedCount;
+	}
+
+	/*
+	 * Counts the occurrences from the next occurrence on which start at or before the until date and time,
+	 * up to the count of the recurrence. Returns -1 if the recurrence has an until date and time but its
+	 * occurrences are not a fixed length of time apart.
+	 */
+	private long countOccurrencesUntil() {
+		if (nextOccurrence == null || remainingCount == 0) {
+			return 0;
+		}
+		if (interval.getUntil().isEqual(LocalDateTime.MAX)) {
+			return remainingCount;
+		}
+		Duration step = getFixedStep();
+		if (step == null) {
+			return -1;
+		}
+		if (isAfterUntil(nextOccurrence)) {
+			return 0;
+		}
+		long count = Duration.between(nextOccurrence.getStartDateTime(), interval.getUntil()).getSeconds()
+				/ step.getSeconds() + 1;
+		if (remainingCount != COUNT_UNLIMITED) {
+			count = Math.min(count, remainingCount);
+		}
+		return count;
+	}
+
+	private Duration getFixedStep() {
+		if (interval.getFrequency() == null || interval.getByDayArray()[0] != 0
+				|| interval.getTimeInterval() <= 0) {
+			return null;
+		}
+		switch (interval.getFrequency()) {
+		case FREQ_HOURLY:
+			return Duration.ofHours(interval.getTimeInterval());
+		case FREQ_DAILY:
+			return Duration.ofDays(interval.getTimeInterval());
+		case FREQ_WEEKLY:
+			return Duration.ofDays(7L * interval.getTimeInterval());
+		default:
+			return null;
+		}
+	}
+
+	private static LocalDateTime getEndOf(LocalDateTimePair occurrence) {
+		if (occurrence.getEndDateTime().isEqual(LocalDateTime.MAX)) {
+			return occurrence.getStartDateTime();
+		}
+		return occurrence.getEndDateTime();
+	}
+
+	private void moveToNextOccurrence() throws RecurrenceException {
+		if (remainingCount != COUNT_UNLIMITED) {
+			remainingCount--;
+		}
+		nextOccurrence = Recurring.setNextTimePair(interval, nextOccurrence);
+	}
+
+	private boolean isAfterUntil(LocalDateTimePair occurrence) {
+		return occurrence.getStartDateTime().isAfter(interval.getUntil());
+	}
+
+	private boolean isDeleted(LocalDateTimePair occurrence) {
+		if (deletedOccurrences == null) {
+			return false;
+		}
+		for (int i = 0; i < deletedOccurrences.size(); i++) {
+			if (deletedOccurrences.get(i).equals(occurrence)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
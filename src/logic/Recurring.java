@@ -3,10 +3,11 @@
 package logic;
 
 import common.*;
-import logic.add.Add;
+import logic.add.TaskBatch;
 import logic.exceptions.RecurrenceException;
 import logic.timeoutput.TimeOutput;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.logging.Level;
@@ -115,9 +116,11 @@ public class Recurring {
 	 */
 	public static void updateRecurringEvents(ArrayList<TaskObject> taskList) throws RecurrenceException {
 		logger.log(Level.INFO, "about to update all recurring events");
+		TaskBatch batch = new TaskBatch(taskList);
 		for (int i = 0; i < taskList.size(); i++) {
-			checkForAndProcessRecurringEvents(taskList.get(i), taskList);
+			checkForAndProcessRecurringEvents(taskList.get(i), batch);
 		}
+		commitSplitTasks(batch);
 	}
 	
 	/**
@@ -129,27 +132,60 @@ public class Recurring {
 	 *            List of tasks stored by AdultTaskFinder
 	 */
 	public static void updateRecurringDeadlines(ArrayList<TaskObject> taskList) throws RecurrenceException {
+		TaskBatch batch = new TaskBatch(taskList);
 		for (int i = 0; i < taskList.size(); i++) {
-			checkForAndProcessRecurringDeadlines(taskList.get(i), taskList);
+			checkForAndProcessRecurringDeadlines(taskList.get(i), batch);
 		}
+		commitSplitTasks(batch);
+	}
+
+	/**
+	 * Method called by logic when a task becomes overdue while no command is entered. Splits the occurrences
+	 * which are over from the recurring events and deadlines whose current occurrence is over before the
+	 * date time, as found by the index of due times of a TaskList, without saving the task list. Other lists
+	 * are left to updateRecurringEvents and updateRecurringDeadlines.
+	 * 
+	 * @param taskList
+	 *            List of tasks stored by AdultTaskFinder.
+	 * @return the recurring tasks which were updated, followed by the tasks split from them
+	 * @throws RecurrenceException
+	 *             thrown if there are problems generating the next recurrences.
+	 */
+	public static ArrayList<TaskObject> updateTasksDueBefore(ArrayList<TaskObject> taskList,
+			LocalDateTime dateTime) throws RecurrenceException {
+		ArrayList<TaskObject> changedTasks = new ArrayList<TaskObject>();
+		if (!(taskList instanceof TaskList)) {
+			return changedTasks;
+		}
+		TaskBatch batch = new TaskBatch(taskList);
+		for (TaskObject task : ((TaskList) taskList).getTasksDueBefore(dateTime)) {
+			if (task.getIsRecurring()) {
+				checkForAndProcessRecurringEvents(task, batch);
+				checkForAndProcessRecurringDeadlines(task, batch);
+				changedTasks.add(task);
+			}
+		}
+		changedTasks.addAll(batch.getAddedTasks());
+		batch.apply();
+		return changedTasks;
 	}
 
 	// ==================================================================
 	// Second Level of Abstraction
 	// ==================================================================
 	
-	private static void checkForAndProcessRecurringEvents(TaskObject task, ArrayList<TaskObject> taskList)
+	private static void checkForAndProcessRecurringEvents(TaskObject task, TaskBatch batch)
 			throws RecurrenceException {
 		if (task.getIsRecurring() && task.getCategory().equals(CATEGORY_EVENT)) {
-			updateEvent(task, taskList, STATUS_OVERDUE);
+			updateEvent(task, batch, STATUS_OVERDUE);
 			logger.log(Level.INFO, "about to update recurring event:" + task.getTitle());
 		}
 	}
 
-	private static void checkForAndProcessRecurringDeadlines(TaskObject task, ArrayList<TaskObject> taskList)
+	private static void checkForAndProcessRecurringDeadlines(TaskObject task, TaskBatch batch)
 			throws RecurrenceException {
 		if (task.getIsRecurring() && task.getCategory().equals(CATEGORY_DEADLINE)) {
-			updateDeadline(task, taskList, STATUS_OVERDUE);
+			updateDeadline(task, batch, STATUS_OVERDUE);
 			logger.log(Level.INFO, "about to update recurring deadline:" + task.getTitle());
 		}
 	}
@@ -171,11 +207,19 @@ public class Recurring {
 	 */
 	public static void updateEvent(TaskObject task, ArrayList<TaskObject> taskList, String status)
 			throws RecurrenceException {
+		TaskBatch batch = new TaskBatch(taskList);
+		updateEvent(task, batch, status);
+		// Saved by the caller together with its own changes
+		batch.apply();
+	}
+
+	private static void updateEvent(TaskObject task, TaskBatch batch, String status)
+			throws RecurrenceException {
 		if (status.equals(STATUS_OVERDUE)) {
-			updateEventToOverdue(task, taskList, status);
+			updateEventToOverdue(task, batch, status);
 			logger.log(Level.INFO, "updated status of event " + task.getTitle() + " to " + status);
 		} else if (status.equals(STATUS_COMPLETED)) {
-			updateEventToCompleted(task, taskList, status);
+			updateEventToCompleted(task, batch, status);
 			logger.log(Level.INFO, "updated status of event " + task.getTitle() + " to " + status);
 		} else {
 			logger.log(Level.WARNING, "unable to update status of event");
@@ -197,10 +241,18 @@ public class Recurring {
 	 */
 	public static void updateDeadline(TaskObject task, ArrayList<TaskObject> taskList, String status)
 			throws RecurrenceException {
+		TaskBatch batch = new TaskBatch(taskList);
+		updateDeadline(task, batch, status);
+		// Saved by the caller together with its own changes
+		batch.apply();
+	}
+
+	private static void updateDeadline(TaskObject task, TaskBatch batch, String status)
+			throws RecurrenceException {
 		if (status.equals(STATUS_OVERDUE)) {
-			updateDeadlineToOverdue(task, taskList, status);
+			updateDeadlineToOverdue(task, batch, status);
 		} else if (status.equals(STATUS_COMPLETED)) {
-			updateDeadlineToCompleted(task, taskList, status);
+			updateDeadlineToCompleted(task, batch, status);
 		} else {
 			logger.log(Level.WARNING, "unable to update status of deadline");
 			RecurrenceException e = new RecurrenceException(MESSAGE_RECURRENCE_EXCEPTION_INVALID_STATUS);
@@ -217,21 +269,23 @@ public class Recurring {
 	 * whether: <br>
 	 * 1. There is >1 timing left in the recurring task, or <br>
 	 * 2. There is only 1 timing left in the recurring task. <br>
-	 * With >1 timing left, it will continually split the recurring task until the recurring task is no longer
-	 * overdue. If there is only one timing left, another method will be called. This method will change the
-	 * status of the task directly to overdue, and sets the isRecurring variable to false. The software will
-	 * no longer recognise the task as a recurring task.
+	 * With >1 timing left, it will split every overdue occurrence from the recurring task at once, until the
+	 * recurring task is no longer overdue. If there is only one timing left, another method will be called.
+	 * This method will change the status of the task directly to overdue, and sets the isRecurring variable
+	 * to false. The software will no longer recognise the task as a recurring task. <br>
+	 * The split events are added to the batch, so that they are saved together with the rest of the task
+	 * list.
 	 * 
 	 * @param task
 	 *            Recurring TaskObject which will be checked for overdue timings.
-	 * @param taskList
-	 *            ArrayList<TaskObject> which stores all the tasks. To add split event inside.
+	 * @param batch
+	 *            TaskBatch of changes to the task list. To add split event inside.
 	 * @param status
 	 *            String storing the value "overdue".
 	 * @throws RecurrenceException
 	 *             thrown when there are no timings left in taskDateTimes, which should not occur normally.
 	 */
-	private static void updateEventToOverdue(TaskObject task, ArrayList<TaskObject> taskList, String status)
+	private static void updateEventToOverdue(TaskObject task, TaskBatch batch, String status)
 			throws RecurrenceException {
 		// Prevent IndexOutOfBoundsException
 		if (task.getTaskDateTimes().isEmpty()) {
@@ -239,30 +293,11 @@ public class Recurring {
 			throw e;
 		}
 
-		LocalDateTimePair eventTimePair = task.getTaskDateTimes().get(0);
-		LocalDateTime eventEndTime = eventTimePair.getEndDateTime();
-		LocalDateTime eventStartTime = eventTimePair.getStartDateTime();
-
-		String taskName = task.getTitle();
-
-		assert (!eventEndTime.equals(LocalDateTime.MAX));
+		assert (!task.getTaskDateTimes().get(0).getEndDateTime().equals(LocalDateTime.MAX));
 
-		// While there are multiple timings left and the first timing in the list is overdue
-		while (LocalDateTime.now().isAfter(eventEndTime) && task.getTaskDateTimes().size() > 1) {
-			splitTaskFromRecurringEvent(taskName, eventStartTime, eventEndTime, taskList, status);
-			renewEvent(task);
-			eventEndTime = task.getEndDateTime();
-			eventStartTime = task.getStartDateTime();
-			logger.log(Level.INFO,
-					"Modified recurring event to next set of timings, and split current overdue event");
-		}
-
-		// If there is only one timing left in the recurring event
-		if (task.getTaskDateTimes().size() <= 1) {
-			if (LocalDateTime.now().isAfter(eventEndTime)) {
-				handleChangeInStatusForOneOccurrence(task, status);
-			}
-		}
+		splitOverdueOccurrences(task, batch, status);
+		logger.log(Level.INFO,
+				"Modified recurring event to next set of timings, and split overdue events");
 	}
 
 	/**
@@ -272,21 +307,21 @@ public class Recurring {
 	 * 1. There is >1 timing left in the recurring task, or <br>
 	 * 2. There is only 1 timing left in the recurring task. <br>
 	 * If there are multiple tasks left, the recurring task will be split into a completed task and an
-	 * incomplete task, and the completed task will be added into taskList. <br>
+	 * incomplete task, and the completed task will be added into the batch. <br>
 	 * If there is only one timing left, another method will be called. This method will change the status of
 	 * the task directly to overdue, and sets the isRecurring variable to false. The software will no longer
 	 * recognise the task as a recurring task.
 	 * 
 	 * @param task
 	 *            TaskObject to be marked as completed.
-	 * @param taskList
-	 *            ArrayList<TaskObject> stored. To add split Event.
+	 * @param batch
+	 *            TaskBatch of changes to the task list. To add split Event.
 	 * @param status
 	 *            String holding the value "completed".
 	 * @throws RecurrenceException
 	 *             thrown if taskDateTimes is empty, which should not occur.
 	 */
-	private static void updateEventToCompleted(TaskObject task, ArrayList<TaskObject> taskList, String status)
+	private static void updateEventToCompleted(TaskObject task, TaskBatch batch, String status)
 			throws RecurrenceException {
 		// Prevent IndexOutOfBoundsException
 		if (task.getTaskDateTimes().isEmpty()) {
@@ -302,11 +337,12 @@ public class Recurring {
 		if (task.getTaskDateTimes().size() == 1) {
 			handleChangeInStatusForOneOccurrence(task, status);
 		} else {
-			splitTaskFromRecurringEvent(taskName, eventStartTime, eventEndTime, taskList, status);
+			splitTaskFromRecurringEvent(taskName, eventStartTime, eventEndTime, batch, status);
 			renewEvent(task);
 			logger.log(Level.INFO,
 					"Modified recurring event to next set of timings, and split current completed event");
 		}
+		batch.update(task);
 	}
 	
 	/**
@@ -314,46 +350,31 @@ public class Recurring {
 	 * whether: <br>
 	 * 1. There is >1 timing left in the recurring task, or <br>
 	 * 2. There is only 1 timing left in the recurring task. <br>
-	 * With >1 timing left, it will continually split the recurring task until the recurring task is no longer
-	 * overdue. If there is only one timing left, another method will be called. This method will change the
-	 * status of the task directly to overdue, and sets the isRecurring variable to false. The software will
-	 * no longer recognise the task as a recurring task.
+	 * With >1 timing left, it will split every overdue occurrence from the recurring task at once, until the
+	 * recurring task is no longer overdue. If there is only one timing left, another method will be called.
+	 * This method will change the status of the task directly to overdue, and sets the isRecurring variable
+	 * to false. The software will no longer recognise the task as a recurring task. <br>
+	 * The split deadlines are added to the batch, so that they are saved together with the rest of the task
+	 * list.
 	 * 
 	 * @param task
 	 *            Recurring TaskObject which will be checked for overdue timings.
-	 * @param taskList
-	 *            ArrayList<TaskObject> which stores all the tasks. To add split deadline inside.
+	 * @param batch
+	 *            TaskBatch of changes to the task list. To add split deadline inside.
 	 * @param status
 	 *            String storing the value "overdue".
 	 * @throws RecurrenceException
 	 *             thrown when there are no timings left in taskDateTimes, which should not occur normally.
 	 */
-	private static void updateDeadlineToOverdue(TaskObject task, ArrayList<TaskObject> taskList,
-			String status) throws RecurrenceException {
+	private static void updateDeadlineToOverdue(TaskObject task, TaskBatch batch, String status) throws RecurrenceException {
 		// Prevent IndexOutOfBoundsException
 		if (task.getTaskDateTimes().isEmpty()) {
 			RecurrenceException e = new RecurrenceException(task);
 			throw e;
 		}
 
-		LocalDateTime deadlineDateTime = task.getTaskDateTimes().get(0).getStartDateTime();
-		String taskName = task.getTitle();
-
-		// Continually splits tasks until recurring task is no longer overdue
-		// number of recurring times must also be more than 1
-		while (LocalDateTime.now().isAfter(deadlineDateTime) && task.getTaskDateTimes().size() > 1) {
-			splitTaskFromRecurringDeadline(deadlineDateTime, taskName, taskList, status);
-			renewDeadline(task);
-			deadlineDateTime = task.getStartDateTime();
-			logger.log(Level.INFO, "updated recurring deadline");
-		}
-
-		// Special case for only 1 timing left
-		if (task.getTaskDateTimes().size() == 1) {
-			if (LocalDateTime.now().isAfter(deadlineDateTime)) {
-				handleChangeInStatusForOneOccurrence(task, status);
-			}
-		}
+		splitOverdueOccurrences(task, batch, status);
+		logger.log(Level.INFO, "updated recurring deadline");
 	}
 
 	/**
@@ -363,22 +384,21 @@ public class Recurring {
 	 * 1. There is >1 timing left in the recurring task, or <br>
 	 * 2. There is only 1 timing left in the recurring task. <br>
 	 * If there are multiple tasks left, the recurring task will be split into a completed task and an
-	 * incomplete task, and the completed task will be added into taskList. <br>
+	 * incomplete task, and the completed task will be added into the batch. <br>
 	 * If there is only one timing left, another method will be called. This method will change the status of
 	 * the task directly to overdue, and sets the isRecurring variable to false. The software will no longer
 	 * recognise the task as a recurring task.
 	 * 
 	 * @param task
 	 *            TaskObject to be marked as completed.
-	 * @param taskList
-	 *            ArrayList<TaskObject> stored. To add split deadline.
+	 * @param batch
+	 *            TaskBatch of changes to the task list. To add split deadline.
 	 * @param status
 	 *            String holding the value "completed".
 	 * @throws RecurrenceException
 	 *             thrown if taskDateTimes is empty, which should not occur.
 	 */
-	private static void updateDeadlineToCompleted(TaskObject task, ArrayList<TaskObject> taskList,
-			String status) throws RecurrenceException {
+	private static void updateDeadlineToCompleted(TaskObject task, TaskBatch batch, String status) throws RecurrenceException {
 		// Prevent IndexOutOfBoundsException
 		if (task.getTaskDateTimes().isEmpty()) {
 			RecurrenceException e = new RecurrenceException(task);
@@ -391,16 +411,119 @@ public class Recurring {
 		if (task.getTaskDateTimes().size() == 1) {
 			handleChangeInStatusForOneOccurrence(task, status);
 		} else {
-			splitTaskFromRecurringDeadline(deadlineDateTime, taskName, taskList, status);
+			splitTaskFromRecurringDeadline(deadlineDateTime, taskName, batch, status);
 			renewDeadline(task);
 		}
+		batch.update(task);
 	}
 
 	// ======================================================================
 	// Fifth Level of Abstraction
 	// ======================================================================
 	/**
-	 * Creates a non-recurring task with a specified set of timings and the desired status. Added to taskList
+	 * Splits every occurrence of a recurring task which is already over into a non-recurring task with the
+	 * desired status, and moves the recurring task to its first occurrence which is not over. <br>
+	 * Occurrences which are over are taken from the start of the task's timings, and from the recurrence
+	 * after the last of its timings if every timing is over. The timings are then topped up to their
+	 * original number from the recurrence. If no occurrences are left, the last occurrence which is over
+	 * stays in the recurring task, which is changed to the desired status and is no longer recurring. <br>
+	 * The split tasks are added to the batch, to be added to the end of the task list together. The recurring
+	 * task is only updated in the batch if any of its occurrences are over, so that a batch without them is
+	 * not saved.
+	 * 
+	 * @param task
+	 *            Recurring TaskObject with at least one timing.
+	 * @param batch
+	 *            TaskBatch of changes to the task list.
+	 * @param status
+	 *            String containing the desired status of the split tasks.
+	 * @throws RecurrenceException
+	 *             thrown if there are problems generating the next recurrences.
+	 */
+	private static void splitOverdueOccurrences(TaskObject task, TaskBatch batch, String status)
+			throws RecurrenceException {
+		LocalDateTime now = LocalDateTime.now();
+		ArrayList<LocalDateTimePair> taskDateTimes = task.getTaskDateTimes();
+		int windowSize = taskDateTimes.size();
+
+		int storedOverdueCount = 0;
+		while (storedOverdueCount < windowSize && isOver(taskDateTimes.get(storedOverdueCount), now)) {
+			storedOverdueCount++;
+		}
+		if (storedOverdueCount == 0) {
+			return;
+		}
+
+		ArrayList<LocalDateTimePair> overdueOccurrences = new ArrayList<LocalDateTimePair>(
+				taskDateTimes.subList(0, storedOverdueCount));
+		ArrayList<LocalDateTimePair> upcomingOccurrences = new ArrayList<LocalDateTimePair>(
+				taskDateTimes.subList(storedOverdueCount, windowSize));
+
+		OccurrenceGenerator generator = OccurrenceGenerator.after(task);
+		if (upcomingOccurrences.isEmpty()) {
+			generator.takeOccurrencesEndingBefore(now, overdueOccurrences);
+		}
+		while (upcomingOccurrences.size() < windowSize && generator.hasNext()) {
+			upcomingOccurrences.add(generator.next());
+		}
+		if (!checkIfInfiniteRecurrence(task.getInterval())) {
+			task.setPendingOccurrenceCount(generator.getRemainingCount());
+		}
+
+		boolean isEndOfRecurrence = upcomingOccurrences.isEmpty();
+		if (isEndOfRecurrence) {
+			upcomingOccurrences.add(overdueOccurrences.remove(overdueOccurrences.size() - 1));
+		}
+
+		taskDateTimes.clear();
+		taskDateTimes.addAll(upcomingOccurrences);
+		task.setStartDateTime(upcomingOccurrences.get(0).getStartDateTime());
+		if (task.getCategory().equals(CATEGORY_EVENT)) {
+			task.setEndDateTime(upcomingOccurrences.get(0).getEndDateTime());
+		}
+		if (isEndOfRecurrence) {
+			handleChangeInStatusForOneOccurrence(task, status);
+		}
+
+		batch.update(task);
+		addSplitTasks(task, overdueOccurrences, batch, status);
+	}
+
+	/*
+	 * Adds a non-recurring task with the desired status for each occurrence to the batch. Task IDs continue
+	 * downwards from the lowest task ID in the list and the batch.
+	 */
+	private static void addSplitTasks(TaskObject task, ArrayList<LocalDateTimePair> occurrences,
+			TaskBatch batch, String status) {
+		if (occurrences.isEmpty()) {
+			return;
+		}
+		int taskId = generateTaskId(batch);
+		for (int i = 0; i < occurrences.size(); i++) {
+			LocalDateTimePair occurrence = occurrences.get(i);
+			if (task.getCategory().equals(CATEGORY_EVENT)) {
+				batch.add(createSplitEventTaskObject(task.getTitle(), occurrence.getStartDateTime(),
+						occurrence.getEndDateTime(), status, taskId));
+			} else {
+				batch.add(createSplitDeadlineTaskObject(occurrence.getStartDateTime(), task.getTitle(), taskId,
+						status));
+			}
+			taskId--;
+		}
+		logger.log(Level.INFO, "Added " + occurrences.size() + " split recurring tasks to batch");
+	}
+
+	// Adds the tasks split from recurring tasks to the task list, and saves the task list once
+	private static void commitSplitTasks(TaskBatch batch) {
+		try {
+			batch.commit();
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "did not manage to save split recurring tasks");
+		}
+	}
+
+	/**
+	 * Creates a non-recurring task with a specified set of timings and the desired status. Added to the batch
 	 * after that.
 	 * 
 	 * @param taskName
@@ -409,28 +532,27 @@ public class Recurring {
 	 *            LocalDateTime containing the start date and time of task.
 	 * @param endDateTime
 	 *            LocalDateTime containing the end date and time of task.
-	 * @param taskList
-	 *            ArrayList of TaskObjects containing all tasks stored in AdultTaskFinder.
+	 * @param batch
+	 *            TaskBatch of changes to the task list.
 	 * @param status
 	 *            String containing the desired status of the split task.
 	 */
 	private static void splitTaskFromRecurringEvent(String taskName, LocalDateTime startDateTime,
-			LocalDateTime endDateTime, ArrayList<TaskObject> taskList, String status) {
-		int taskId = generateTaskId(taskList);
+			LocalDateTime endDateTime, TaskBatch batch, String status) {
+		int taskId = generateTaskId(batch);
 
 		assert (taskId < 0);
 		assert (startDateTime.isBefore(endDateTime));
 
 		TaskObject splitEvent = createSplitEventTaskObject(taskName, startDateTime, endDateTime, status,
 				taskId);
-		Add add = new Add(splitEvent, -1, taskList);
-		add.run();
+		batch.add(splitEvent);
 
-		logger.log(Level.INFO, "Added the split recurring event to task list");
+		logger.log(Level.INFO, "Added the split recurring event to batch");
 	}
 	
 	/**
-	 * Creates a non-recurring task with a specified set of timings and the desired status. Added to taskList
+	 * Creates a non-recurring task with a specified set of timings and the desired status. Added to the batch
 	 * after that.
 	 * 
 	 * @param deadline
@@ -438,18 +560,17 @@ public class Recurring {
 	 *            startDateTime.
 	 * @param taskName
 	 *            String containing the name of the task.
-	 * @param taskList
-	 *            ArrayList of TaskObjects containing all tasks in AdultTaskFinder.
+	 * @param batch
+	 *            TaskBatch of changes to the task list.
 	 * @param status
 	 *            String containing the desired status of the split task.
 	 */
 	private static void splitTaskFromRecurringDeadline(LocalDateTime deadline, String taskName,
-			ArrayList<TaskObject> taskList, String status) {
-		int taskId = generateTaskId(taskList);
+			TaskBatch batch, String status) {
+		int taskId = generateTaskId(batch);
 		TaskObject splitDeadline = createSplitDeadlineTaskObject(deadline, taskName, taskId, status);
-		Add add = new Add(splitDeadline, -1, taskList);
-		add.run();
-		// adds the split deadline into the taskList
+		batch.add(splitDeadline);
+		// adds the split deadline into the batch
 	}
 	
 	/**
@@ -480,10 +601,7 @@ public class Recurring {
 		logger.log(Level.INFO, "Set to next recurring date time: " + newStartDateTime.toString()
 				+ newEndDateTime.toString());
 
-		boolean isInfiniteRecurrence = checkIfInfiniteRecurrence(task.getInterval());
-		if (isInfiniteRecurrence) {
-			updateInfiniteRecurrence(task);
-		}
+		addNextOccurrence(task);
 	}
 	
 	/**
@@ -510,10 +628,7 @@ public class Recurring {
 
 		logger.log(Level.INFO, "set the next deadline for recurring task");
 
-		boolean isInfiniteRecurrence = checkIfInfiniteRecurrence(task.getInterval());
-		if (isInfiniteRecurrence) {
-			updateInfiniteRecurrence(task);
-		}
+		addNextOccurrence(task);
 	}
 
 
@@ -546,9 +661,15 @@ public class Recurring {
 	// ========================================================================
 
 	// returns a negative number as taskID to prevent clashing with normal IDs
-	private static int generateTaskId(ArrayList<TaskObject> taskList) {
+	private static int generateTaskId(TaskBatch batch) {
 		int id = -2;
 		// -1 denotes error so set to -2 to prevent any unforeseen bugs
+		id = generateTaskId(batch.getTaskList(), id);
+		id = generateTaskId(batch.getAddedTasks(), id);
+		return id;
+	}
+
+	private static int generateTaskId(ArrayList<TaskObject> taskList, int id) {
 		for (int i = 0; i < taskList.size(); i++) {
 			if (taskList.get(i).getTaskId() <= id) {
 				id = taskList.get(i).getTaskId() - 1;
@@ -558,21 +679,30 @@ public class Recurring {
 	}
 
 	/**
-	 * Method which adds a new occurrence to the end of the recurring task's timings, if the recurring task is
-	 * infinitely recurring.
+	 * Method which adds the next occurrence to the end of the recurring task's timings after an occurrence
+	 * has been removed, if the recurring task is infinitely recurring or has pending occurrences which have
+	 * not been added to its timings yet.
 	 * 
 	 * @param task
-	 *            TaskObject which is infinitely recurring.
+	 *            TaskObject which is recurring.
 	 * @throws RecurrenceException
 	 *             thrown if there are problems generating the next recurrence in the methods it calls.
 	 */
-	public static void updateInfiniteRecurrence(TaskObject task) throws RecurrenceException {
-		int index = task.getTaskDateTimes().size() - 1;
-		LocalDateTimePair lastTimingInList = task.getTaskDateTimes().get(index);
+	public static void addNextOccurrence(TaskObject task) throws RecurrenceException {
+		boolean isInfiniteRecurrence = checkIfInfiniteRecurrence(task.getInterval());
+		if (task.getTaskDateTimes().isEmpty()
+				|| (!isInfiniteRecurrence && task.getPendingOccurrenceCount() <= 0)) {
+			return;
+		}
 
-		lastTimingInList = setNextTimePair(task.getInterval(), lastTimingInList);
-		task.addToTaskDateTimes(lastTimingInList);
-		logger.log(Level.INFO, "Inserted a new timing for infinite recurrence");
+		OccurrenceGenerator generator = OccurrenceGenerator.after(task);
+		if (generator.hasNext()) {
+			task.addToTaskDateTimes(generator.next());
+			logger.log(Level.INFO, "Inserted a new timing for recurrence");
+		}
+		if (!isInfiniteRecurrence) {
+			task.setPendingOccurrenceCount(generator.getRemainingCount());
+		}
 	}
 
 	/**
@@ -592,11 +722,9 @@ public class Recurring {
 			throws RecurrenceException {
 		// In event that local time has been modified to non-max but local date is still max
 		if (!interval.getUntil().toLocalDate().equals(LocalDate.MAX)) {
-			while (!timePair.getStartDateTime().isAfter(interval.getUntil())) {
-				// not after == before and equal
-				task.addToTaskDateTimes(timePair);
-				timePair = setNextTimePair(interval, timePair);
-			}
+			OccurrenceGenerator generator = new OccurrenceGenerator(interval, timePair,
+					OccurrenceGenerator.COUNT_UNLIMITED, new ArrayList<LocalDateTimePair>());
+			addOccurrencesInWindow(task, generator, RECURRENCE_WINDOW_COUNT);
 			logger.log(Level.INFO, "Added recurring times till specified end date");
 		} else {
 			RecurrenceException e = new RecurrenceException(task.getInterval().getUntil());
@@ -631,13 +759,31 @@ public class Recurring {
 				count = count * countMultiplier;
 			}
 		}
-		for (int i = 0; i < count; i++) {
-			task.addToTaskDateTimes(timePair);
-			timePair = setNextTimePair(interval, timePair);
+		OccurrenceGenerator generator = new OccurrenceGenerator(interval, timePair, count,
+				new ArrayList<LocalDateTimePair>());
+		if (checkIfInfiniteRecurrence(interval)) {
+			// Later occurrences of an infinite recurrence are added one at a time as earlier ones are removed
+			addOccurrencesInWindow(task, generator, count);
+		} else {
+			addOccurrencesInWindow(task, generator, RECURRENCE_WINDOW_COUNT);
 		}
 		logger.log(Level.INFO, "Added recurring times for specified number of counts");
 	}
 
+	/**
+	 * Adds the occurrences from the generator to the recurring task's timings, up to the specified number of
+	 * occurrences. The number of occurrences left after them is kept in the task so that they can be added
+	 * as earlier occurrences are removed, without storing every occurrence of a long recurrence.
+	 */
+	private static void addOccurrencesInWindow(TaskObject task, OccurrenceGenerator generator, int windowCount)
+			throws RecurrenceException {
+		for (int i = 0; i < windowCount && generator.hasNext(); i++) {
+			task.addToTaskDateTimes(generator.next());
+		}
+		int pendingOccurrenceCount = generator.countRemaining();
+		task.setPendingOccurrenceCount(Math.max(pendingOccurrenceCount, 0));
+	}
+
 	private static int retrieveMultiplier(int[] byDayArray) {
 		int countMultiplier = 0;
 		for (int i = 1; i <= 7; i++) {
@@ -648,7 +794,7 @@ public class Recurring {
 		return countMultiplier;
 	}
 
-	private static LocalDateTimePair setNextTimePair(Interval interval, LocalDateTimePair timePair)
+	static LocalDateTimePair setNextTimePair(Interval interval, LocalDateTimePair timePair)
 			throws RecurrenceException {
 		LocalDateTime startDateTime = timePair.getStartDateTime();
 		LocalDateTime endDateTime = timePair.getEndDateTime();
@@ -851,6 +997,14 @@ public class Recurring {
 		return newStartDateTime;
 	}
 
+	// An event is over after it ends, and a deadline is over after it is due
+	private static boolean isOver(LocalDateTimePair occurrence, LocalDateTime now) {
+		if (occurrence.getEndDateTime().isEqual(LocalDateTime.MAX)) {
+			return now.isAfter(occurrence.getStartDateTime());
+		}
+		return now.isAfter(occurrence.getEndDateTime());
+	}
+
 	private static boolean checkIfInfiniteRecurrence(Interval interval) {
 		if (interval.getCount() == -1 && interval.getUntil().isEqual(LocalDateTime.MAX)) {
 			return true;
@@ -512,4 +512,146 @@ public class RecurringTest {
 			System.out.println(line);
 		}
 	}
+
+	@Test
+	// event, daily until end of year, only the first occurrences are kept and the rest are pending
+	public void testS() throws Exception {
+		TaskObject task = new TaskObject("gym", LocalDateTime.of(2016, 01, 01, 07, 00),
+				LocalDateTime.of(2016, 01, 01, 8, 00), "event", "incomplete", 19);
+		task.setIsRecurring(true);
+		Interval interval = new Interval("DAILY", 1, LocalDateTime.of(2016, 12, 31, 07, 00), "");
+		task.setInterval(interval);
+
+		LocalDateTimePair pair = new LocalDateTimePair(task.getStartDateTime(), task.getEndDateTime());
+		task.addToTaskDateTimes(pair);
+		Recurring.setAllRecurringEventTimes(task);
+
+		// 366 days in 2016
+		assertEquals(52, task.getTaskDateTimes().size());
+		assertEquals(366 - 52, task.getPendingOccurrenceCount());
+
+		// Removing an occurrence adds the next pending occurrence
+		task.removeFromTaskDateTimes(0);
+		Recurring.addNextOccurrence(task);
+		assertEquals(52, task.getTaskDateTimes().size());
+		assertEquals(366 - 53, task.getPendingOccurrenceCount());
+		assertEquals(LocalDateTime.of(2016, 02, 22, 07, 00),
+				task.getTaskDateTimes().get(51).getStartDateTime());
+	}
+
+	@Test
+	// deadline, count of 60 with a deleted occurrence, the deleted occurrence is skipped but still counted
+	public void testT() throws Exception {
+		TaskObject task = new TaskObject("submit log", LocalDateTime.of(2016, 01, 01, 23, 59), "deadline",
+				"incomplete", 20);
+		task.setIsRecurring(true);
+		Interval interval = new Interval("DAILY", 1, 60, "");
+		task.setInterval(interval);
+
+		LocalDateTimePair pair = new LocalDateTimePair(task.getStartDateTime());
+		task.addToTaskDateTimes(pair);
+		Recurring.setAllRecurringDeadlineTimes(task);
+
+		assertEquals(52, task.getTaskDateTimes().size());
+		assertEquals(8, task.getPendingOccurrenceCount());
+
+		// 53rd occurrence is deleted before it is added
+		task.addToDeletedTaskDateTimes(new LocalDateTimePair(LocalDateTime.of(2016, 02, 22, 23, 59)));
+		task.removeFromTaskDateTimes(0);
+		Recurring.addNextOccurrence(task);
+		assertEquals(LocalDateTime.of(2016, 02, 23, 23, 59),
+				task.getTaskDateTimes().get(51).getStartDateTime());
+		assertEquals(6, task.getPendingOccurrenceCount());
+
+		while (task.getPendingOccurrenceCount() > 0) {
+			task.removeFromTaskDateTimes(0);
+			Recurring.addNextOccurrence(task);
+		}
+		assertEquals(LocalDateTime.of(2016, 02, 29, 23, 59),
+				task.getTaskDateTimes().get(task.getTaskDateTimes().size() - 1).getStartDateTime());
+	}
+
+	@Test
+	// event, hourly infinite recurrence which started 100 hours ago, every hour which is over is split
+	public void testU() throws Exception {
+		LocalDateTime startDateTime = LocalDateTime.now().minusHours(100).plusMinutes(30).withNano(0);
+		TaskObject task = new TaskObject("check mail", startDateTime, startDateTime.plusMinutes(1), "event",
+				"incomplete", 21);
+		task.setIsRecurring(true);
+		Interval interval = new Interval("HOURLY", 1, -1, "");
+		task.setInterval(interval);
+
+		LocalDateTimePair pair = new LocalDateTimePair(task.getStartDateTime(), task.getEndDateTime());
+		task.addToTaskDateTimes(pair);
+		Recurring.setAllRecurringEventTimes(task);
+
+		ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
+		taskList.add(task);
+		Recurring.updateRecurringEvents(taskList);
+
+		assertEquals(101, taskList.size());
+		assertEquals(10, task.getTaskDateTimes().size());
+		assertEquals(startDateTime.plusHours(100), task.getStartDateTime());
+		assertEquals(startDateTime.plusHours(100).plusMinutes(1), task.getEndDateTime());
+		assertTrue(task.getIsRecurring());
+		for (int i = 1; i < taskList.size(); i++) {
+			assertEquals(startDateTime.plusHours(i - 1), taskList.get(i).getStartDateTime());
+			assertEquals("overdue", taskList.get(i).getStatus());
+			assertEquals(-1 - i, taskList.get(i).getTaskId());
+		}
+	}
+
+	@Test
+	// deadline, daily count of 5 which ended a few days ago, the recurring task becomes the last deadline
+	public void testV() throws Exception {
+		LocalDateTime deadline = LocalDateTime.now().minusDays(10).withNano(0);
+		TaskObject task = new TaskObject("water plants", deadline, "deadline", "incomplete", 22);
+		task.setIsRecurring(true);
+		Interval interval = new Interval("DAILY", 1, 5, "");
+		task.setInterval(interval);
+
+		LocalDateTimePair pair = new LocalDateTimePair(task.getStartDateTime());
+		task.addToTaskDateTimes(pair);
+		Recurring.setAllRecurringDeadlineTimes(task);
+
+		ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
+		taskList.add(task);
+		Recurring.updateRecurringDeadlines(taskList);
+
+		assertEquals(5, taskList.size());
+		assertFalse(task.getIsRecurring());
+		assertEquals("overdue", task.getStatus());
+		assertEquals(deadline.plusDays(4), task.getStartDateTime());
+		assertEquals(1, task.getTaskDateTimes().size());
+		for (int i = 1; i < taskList.size(); i++) {
+			assertEquals(deadline.plusDays(i - 1), taskList.get(i).getStartDateTime());
+		}
+	}
+
+	@Test
+	// event, hourly recurrence in a TaskList, found by the due time index once its current occurrence ends
+	public void testW() throws Exception {
+		LocalDateTime startDateTime = LocalDateTime.now().minusHours(2).plusMinutes(30).withNano(0);
+		TaskObject task = new TaskObject("stretch", startDateTime, startDateTime.plusMinutes(10), "event",
+				"incomplete", 23);
+		task.setIsRecurring(true);
+		task.setInterval(new Interval("HOURLY", 1, 10, ""));
+
+		task.addToTaskDateTimes(new LocalDateTimePair(task.getStartDateTime(), task.getEndDateTime()));
+		Recurring.setAllRecurringEventTimes(task);
+
+		TaskList taskList = new TaskList();
+		taskList.add(task);
+		assertEquals(startDateTime.plusMinutes(10), taskList.getNextDueDateTime());
+
+		LocalDateTime now = LocalDateTime.now();
+		ArrayList<TaskObject> changedTasks = Recurring.updateTasksDueBefore(taskList, now);
+
+		assertEquals(3, changedTasks.size());
+		assertSame(task, changedTasks.get(0));
+		assertEquals(3, taskList.size());
+		assertEquals(startDateTime.plusHours(2), task.getStartDateTime());
+		assertEquals(startDateTime.plusHours(2).plusMinutes(10), taskList.getNextDueDateTime());
+		assertTrue(Recurring.updateTasksDueBefore(taskList, now).isEmpty());
+	}
 }
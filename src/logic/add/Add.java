@@ -12,6 +12,10 @@ import java.io.IOException;
 import java.nio.file.InvalidPathException;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.util.logging.*;
@@ -370,24 +374,153 @@ public class Add {
 	}
 
 	// Checks with incomplete, overdue events for clashes
-	private void checkIfEventsClash() throws NullPointerException {
+	private void checkIfEventsClash() throws NullPointerException, RecurrenceException {
 		if (task.getStartDateTime().isAfter(task.getEndDateTime())) {
 			DateTimeException e = new DateTimeException("Start Date Time after End Date Time");
 			throw e;
 		}
-		for (int i = 0; i < taskList.size(); i++) {
-			if (taskList.get(i).getCategory().equals(CATEGORY_EVENT)) {
-				if (!taskList.get(i).getStatus().equals(STATUS_COMPLETED)) {
-					checkAllExistingTimes(taskList.get(i));
+		ArrayList<LocalDateTimePair> newTaskDateTimes = getAllOccurrences(task);
+		if (taskList instanceof TaskList) {
+			checkOverlappingOccurrences((TaskList) taskList, newTaskDateTimes);
+		} else {
+			for (int i = 0; i < taskList.size(); i++) {
+				if (taskList.get(i).getCategory().equals(CATEGORY_EVENT)) {
+					if (!taskList.get(i).getStatus().equals(STATUS_COMPLETED)) {
+						checkAllExistingTimes(taskList.get(i), newTaskDateTimes);
+					}
 				}
 			}
 		}
 		logger.log(Level.INFO, "checked if events clash");
 	}
 
-	private void checkAllExistingTimes(TaskObject current) throws NullPointerException {
-		ArrayList<LocalDateTimePair> currentTaskDateTimes = current.getTaskDateTimes();
-		ArrayList<LocalDateTimePair> newTaskDateTimes = task.getTaskDateTimes();
+	/*
+	 * Returns every occurrence of the task. Only a window of the occurrences of a recurrence with a count or
+	 * an until date and time is kept in its task date times, so the rest are generated after them.
+	 */
+	private static ArrayList<LocalDateTimePair> getAllOccurrences(TaskObject task) throws RecurrenceException {
+		ArrayList<LocalDateTimePair> occurrences = new ArrayList<LocalDateTimePair>(task.getTaskDateTimes());
+		if (task.getIsRecurring() && !task.isInfiniteRecurrence() && !occurrences.isEmpty()) {
+			OccurrenceGenerator generator = OccurrenceGenerator.after(task);
+			while (generator.hasNext()) {
+				occurrences.add(generator.next());
+			}
+		}
+		return occurrences;
+	}
+
+	/*
+	 * Returns the occurrences of an existing task after those in its task date times which start at or
+	 * before the date and time.
+	 */
+	private static ArrayList<LocalDateTimePair> getLaterOccurrences(TaskObject current, LocalDateTime end)
+			throws RecurrenceException {
+		ArrayList<LocalDateTimePair> occurrences = new ArrayList<LocalDateTimePair>();
+		if (!current.getIsRecurring() || current.isInfiniteRecurrence()
+				|| current.getPendingOccurrenceCount() <= 0 || current.getTaskDateTimes().isEmpty()) {
+			return occurrences;
+		}
+		OccurrenceGenerator generator = OccurrenceGenerator.after(current);
+		while (generator.hasNext()) {
+			LocalDateTimePair occurrence = generator.next();
+			if (occurrence.getStartDateTime().isAfter(end)) {
+				break;
+			}
+			occurrences.add(occurrence);
+		}
+		return occurrences;
+	}
+
+	/*
+	 * Only checks the occurrences of incomplete and overdue tasks which overlap a new occurrence, as found
+	 * through the date time index of the task list, and the later occurrences of the recurring events which
+	 * go on past their task date times. Clashed tasks are added in the order of the task list.
+	 */
+	private void checkOverlappingOccurrences(TaskList indexedList,
+			ArrayList<LocalDateTimePair> newTaskDateTimes) throws NullPointerException, RecurrenceException {
+		Set<TaskObject> clashingTasks = Collections.newSetFromMap(new IdentityHashMap<TaskObject, Boolean>());
+
+		for (int i = 0; i < newTaskDateTimes.size(); i++) {
+			LocalDateTime newStart = newTaskDateTimes.get(i).getStartDateTime();
+			LocalDateTime newEnd = newTaskDateTimes.get(i).getEndDateTime();
+			IdentityHashMap<TaskObject, ArrayList<LocalDateTimePair>> overlappingOccurrences =
+					indexedList.getOccurrencesOverlapping(newStart, newEnd);
+
+			for (Map.Entry<TaskObject, ArrayList<LocalDateTimePair>> entry : overlappingOccurrences.entrySet()) {
+				TaskObject current = entry.getKey();
+				if (!current.getCategory().equals(CATEGORY_EVENT) || clashingTasks.contains(current)) {
+					continue;
+				}
+				for (LocalDateTimePair currentDateTimes : entry.getValue()) {
+					if (checkIndividualTimeClash(currentDateTimes.getStartDateTime(),
+							currentDateTimes.getEndDateTime(), newStart, newEnd)) {
+						clashingTasks.add(current);
+						break;
+					}
+				}
+			}
+		}
+
+		LocalDateTime lastNewEnd = getLastEnd(newTaskDateTimes);
+		for (TaskObject current : indexedList.getTasksWithLaterOccurrences()) {
+			if (!current.getCategory().equals(CATEGORY_EVENT) || clashingTasks.contains(current)) {
+				continue;
+			}
+			if (checkOccurrencesClash(getLaterOccurrences(current, lastNewEnd), newTaskDateTimes)) {
+				clashingTasks.add(current);
+			}
+		}
+
+		ArrayList<TaskObject> clashingTasksInOrder = indexedList.inListOrder(clashingTasks);
+		for (int i = 0; i < clashingTasksInOrder.size(); i++) {
+			this.isClash = true;
+			addToClashedTasks(clashingTasksInOrder.get(i));
+			logger.log(Level.INFO, "detected a clash between non-recurring tasks");
+		}
+	}
+
+	/*
+	 * Checks if any of the existing occurrences clash with any of the new occurrences. Occurrences of one
+	 * task come in the order of their start date times and are all the same length, so the new occurrences
+	 * which end before an existing occurrence starts are passed over for the later existing occurrences.
+	 */
+	private static boolean checkOccurrencesClash(ArrayList<LocalDateTimePair> currentTaskDateTimes,
+			ArrayList<LocalDateTimePair> newTaskDateTimes) {
+		int firstNewIndex = 0;
+		for (int i = 0; i < currentTaskDateTimes.size(); i++) {
+			LocalDateTime currentStart = currentTaskDateTimes.get(i).getStartDateTime();
+			LocalDateTime currentEnd = currentTaskDateTimes.get(i).getEndDateTime();
+			while (firstNewIndex < newTaskDateTimes.size()
+					&& !newTaskDateTimes.get(firstNewIndex).getEndDateTime().isAfter(currentStart)) {
+				firstNewIndex++;
+			}
+			for (int j = firstNewIndex; j < newTaskDateTimes.size()
+					&& newTaskDateTimes.get(j).getStartDateTime().isBefore(currentEnd); j++) {
+				LocalDateTime newStart = newTaskDateTimes.get(j).getStartDateTime();
+				LocalDateTime newEnd = newTaskDateTimes.get(j).getEndDateTime();
+				if (checkIndividualTimeClash(currentStart, currentEnd, newStart, newEnd)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static LocalDateTime getLastEnd(ArrayList<LocalDateTimePair> taskDateTimes) {
+		LocalDateTime lastEnd = LocalDateTime.MIN;
+		for (int i = 0; i < taskDateTimes.size(); i++) {
+			if (taskDateTimes.get(i).getEndDateTime().isAfter(lastEnd)) {
+				lastEnd = taskDateTimes.get(i).getEndDateTime();
+			}
+		}
+		return lastEnd;
+	}
+
+	private void checkAllExistingTimes(TaskObject current, ArrayList<LocalDateTimePair> newTaskDateTimes)
+			throws NullPointerException, RecurrenceException {
+		ArrayList<LocalDateTimePair> currentTaskDateTimes = new ArrayList<LocalDateTimePair>(
+				current.getTaskDateTimes());
+		currentTaskDateTimes.addAll(getLaterOccurrences(current, getLastEnd(newTaskDateTimes)));
 
 		for (int i = 0; i < currentTaskDateTimes.size(); i++) {
 			for (int j = 0; j < newTaskDateTimes.size(); j++) {
@@ -424,7 +557,7 @@ public class Add {
 	 *            The TaskObject passed into the function from the task list.
 	 * @return
 	 */
-	private boolean checkIndividualTimeClash(LocalDateTime currentStart, LocalDateTime currentEnd,
+	private static boolean checkIndividualTimeClash(LocalDateTime currentStart, LocalDateTime currentEnd,
 			LocalDateTime newStart, LocalDateTime newEnd) throws DateTimeException {
 
 		// For special cases e.g. 1200-1400 and 1400-1600
@@ -479,6 +612,7 @@ public class Add {
 		// updates the startDateTime and endDateTime to that of the occurrence
 		// that has been added back
 		taskToBeModified.updateStartAndEndDateTimes();
+		TaskList.dateTimesChanged(taskList, taskToBeModified);
 		isAddSingleOccurrence = true;
 
 	}
@@ -453,5 +453,55 @@ public class AddTest {
 					task.getTaskDateTimes().get(i).getEndDateTime());
 		}
 	}
+
+	@Test
+	// Adds events which clash with an occurrence of a recurrent event after its stored occurrences
+	public void testU() throws Exception {
+		ArrayList<TaskObject> indexedList = new TaskList();
+		ArrayList<TaskObject> unindexedList = new ArrayList<TaskObject>();
+		addRecurringEvent(indexedList, "event 18", LocalDateTime.of(2030, 01, 01, 10, 00), 200, 18);
+		addRecurringEvent(unindexedList, "event 18", LocalDateTime.of(2030, 01, 01, 10, 00), 200, 18);
+
+		// 152nd occurrence, after the stored occurrences
+		assertTrue(addEvent(indexedList, LocalDateTime.of(2030, 06, 01, 10, 30), 19).getIsClash());
+		assertTrue(addEvent(unindexedList, LocalDateTime.of(2030, 06, 01, 10, 30), 19).getIsClash());
+		// After the 200th occurrence
+		assertFalse(addEvent(indexedList, LocalDateTime.of(2030, 8, 01, 10, 30), 20).getIsClash());
+		assertFalse(addEvent(unindexedList, LocalDateTime.of(2030, 8, 01, 10, 30), 20).getIsClash());
+	}
+
+	@Test
+	// Adds a recurrent event with an occurrence after its stored occurrences that clashes with an event
+	public void testV() throws Exception {
+		ArrayList<TaskObject> indexedList = new TaskList();
+		addEvent(indexedList, LocalDateTime.of(2030, 06, 01, 10, 30), 21);
+
+		Add add = addRecurringEvent(indexedList, "event 22", LocalDateTime.of(2030, 01, 01, 10, 00), 200, 22);
+		assertTrue(add.getIsClash());
+		assertEquals(21, add.getClashedTasks().get(0).getTaskId());
+	}
+
+	private Add addRecurringEvent(ArrayList<TaskObject> taskList, String title, LocalDateTime start, int count,
+			int taskId) throws Exception {
+		TaskObject task = new TaskObject(title, taskId);
+		task.setCategory("event");
+		task.setStartDateTime(start);
+		task.setEndDateTime(start.plusHours(1));
+		task.setInterval(new Interval("DAILY", 1, count, ""));
+		task.setIsRecurring(true);
+		Add add = new Add(task, -1, taskList);
+		add.run();
+		return add;
+	}
+
+	private Add addEvent(ArrayList<TaskObject> taskList, LocalDateTime start, int taskId) throws Exception {
+		TaskObject task = new TaskObject("event " + taskId, taskId);
+		task.setCategory("event");
+		task.setStartDateTime(start);
+		task.setEndDateTime(start.plusHours(1));
+		Add add = new Add(task, -1, taskList);
+		add.run();
+		return add;
+	}
 	/*********************************************************************************/
 }
@@ -0,0 +1,105 @@
+package logic.add;
+
+import common.AtfLogger;
+import common.TaskList;
+import common.TaskObject;
+import storage.FileStorage;
+import storage.IStorage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Groups the additions, removals and updates of tasks made by an operation which changes many tasks at a
+ * time, such as splitting the overdue occurrences of recurring tasks. The changes are applied to the task list
+ * together, and saved to storage once when the batch is committed. Unlike Add, clashes are not checked as
+ * tasks are added.
+ */
+public class TaskBatch {
+
+	private ArrayList<TaskObject> taskList;
+	private ArrayList<TaskObject> addedTasks = new ArrayList<TaskObject>();
+	private Set<TaskObject> removedTasks = Collections.newSetFromMap(new IdentityHashMap<TaskObject, Boolean>());
+	private Set<TaskObject> updatedTasks = Collections.newSetFromMap(new IdentityHashMap<TaskObject, Boolean>());
+
+	private static Logger logger = AtfLogger.getLogger();
+
+	public TaskBatch(ArrayList<TaskObject> taskList) {
+		this.taskList = taskList;
+	}
+
+	// Task to be added to the end of the task list
+	public void add(TaskObject task) {
+		addedTasks.add(task);
+	}
+
+	// Task in the task list to be removed
+	public void remove(TaskObject task) {
+		removedTasks.add(task);
+	}
+
+	// Task in the task list whose title, category, status, dates or times have changed
+	public void update(TaskObject task) {
+		updatedTasks.add(task);
+	}
+
+	public boolean isEmpty() {
+		return addedTasks.isEmpty() && removedTasks.isEmpty() && updatedTasks.isEmpty();
+	}
+
+	public ArrayList<TaskObject> getTaskList() {
+		return taskList;
+	}
+
+	public ArrayList<TaskObject> getAddedTasks() {
+		return addedTasks;
+	}
+
+	/**
+	 * Applies the changes in the batch to the task list without saving them, for callers which save the task
+	 * list themselves afterwards. Removals are applied first, followed by updates and then additions. The
+	 * batch is empty afterwards.
+	 */
+	public void apply() {
+		if (!removedTasks.isEmpty()) {
+			taskList.removeAll(removedTasks);
+		}
+		for (TaskObject task : updatedTasks) {
+			if (!removedTasks.contains(task)) {
+				TaskList.titleChanged(taskList, task);
+				TaskList.dateTimesChanged(taskList, task);
+			}
+		}
+		if (!addedTasks.isEmpty()) {
+			taskList.addAll(addedTasks);
+		}
+		logger.log(Level.INFO, "applied batch of " + addedTasks.size() + " additions, " + removedTasks.size()
+				+ " removals and " + updatedTasks.size() + " updates to task list");
+
+		addedTasks = new ArrayList<TaskObject>();
+		removedTasks.clear();
+		updatedTasks.clear();
+	}
+
+	/**
+	 * Applies the changes in the batch to the task list, and saves the task list once if there were any
+	 * changes.
+	 *
+	 * @throws IOException
+	 *             if the task list cannot be saved. The changes remain applied to the task list.
+	 */
+	public void commit() throws IOException {
+		if (isEmpty()) {
+			return;
+		}
+		apply();
+		IStorage storage = FileStorage.getInstance();
+		storage.save(taskList);
+		logger.log(Level.INFO, "saved batch of changes to external file storage");
+	}
+}
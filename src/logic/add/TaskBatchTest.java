@@ -0,0 +1,62 @@
+package logic.add;
+
+import common.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.junit.FixMethodOrder;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TaskBatchTest {
+
+	private static TaskObject createEvent(String title, LocalDateTime start, LocalDateTime end, String status,
+			int taskId) {
+		TaskObject event = new TaskObject(title, start, end, "event", status, taskId);
+		event.addToTaskDateTimes(new LocalDateTimePair(start, end));
+		return event;
+	}
+
+	private static ArrayList<TaskObject> createTaskList(ArrayList<TaskObject> taskList) {
+		taskList.add(createEvent("lecture", LocalDateTime.of(2016, 04, 01, 10, 00),
+				LocalDateTime.of(2016, 04, 01, 12, 00), "incomplete", 1));
+		taskList.add(createEvent("tutorial", LocalDateTime.of(2016, 04, 01, 12, 00),
+				LocalDateTime.of(2016, 04, 01, 13, 00), "incomplete", 2));
+		taskList.add(createEvent("lab", LocalDateTime.of(2016, 04, 01, 11, 00),
+				LocalDateTime.of(2016, 04, 01, 14, 00), "completed", 3));
+		taskList.add(new TaskObject("read notes", 4));
+		return taskList;
+	}
+
+	@Test
+	// Changes are only made to the task list when the batch is applied
+	public void testA() {
+		TaskList taskList = (TaskList) createTaskList(new TaskList());
+		TaskBatch batch = new TaskBatch(taskList);
+		TaskObject meeting = createEvent("meeting", LocalDateTime.of(2016, 04, 02, 10, 00),
+				LocalDateTime.of(2016, 04, 02, 11, 00), "incomplete", 5);
+		TaskObject lecture = taskList.get(0);
+		TaskObject tutorial = taskList.get(1);
+
+		batch.add(meeting);
+		batch.remove(lecture);
+		tutorial.setTitle("tutorial 5");
+		batch.update(tutorial);
+		assertFalse(batch.isEmpty());
+		assertEquals(4, taskList.size());
+
+		batch.apply();
+		assertTrue(batch.isEmpty());
+		assertEquals(4, taskList.size());
+		assertSame(meeting, taskList.get(3));
+		assertFalse(taskList.containsTaskId(1));
+		assertSame(meeting, taskList.getByTaskId(5));
+		assertTrue(taskList.getTasksWithTitleWord("5").contains(tutorial));
+		assertTrue(taskList.getTasksOverlapping(LocalDateTime.of(2016, 04, 01, 10, 00),
+				LocalDateTime.of(2016, 04, 01, 10, 30)).isEmpty());
+	}
+}
@@ -16,12 +16,19 @@ public class Index {
 	public static final int INDEX_COMPLETE = 10;
 	public static final int INDEX_INCOMPLETE = 11;
 	public static final int INDEX_LOAD = 12;
+	// Undo or redo of all the commands of a batch, which are held in the CommandObject
+	public static final int INDEX_BATCH = 13;
 	
 	public static final int RECURRENCE_CONSTANT_COUNT = 10;
+	// Number of occurrences of a recurrence with a count or an end date kept in the task at a time
+	public static final int RECURRENCE_WINDOW_COUNT = 52;
 	
 	// Load indices
 	public static final int LOAD_FROM = 1;
 	public static final int LOAD_BACKUP = 2;
 	public static final int STARTING_INDEX = 5;
 	
+	// Number of overdue tasks and tasks due today shown before all tasks are loaded on startup
+	public static final int FIRST_PAGE_SIZE = 30;
+	
 }
@@ -25,6 +25,10 @@ public class Strings {
 	public static final String MESSAGE_WELCOME_EMPTY = "No incomplete tasks. Add a task!";
 	public static final String MESSAGE_WELCOME_TASKS_INCOMPLETE = "No tasks overdue and due today. \nDisplaying all incomplete tasks.";
 	public static final String MESSAGE_FAILED_PROCESSING = "Failed to process input";
+	public static final String MESSAGE_BATCH_PROCESSED = "%1$d of %2$d commands processed.";
+	public static final String MESSAGE_BATCH_FAILED_LINE = "Failed to process command %1$d: %2$s";
+	public static final String MESSAGE_BATCH_EXIT_IGNORED = "Command %1$d exits, remaining commands not processed.";
+	public static final String MESSAGE_BATCH_COMMAND_TYPE = "Batch";
 
 	// Recurring/Interval Constants
 	public static final String FREQ_HOURLY = "HOURLY";
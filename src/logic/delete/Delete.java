@@ -6,6 +6,7 @@ import storage.*;
 import common.AtfLogger;
 import common.CommandObject;
 import common.LocalDateTimePair;
+import common.TaskList;
 import common.TaskObject;
 import logic.Recurring;
 import logic.exceptions.DeleteException;
@@ -249,15 +250,16 @@ public class Delete {
 			removedTask.setTaskDateTimes(taskDateTimes);
 			removedTask.updateStartAndEndDateTimes();
 
-			// If it is an infinitely recurring task, add 1 more task to the end of the list
-			if (removedTask.isInfiniteRecurrence()) {
+			// If there are more occurrences to come, add the next one to the end of the list
+			if (removedTask.isInfiniteRecurrence() || removedTask.getPendingOccurrenceCount() > 0) {
 				try {
-					Recurring.updateInfiniteRecurrence(removedTask);
+					Recurring.addNextOccurrence(removedTask);
 				} catch (RecurrenceException e) {
 					output.add(String.format(MESSAGE_RECURRENCE_EXCEPTION, removedTask.getTitle()));
 					isExceptionThrown = true;
 				}
 			}
+			TaskList.dateTimesChanged(taskList, removedTask);
 
 			if (deleteExternal()) {
 				TimeOutput.setTaskTimeOutput(removedTask); // to update the recurrence date in GUI
@@ -345,6 +347,7 @@ public class Delete {
 				overdueTask.getEndDateTime());
 		removedTask.addToTaskDateTimes(0, overdueTaskTiming);
 		removedTask.updateStartAndEndDateTimes();
+		TaskList.dateTimesChanged(taskList, removedTask);
 	}
 
 	// ----------------------- SETTING DELETE INFORMATION -----------------------
@@ -390,12 +393,11 @@ public class Delete {
 	private void setRemovedTask() {
 		assert (taskIdToBeDeleted > 0);
 
-		for (int i = 0; i < taskList.size(); i++) {
-			if (taskList.get(i).getTaskId() == taskIdToBeDeleted) {
-				removedTask = taskList.get(i);
-				removedTaskIndex = i;
-				lastSearchedIndex = i + 1;
-			}
+		int index = TaskList.findIndexOfLastTaskId(taskList, taskIdToBeDeleted);
+		if (index != -1) {
+			removedTask = taskList.get(index);
+			removedTaskIndex = index;
+			lastSearchedIndex = index + 1;
 		}
 	}
 
@@ -15,6 +15,7 @@ import java.util.logging.*;
 import common.CommandObject;
 import common.Interval;
 import common.LocalDateTimePair;
+import common.TaskList;
 import common.TaskObject;
 import logic.Recurring;
 import logic.exceptions.EditException;
@@ -138,6 +139,7 @@ public class Edit {
 		setTaskToBeEdited();
 		processEdit();
 		updateCategory();
+		TaskList.dateTimesChanged(taskList, editTask);
 		saveExternal();
 		updateGuiDisplay();
 
@@ -202,18 +204,16 @@ public class Edit {
 		editTaskId = lastOutputTaskList.get(editTaskIndex - 1).getTaskId();
 		logger.log(Level.INFO, "Obtained task ID to be edited");
 
-		for (int i = 0; i < taskList.size(); i++) {
-			TaskObject task = taskList.get(i);
-			if (task.getTaskId() == editTaskId) {
-				editTask = task;
-				isRecurringTask = task.getIsRecurring();
-				compareOldAndNewCategory(task);
-
-				originalTask.setTaskObject(task);
-				originalTimings.addAll(task.getTaskDateTimes());
-				originalTask.setTaskDateTimes(originalTimings);
-				originalTimings.clear();
-			}
+		TaskObject task = TaskList.findLastByTaskId(taskList, editTaskId);
+		if (task != null) {
+			editTask = task;
+			isRecurringTask = task.getIsRecurring();
+			compareOldAndNewCategory(task);
+
+			originalTask.setTaskObject(task);
+			originalTimings.addAll(task.getTaskDateTimes());
+			originalTask.setTaskDateTimes(originalTimings);
+			originalTimings.clear();
 		}
 	}
 
@@ -394,6 +394,7 @@ public class Edit {
 
 			if (!originalTitle.equals(editTitle)) {
 				task.setTitle(editTitle.trim());
+				TaskList.titleChanged(taskList, task);
 				logger.log(Level.INFO, "Title edited");
 			} else {
 				isEditTitle = false;
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.logging.*;
 
 import common.CommandObject;
+import common.TaskList;
 import common.TaskObject;
 import logic.Recurring;
 import logic.exceptions.MarkException;
@@ -76,29 +77,28 @@ public class Done extends Mark {
 
 	protected boolean changeStatus() {
 		try {
-			for (int i = 0; i < taskList.size(); i++) {
-				TaskObject task = taskList.get(i);
-				if (task.getTaskId() == taskIdToMark) {
-					originalTask.setTaskObject(task);
-					originalTimings.addAll(task.getTaskDateTimes());
-
-					taskName = task.getTitle();
-					statusBeforeChange = task.getStatus();
-					markedTask = task;
-					checkCurrentStatus(STATUS_COMPLETED);
-					setMostRecentlyMarkedTaskId(markedTask.getTaskId());
-
-					if (task.getIsRecurring()) {
-						changeStatusForRecurringTask(task);
-						logger.log(Level.INFO, "marked a recurring task as done");
-					} else {
-						task.setStatus(STATUS_COMPLETED);
-						logger.log(Level.INFO, "marked a non-recurring task as done");
-					}
-
-					originalTask.setTaskDateTimes(originalTimings);
-					return true;
+			TaskObject task = TaskList.findByTaskId(taskList, taskIdToMark);
+			if (task != null) {
+				originalTask.setTaskObject(task);
+				originalTimings.addAll(task.getTaskDateTimes());
+
+				taskName = task.getTitle();
+				statusBeforeChange = task.getStatus();
+				markedTask = task;
+				checkCurrentStatus(STATUS_COMPLETED);
+				setMostRecentlyMarkedTaskId(markedTask.getTaskId());
+
+				if (task.getIsRecurring()) {
+					changeStatusForRecurringTask(task);
+					logger.log(Level.INFO, "marked a recurring task as done");
+				} else {
+					task.setStatus(STATUS_COMPLETED);
+					logger.log(Level.INFO, "marked a non-recurring task as done");
 				}
+				TaskList.dateTimesChanged(taskList, task);
+
+				originalTask.setTaskDateTimes(originalTimings);
+				return true;
 			}
 			logger.log(Level.WARNING, "failed to mark task as completed");
 			return false;
@@ -7,7 +7,10 @@ import java.util.ArrayList;
 import java.util.logging.Level;
 
 import common.CommandObject;
+import common.TaskList;
+import common.TaskCategory;
 import common.TaskObject;
+import common.TaskStatus;
 
 import static logic.constants.Strings.*;
 
@@ -54,40 +57,40 @@ public class Incomplete extends Mark {
 
 	@Override
 	protected boolean changeStatus() {
-		for (int i = 0; i < taskList.size(); i++) {
-			TaskObject task = taskList.get(i);
-			if (task.getTaskId() == taskIdToMark) {
-
-				originalTask.setTaskObject(task);
-				originalTimings.addAll(task.getTaskDateTimes());
-
-				taskName = task.getTitle();
-				statusBeforeChange = task.getStatus();
-
-				try {
-					task.setTaskObject(markTaskObj); // if markTaskObj is not null, this is an undo function
-					statusBeforeChange = STATUS_COMPLETED;
-
-					if (markTaskObj.getIsRecurring() && markTaskObj.getTaskDateTimes().size() > 1) {
-						deleteSplitTaskFromTaskList(); // deletes the split task that had been created upon
-														// mark as done
-					}
-					logger.log(Level.INFO, "Undo-incomplete processed");
-				} catch (NullPointerException e) {
-					if (task.getStartDateTime().isAfter(LocalDateTime.now())) {
-						task.setStatus(STATUS_INCOMPLETE);
-						createOutput(STATUS_INCOMPLETE);
-						logger.log(Level.INFO, "Status changed to \'incomplete\'");
-					} else {
-						task.setStatus(STATUS_OVERDUE);
-						createOutput(STATUS_OVERDUE);
-						logger.log(Level.INFO, "Status changed to \'overdue\'");
-					}
-					isExceptionThrown = true;
-				}
+		TaskObject task = TaskList.findByTaskId(taskList, taskIdToMark);
+		if (task != null) {
+
+			originalTask.setTaskObject(task);
+			originalTimings.addAll(task.getTaskDateTimes());
+
+			taskName = task.getTitle();
+			statusBeforeChange = task.getStatus();
+
+			try {
+				task.setTaskObject(markTaskObj); // if markTaskObj is not null, this is an undo function
+				TaskList.titleChanged(taskList, task);
+				statusBeforeChange = STATUS_COMPLETED;
 
-				return true;
+				if (markTaskObj.getIsRecurring() && markTaskObj.getTaskDateTimes().size() > 1) {
+					deleteSplitTaskFromTaskList(); // deletes the split task that had been created upon
+													// mark as done
+				}
+				logger.log(Level.INFO, "Undo-incomplete processed");
+			} catch (NullPointerException e) {
+				if (task.getStartDateTime().isAfter(LocalDateTime.now())) {
+					task.setStatus(STATUS_INCOMPLETE);
+					createOutput(STATUS_INCOMPLETE);
+					logger.log(Level.INFO, "Status changed to \'incomplete\'");
+				} else {
+					task.setStatus(STATUS_OVERDUE);
+					createOutput(STATUS_OVERDUE);
+					logger.log(Level.INFO, "Status changed to \'overdue\'");
+				}
+				isExceptionThrown = true;
 			}
+			TaskList.dateTimesChanged(taskList, task);
+
+			return true;
 		}
 		return false;
 	}
@@ -104,26 +107,44 @@ public class Incomplete extends Mark {
 
 	// ==============================================================================
 	/**
-	 * Checks all tasks with status overdue on whether they are actually incomplete. Called after performing
-	 * an edit function.
+	 * Checks all tasks with status overdue on whether they are actually incomplete.
 	 * 
 	 * @param taskList
 	 *            List of tasks stored in AdultTaskFinder
+	 * @return true if the status of any task was changed
 	 */
-	public static void markAllIncompleteTasks(ArrayList<TaskObject> taskList) {
+	public static boolean markAllIncompleteTasks(ArrayList<TaskObject> taskList) {
+		boolean isStatusChanged = false;
 		for (int i = 0; i < taskList.size(); i++) {
-			if (!taskList.get(i).getIsRecurring()) {
-				if (taskList.get(i).getCategory().equals(CATEGORY_DEADLINE)
-						|| taskList.get(i).getCategory().equals(CATEGORY_EVENT)) {
-					if (taskList.get(i).getStatus().equals(STATUS_OVERDUE)) {
-						if (taskList.get(i).getStartDateTime().isAfter(LocalDateTime.now())) {
-							taskList.get(i).setStatus(STATUS_INCOMPLETE);
-							logger.info("marked a non recurring overdue task as incomplete");
-						}
-					}
-				}
-			}
+			isStatusChanged = markIncompleteIfNotDue(taskList, taskList.get(i)) || isStatusChanged;
 		}
+		return isStatusChanged;
+	}
+
+	/**
+	 * Marks a non-recurring overdue task as incomplete if it starts in the future, such as after its start
+	 * date has been edited. Called after performing an edit function on the edited task.
+	 * 
+	 * @param taskList
+	 *            List of tasks stored in AdultTaskFinder
+	 * @param task
+	 *            Task in the task list to be checked, or null
+	 * @return true if the status of the task was changed
+	 */
+	public static boolean markIncompleteIfNotDue(ArrayList<TaskObject> taskList, TaskObject task) {
+		if (task == null || task.getIsRecurring()) {
+			return false;
+		}
+		TaskCategory category = task.getCategoryType();
+		if ((category == TaskCategory.DEADLINE || category == TaskCategory.EVENT)
+				&& task.getStatusType() == TaskStatus.OVERDUE
+				&& task.getStartDateTime().isAfter(LocalDateTime.now())) {
+			task.setStatus(TaskStatus.INCOMPLETE);
+			TaskList.dateTimesChanged(taskList, task);
+			logger.info("marked a non recurring overdue task as incomplete");
+			return true;
+		}
+		return false;
 	}
 
 }
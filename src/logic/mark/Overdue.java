@@ -7,7 +7,10 @@ import java.util.logging.Level;
 import java.time.LocalDateTime;
 
 import common.CommandObject;
+import common.TaskList;
+import common.TaskCategory;
 import common.TaskObject;
+import common.TaskStatus;
 
 import static logic.constants.Strings.*;
 
@@ -35,15 +38,15 @@ public class Overdue extends Mark {
 
 	@Override
 	protected boolean changeStatus() {
-		for (int i = 0; i < taskList.size(); i++) {
-			if (taskList.get(i).getTaskId() == taskIdToMark) {
-				taskName = taskList.get(i).getTitle();
-				statusBeforeChange = taskList.get(i).getStatus();
-				taskList.get(i).setStatus(STATUS_OVERDUE);
+		TaskObject task = TaskList.findByTaskId(taskList, taskIdToMark);
+		if (task != null) {
+			taskName = task.getTitle();
+			statusBeforeChange = task.getStatus();
+			task.setStatus(STATUS_OVERDUE);
+			TaskList.dateTimesChanged(taskList, task);
 
-				logger.log(Level.INFO, "Status changed to \'overdue\'");
-				return true;
-			}
+			logger.log(Level.INFO, "Status changed to \'overdue\'");
+			return true;
 		}
 		return false;
 	}
@@ -61,24 +64,81 @@ public class Overdue extends Mark {
 	 * 
 	 * @param taskList
 	 *            stores all tasks
+	 * @return true if the status of any task was changed
 	 */
-	public static void markAllOverdueTasks(ArrayList<TaskObject> taskList) {
+	public static boolean markAllOverdueTasks(ArrayList<TaskObject> taskList) {
 		boolean isOverdue = false;
+		boolean isStatusChanged = false;
 		for (int i = 0; i < taskList.size(); i++) {
+			TaskCategory category = taskList.get(i).getCategoryType();
+			TaskStatus status = taskList.get(i).getStatusType();
 			// only for non-recurring tasks, recurring tasks have their own
 			// dedicated methods
 			if (!taskList.get(i).getIsRecurring()) {
-				if (taskList.get(i).getCategory().equals(CATEGORY_DEADLINE) || taskList.get(i).getCategory().equals(CATEGORY_EVENT)) {
-					if (!taskList.get(i).getStatus().equals(STATUS_COMPLETED)) {
+				if (category == TaskCategory.DEADLINE || category == TaskCategory.EVENT) {
+					if (status != TaskStatus.COMPLETED) {
 						isOverdue = performCheckOverdue(taskList.get(i));
-						if (isOverdue) {
-							taskList.get(i).setStatus(STATUS_OVERDUE);
+						if (isOverdue && status != TaskStatus.OVERDUE) {
+							taskList.get(i).setStatus(TaskStatus.OVERDUE);
+							TaskList.dateTimesChanged(taskList, taskList.get(i));
+							isStatusChanged = true;
 							logger.log(Level.INFO, "set status of non-recurring task to overdue");
 						}
 					}
 				}
 			}
 		}
+		return isStatusChanged;
+	}
+
+	/**
+	 * Marks the non-recurring events and deadlines which are neither completed nor overdue and start before
+	 * the date time as overdue. For a TaskList, only the tasks found by its index of due times are checked, so
+	 * the work done is proportional to the number of tasks marked. Other lists are checked in full. Recurring
+	 * tasks found by the index are left to <code>Recurring.updateTasksDueBefore</code>.
+	 * 
+	 * @param taskList
+	 *            stores all tasks
+	 * @return the tasks whose status was changed to overdue, in the order they became overdue
+	 */
+	public static ArrayList<TaskObject> markTasksDueBefore(ArrayList<TaskObject> taskList,
+			LocalDateTime dateTime) {
+		ArrayList<TaskObject> dueTasks;
+		if (taskList instanceof TaskList) {
+			dueTasks = new ArrayList<TaskObject>();
+			for (TaskObject task : ((TaskList) taskList).getTasksDueBefore(dateTime)) {
+				if (!task.getIsRecurring()) {
+					dueTasks.add(task);
+				}
+			}
+		} else {
+			dueTasks = new ArrayList<TaskObject>();
+			for (int i = 0; i < taskList.size(); i++) {
+				if (isDueBefore(taskList.get(i), dateTime)) {
+					dueTasks.add(taskList.get(i));
+				}
+			}
+		}
+
+		ArrayList<TaskObject> overdueTasks = new ArrayList<TaskObject>();
+		for (int i = 0; i < dueTasks.size(); i++) {
+			TaskObject task = dueTasks.get(i);
+			task.setStatus(TaskStatus.OVERDUE);
+			TaskList.dateTimesChanged(taskList, task);
+			overdueTasks.add(task);
+		}
+		if (!overdueTasks.isEmpty()) {
+			logger.log(Level.INFO, "set status of " + overdueTasks.size() + " due tasks to overdue");
+		}
+		return overdueTasks;
+	}
+
+	private static boolean isDueBefore(TaskObject task, LocalDateTime dateTime) {
+		TaskCategory category = task.getCategoryType();
+		TaskStatus status = task.getStatusType();
+		return !task.getIsRecurring() && (category == TaskCategory.DEADLINE || category == TaskCategory.EVENT)
+				&& status != TaskStatus.COMPLETED && status != TaskStatus.OVERDUE
+				&& task.getStartDateTime().isBefore(dateTime);
 	}
 
 	private static boolean performCheckOverdue(TaskObject task) {
@@ -0,0 +1,89 @@
+package logic.mark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import common.AtfLogger;
+import common.TaskList;
+import common.TaskObject;
+
+/**
+ * Notifies a listener when the next task in the task list becomes overdue, so that statuses can be updated
+ * while the program is left running without a command being entered. <br>
+ * The time at which the next task becomes overdue is found from the index of due times of the TaskList, and
+ * a single background timer is set for that time. The listener is run on the timer thread, and is expected
+ * to pass the update on to the thread which runs commands, which calls <code>Overdue.markTasksDueBefore</code>
+ * and <code>Recurring.updateTasksDueBefore</code>, and then <code>schedule</code> again.
+ */
+public class OverdueScheduler {
+
+	private static Logger logger = AtfLogger.getLogger();
+
+	private Runnable listener;
+	private Timer timer = null;
+	private TimerTask scheduledCheck = null;
+	private LocalDateTime scheduledDateTime = null;
+
+	public OverdueScheduler(Runnable listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Sets the timer for the time at which the next task in the task list becomes overdue, replacing the
+	 * time set before. The timer is cancelled if no task will become overdue or the list is not a TaskList.
+	 */
+	public synchronized void schedule(ArrayList<TaskObject> taskList) {
+		LocalDateTime nextDueDateTime = null;
+		if (taskList instanceof TaskList) {
+			nextDueDateTime = ((TaskList) taskList).getNextDueDateTime();
+		}
+		if (nextDueDateTime != null && nextDueDateTime.equals(scheduledDateTime)) {
+			return;
+		}
+		cancel();
+		if (nextDueDateTime == null) {
+			return;
+		}
+
+		// A task is overdue once its start is before the current time, so the timer is set just after it
+		long delay = 1;
+		LocalDateTime now = LocalDateTime.now();
+		if (nextDueDateTime.isAfter(now)) {
+			delay = Duration.between(now, nextDueDateTime).toMillis() + 1;
+		}
+		if (timer == null) {
+			timer = new Timer("atf-overdue-scheduler", true);
+		}
+		scheduledCheck = new TimerTask() {
+			@Override
+			public void run() {
+				clearScheduledCheck(this);
+				listener.run();
+			}
+		};
+		scheduledDateTime = nextDueDateTime;
+		timer.schedule(scheduledCheck, delay);
+		logger.log(Level.INFO, "next overdue check scheduled in " + delay + " ms");
+	}
+
+	public synchronized void cancel() {
+		if (scheduledCheck != null) {
+			scheduledCheck.cancel();
+			timer.purge();
+		}
+		scheduledCheck = null;
+		scheduledDateTime = null;
+	}
+
+	private synchronized void clearScheduledCheck(TimerTask check) {
+		if (scheduledCheck == check) {
+			scheduledCheck = null;
+			scheduledDateTime = null;
+		}
+	}
+}
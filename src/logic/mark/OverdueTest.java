@@ -3,12 +3,14 @@ package logic.mark;
 
 import static org.junit.Assert.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
 import common.CommandObject;
+import common.TaskList;
 import common.TaskObject;
 
 import org.junit.FixMethodOrder;
@@ -36,4 +38,33 @@ public class OverdueTest {
 		assertEquals(expectedOutput, actualOutput);
 	}
 
+	@Test
+	// Only tasks which start before the time are marked, in a TaskList and in a plain list alike
+	public void testB() {
+		LocalDateTime now = LocalDateTime.of(2016, 04, 10, 12, 00);
+		for (int i = 0; i < 2; i++) {
+			ArrayList<TaskObject> dueList = (i == 0) ? new TaskList() : new ArrayList<TaskObject>();
+			TaskObject pastDeadline = new TaskObject("Submit report", now.minusDays(1), "deadline",
+					"incomplete", 1);
+			TaskObject futureEvent = new TaskObject("Meeting", now.plusHours(1), now.plusHours(2), "event",
+					"incomplete", 2);
+			TaskObject completedEvent = new TaskObject("Lecture", now.minusHours(3), now.minusHours(1), "event",
+					"completed", 3);
+			dueList.add(pastDeadline);
+			dueList.add(futureEvent);
+			dueList.add(completedEvent);
+
+			ArrayList<TaskObject> overdueTasks = Overdue.markTasksDueBefore(dueList, now);
+			assertEquals(1, overdueTasks.size());
+			assertSame(pastDeadline, overdueTasks.get(0));
+			assertEquals("overdue", pastDeadline.getStatus());
+			assertEquals("incomplete", futureEvent.getStatus());
+			assertEquals("completed", completedEvent.getStatus());
+			assertTrue(Overdue.markTasksDueBefore(dueList, now).isEmpty());
+
+			assertEquals(1, Overdue.markTasksDueBefore(dueList, now.plusHours(1).plusMinutes(1)).size());
+			assertEquals("overdue", futureEvent.getStatus());
+		}
+	}
+
 }
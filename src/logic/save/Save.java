@@ -103,14 +103,28 @@ public class Save {
 		return output;
 	}
 
+	// Waits for the save to be written so that the outcome reported to the user is accurate
 	private void saveTo() throws InvalidPathException, IOException, NoSuchFileException {
-		IStorage storage = FileStorage.getInstance();
+		FileStorage storage = FileStorage.getInstance();
 		storage.changeSaveLocation(newFilePath);
 		storage.save(taskList);
+		awaitSave(storage);
 		logger.log(Level.INFO, "File saved to new location");
 		isSaved = true;
 	}
 
+	private void awaitSave(FileStorage storage) throws IOException {
+		try {
+			storage.flush();
+		} catch (InterruptedException e) {
+			throw new IOException(e);
+		}
+		IOException saveError = storage.pollWriteError();
+		if (saveError != null) {
+			throw saveError;
+		}
+	}
+
 	private void saveAs() throws InvalidPathException, IOException, NoSuchFileException {
 		IStorage storage = FileStorage.getInstance();
 		storage.createCopy(newFilePath, "filecopy.txt");
@@ -19,6 +19,7 @@ import org.junit.Test;
 
 import logic.Logic;
 import storage.Constants;
+import storage.FileStorage;
 
 public class saveTest {
 
@@ -58,6 +59,7 @@ public class saveTest {
         Files.deleteIfExists(defaultSavePath);
         Files.deleteIfExists(movedSavePath);
         Files.deleteIfExists(Constants.FILEPATH_SAVEINFO);
+        FileStorage.getInstance().reloadSaveLocation();
     }
 
 }
@@ -5,6 +5,7 @@ package logic.search;
 import logic.display.Display;
 import logic.exceptions.SearchException;
 import logic.timeoutput.TimeOutput;
+import common.TaskList;
 import common.TaskObject;
 import common.CommandObject;
 
@@ -13,6 +14,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.logging.Level;
 
 import static logic.constants.Strings.*;
@@ -191,6 +195,10 @@ public class Search extends Display {
 		String[] splitSearchKeyword = searchTitle.split(" ");
 		assert (splitSearchKeyword.length > 0);
 
+		if (list instanceof TaskList) {
+			list = findTitleCandidates((TaskList) list, splitSearchKeyword);
+		}
+
 		if (splitSearchKeyword.length == 1) {
 			searchKeywordIsOneWord(list, match);
 		} else {
@@ -258,6 +266,49 @@ public class Search extends Display {
 		}
 	}
 
+	/*
+	 * Uses the title index of the task list to narrow down the tasks to those which may match the search
+	 * keyword, in the order of the task list. The candidates are then checked in the same way as the full list,
+	 * so the results are unchanged.
+	 */
+	private ArrayList<TaskObject> findTitleCandidates(TaskList list, String[] splitSearchKeyword) {
+		Set<TaskObject> candidates = Collections.newSetFromMap(new IdentityHashMap<TaskObject, Boolean>());
+		if (splitSearchKeyword.length == 1) {
+			candidates.addAll(list.getTasksWithTitleWordStartingWith(searchTitle));
+			candidates.addAll(list.getTasksWithTitleWordEndingWith(searchTitle));
+			return list.inListOrder(candidates);
+		}
+
+		for (int i = 0; i < splitSearchKeyword.length; i++) {
+			if (splitSearchKeyword[i].isEmpty()) {
+				return list; // repeated spaces in the keyword are not indexed
+			}
+		}
+
+		// A title containing the whole keyword has a word ending with its first word, a word starting with its
+		// last word and every word in between
+		int lastIndex = splitSearchKeyword.length - 1;
+		Set<TaskObject> containingTasks = getSmallerSet(
+				list.getTasksWithTitleWordEndingWith(splitSearchKeyword[0]),
+				list.getTasksWithTitleWordStartingWith(splitSearchKeyword[lastIndex]));
+		// A title containing all the individual words has a word equal to each of them
+		Set<TaskObject> allWordsTasks = list.getTasksWithTitleWord(splitSearchKeyword[0]);
+		for (int i = 1; i <= lastIndex; i++) {
+			Set<TaskObject> wordTasks = list.getTasksWithTitleWord(splitSearchKeyword[i]);
+			allWordsTasks = getSmallerSet(allWordsTasks, wordTasks);
+			if (i < lastIndex) {
+				containingTasks = getSmallerSet(containingTasks, wordTasks);
+			}
+		}
+		candidates.addAll(containingTasks);
+		candidates.addAll(allWordsTasks);
+		return list.inListOrder(candidates);
+	}
+
+	private Set<TaskObject> getSmallerSet(Set<TaskObject> first, Set<TaskObject> second) {
+		return first.size() <= second.size() ? first : second;
+	}
+
 	private boolean isBooleanArrayAllTrue(boolean[] arr) {
 		for (int i = 0; i < arr.length; i++) {
 			if (arr[i] == false) {
@@ -274,6 +325,13 @@ public class Search extends Display {
 	private ArrayList<TaskObject> searchByDate(ArrayList<TaskObject> list) {
 		ArrayList<TaskObject> match = new ArrayList<TaskObject>();
 
+		if (list instanceof TaskList) {
+			// Only the tasks with a date time on the search date can match
+			TaskList indexedList = (TaskList) list;
+			list = indexedList.inListOrder(
+					indexedList.getTasksOverlapping(searchDate.atStartOfDay(), searchDate.atTime(LocalTime.MAX)));
+		}
+
 		for (int i = 0; i < list.size(); i++) {
 			LocalDate taskStartDate = list.get(i).getStartDateTime().toLocalDate();
 			LocalDate taskEndDate = list.get(i).getEndDateTime().toLocalDate();
@@ -374,11 +432,9 @@ public class Search extends Display {
 	}
 
 	private void findTaskWithIndex(int taskIdToSearch) throws IndexOutOfBoundsException{
-		for (int i = 0; i < taskList.size(); i++) {
-			if (taskList.get(i).getTaskId() == taskIdToSearch) {
-				TaskObject foundTask = taskList.get(i);
-				setOutput(foundTask);
-			}
+		TaskObject foundTask = TaskList.findLastByTaskId(taskList, taskIdToSearch);
+		if (foundTask != null) {
+			setOutput(foundTask);
 		}
 	}
 
@@ -8,6 +8,7 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import common.TaskList;
 import common.TaskObject;
 import common.CommandObject;
 import common.LocalDateTimePair;
@@ -297,4 +298,72 @@ public class SearchTest {
 		assertEquals(0, testSearch.getMatchedTasks().size());
 		assertEquals("No results found for the specified parameters.", testSearch.getOutput().get(0));
 	}
+
+	@Test // Search by title through the title index of a TaskList gives the same results as a plain list
+	public void testI() {
+		TaskList indexedList = new TaskList(testList);
+		String[] keywords = { "army", "arm", "my", "ist", "cs2106", "dinner and", "and dance", "ner and dan",
+				"army reservist", "reservist army", "buy machine", "lecture cs2103", "randomest", "a" };
+		for (int i = 0; i < keywords.length; i++) {
+			assertSameTitleSearch(keywords[i], indexedList);
+		}
+
+		TaskObject added = new TaskObject("Army camp", "floating", "incomplete", 20);
+		indexedList.add(added);
+		testList.add(added);
+		assertSameTitleSearch("camp", indexedList);
+		added.setTitle("Navy camp");
+		TaskList.titleChanged(indexedList, added);
+		assertSameTitleSearch("army", indexedList);
+		assertSameTitleSearch("navy", indexedList);
+		indexedList.remove(added);
+		testList.remove(added);
+		assertSameTitleSearch("camp", indexedList);
+	}
+
+	@Test // Search by date and time through the date time index of a TaskList gives the same results as a plain list
+	public void testJ() {
+		TaskList indexedList = new TaskList(testList);
+		String[] dates = { "2012-01-31", "2013-01-01", "2013-11-29", "2016-03-31", "2016-04-02", "2016-06-04",
+				"2016-08-01", "2016-11-08", "2017-03-25", "2017-04-15", "2020-01-01" };
+		for (int i = 0; i < dates.length; i++) {
+			LocalDate date = LocalDate.parse(dates[i]);
+			assertSameDateTimeSearch(LocalDateTime.of(date, LocalTime.MAX), indexedList);
+			assertSameDateTimeSearch(LocalDateTime.of(date, LocalTime.parse("12:00")), indexedList);
+			assertSameDateTimeSearch(LocalDateTime.of(date, LocalTime.parse("15:30")), indexedList);
+		}
+
+		TaskObject moved = testList.get(6);
+		LocalDateTime originalStart = moved.getStartDateTime();
+		LocalDateTime originalEnd = moved.getEndDateTime();
+		LocalDateTime newStart = LocalDateTime.of(LocalDate.parse("2020-01-01"), LocalTime.parse("09:00"));
+		moved.setStartDateTime(newStart);
+		moved.setEndDateTime(newStart.plusHours(1));
+		TaskList.dateTimesChanged(indexedList, moved);
+		assertSameDateTimeSearch(LocalDateTime.of(LocalDate.parse("2016-04-02"), LocalTime.MAX), indexedList);
+		assertSameDateTimeSearch(LocalDateTime.of(LocalDate.parse("2020-01-01"), LocalTime.MAX), indexedList);
+		assertEquals(1, indexedList.getTasksOverlapping(newStart, newStart).size());
+		moved.setStartDateTime(originalStart);
+		moved.setEndDateTime(originalEnd);
+	}
+
+	private void assertSameDateTimeSearch(LocalDateTime searchDateTime, TaskList indexedList) {
+		Search plainSearch = new Search(new CommandObject(INDEX_SEARCH_DISPLAY, new TaskObject(searchDateTime)),
+				testList, testList);
+		plainSearch.run();
+		Search indexedSearch = new Search(new CommandObject(INDEX_SEARCH_DISPLAY, new TaskObject(searchDateTime)),
+				indexedList, indexedList);
+		indexedSearch.run();
+		assertEquals(searchDateTime.toString(), plainSearch.getMatchedTasks(), indexedSearch.getMatchedTasks());
+	}
+
+	private void assertSameTitleSearch(String keyword, TaskList indexedList) {
+		Search plainSearch = new Search(new CommandObject(INDEX_SEARCH_DISPLAY, new TaskObject(keyword)),
+				testList, testList);
+		plainSearch.run();
+		Search indexedSearch = new Search(new CommandObject(INDEX_SEARCH_DISPLAY, new TaskObject(keyword)),
+				indexedList, indexedList);
+		indexedSearch.run();
+		assertEquals(keyword, plainSearch.getMatchedTasks(), indexedSearch.getMatchedTasks());
+	}
 }
@@ -13,38 +13,148 @@ import common.AtfLogger;
 import common.TaskObject;
 import storage.FileStorage;
 
+/**
+ * Keeps the task list sorted by status, then start date/time, then end date/time, then title, then task ID.
+ * <br>
+ * Commands only change a few tasks at a time, so instead of sorting the whole list again, the tasks which are
+ * out of order are taken out and put back at their place found by binary search. The whole list is only
+ * sorted when many tasks are out of order, such as after loading a list which was not sorted. <br>
+ * Commands save the task list before it is sorted, so the sorted list is only saved again if sorting has
+ * changed its order, or if the command has left changes which have not been saved.
+ */
 public class Sort {
-	
+
 	private static Logger logger = AtfLogger.getLogger();
 
+	// Above this number of tasks out of order, the whole list is sorted instead
+	private static final int MAX_REPOSITIONED_TASKS = 32;
+
+	/*
+	 * Compares the packed sort keys of the tasks first, which decide the order of most tasks without going
+	 * through their status and date/time objects. Tasks with the same keys, or with a status which has no
+	 * sort key, are compared field by field.
+	 */
+	public static final Comparator<TaskObject> TASK_ORDER = new Comparator<TaskObject>() {
+		@Override
+		public int compare(final TaskObject o1, final TaskObject o2) {
+			long startKey1 = o1.getStartSortKey();
+			long startKey2 = o2.getStartSortKey();
+			if (startKey1 != TaskObject.UNRANKED_SORT_KEY && startKey2 != TaskObject.UNRANKED_SORT_KEY) {
+				if (startKey1 != startKey2) {
+					return Long.compare(startKey1, startKey2);
+				}
+				// keys are to the second, so the end keys only decide tasks starting at the same instant
+				if (o1.getStartDateTime().getNano() == o2.getStartDateTime().getNano()) {
+					long endKey1 = o1.getEndSortKey();
+					long endKey2 = o2.getEndSortKey();
+					if (endKey1 != endKey2) {
+						return Long.compare(endKey1, endKey2);
+					}
+				}
+			}
+			return compareFields(o1, o2);
+		}
+	};
+
+	/**
+	 * Compares tasks by status, then start date/time, then end date/time, then title, then task ID, without
+	 * the sort keys.
+	 */
+	public static int compareFields(final TaskObject o1, final TaskObject o2) {
+		if (!o1.getStatus().equals(o2.getStatus())) {
+			return o2.getStatus().compareTo(o1.getStatus());
+		} else if (!o1.getStartDateTime().equals(o2.getStartDateTime())) {
+			return o1.getStartDateTime().compareTo(o2.getStartDateTime());
+		} else if (!o1.getEndDateTime().equals(o2.getEndDateTime())) {
+			return o1.getEndDateTime().compareTo(o2.getEndDateTime());
+		} else if (!o1.getTitle().equals(o2.getTitle())) {
+			return o1.getTitle().compareTo(o2.getTitle());
+		} else {
+			return Integer.compare(o1.getTaskId(), o2.getTaskId());
+		}
+	}
+
 	private ArrayList<TaskObject> taskList;
-	
+	private boolean hasUnsavedChanges = false;
+
 	public Sort(ArrayList<TaskObject> taskList) {
 		this.taskList = taskList;
 	}
-	
+
+	public Sort(ArrayList<TaskObject> taskList, boolean hasUnsavedChanges) {
+		this.taskList = taskList;
+		this.hasUnsavedChanges = hasUnsavedChanges;
+	}
+
 	public ArrayList<TaskObject> run() {
-		Comparator<TaskObject> dateComparator = new Comparator<TaskObject>() {
-			@Override
-			public int compare(final TaskObject o1, final TaskObject o2) {
-				if (!o1.getStatus().equals(o2.getStatus())) {
-					return o2.getStatus().compareTo(o1.getStatus());
-				} else if (!o1.getStartDateTime().equals(o2.getStartDateTime())) {
-					return o1.getStartDateTime().compareTo(o2.getStartDateTime());
-				} else if (!o1.getEndDateTime().equals(o2.getEndDateTime())) {
-					return o1.getEndDateTime().compareTo(o2.getEndDateTime());
-				} else {	
-					return o1.getTitle().compareTo(o2.getTitle());
-				}
-			}
-		};
-		
-		Collections.sort(taskList, dateComparator);
-		saveExternal();
-		logger.info("sorted and saved list");
+		boolean isOrderChanged = restoreOrder(taskList);
+		if (isOrderChanged || hasUnsavedChanges) {
+			saveExternal();
+			logger.info("sorted and saved list");
+		} else {
+			logger.info("list already sorted");
+		}
 		return taskList;
 	}
-	
+
+	/**
+	 * Restores the order of a task list in which only some tasks are out of order, such as tasks which have
+	 * been added to the end of the list or whose dates have been edited.
+	 *
+	 * @return true if any task was moved
+	 */
+	public static boolean restoreOrder(ArrayList<TaskObject> taskList) {
+		ArrayList<Integer> misplacedPositions = findMisplacedPositions(taskList);
+		if (misplacedPositions.isEmpty()) {
+			return false;
+		}
+		if (misplacedPositions.size() > MAX_REPOSITIONED_TASKS) {
+			Collections.sort(taskList, TASK_ORDER);
+			return true;
+		}
+
+		ArrayList<TaskObject> misplacedTasks = new ArrayList<TaskObject>();
+		for (int i = misplacedPositions.size() - 1; i >= 0; i--) {
+			misplacedTasks.add(taskList.remove((int) misplacedPositions.get(i)));
+		}
+		for (int i = misplacedTasks.size() - 1; i >= 0; i--) {
+			TaskObject task = misplacedTasks.get(i);
+			int position = Collections.binarySearch(taskList, task, TASK_ORDER);
+			if (position < 0) {
+				position = -position - 1;
+			}
+			taskList.add(position, task);
+		}
+		logger.info("moved " + misplacedTasks.size() + " tasks back in order");
+		return true;
+	}
+
+	/*
+	 * Goes through the list once, keeping the positions of a run of tasks in order and returning the positions
+	 * of the other tasks, in ascending order. When a task comes before the last task kept, the last task kept
+	 * is the one out of order if the task does not come before the task kept before it, as with a task whose
+	 * dates have been moved later.
+	 */
+	private static ArrayList<Integer> findMisplacedPositions(ArrayList<TaskObject> taskList) {
+		ArrayList<Integer> keptPositions = new ArrayList<Integer>();
+		ArrayList<Integer> misplacedPositions = new ArrayList<Integer>();
+		for (int i = 0; i < taskList.size(); i++) {
+			int keptCount = keptPositions.size();
+			TaskObject task = taskList.get(i);
+			if (keptCount == 0 || TASK_ORDER.compare(taskList.get(keptPositions.get(keptCount - 1)), task) <= 0) {
+				keptPositions.add(i);
+			} else if (keptCount == 1
+					|| TASK_ORDER.compare(taskList.get(keptPositions.get(keptCount - 2)), task) <= 0) {
+				misplacedPositions.add(keptPositions.remove(keptCount - 1));
+				keptPositions.add(i);
+			} else {
+				misplacedPositions.add(i);
+			}
+		}
+		Collections.sort(misplacedPositions);
+		return misplacedPositions;
+	}
+
 	private void saveExternal() {
 		try {
 		FileStorage storage = FileStorage.getInstance();
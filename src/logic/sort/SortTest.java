@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
 
 import org.junit.Test;
 
@@ -79,4 +80,67 @@ public class SortTest {
 		assertEquals(actualOutput, correctOutput);
 		correctOutput.clear();
 	}
+
+	@Test
+	// Tasks moved out of order in a sorted list are put back where a full sort would put them
+	public void testRestoreOrder() {
+		testList.add(taskFour);
+		testList.add(taskFive);
+		testList.add(taskTwo);
+		testList.add(taskThree);
+		testList.add(taskOne);
+		testList.add(taskEight);
+		testList.add(taskNine);
+		testList.add(taskSeven);
+		testList.add(taskSix);
+		assertFalse(Sort.restoreOrder(testList));
+
+		// taskFour edited to a later date, taskOne to an earlier date, and a new task added to the end
+		taskFour.setStartDateTime(LocalDateTime.of(LocalDate.parse("2016-04-10"), LocalTime.parse("19:00")));
+		taskOne.setStartDateTime(LocalDateTime.of(LocalDate.parse("2016-04-19"), LocalTime.parse("09:00")));
+		TaskObject taskTen = new TaskObject("Buy groceries", "floating", "incomplete", 10);
+		testList.add(taskTen);
+
+		ArrayList<TaskObject> correctOutput = new ArrayList<TaskObject>(testList);
+		Collections.sort(correctOutput, Sort.TASK_ORDER);
+
+		assertTrue(Sort.restoreOrder(testList));
+		assertEquals(correctOutput, testList);
+		assertSame(taskFive, testList.get(0));
+		assertSame(taskFour, testList.get(1));
+		assertSame(taskOne, testList.get(2));
+		assertSame(taskTen, testList.get(6));
+	}
+
+	@Test
+	// Comparing sort keys first gives the same order as comparing fields, including for times within the
+	// same second and statuses without a sort key
+	public void testSortKeys() {
+		LocalDateTime start = LocalDateTime.of(LocalDate.parse("2016-04-20"), LocalTime.parse("10:00"));
+		testList.add(new TaskObject("A", start.plusNanos(500), start.plusHours(1), "event", "incomplete", 11));
+		testList.add(new TaskObject("A", start, start.plusHours(2), "event", "incomplete", 12));
+		testList.add(new TaskObject("A", start, start.plusHours(1).plusNanos(1), "event", "incomplete", 13));
+		testList.add(new TaskObject("A", start, start.plusHours(1), "event", "incomplete", 14));
+		testList.add(new TaskObject("B", start, start.plusHours(1), "event", "incomplete", 15));
+		testList.add(new TaskObject("A", start, start.plusHours(1), "event", "overdue", 16));
+		testList.add(taskSix);
+		testList.add(taskSeven);
+		testList.add(taskEight);
+		testList.add(taskFour);
+
+		for (int i = 0; i < testList.size(); i++) {
+			for (int j = 0; j < testList.size(); j++) {
+				assertEquals(Integer.signum(Sort.compareFields(testList.get(i), testList.get(j))),
+						Integer.signum(Sort.TASK_ORDER.compare(testList.get(i), testList.get(j))));
+			}
+		}
+
+		// sort keys are worked out again when the status or dates change
+		TaskObject task = testList.get(0);
+		long startSortKey = task.getStartSortKey();
+		task.setStatus("completed");
+		assertTrue(task.getStartSortKey() > startSortKey);
+		task.setStatus("complete");
+		assertEquals(TaskObject.UNRANKED_SORT_KEY, task.getStartSortKey());
+	}
 }
@@ -40,9 +40,13 @@ public class Redo extends UndoRedo {
 			try {
 				CommandObject commandObj = redoList.pop();
 				
-				secondaryLogic = new Logic(taskList, undoList, redoList);
-				secondaryLogic.parseCommandObject(commandObj, false, true);
-				logger.log(Level.INFO, "Redo CommandObject processed in secondary Logic class");
+				if (commandObj.getCommandType() == INDEX_BATCH) {
+					runBatch(commandObj, false);
+				} else {
+					secondaryLogic = new Logic(taskList, undoList, redoList);
+					secondaryLogic.parseCommandObject(commandObj, false, true);
+					logger.log(Level.INFO, "Redo CommandObject processed in secondary Logic class");
+				}
 				
 				output.add(String.format(MESSAGE_REDO, getRedoneCommandType(commandObj)));
 			} catch (NoSuchElementException e) {
@@ -57,7 +61,7 @@ public class Redo extends UndoRedo {
 	private String getRedoneCommandType(CommandObject commandObj) {
 		int commandType = commandObj.getCommandType();
 		assert (commandType == INDEX_ADD || commandType == INDEX_DELETE || commandType == INDEX_EDIT ||
-				commandType == INDEX_COMPLETE || commandType == INDEX_INCOMPLETE);
+				commandType == INDEX_COMPLETE || commandType == INDEX_INCOMPLETE || commandType == INDEX_BATCH);
 		
 		switch (commandType) {
 			case INDEX_ADD :
@@ -69,6 +73,8 @@ public class Redo extends UndoRedo {
 			case INDEX_COMPLETE :
 			case INDEX_INCOMPLETE :
 				return "Status change";
+			case INDEX_BATCH :
+				return MESSAGE_BATCH_COMMAND_TYPE;
 			default :
 				return "";
 		}
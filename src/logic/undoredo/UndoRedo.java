@@ -2,12 +2,16 @@
 
 package logic.undoredo;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.logging.*;
 
 import common.CommandObject;
 import common.TaskObject;
+import logic.Logic;
+import storage.FileStorage;
 
 import static logic.constants.Index.*;
 
@@ -18,6 +22,7 @@ import static logic.constants.Index.*;
  * 1. Add <-> Delete
  * 2. Edit <-> Edit
  * 3. Incomplete <-> Complete
+ * 4. Batch <-> Batch, which undoes or redoes all the commands of a batch
  * 
  * @param taskList ArrayList containing all tasks
  * @param undoList Deque containing all undo tasks
@@ -57,6 +62,46 @@ public class UndoRedo {
 		return output;
 	}
 	
+	/**
+	 * Undoes or redoes the commands of a batch one after another, each in a secondary Logic class as for a
+	 * single command, and pushes the commands which reverse them as one batch into the redo list or the undo
+	 * list. The task list is saved once, after the last command.
+	 * 
+	 * @param batchCommandObj CommandObject holding the commands of the batch
+	 * @param isUndoAction true to undo the batch, false to redo it
+	 */
+	protected void runBatch(CommandObject batchCommandObj, boolean isUndoAction) {
+		Deque<CommandObject> commands = new ArrayDeque<CommandObject>(batchCommandObj.getGroupedCommands());
+		Deque<CommandObject> reverseCommands = new ArrayDeque<CommandObject>();
+		FileStorage storage = FileStorage.getInstance();
+		storage.deferSaves();
+		try {
+			while (!commands.isEmpty()) {
+				CommandObject commandObj = commands.pop();
+				Logic secondaryLogic;
+				if (isUndoAction) {
+					secondaryLogic = new Logic(taskList, commands, reverseCommands);
+				} else {
+					secondaryLogic = new Logic(taskList, reverseCommands, commands);
+				}
+				secondaryLogic.parseCommandObject(commandObj, isUndoAction, !isUndoAction);
+			}
+		} finally {
+			try {
+				storage.resumeSaves(taskList);
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "unable to save task list after batch");
+			}
+		}
+		
+		if (isUndoAction) {
+			redoList.push(new CommandObject(batchCommandObj.getCommandType(), reverseCommands));
+		} else {
+			undoList.push(new CommandObject(batchCommandObj.getCommandType(), reverseCommands));
+		}
+		logger.log(Level.INFO, "Batch of CommandObjects processed in secondary Logic classes");
+	}
+	
 	// ---------------------------------- GETTERS ---------------------------------- 
 	
 	public ArrayList<TaskObject> getTaskList() {
@@ -41,7 +41,7 @@ public class AddParser extends CommandParser {
 	 * @throws Exception
 	 */
 	private void setTask(String input) throws Exception {
-		Pattern dateTimePattern = Pattern.compile(Constants.REGEX_DATE_TIME_IDENTIFIER);
+		Pattern dateTimePattern = Constants.PATTERN_DATE_TIME_IDENTIFIER;
 		Matcher matcher = dateTimePattern.matcher(input);
 		
 		String identifier = null;
@@ -0,0 +1,104 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import common.AtfLogger;
+
+/**
+ * This class parses many inputs at once, such as the lines of a script being imported, on a
+ * fork-join pool. Each input is parsed on its own by the shared InputParser, so the inputs are
+ * split into ranges which are parsed on different threads. The results are returned in the order
+ * of the inputs, whichever thread parsed them.
+ *
+ * Task IDs are not given while parsing. Logic gives them when the results are run, in order, with
+ * <code>ParseResult.toCommandObject(int)</code>.
+ */
+public class BatchParser {
+
+	// ranges of at most this number of inputs are parsed by one thread without being split further
+	private static final int MAX_INPUTS_PER_TASK = 64;
+
+	private static Logger logger = AtfLogger.getLogger();
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * This constructor parses inputs on the common fork-join pool, which has a thread for each
+	 * processor.
+	 */
+	public BatchParser() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public BatchParser(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * This method parses the inputs in parallel.
+	 *
+	 * @param inputs
+	 * 				user's inputs. non-empty.
+	 * @return
+	 * 				result of each input in the same order as the inputs, with null for each input
+	 * 				which could not be parsed.
+	 */
+	public ArrayList<ParseResult> parseAll(List<String> inputs) {
+		ArrayList<String> inputList = new ArrayList<String>(inputs);
+		ParseResult[] results = new ParseResult[inputList.size()];
+		if (!inputList.isEmpty()) {
+			pool.invoke(new ParseTask(inputList, results, 0, inputList.size()));
+		}
+		return new ArrayList<ParseResult>(Arrays.asList(results));
+	}
+
+	/**
+	 * This class parses a range of the inputs, splitting it in half to be parsed by other threads
+	 * while it is large. Each result is put at the position of its input.
+	 */
+	private static class ParseTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ArrayList<String> inputs;
+		private final ParseResult[] results;
+		private final int start;
+		private final int end;
+
+		private ParseTask(ArrayList<String> inputs, ParseResult[] results, int start, int end) {
+			this.inputs = inputs;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= MAX_INPUTS_PER_TASK) {
+				parseRange();
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new ParseTask(inputs, results, start, middle),
+						new ParseTask(inputs, results, middle, end));
+			}
+		}
+
+		private void parseRange() {
+			InputParser parser = InputParser.getInstance();
+			for (int i = start; i < end; i++) {
+				try {
+					results[i] = parser.parse(inputs.get(i));
+				} catch (Exception e) {
+					logger.log(Level.INFO, "unable to parse input " + (i + 1) + " of batch");
+					results[i] = null;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package parser;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class identifies the command keyword at the start of the user's input and splits off
+ * the arguments after it in one pass. The keyword expressions of every command in Constants are
+ * joined into one expression with a named group for each command, compiled once.
+ *
+ * The groups are in the order the keywords used to be checked in, so an input which starts with
+ * more than one keyword is still identified as the same command. Input which does not start with
+ * any keyword is identified as NONE, and is processed as a search.
+ */
+public class CommandDispatcher {
+
+	public enum Verb {
+		EXIT, HELP, UNDO, REDO, EDIT, SAVE, DELETE, ADD, DONE, NOTDONE, SEARCH, LOAD, NONE
+	}
+
+	// keyword expressions in order of precedence, matching Verb
+	private static final String[] KEYWORD_REGEXES = {
+		Constants.REGEX_PARSER_EXIT, Constants.REGEX_PARSER_HELP,
+		Constants.REGEX_PARSER_UNDO + "$", // undo must be the whole input
+		Constants.REGEX_PARSER_REDO, Constants.REGEX_PARSER_EDIT, Constants.REGEX_PARSER_SAVE,
+		Constants.REGEX_PARSER_DELETE, Constants.REGEX_PARSER_ADD, Constants.REGEX_PARSER_DONE,
+		Constants.REGEX_PARSER_NOTDONE, Constants.REGEX_PARSER_SEARCH, Constants.REGEX_PARSER_LOAD
+	};
+	private static final String KEYWORD_PREFIX = "(?i)^";
+
+	private static final Pattern PATTERN_COMMAND = compileCommandPattern();
+
+	/**
+	 * This class holds the command identified from an input and the arguments after its keyword.
+	 * It cannot be changed once it is created.
+	 */
+	public static final class DispatchedCommand {
+		private final Verb verb;
+		private final String input;
+		private final String arguments;
+
+		private DispatchedCommand(Verb verb, String input, String arguments) {
+			this.verb = verb;
+			this.input = input;
+			this.arguments = arguments;
+		}
+
+		public Verb getVerb() {
+			return verb;
+		}
+
+		// trimmed input, including the keyword
+		public String getInput() {
+			return input;
+		}
+
+		// trimmed input after the keyword, or the whole input if there is no keyword
+		public String getArguments() {
+			return arguments;
+		}
+	}
+
+	/**
+	 * This method identifies the command in the input.
+	 *
+	 * @param command
+	 * 				user's input. not null.
+	 * @return
+	 * 				command identified, with the arguments after its keyword.
+	 */
+	public static DispatchedCommand dispatch(String command) {
+		String input = command.trim();
+		Matcher matcher = PATTERN_COMMAND.matcher(input);
+		if (!matcher.lookingAt()) {
+			return new DispatchedCommand(Verb.NONE, input, input);
+		}
+		Verb[] verbs = Verb.values();
+		for (int i = 0; i < KEYWORD_REGEXES.length; i++) {
+			if (matcher.start(getGroupName(verbs[i])) != -1) {
+				return new DispatchedCommand(verbs[i], input, input.substring(matcher.end()).trim());
+			}
+		}
+		return new DispatchedCommand(Verb.NONE, input, input);
+	}
+
+	private static Pattern compileCommandPattern() {
+		StringBuilder regex = new StringBuilder(KEYWORD_PREFIX + "(?:");
+		Verb[] verbs = Verb.values();
+		for (int i = 0; i < KEYWORD_REGEXES.length; i++) {
+			assert(KEYWORD_REGEXES[i].startsWith(KEYWORD_PREFIX));
+			if (i > 0) {
+				regex.append("|");
+			}
+			regex.append("(?<").append(getGroupName(verbs[i])).append(">")
+					.append(KEYWORD_REGEXES[i].substring(KEYWORD_PREFIX.length())).append(")");
+		}
+		regex.append(")");
+		return Pattern.compile(regex.toString());
+	}
+
+	private static String getGroupName(Verb verb) {
+		return verb.name().toLowerCase();
+	}
+}
@@ -1,6 +1,8 @@
 //@@author A0125003A
 package parser;
 
+import java.util.regex.Pattern;
+
 /**
  * This class contains all the constant regular expressions that the parser will use.
  * Regular expression allows for flexibility for the use when entering expressions and
@@ -217,4 +219,16 @@ public class Constants {
 
 	//changeable default year.
 	public static final int DEFAULT_YEAR = 2016;	
+
+    /*--------------------Compiled Expressions---------------------------------------------------*/
+    // compiled once, as compiling the longer expressions takes much longer than matching them
+    public static final Pattern PATTERN_MONTHS_TEXT = Pattern.compile(REGEX_MONTHS_TEXT);
+    public static final Pattern PATTERN_TIME_FORMAT = Pattern.compile(REGEX_TIME_FORMAT);
+    public static final Pattern PATTERN_RECURRING_INTERVAL2 = Pattern.compile(REGEX_RECURRING_INTERVAL2);
+    public static final Pattern PATTERN_RECURRING_FOR = Pattern.compile(REGEX_RECURRING_FOR);
+    public static final Pattern PATTERN_RECURRING_UNTIL = Pattern.compile(REGEX_RECURRING_UNTIL);
+    public static final Pattern PATTERN_DATE_TIME_IDENTIFIER = Pattern.compile(REGEX_DATE_TIME_IDENTIFIER);
+    public static final Pattern PATTERN_SEARCH = Pattern.compile(REGEX_SEARCH);
+    public static final Pattern PATTERN_SEARCH2 = Pattern.compile(REGEX_SEARCH2);
+    public static final Pattern PATTERN_EVENT_SPLIT = Pattern.compile(" to ");
 }
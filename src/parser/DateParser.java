@@ -21,6 +21,8 @@ import parser.exceptions.InvalidDateFormatException;
  */
 
 public class DateParser {
+	private static final RelativeDateCache relativeDateCache = new RelativeDateCache();
+	
 	private int day = -1;
 	private int month = -1;
 	private int year = -1;
@@ -234,14 +236,20 @@ public class DateParser {
 	 * 
 	 */
 	private boolean hasMonth(String input) {
-		Pattern dateTimePattern = Pattern.compile(Constants.REGEX_MONTHS_TEXT);
+		Pattern dateTimePattern = Constants.PATTERN_MONTHS_TEXT;
 		Matcher matcher = dateTimePattern.matcher(input);
 		return matcher.find();
 	}
 	
-	//this method will allocate relevant integer to month variable.
+	//this method will allocate relevant integer to month variable, kept for inputs read today.
 	private void setMonth(String input) {
-			month = setMonthInDateProcessor(input);
+		RelativeDateCache.Day cachedDay = relativeDateCache.getDay();
+		Integer cachedMonth = cachedDay.getMonth(input);
+		if (cachedMonth == null) {
+			cachedMonth = setMonthInDateProcessor(input);
+			cachedDay.putMonth(input, cachedMonth);
+		}
+		month = cachedMonth;
 	}
 	
 	//method removes all the characters in the date.
@@ -286,7 +294,9 @@ public class DateParser {
 	 * 				true,if the date string is a relative date.
 	 */
 	private boolean isRelative(String input) {
-		if (input.matches(Constants.REGEX_RELATIVE_DATE_ALL) || input.matches(Constants.REGEX_DAYS_TEXT)
+		if (relativeDateCache.getDay().getRelativeDate(input) != null) {
+			return true;
+		} else if (input.matches(Constants.REGEX_RELATIVE_DATE_ALL) || input.matches(Constants.REGEX_DAYS_TEXT)
 				|| input.matches(Constants.REGEX_RECURRING_INTERVAL_EVERYDAY)) {
 			return true;
 		} else {
@@ -296,6 +306,7 @@ public class DateParser {
 	
 	/**
 	 * This method will set date object for relative date inputs such as today, tmr, next week.
+	 * The date an input resolves to is kept for the rest of the day.
 	 * 
 	 * @param input
 	 * 				non-null string that is a relative date, such as "today" or "next fri".
@@ -303,26 +314,54 @@ public class DateParser {
 	 */
 	private void processRelativeDate(String input) throws Exception {
 		input = preprocess(input);
+		RelativeDateCache.Day cachedDay = relativeDateCache.getDay();
+		LocalDate resolvedDate = cachedDay.getRelativeDate(input);
+		if (resolvedDate == null) {
+			resolvedDate = resolveRelativeDate(input, cachedDay);
+			cachedDay.putRelativeDate(input, resolvedDate);
+		}
+		
+		//relative dates which do not resolve to a date leave the date object as it is
+		if (!resolvedDate.equals(LocalDate.MAX)) {
+			dateObject = resolvedDate;
+		}
+	}
+	
+	// ================================
+	// Fourth Level of Abstraction
+	// ================================
+	
+	/**
+	 * This method will return the date a relative date input resolves to on the given day.
+	 * 
+	 * @param input
+	 * 				non-null string that is a relative date in lower case.
+	 * @param cachedDay
+	 * 				day to resolve the input from.
+	 * @return
+	 * 				resolved date, or LocalDate.MAX if the input does not resolve to a date.
+	 * @throws Exception
+	 */
+	private LocalDate resolveRelativeDate(String input, RelativeDateCache.Day cachedDay) throws Exception {
+		LocalDate today = cachedDay.getToday();
 		if (input.matches(Constants.REGEX_RELATIVE_DATE_0) 
 				|| input.matches(Constants.REGEX_RECURRING_INTERVAL_EVERYDAY)) {
-				dateObject = LocalDate.now();
+			return today;
 		} else if (input.matches(Constants.REGEX_RELATIVE_DATE_1)) {
-				dateObject = LocalDate.now().plusDays(1);
+			return today.plusDays(1);
 		} else if (input.matches("("+"(next )"+ Constants.REGEX_DAYS_TEXT+")")) {
-			setDateNextWeek(input);
+			return setDateNextWeek(input, today);
 		} else if (input.matches("("+"(this )"+ Constants.REGEX_DAYS_TEXT+")")) {
-			setDateThisWeek(input);
+			return setDateThisWeek(input, today);
 		} else if (input.matches("next " + "(week|wk)(s)?")) {
-			dateObject = LocalDate.now().plusWeeks(1);
+			return today.plusWeeks(1);
 		} else if (input.matches(Constants.REGEX_DAYS_TEXT)) {
-			setDateToComingDayOfWeek(input);
+			return setDateToComingDayOfWeek(input, today);
+		} else {
+			return LocalDate.MAX;
 		}
 	}
 	
-	// ================================
-	// Fourth Level of Abstraction
-	// ================================
-
 	/**
 	 * This method will return the corresponding month's integer value.
 	 * 
@@ -361,61 +400,69 @@ public class DateParser {
 	}
 	
 	/**
-	 * This method will set the date object to the next nearest day that 
-	 * the input specifies.
+	 * This method will return the next nearest day that the input specifies.
 	 * 
 	 * @param input
 	 * 				non-null string which is a day from Monday to Sunday.
+	 * @param today
+	 * 				day to count from.
 	 * @throws InvalidDateFormatException
 	 */
-	private void setDateToComingDayOfWeek(String input) throws InvalidDateFormatException {
+	private LocalDate setDateToComingDayOfWeek(String input, LocalDate today) 
+			throws InvalidDateFormatException {
 	    input = processDayOfWeek(input);
-	    dateObject = LocalDate.now().with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(input))); 
+	    return today.with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(input))); 
 	}
 	
 	/**
-	 * This method will set the date object to the day as specified by the input
-	 * on the following week.
+	 * This method will return the day as specified by the input on the following week.
 	 * 
 	 * @param input
 	 * 				non-null string which contains a day from Monday to Sunday.
+	 * @param today
+	 * 				day to count from.
 	 * @throws InvalidDateFormatException
 	 */
-	private void setDateNextWeek(String input) throws InvalidDateFormatException {
+	private LocalDate setDateNextWeek(String input, LocalDate today) throws InvalidDateFormatException {
 		input = input.replaceAll("next", "").trim();
         input = processDayOfWeek(input);
-        dateObject = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.valueOf(input)));
-        int set = dateObject.getDayOfWeek().getValue();
-        int now = LocalDate.now().getDayOfWeek().getValue();
+        LocalDate date = today.with(TemporalAdjusters.next(DayOfWeek.valueOf(input)));
+        int set = date.getDayOfWeek().getValue();
+        int now = today.getDayOfWeek().getValue();
         if (set > now ) {
-            dateObject = dateObject.plusWeeks(1);
+            date = date.plusWeeks(1);
         }
+        return date;
 	}
 	
 	/**
-	 * This method will set the date object to the day as specified by the input
-	 * in this week.
+	 * This method will return the day as specified by the input in this week.
 	 * 
 	 * @param input
 	 * 				non-null string which contains a day from Monday to Sunday.
+	 * @param today
+	 * 				day to count from.
+	 * @return
+	 * 				day in this week, or LocalDate.MAX if it is today.
 	 * @throws Exception
 	 */
-	private void setDateThisWeek(String input) throws Exception {
+	private LocalDate setDateThisWeek(String input, LocalDate today) throws Exception {
 		input = input.replaceAll("this", "").trim();
 		input = processDayOfWeek(input);
 		int set = DayOfWeek.valueOf(input).getValue();
-        int now = LocalDate.now().getDayOfWeek().getValue();
+        int now = today.getDayOfWeek().getValue();
         if (set < now ) {
-        	dateObject = LocalDate.now().with(TemporalAdjusters.previous(DayOfWeek.valueOf(input)));
+        	return today.with(TemporalAdjusters.previous(DayOfWeek.valueOf(input)));
             //throw new Exception(input + " is over this week. Did you mean next " + input + "?");
         } else if (set > now) {
-            dateObject = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.valueOf(input)));
+            return today.with(TemporalAdjusters.next(DayOfWeek.valueOf(input)));
         }
+        return LocalDate.MAX;
 	}
 	
 	@SuppressWarnings("unused")
-    private LocalDate setStartofNextWeek() {
-		LocalDate date = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    private LocalDate setStartofNextWeek(LocalDate today) {
+		LocalDate date = today.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
 		return date;
 	}
 	
@@ -425,7 +472,7 @@ public class DateParser {
 	
 	/**
 	 * This method will read the day of week and return the day-of-week in
-	 * correct format.
+	 * correct format. Days read before are kept for the rest of the day.
 	 * 
 	 * @param dayOfWeek
 	 * 				string input representing the day of the week. E.g. monday.
@@ -435,6 +482,13 @@ public class DateParser {
 	 */
 	private String processDayOfWeek(String dayOfWeek) throws InvalidDateFormatException {
         dayOfWeek = preprocess(dayOfWeek);
+        RelativeDateCache.Day cachedDay = relativeDateCache.getDay();
+        String cachedDayOfWeek = cachedDay.getDayOfWeek(dayOfWeek);
+        if (cachedDayOfWeek != null) {
+        	return cachedDayOfWeek;
+        }
+        
+        String input = dayOfWeek;
         if (Constants.DAY_1.contains(dayOfWeek)) {
         	dayOfWeek = Constants.DAY_1;
         } else if (Constants.DAY_2.contains(dayOfWeek)) {
@@ -452,7 +506,9 @@ public class DateParser {
         } else {
             throw new InvalidDateFormatException(dayOfWeek);
         }
-        return dayOfWeek.toUpperCase();
+        dayOfWeek = dayOfWeek.toUpperCase();
+        cachedDay.putDayOfWeek(input, dayOfWeek);
+        return dayOfWeek;
     }
 	
 	/**
@@ -145,7 +145,7 @@ public class DateTimeParser {
 		switch(tasktype) {
 		case event :
 			String startOfEvent = "", endOfEvent = "";
-			Pattern split = Pattern.compile(" to ");
+			Pattern split = Constants.PATTERN_EVENT_SPLIT;
 			Matcher matcher = split.matcher(input);
 			if (matcher.find()) {
 				startOfEvent = getTrimmedString(input, 0, matcher.start());
@@ -184,7 +184,7 @@ public class DateTimeParser {
 		switch(tasktype) {
 		case event:
 			String temp1 = "", temp2 = "";
-			Pattern split = Pattern.compile(" to ");
+			Pattern split = Constants.PATTERN_EVENT_SPLIT;
 			Matcher matcher = split.matcher(input);
 			if (matcher.find()) {
 				temp1 = getTrimmedString(input, 0, matcher.start());
@@ -251,7 +251,7 @@ public class DateTimeParser {
 		input = input.replaceFirst("until", "").trim();
 		input = input.replaceFirst("from", "").trim();
 		
-		Pattern time = Pattern.compile(Constants.REGEX_TIME_FORMAT);
+		Pattern time = Constants.PATTERN_TIME_FORMAT;
 		Matcher timeMatcher = time.matcher(input);
 		DateParser DP = new DateParser();
 		TimeParser TP = new TimeParser();
@@ -259,7 +259,7 @@ public class DateTimeParser {
 		String _date = "", _time = "";
 		
 		if (timeMatcher.find()) {
-			logger.log(Level.INFO, "Time format found");
+			logger.log(Level.FINE, "Time format found");
 			_time = getTrimmedString(input, timeMatcher.start(), timeMatcher.end());
 			_date = input.replaceAll(_time, "").trim();
 			if (_date.matches("(start|end)")) {
@@ -267,7 +267,7 @@ public class DateTimeParser {
 				_date = ""; 
 			}
 		} else {
-			logger.log(Level.INFO, "Time format NOT found");
+			logger.log(Level.FINE, "Time format NOT found");
 			_date = input;
 		}
 		processParallel(DP, TP, _date, _time);
@@ -285,19 +285,19 @@ public class DateTimeParser {
 	 */
 	private TaskType getTaskType(String input) {
 		if (input.matches(Constants.REGEX_DEADLINE_IDENTIFIER)) {
-			logger.log(Level.INFO, "Deadline recognised");
+			logger.log(Level.FINE, "Deadline recognised");
 			return TaskType.deadline;
 		} else if (input.matches(Constants.REGEX_EVENT_IDENTIFIER)) {
-			logger.log(Level.INFO, "Event recognised");
+			logger.log(Level.FINE, "Event recognised");
 			return TaskType.event;
 		} else if (input.matches(Constants.REGEX_POINT_TASK_IDENTIFIER)) {
-			logger.log(Level.INFO, "Deadline recognised");
+			logger.log(Level.FINE, "Deadline recognised");
 			return TaskType.deadline;
 		} else if (input.matches(Constants.REGEX_RECURRING_TASK_IDENTIFIER)) {
-			logger.log(Level.INFO, "Recurring recognised");
+			logger.log(Level.FINE, "Recurring recognised");
 			return TaskType.recurring;
 		} else {
-			logger.log(Level.INFO, "Floating recognised");
+			logger.log(Level.FINE, "Floating recognised");
 			return TaskType.floating;
 		}
 	}
@@ -318,7 +318,7 @@ public class DateTimeParser {
 	 */
 	private String extractUntilLimiter(String input) throws Exception {
 		String untilstring;
-		Pattern until = Pattern.compile(Constants.REGEX_RECURRING_UNTIL);
+		Pattern until = Constants.PATTERN_RECURRING_UNTIL;
 		Matcher untilMatcher = until.matcher(input);
 		if (untilMatcher.find()) {
 			untilstring = getTrimmedString(input, untilMatcher.start(), input.length());
@@ -343,7 +343,7 @@ public class DateTimeParser {
 	 */
 	private String extractForLimiter(String input) {
 		String forstring = "";
-		Pattern multiplier = Pattern.compile(Constants.REGEX_RECURRING_FOR);
+		Pattern multiplier = Constants.PATTERN_RECURRING_FOR;
 		Matcher forMatcher = multiplier.matcher(input);
 		if (forMatcher.find()) {
 			forstring = getTrimmedString(input, forMatcher.start(), input.length());
@@ -366,7 +366,7 @@ public class DateTimeParser {
 	private String extractInterval(String input, 
 			String forstring) throws Exception {
 		String intervalString = "";
-		Pattern interval = Pattern.compile(Constants.REGEX_RECURRING_INTERVAL2);
+		Pattern interval = Constants.PATTERN_RECURRING_INTERVAL2;
 		Matcher intervalMatcher = interval.matcher(input);
 		if (intervalMatcher.find()) {
 			intervalString = getTrimmedString(input, intervalMatcher.start(), intervalMatcher.end());
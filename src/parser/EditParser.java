@@ -35,7 +35,7 @@ public class EditParser extends CommandParser {
 		convertToArray(input); //change this to extract index
 		input = cleanString(input);
 		
-		Pattern dateTimePattern = Pattern.compile(Constants.REGEX_SEARCH2);
+		Pattern dateTimePattern = Constants.PATTERN_SEARCH2;
 		Matcher matcher = dateTimePattern.matcher(input);
 		
 		String identifier = null;
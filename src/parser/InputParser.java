@@ -0,0 +1,57 @@
+package parser;
+
+/**
+ * This class parses user inputs into ParseResults. It holds no state between inputs, so one
+ * instance can be kept and used for every command, including from several threads at once, such
+ * as when many inputs are imported together.
+ * 
+ * Each input is parsed by a Parser created for that input only. The Parser and the add, edit
+ * and search parsers it calls keep their working state in fields, which are never shared between
+ * inputs. The task details made by the Parser become those of the result without being copied,
+ * as nothing else refers to them once the input is parsed. The command keyword and the date-time expressions are matched with patterns compiled
+ * once in CommandDispatcher and Constants, which are safe to share.
+ */
+public final class InputParser {
+	
+	private static final InputParser INSTANCE = new InputParser();
+	// task ID of a task added by an input parsed before its task ID is known
+	private static final int UNASSIGNED_TASK_ID = 0;
+	
+	private InputParser() {
+	}
+	
+	public static InputParser getInstance() {
+		return INSTANCE;
+	}
+	
+	/**
+	 * This method parses the input into a result which cannot be changed.
+	 * 
+	 * @param input
+	 * 				user's input. non-empty.
+	 * @param taskId
+	 * 				task ID given to a task which is added by the input.
+	 * @return
+	 * 				command type, index and task details of the input.
+	 * @throws Exception
+	 * 				if the input has an invalid date, time, index or file path.
+	 */
+	public ParseResult parse(String input, int taskId) throws Exception {
+		return new Parser(input, taskId).parse();
+	}
+	
+	/**
+	 * This method parses the input before the task ID of a task it adds is known. The task ID is
+	 * given by <code>ParseResult.toCommandObject(int)</code>.
+	 * 
+	 * @param input
+	 * 				user's input. non-empty.
+	 * @return
+	 * 				command type, index and task details of the input.
+	 * @throws Exception
+	 * 				if the input has an invalid date, time, index or file path.
+	 */
+	public ParseResult parse(String input) throws Exception {
+		return parse(input, UNASSIGNED_TASK_ID);
+	}
+}
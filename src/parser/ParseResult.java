@@ -0,0 +1,71 @@
+package parser;
+
+import common.CommandObject;
+import common.TaskObject;
+
+/**
+ * This class holds the result of parsing one input: the command type, the index of the task
+ * referred to and the task details. It cannot be changed once it is created, so a result can be
+ * passed between threads or kept while the same InputParser parses other inputs.
+ * 
+ * The task details are taken from the Parser of the input, which is not used again, and are
+ * copied out each time they are read, as Logic changes the task object of a command while
+ * running it.
+ */
+public final class ParseResult {
+	private final int commandType;
+	private final int index;
+	private final TaskObject taskObject;
+	
+	// The task object is kept as it is, so it must not be referred to by anything else
+	ParseResult(int commandType, int index, TaskObject taskObject) {
+		this.commandType = commandType;
+		this.index = index;
+		this.taskObject = taskObject;
+	}
+	
+	public int getCommandType() {
+		return commandType;
+	}
+	
+	public int getIndex() {
+		return index;
+	}
+	
+	/**
+	 * This method returns a copy of the task details, or null if the command has none.
+	 */
+	public TaskObject getTaskObject() {
+		return copy(taskObject);
+	}
+	
+	/**
+	 * This method returns a new command object with the result, for Logic to run.
+	 */
+	public CommandObject toCommandObject() {
+		return new CommandObject(commandType, copy(taskObject), index);
+	}
+	
+	/**
+	 * This method returns a new command object with the result, giving the task added by an add
+	 * command the task ID. Inputs parsed ahead of being run, such as in a batch, are given their
+	 * task IDs in the order they are run.
+	 * 
+	 * @param taskId
+	 * 				task ID of the task added by the input.
+	 */
+	public CommandObject toCommandObject(int taskId) {
+		CommandObject commandObject = toCommandObject();
+		if (commandType == Constants.INDEX_ADD && commandObject.getTaskObject() != null) {
+			commandObject.getTaskObject().setTaskId(taskId);
+		}
+		return commandObject;
+	}
+	
+	private static TaskObject copy(TaskObject task) {
+		if (task == null) {
+			return null;
+		}
+		return new TaskObject(task);
+	}
+}
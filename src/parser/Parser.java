@@ -8,8 +8,8 @@ import common.TaskObject;
 import java.time.LocalDateTime;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+
+import parser.CommandDispatcher.DispatchedCommand;
 
 
 /**
@@ -66,9 +66,22 @@ public class Parser {
 	}
 	
 	/**
-	 * This method reads string and trigger the relevant method to process string's information
-	 * using a set of if-else conditions to check for task-related keywords. If keywords are absent, 
-	 * it will be processed as a search.
+	 * This method processes the command into a result for InputParser. The result is made from
+	 * the command object of this parser without copying it, so the parser is not used again.
+	 * 
+	 * @return 
+	 * 				command type, index and task details of the command.
+	 * @throws Exception 
+	 */
+	ParseResult parse() throws Exception {
+		allocate(_command);
+		return new ParseResult(CO.getCommandType(), CO.getIndex(), CO.getTaskObject());
+	}
+	
+	/**
+	 * This method reads string and trigger the relevant method to process string's information.
+	 * The task-related keyword and the details after it are identified by CommandDispatcher in
+	 * one pass. If keywords are absent, it will be processed as a search.
 	 * 
 	 * @param command  
 	 * 				user's input to the program, not null.
@@ -77,37 +90,52 @@ public class Parser {
 	public void allocate(String command) throws Exception {
 		assert(!command.isEmpty()); //ensure command is a proper string
 		
-		command = command.trim();
+		DispatchedCommand dispatched = CommandDispatcher.dispatch(command);
+		command = dispatched.getInput();
 		
-		if (isMatch(Constants.REGEX_PARSER_EXIT, command)) {
-			logger.log(Level.INFO, "Exit command called.");
+		switch (dispatched.getVerb()) {
+		case EXIT :
+			logger.log(Level.FINE, "Exit command called.");
 			CO.setCommandType(Constants.INDEX_EXIT);
-		} else if (isMatch(Constants.REGEX_PARSER_HELP, command)) {
+			break;
+		case HELP :
 			parseHelp(command);
-		} else if (command.matches(Constants.REGEX_PARSER_UNDO)) {
-			logger.log(Level.INFO, "Undo command called.");
+			break;
+		case UNDO :
+			logger.log(Level.FINE, "Undo command called.");
 			CO.setCommandType(Constants.INDEX_UNDO);
-		} else if (isMatch(Constants.REGEX_PARSER_REDO, command)) {
-			logger.log(Level.INFO, "Redo command called.");
+			break;
+		case REDO :
+			logger.log(Level.FINE, "Redo command called.");
 			CO.setCommandType(Constants.INDEX_REDO);
-		} else if (isMatch(Constants.REGEX_PARSER_EDIT, command)) {
-			parseEdit(command);
-		} else if (isMatch(Constants.REGEX_PARSER_SAVE, command)) {
+			break;
+		case EDIT :
+			parseEdit(command, dispatched.getArguments());
+			break;
+		case SAVE :
 			parseSave(command);
-		} else if (isMatch(Constants.REGEX_PARSER_DELETE, command)) {
+			break;
+		case DELETE :
 			parseDelete(command);
-		} else if (isMatch(Constants.REGEX_PARSER_ADD, command)) {
-			parseAdd(command);
-		} else if (isMatch(Constants.REGEX_PARSER_DONE, command)) {
+			break;
+		case ADD :
+			parseAdd(dispatched.getArguments());
+			break;
+		case DONE :
 			parseDone(command);
-		} else if (isMatch(Constants.REGEX_PARSER_NOTDONE, command)) {
+			break;
+		case NOTDONE :
 			parseNotDone(command);
-		} else if (isMatch(Constants.REGEX_PARSER_SEARCH, command)) {
-			parseSearch(command);
-		} else if (isMatch(Constants.REGEX_PARSER_LOAD, command)) {
+			break;
+		case LOAD :
 			parseLoad(command);
-		} else {
-			parseSearch(command);
+			break;
+		case SEARCH :
+			parseSearch(dispatched.getArguments(), command.indexOf(" ") == -1);
+			break;
+		default :
+			parseSearch(dispatched.getArguments(), false);
+			break;
 		}
   	}
 	
@@ -115,12 +143,6 @@ public class Parser {
 	// First Level of Abstraction
 	// ================================
 	
-	private boolean isMatch(String input, String command) {
-		Pattern dateTimePattern = Pattern.compile(input);
-		Matcher matcher = dateTimePattern.matcher(command);
-		return matcher.find();
-	}
-	
 	/**
 	 * This method returns help index to CommandObject and a search term if present.
 	 *  
@@ -128,7 +150,7 @@ public class Parser {
 	 * 				string input that represents a help command.
 	 */
 	private void parseHelp(String command) {
-		logger.log(Level.INFO, "Help command called.");
+		logger.log(Level.FINE, "Help command called.");
 		CO.setCommandType(Constants.INDEX_HELP);
 		command = command.replaceFirst("(?i)(help )", "");
 		TO.setTitle(command);
@@ -144,13 +166,13 @@ public class Parser {
 	private void parseDone(String command) {
 		int temp = command.indexOf(" ");
 		if (temp != -1) {
-			logger.log(Level.INFO, "Done command called.");
+			logger.log(Level.FINE, "Done command called.");
 			CO.setCommandType(Constants.INDEX_DONE);
 			command = command.substring(temp + 1);
 			temp = Integer.parseInt(command);
 			CO.setIndex(temp);	
 		} else {
-			logger.log(Level.INFO, "Search command called.");
+			logger.log(Level.FINE, "Search command called.");
 			CO.setCommandType(Constants.INDEX_SEARCH);
 			TO.setStatus("completed");
 			CO.setTaskObject(TO);
@@ -164,7 +186,7 @@ public class Parser {
 	 * 				string input that represents a not-done command.
 	 */
 	private void parseNotDone(String command) {
-		logger.log(Level.INFO, "Not-done command called.");
+		logger.log(Level.FINE, "Not-done command called.");
 		int temp = command.indexOf(" ");
 		if (temp != -1) {
 			CO.setCommandType(Constants.INDEX_NOTDONE);
@@ -183,10 +205,12 @@ public class Parser {
 	 * 
 	 * @param command   
 	 * 				user's input for the system, such as "edit 5 6pm start".
+	 * @param arguments
+	 * 				details after the edit keyword, such as "5 6pm start".
 	 * @throws Exception 
 	 */
-	private void parseEdit(String command) throws Exception {
-		logger.log(Level.INFO, "Edit command called.");
+	private void parseEdit(String command, String arguments) throws Exception {
+		logger.log(Level.FINE, "Edit command called.");
 		CO.setCommandType(Constants.INDEX_EDIT);
 		boolean isEditAllRecurring = false;
 		
@@ -196,7 +220,7 @@ public class Parser {
 			command = command.replaceFirst("(?i)((edit|update) all)", "").trim();
 			isEditAllRecurring = true;
 		} else {
-			command = command.replaceFirst(Constants.REGEX_PARSER_EDIT, "").trim();
+			command = arguments;
 		}
 		
 		CommandParser EP = new EditParser();
@@ -214,16 +238,15 @@ public class Parser {
 	/**
 	 * This method sets command type and creates task object with details keyed in by user.
 	 * 
-	 * @param command   
-	 * 				string input that represents an add command.
+	 * @param arguments   
+	 * 				details after the add keyword.
 	 * @throws Exception 
 	 */
-	private void parseAdd(String command) throws Exception {
-		logger.log(Level.INFO, "Add command called.");
+	private void parseAdd(String arguments) throws Exception {
+		logger.log(Level.FINE, "Add command called.");
 		CO.setCommandType(Constants.INDEX_ADD);
 		CommandParser AP = new AddParser();
-		command = command.replaceFirst(Constants.REGEX_PARSER_ADD, "").trim();
-		TO = AP.process(command);
+		TO = AP.process(arguments);
 		TO.setTaskId(_taskId);
 		setCategory();
 		CO.setTaskObject(TO);
@@ -233,22 +256,23 @@ public class Parser {
 	 * This method sets command type and creates task object with details entered by user 
 	 * for search purpose.
 	 * 
-	 * @param command   
-	 * 				string input that represents a search command.
+	 * @param arguments   
+	 * 				details after the search keyword, or the whole input if there is no keyword.
+	 * @param isKeywordOnly
+	 * 				true if the input is only the search keyword.
 	 * @throws Exception 
 	 */
-	private void parseSearch(String command) throws Exception {
-		logger.log(Level.INFO, "Search command called.");
+	private void parseSearch(String arguments, boolean isKeywordOnly) throws Exception {
+		logger.log(Level.FINE, "Search command called.");
 		CO.setCommandType(Constants.INDEX_SEARCH);
 		CommandParser SP = new SearchParser();
 
 		// if there is no search keyword, set TaskObject values to null/-1
-		if (command.indexOf(" ") == -1 && isMatch(Constants.REGEX_PARSER_SEARCH,command)) {
+		if (isKeywordOnly) {
 			TO.setStartDateTime(LocalDateTime.MAX);
 			TO.setEndDateTime(LocalDateTime.MAX);
 		} else {
-			command = command.replaceFirst(Constants.REGEX_PARSER_SEARCH, "").trim();
-			TO = SP.process(command);
+			TO = SP.process(arguments);
 			CO.setIndex(SP.getIndex());
 		}
 		CO.setTaskObject(TO);
@@ -262,7 +286,7 @@ public class Parser {
  	 * @throws Exception 
  	 */
 	private void parseDelete(String command) throws Exception {
-		logger.log(Level.INFO, "Delete command called.");
+		logger.log(Level.FINE, "Delete command called.");
  		CO.setCommandType(Constants.INDEX_DELETE);
  		int index;
  		index = extractDeleteIndex(command);
@@ -284,7 +308,7 @@ public class Parser {
  	 * @throws Exception 
  	 */
 	private void parseSave(String command) throws Exception {
-		logger.log(Level.INFO, "Save command called.");
+		logger.log(Level.FINE, "Save command called.");
  		CO.setCommandType(Constants.INDEX_SAVE);
  		String newString;
  		int index = command.indexOf(" ") + 1;
@@ -306,7 +330,7 @@ public class Parser {
 	 * @throws Exception
 	 */
 	private void parseLoad(String command) throws Exception {
-		logger.log(Level.INFO, "Load command called.");
+		logger.log(Level.FINE, "Load command called.");
 		CO.setCommandType(Constants.INDEX_LOAD);
  		String newString;
  		int index = command.indexOf(" ") + 1;
@@ -0,0 +1,87 @@
+package parser;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps the dates which relative date inputs such as "tmr" or "next mon" resolve to
+ * on the current day, and the month and day-of-week values read from date inputs, so that the
+ * same inputs are not matched and worked out again, such as when many tasks are imported.
+ *
+ * Everything kept is dropped when the day changes, as relative dates resolve differently after
+ * midnight. DateParser is used from several threads through InputParser, so the dates of one day
+ * are kept in one Day object which is replaced as a whole.
+ */
+class RelativeDateCache {
+
+	// above this number of inputs kept in one map, further inputs are worked out each time
+	private static final int MAX_ENTRIES = 4096;
+
+	private volatile Day current = new Day(LocalDate.now());
+
+	/**
+	 * This class holds what is kept for one day.
+	 */
+	static class Day {
+		private final LocalDate today;
+		private final ConcurrentHashMap<String, LocalDate> relativeDates =
+				new ConcurrentHashMap<String, LocalDate>();
+		private final ConcurrentHashMap<String, Integer> months = new ConcurrentHashMap<String, Integer>();
+		private final ConcurrentHashMap<String, String> daysOfWeek = new ConcurrentHashMap<String, String>();
+
+		private Day(LocalDate today) {
+			this.today = today;
+		}
+
+		LocalDate getToday() {
+			return today;
+		}
+
+		// returns LocalDate.MAX for inputs which resolve to no date
+		LocalDate getRelativeDate(String input) {
+			return relativeDates.get(input);
+		}
+
+		void putRelativeDate(String input, LocalDate date) {
+			put(relativeDates, input, date);
+		}
+
+		Integer getMonth(String input) {
+			return months.get(input);
+		}
+
+		void putMonth(String input, int month) {
+			put(months, input, month);
+		}
+
+		String getDayOfWeek(String input) {
+			return daysOfWeek.get(input);
+		}
+
+		void putDayOfWeek(String input, String dayOfWeek) {
+			put(daysOfWeek, input, dayOfWeek);
+		}
+
+		private static <V> void put(ConcurrentHashMap<String, V> map, String input, V value) {
+			if (map.size() < MAX_ENTRIES) {
+				map.put(input, value);
+			}
+		}
+	}
+
+	/**
+	 * This method returns what is kept for the current day, dropping what was kept on an
+	 * earlier day. Relative dates should be worked out from the day returned and not from
+	 * LocalDate.now(), so that an input which is parsed across midnight is kept with the
+	 * day it was worked out for.
+	 */
+	Day getDay() {
+		Day day = current;
+		LocalDate today = LocalDate.now();
+		if (!day.today.equals(today)) {
+			day = new Day(today);
+			current = day;
+		}
+		return day;
+	}
+}
@@ -48,7 +48,7 @@ public class SearchParser extends CommandParser {
 	 * @throws Exception
 	 */
 	private void searchTaskDateTime(String input) throws Exception {
-		Pattern dateTimePattern = Pattern.compile(Constants.REGEX_SEARCH);
+		Pattern dateTimePattern = Constants.PATTERN_SEARCH;
 		Matcher matcher = dateTimePattern.matcher(input);
 		
 		String identifier = null;
@@ -0,0 +1,86 @@
+package parsertest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import common.TaskObject;
+import parser.BatchParser;
+import parser.InputParser;
+import parser.ParseResult;
+
+/**
+ * This class contains the JUnit test cases for parsing many inputs at once with BatchParser.
+ */
+public class BatchParserTest {
+
+	private static final String[] INPUTS = {
+		"add homework IE2100 by 29.2.16 9am", "add meeting 1 jun 2pm to 4pm", "edit 5 6pm start",
+		"delete 3", "done 2", "search meeting", "view", "undo", "quit", "meeting notes"
+	};
+
+	InputParser parser = InputParser.getInstance();
+
+	//--Test results are in the order of the inputs and the same as parsing them one by one
+	@Test
+	public void testParseAll1() throws Exception {
+		ArrayList<String> inputs = new ArrayList<String>();
+		for (int i = 0; i < 1000; i++) {
+			inputs.add(INPUTS[i % INPUTS.length]);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			ArrayList<ParseResult> results = new BatchParser(pool).parseAll(inputs);
+			assertEquals(inputs.size(), results.size());
+			for (int i = 0; i < results.size(); i++) {
+				ParseResult expected = parser.parse(inputs.get(i));
+				ParseResult actual = results.get(i);
+				assertEquals(expected.getCommandType(), actual.getCommandType());
+				assertEquals(expected.getIndex(), actual.getIndex());
+				assertSameTask(expected.getTaskObject(), actual.getTaskObject());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	//--Test inputs which cannot be parsed give null without affecting the other results
+	@Test
+	public void testParseAll2() {
+		ArrayList<ParseResult> results = new BatchParser().parseAll(Arrays.asList("add homework",
+				"edit x", "delete 3"));
+		assertEquals(3, results.size());
+		assertEquals("homework", results.get(0).getTaskObject().getTitle());
+		assertNull(results.get(1));
+		assertEquals(3, results.get(2).getIndex());
+	}
+
+	//--Test task IDs are given when the results are turned into command objects
+	@Test
+	public void testParseAll3() {
+		ArrayList<ParseResult> results = new BatchParser().parseAll(Arrays.asList("add homework", "delete 3"));
+		assertEquals(12, results.get(0).toCommandObject(12).getTaskObject().getTaskId());
+		assertEquals(13, results.get(0).toCommandObject(13).getTaskObject().getTaskId());
+		assertEquals(3, results.get(1).toCommandObject(14).getIndex());
+		assertEquals(0, new BatchParser().parseAll(new ArrayList<String>()).size());
+	}
+
+	private void assertSameTask(TaskObject expected, TaskObject actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+		assertEquals(expected.getTitle(), actual.getTitle());
+		assertEquals(expected.getTaskId(), actual.getTaskId());
+		assertEquals(expected.getStartDateTime(), actual.getStartDateTime());
+		assertEquals(expected.getEndDateTime(), actual.getEndDateTime());
+		assertEquals(expected.getCategory(), actual.getCategory());
+		assertEquals(expected.getStatus(), actual.getStatus());
+	}
+}
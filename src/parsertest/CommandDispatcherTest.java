@@ -0,0 +1,50 @@
+package parsertest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import parser.CommandDispatcher;
+import parser.CommandDispatcher.DispatchedCommand;
+import parser.CommandDispatcher.Verb;
+
+/**
+ * This class contains the JUnit test cases for identifying the command keyword of an input.
+ */
+public class CommandDispatcherTest {
+
+	//--Test keyword is identified and the details after it are split off
+	@Test
+	public void testDispatch1() {
+		DispatchedCommand dispatched = CommandDispatcher.dispatch("  ADD homework by 9am ");
+		assertEquals(Verb.ADD, dispatched.getVerb());
+		assertEquals("ADD homework by 9am", dispatched.getInput());
+		assertEquals("homework by 9am", dispatched.getArguments());
+
+		dispatched = CommandDispatcher.dispatch("update 5 6pm start");
+		assertEquals(Verb.EDIT, dispatched.getVerb());
+		assertEquals("5 6pm start", dispatched.getArguments());
+
+		dispatched = CommandDispatcher.dispatch("find meeting");
+		assertEquals(Verb.SEARCH, dispatched.getVerb());
+		assertEquals("meeting", dispatched.getArguments());
+	}
+
+	//--Test keywords which start with another keyword are identified as before
+	@Test
+	public void testDispatch2() {
+		assertEquals(Verb.UNDO, CommandDispatcher.dispatch("undo").getVerb());
+		assertEquals(Verb.NOTDONE, CommandDispatcher.dispatch("undone 3").getVerb());
+		assertEquals(Verb.NOTDONE, CommandDispatcher.dispatch("undone").getVerb());
+		assertEquals(Verb.DONE, CommandDispatcher.dispatch("completed 3").getVerb());
+		assertEquals(Verb.EXIT, CommandDispatcher.dispatch("quit").getVerb());
+	}
+
+	//--Test input without a keyword is kept whole for a search
+	@Test
+	public void testDispatch3() {
+		DispatchedCommand dispatched = CommandDispatcher.dispatch("meeting with add");
+		assertEquals(Verb.NONE, dispatched.getVerb());
+		assertEquals("meeting with add", dispatched.getArguments());
+	}
+}
@@ -75,6 +75,35 @@ public class DateParserTest {
         reset();
 	}
 	
+	/*case 11: relative dates and months read again give the same dates*/
+	@Test
+	public void testK() throws Exception {
+		LocalDate today = LocalDate.now();
+		String todayName = today.getDayOfWeek().toString().toLowerCase();
+		for (int i = 0; i < 2; i++) {
+			DateParser parser = new DateParser();
+			parser.parseDate("TMR");
+			assertEquals(today.plusDays(1), parser.getDateObject());
+			
+			parser = new DateParser();
+			parser.parseDate("next week");
+			assertEquals(today.plusWeeks(1), parser.getDateObject());
+			
+			parser = new DateParser();
+			parser.parseDate(todayName);
+			assertEquals(today, parser.getDateObject());
+			
+			//this week's day of today does not resolve to a date
+			parser = new DateParser();
+			parser.parseDate("this " + todayName);
+			assertEquals(LocalDate.MAX, parser.getDateObject());
+			
+			parser = new DateParser();
+			parser.parseDate("6 june 2014");
+			assertEquals("2014-06-06", parser.getDateObject().toString());
+		}
+	}
+	
 	/*NEGATIVE VALUE TEST CASES*/
 	/*case 8: test ability to reject non-symbol separated numbers*/
 	@Test(expected = Exception.class)
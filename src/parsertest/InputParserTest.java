@@ -0,0 +1,98 @@
+package parsertest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import common.CommandObject;
+import common.TaskObject;
+import parser.InputParser;
+import parser.ParseResult;
+
+/**
+ * This class contains the JUnit test cases for parsing inputs with a shared InputParser.
+ */
+public class InputParserTest {
+
+	private static final String[] INPUTS = {
+		"add homework IE2100 by 29.2.16 9am", "add meeting 1 jun 2pm to 4pm", "edit 5 6pm start",
+		"delete 3", "done 2", "search meeting", "view", "undo", "quit", "meeting notes"
+	};
+
+	InputParser parser = InputParser.getInstance();
+
+	//--Test result is the same as that of Parser and is not changed by changes to its task object
+	@Test
+	public void testParse1() throws Exception {
+		ParseResult result = parser.parse("add homework IE2100 by 29.2.16 9am", 7);
+		assertEquals(1, result.getCommandType());
+		assertEquals("homework IE2100", result.getTaskObject().getTitle());
+		assertEquals(7, result.getTaskObject().getTaskId());
+		assertEquals("deadline", result.getTaskObject().getCategory());
+
+		CommandObject commandObj = result.toCommandObject();
+		commandObj.getTaskObject().setTitle("changed");
+		result.getTaskObject().setTitle("changed");
+		assertEquals("homework IE2100", result.getTaskObject().getTitle());
+		assertEquals("homework IE2100", result.toCommandObject().getTaskObject().getTitle());
+	}
+
+	//--Test commands without task details
+	@Test
+	public void testParse2() throws Exception {
+		ParseResult result = parser.parse("undo", 1);
+		assertEquals(5, result.getCommandType());
+		assertNull(result.getTaskObject());
+		assertNull(result.toCommandObject().getTaskObject());
+	}
+
+	//--Test inputs parsed from several threads at once give the same results as one by one
+	@Test
+	public void testParse3() throws Exception {
+		ArrayList<Callable<ParseResult>> parses = new ArrayList<Callable<ParseResult>>();
+		for (int i = 0; i < 400; i++) {
+			final String input = INPUTS[i % INPUTS.length];
+			final int taskId = i;
+			parses.add(new Callable<ParseResult>() {
+				@Override
+				public ParseResult call() throws Exception {
+					return parser.parse(input, taskId);
+				}
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ArrayList<Future<ParseResult>> results = new ArrayList<Future<ParseResult>>(executor.invokeAll(parses));
+			for (int i = 0; i < results.size(); i++) {
+				ParseResult expected = parser.parse(INPUTS[i % INPUTS.length], i);
+				ParseResult actual = results.get(i).get();
+				assertEquals(expected.getCommandType(), actual.getCommandType());
+				assertEquals(expected.getIndex(), actual.getIndex());
+				assertSameTask(expected.getTaskObject(), actual.getTaskObject());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void assertSameTask(TaskObject expected, TaskObject actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+		assertEquals(expected.getTitle(), actual.getTitle());
+		assertEquals(expected.getTaskId(), actual.getTaskId());
+		assertEquals(expected.getStartDateTime(), actual.getStartDateTime());
+		assertEquals(expected.getEndDateTime(), actual.getEndDateTime());
+		assertEquals(expected.getCategory(), actual.getCategory());
+		assertEquals(expected.getStatus(), actual.getStatus());
+	}
+}
@@ -0,0 +1,165 @@
+package storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files without leaving them partly written. The new contents are written to a
+ * temporary file beside the file, which is then moved over the file in a single atomic move.
+ * A crash of the program while writing leaves the existing file untouched. Only a forced write
+ * also survives a power failure, as the move may otherwise reach the disk before the contents.
+ */
+class AtomicFile {
+
+    /**
+     * Writes the contents of a file to an output stream.
+     */
+    interface Content {
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    /**
+     * Replaces the file at the specified path with the contents.
+     * <p>
+     * @param filePath The path of the file to be replaced or created.
+     * @param content Writes the new contents of the file.
+     * @param isForced <code>true</code> to force the contents onto the disk before the file
+     * is replaced.
+     * @throws IOException Error writing the file, in which case the file is unchanged and
+     * the temporary file is deleted.
+     */
+    static void write(String filePath, Content content, boolean isForced) throws IOException {
+        Path path = Paths.get(filePath);
+        Path tempPath = getTempPath(path);
+        boolean isReplaced = false;
+        try {
+            FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel));
+                content.writeTo(output);
+                output.flush();
+                if (isForced) {
+                    channel.force(true);
+                }
+            } finally {
+                channel.close();
+            }
+            replace(tempPath, path, isForced);
+            isReplaced = true;
+        } finally {
+            if (!isReplaced) {
+                deleteTempFile(tempPath);
+            }
+        }
+    }
+
+    /**
+     * Replaces the file at the target path with a copy of the source file.
+     * <p>
+     * @param sourcePath The path of the file to copy.
+     * @param targetPath The path of the file to be replaced or created.
+     * @param isForced <code>true</code> to force the copy onto the disk before the file is
+     * replaced.
+     * @throws IOException Error copying the file, in which case the target file is unchanged
+     * and the temporary file is deleted.
+     */
+    static void copy(Path sourcePath, Path targetPath, boolean isForced) throws IOException {
+        Path tempPath = getTempPath(targetPath);
+        boolean isReplaced = false;
+        try {
+            Files.copy(sourcePath, tempPath, StandardCopyOption.REPLACE_EXISTING);
+            if (isForced) {
+                forceContents(tempPath);
+            }
+            replace(tempPath, targetPath, isForced);
+            isReplaced = true;
+        } finally {
+            if (!isReplaced) {
+                deleteTempFile(tempPath);
+            }
+        }
+    }
+
+    /**
+     * Forces the contents of an existing file, and its entry in its directory, onto the disk.
+     * @param path The path of the file.
+     * @throws IOException Error opening or forcing the file.
+     */
+    static void force(Path path) throws IOException {
+        forceContents(path);
+        forceDirectory(path.toAbsolutePath().getParent());
+    }
+
+    private static void forceContents(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        try {
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static Path getTempPath(Path path) {
+        return Paths.get(path.toString() + Constants.SUFFIX_TEMP);
+    }
+
+    // Deletes the temporary file left by a failed write. Failing to delete it does not hide the
+    // error of the write, and the file is replaced by the next write.
+    private static void deleteTempFile(Path tempPath) {
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (IOException e) {
+            // Temporary file is left in place
+        }
+    }
+
+    /**
+     * Moves the file at the temporary path over the file at the specified path in a single
+     * atomic move where the file system allows it.
+     * <p>
+     * @param tempPath The path of the file holding the new contents.
+     * @param path The path of the file to be replaced or created.
+     * @param isForced <code>true</code> to force the move onto the disk.
+     * @throws IOException Error moving the file.
+     */
+    static void replace(Path tempPath, Path path, boolean isForced) throws IOException {
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isForced) {
+            forceDirectory(path.toAbsolutePath().getParent());
+        }
+    }
+
+    // Makes the move itself durable. Not all platforms allow a directory to be opened, in which
+    // case the move is left to the operating system.
+    private static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ);
+            try {
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // Directory cannot be forced on this platform
+        }
+    }
+
+}
@@ -0,0 +1,397 @@
+package storage;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.logging.Logger;
+
+import common.AtfLogger;
+import common.Interval;
+import common.LocalDateTimePair;
+import common.TaskObject;
+
+/**
+ * BinaryTaskData contains methods for writing tasks onto disk and for loading tasks from disk
+ * in a compact binary snapshot format, as an alternative to the Json format of TaskData.
+ * <p>
+ * A snapshot starts with {@link Constants#BINARY_MAGIC} and the format version. It is followed
+ * by a pool of the category, status, frequency and byDay strings used by the tasks, and then
+ * by the tasks themselves. Tasks refer to pooled strings by their position in the pool. Dates
+ * are stored as seconds from the epoch in UTC together with the nanosecond of the second, and
+ * lists of occurrences are prefixed with their length.
+ */
+public class BinaryTaskData {
+
+    private static final int FORMAT_VERSION = 2;
+    // Oldest format version which can still be read
+    private static final int FORMAT_VERSION_MIN = 1;
+
+    private static final int FLAG_RECURRING = 1;
+    private static final int FLAG_EDIT_ALL = 1 << 1;
+    private static final int FLAG_ONLY_TASK_DATE_TIMES = 1 << 2;
+    private static final int FLAG_INTERVAL = 1 << 3;
+    private static final int FLAG_PENDING_OCCURRENCES = 1 << 4;
+
+    /**
+     * Creates a file at the specified path containing details of the tasks to be stored in
+     * the binary snapshot format. If existing file at the specified path is present, it will
+     * be overwritten.
+     * <p>
+     * @param taskList An <code>ArrayList</code> containing all the task objects to be
+     * stored into the file.
+     * @param filePath The file path of the file to be created.
+     * @throws IOException Error writing to specified path.
+     */
+    static void writeTasks(ArrayList<TaskObject> taskList, String filePath) throws IOException {
+        writeTasks(taskList, filePath, false);
+    }
+
+    /**
+     * Creates a file at the specified path containing details of the tasks to be stored in
+     * the binary snapshot format. The existing file at the specified path is replaced only
+     * once the new file has been completely written.
+     * <p>
+     * @param taskList An <code>ArrayList</code> containing all the task objects to be
+     * stored into the file.
+     * @param filePath The file path of the file to be created.
+     * @param isForced <code>true</code> to force the file onto the disk before returning.
+     * @throws IOException Error writing to specified path.
+     */
+    static void writeTasks(final ArrayList<TaskObject> taskList, String filePath,
+            boolean isForced) throws IOException {
+        if(filePath == null) {
+            throw new InvalidPathException("Saving to invalid Path", filePath);
+        }
+        Logger logger = AtfLogger.getLogger();
+        final ArrayList<String> pool = new ArrayList<String>();
+        final HashMap<String, Integer> poolIndex = new HashMap<String, Integer>();
+        for (int i = 0; i < taskList.size(); i++) {
+            addPooledStrings(taskList.get(i), pool, poolIndex);
+        }
+
+        AtomicFile.write(filePath, new AtomicFile.Content() {
+            @Override
+            public void writeTo(OutputStream stream) throws IOException {
+                DataOutputStream output = new DataOutputStream(stream);
+                output.write(Constants.BINARY_MAGIC);
+                writeVarInt(output, FORMAT_VERSION);
+                writeVarInt(output, pool.size());
+                for (int i = 0; i < pool.size(); i++) {
+                    writeString(output, pool.get(i));
+                }
+                writeVarInt(output, taskList.size());
+                for (int i = 0; i < taskList.size(); i++) {
+                    writeTask(output, taskList.get(i), poolIndex);
+                }
+                output.flush();
+            }
+        }, isForced);
+        logger.info(String.format(Constants.LOG_SAVED, filePath));
+    }
+
+    /**
+     * Reads from the file at the specified filePath and creates taskObjects from the tasks
+     * stored in the binary snapshot format.
+     * <p>
+     * @param filePath The path of the file containing the stored tasks information.
+     * @return An <code>ArrayList</code> containing all the task objects that are
+     * read from the file.
+     * @throws FileNotFoundException The specified file path does not exist.
+     * @throws IOException Error reading from the file, or the file is not a binary snapshot
+     * of a supported version.
+     */
+    static ArrayList<TaskObject> readTasks(String filePath)
+            throws FileNotFoundException, IOException {
+        if(filePath == null) {
+            throw new FileNotFoundException("No file to read from");
+        }
+        Logger logger = AtfLogger.getLogger();
+        DataInputStream input = new DataInputStream(DataFileInput.open(filePath));
+        ArrayList<TaskObject> taskList;
+        try {
+            taskList = readTasks(input);
+        } finally {
+            input.close();
+        }
+        logger.info(String.format(Constants.LOG_LOADED, filePath));
+        return taskList;
+    }
+
+    static ArrayList<TaskObject> readTasks(DataInputStream input) throws IOException {
+        String[] pool = readHeader(input);
+        int taskCount = readTaskCount(input);
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            taskList.add(readTask(input, pool));
+        }
+        return taskList;
+    }
+
+    /**
+     * Reads the header of a binary snapshot, up to the start of the tasks.
+     * @return The pool of strings referred to by the tasks in the snapshot.
+     * @throws IOException The input is not a binary snapshot of a supported version.
+     */
+    static String[] readHeader(DataInputStream input) throws IOException {
+        if (!hasMagic(input)) {
+            throw new IOException("Not a binary task snapshot");
+        }
+        int version = readVarInt(input);
+        if (version < FORMAT_VERSION_MIN || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int poolSize = readVarInt(input);
+        String[] pool = new String[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            pool[i] = readString(input);
+        }
+        return pool;
+    }
+
+    static int readTaskCount(DataInputStream input) throws IOException {
+        return readVarInt(input);
+    }
+
+    /**
+     * Checks whether the file at the specified path starts with the binary snapshot header.
+     * @param filePath The path of the file to check.
+     * @return <code>true</code> if the file is a binary snapshot.
+     * @throws IOException Error reading from the file.
+     */
+    static boolean isBinary(String filePath) throws IOException {
+        InputStream input = new FileInputStream(filePath);
+        try {
+            return hasMagic(input);
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Converts a file containing tasks stored in Json into a binary snapshot.
+     * <p>
+     * @param jsonFilePath The path of the existing Json data file.
+     * @param binaryFilePath The path of the binary snapshot to be created. May be the same
+     * as <code>jsonFilePath</code>, in which case the Json file is replaced.
+     * @return The number of tasks converted.
+     * @throws IOException Error reading or writing the files.
+     */
+    public static int convertFromJson(String jsonFilePath, String binaryFilePath)
+            throws IOException {
+        ArrayList<TaskObject> taskList = TaskData.readTasks(jsonFilePath);
+        if (taskList == null) {
+            taskList = new ArrayList<TaskObject>();
+        }
+        writeTasks(taskList, binaryFilePath);
+        return taskList.size();
+    }
+
+    private static boolean hasMagic(InputStream input) throws IOException {
+        byte[] magic = Constants.BINARY_MAGIC;
+        for (int i = 0; i < magic.length; i++) {
+            if (input.read() != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---------------------------- Tasks ----------------------------
+
+    private static void addPooledStrings(TaskObject task, ArrayList<String> pool,
+            HashMap<String, Integer> poolIndex) {
+        addToPool(task.getCategory(), pool, poolIndex);
+        addToPool(task.getStatus(), pool, poolIndex);
+        addToPool(task.getInterval().getFrequency(), pool, poolIndex);
+        addToPool(task.getInterval().getByDay(), pool, poolIndex);
+    }
+
+    private static void addToPool(String value, ArrayList<String> pool,
+            HashMap<String, Integer> poolIndex) {
+        if (!poolIndex.containsKey(value)) {
+            poolIndex.put(value, pool.size());
+            pool.add(value);
+        }
+    }
+
+    private static void writeTask(DataOutputStream output, TaskObject task,
+            HashMap<String, Integer> poolIndex) throws IOException {
+        Interval interval = task.getInterval();
+        boolean hasInterval = !interval.isNull() || !interval.getByDay().equals("")
+                || interval.getByDayArray()[0] != 0;
+        int flags = 0;
+        if (task.getIsRecurring()) {
+            flags |= FLAG_RECURRING;
+        }
+        if (task.getIsEditAll()) {
+            flags |= FLAG_EDIT_ALL;
+        }
+        if (task.getIsContainingOnlyTaskDateTimes()) {
+            flags |= FLAG_ONLY_TASK_DATE_TIMES;
+        }
+        if (hasInterval) {
+            flags |= FLAG_INTERVAL;
+        }
+        if (task.getPendingOccurrenceCount() != 0) {
+            flags |= FLAG_PENDING_OCCURRENCES;
+        }
+        output.writeByte(flags);
+        output.writeInt(task.getTaskId());
+        writeString(output, task.getTitle());
+        writeVarInt(output, poolIndex.get(task.getCategory()));
+        writeVarInt(output, poolIndex.get(task.getStatus()));
+        writeDateTime(output, task.getStartDateTime());
+        writeDateTime(output, task.getEndDateTime());
+        if (hasInterval) {
+            writeInterval(output, interval, poolIndex);
+        }
+        writeDateTimePairs(output, task.getTaskDateTimes());
+        writeDateTimePairs(output, task.getDeletedTaskDateTimes());
+        if (task.getPendingOccurrenceCount() != 0) {
+            writeVarInt(output, task.getPendingOccurrenceCount());
+        }
+    }
+
+    static TaskObject readTask(DataInputStream input, String[] pool) throws IOException {
+        int flags = input.readUnsignedByte();
+        TaskObject task = new TaskObject();
+        task.setTaskId(input.readInt());
+        task.setTitle(readString(input));
+        task.setCategory(pool[readVarInt(input)]);
+        task.setStatus(pool[readVarInt(input)]);
+        task.setStartDateTime(readDateTime(input));
+        task.setEndDateTime(readDateTime(input));
+        task.setIsRecurring((flags & FLAG_RECURRING) != 0);
+        task.setIsEditAll((flags & FLAG_EDIT_ALL) != 0);
+        task.setIsContainingOnlyTaskDateTimes((flags & FLAG_ONLY_TASK_DATE_TIMES) != 0);
+        if ((flags & FLAG_INTERVAL) != 0) {
+            task.setInterval(readInterval(input, pool));
+        }
+        task.setTaskDateTimes(readDateTimePairs(input));
+        task.setDeletedTaskDateTimes(readDateTimePairs(input));
+        if ((flags & FLAG_PENDING_OCCURRENCES) != 0) {
+            task.setPendingOccurrenceCount(readVarInt(input));
+        }
+        return task;
+    }
+
+    private static void writeInterval(DataOutputStream output, Interval interval,
+            HashMap<String, Integer> poolIndex) throws IOException {
+        writeVarInt(output, poolIndex.get(interval.getFrequency()));
+        output.writeInt(interval.getTimeInterval());
+        output.writeInt(interval.getCount());
+        writeDateTime(output, interval.getUntil());
+        writeVarInt(output, poolIndex.get(interval.getByDay()));
+        int[] byDayArray = interval.getByDayArray();
+        int byDayMask = 0;
+        for (int i = 0; i < byDayArray.length; i++) {
+            if (byDayArray[i] != 0) {
+                byDayMask |= 1 << i;
+            }
+        }
+        writeVarInt(output, byDayMask);
+    }
+
+    private static Interval readInterval(DataInputStream input, String[] pool)
+            throws IOException {
+        Interval interval = new Interval();
+        String frequency = pool[readVarInt(input)];
+        if (!frequency.equals("")) {
+            try {
+                interval.setFrequency(frequency);
+            } catch (Exception e) {
+                throw new IOException("Invalid frequency " + frequency);
+            }
+        }
+        interval.setTimeInterval(input.readInt());
+        interval.setCount(input.readInt());
+        interval.setUntil(readDateTime(input));
+        interval.setByDay(pool[readVarInt(input)]);
+        int byDayMask = readVarInt(input);
+        for (int i = 0; i < interval.getByDayArray().length; i++) {
+            if ((byDayMask & (1 << i)) != 0) {
+                interval.setByDay(i);
+            }
+        }
+        return interval;
+    }
+
+    private static void writeDateTimePairs(DataOutputStream output,
+            ArrayList<LocalDateTimePair> pairs) throws IOException {
+        writeVarInt(output, pairs.size());
+        for (int i = 0; i < pairs.size(); i++) {
+            writeDateTime(output, pairs.get(i).getStartDateTime());
+            writeDateTime(output, pairs.get(i).getEndDateTime());
+        }
+    }
+
+    private static ArrayList<LocalDateTimePair> readDateTimePairs(DataInputStream input)
+            throws IOException {
+        int size = readVarInt(input);
+        ArrayList<LocalDateTimePair> pairs = new ArrayList<LocalDateTimePair>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime startDateTime = readDateTime(input);
+            LocalDateTime endDateTime = readDateTime(input);
+            pairs.add(new LocalDateTimePair(startDateTime, endDateTime));
+        }
+        return pairs;
+    }
+
+    // ---------------------------- Values ----------------------------
+
+    private static void writeDateTime(DataOutputStream output, LocalDateTime dateTime)
+            throws IOException {
+        output.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        writeVarInt(output, dateTime.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream input) throws IOException {
+        long epochSecond = input.readLong();
+        int nano = readVarInt(input);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Writes a non-negative int in as few bytes as possible, 7 bits at a time
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed binary snapshot");
+    }
+
+}
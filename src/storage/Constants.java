@@ -32,13 +32,105 @@ public final class Constants {
             .get(DEFAULT_DIRECTORY, ATF_DIRECTORY , FILENAME_BACKUP_DATA);
     
     /**
-     * These constants define the names and path of the file containing the user specified 
+     * The journal of changes made since the last snapshot is kept beside the data file,
+     * with this suffix appended to the name of the data file. The journal is folded into
+     * the data file once it holds this many records.
+     */
+    public static final String SUFFIX_JOURNAL = ".journal";
+    public static final int JOURNAL_COMPACTION_THRESHOLD = 500;
+
+    /**
+     * In the sharded layout, tasks are kept in a directory beside the data file instead of in
+     * the data file. Tasks which are not completed are kept in the active shard, and completed
+     * tasks in a shard for the year and month of their start date, or in the undated shard.
+     */
+    public static final String DIRECTORY_SHARDS = "atf_shards";
+    public static final String FILENAME_SHARD_ACTIVE = "active.json";
+    public static final String FILENAME_SHARD_UNDATED = "completed_undated.json";
+    public static final String FORMAT_SHARD_MONTH = "completed_%04d-%02d.json";
+
+    /**
+     * Shards changed by a save are first written beside the shards with this suffix. The 
+     * commit file then lists every shard written or deleted by the save, so that the shards
+     * are replaced together even if the program stops part way through replacing them.
+     */
+    public static final String SUFFIX_SHARD_PENDING = ".pending";
+    public static final String FILENAME_SHARD_COMMIT = "commit.json";
+
+    /**
+     * The task database is kept beside the data file, with this suffix appended to the name
+     * of the data file. Records which are no longer used are dropped from the database once
+     * there are at least this many of them and they outnumber the stored tasks.
+     */
+    public static final String SUFFIX_DATABASE = ".db";
+    public static final int DATABASE_COMPACTION_THRESHOLD = 500;
+
+    /**
+     * Data files in the binary snapshot format start with these bytes, which cannot start
+     * a data file in Json.
+     */
+    static final byte[] BINARY_MAGIC = { 'A', 'T', 'F', 'B' };
+
+    /**
+     * Data files of at least this many bytes are memory-mapped when they are read.
+     */
+    public static final long MAPPED_READ_THRESHOLD = 1024 * 1024;
+
+    /**
+     * In write-behind mode, the background writer waits this long after a save before 
+     * writing, so that further saves made in the meantime are combined into one write.
+     */
+    public static final long WRITE_BEHIND_DELAY_MS = 50;
+
+    /**
+     * The backup file is a copy of the data file, made when this many saves or this much
+     * time have passed since the last copy. Copies are first written under a name with the
+     * temporary suffix, then moved over the backup file.
+     */
+    public static final int BACKUP_SAVE_LIMIT = 20;
+    public static final long BACKUP_INTERVAL_MS = 30000;
+    public static final String SUFFIX_TEMP = ".tmp";
+
+    /**
+     * With the INTERVAL durability level, saves are forced onto the disk at most this long
+     * after they are written, unless another interval is specified.
+     */
+    public static final long SYNC_INTERVAL_MS = 1000;
+
+    /**
+     * These constants define the names and path of the file containing the user specified
      * preferred save directory.
      */
     public static final String FILENAME_SAVEINFO = "saveInfo.txt";
     public static final Path FILEPATH_SAVEINFO = Paths.get(ATF_DIRECTORY, FILENAME_SAVEINFO);
     public static final Path FILEPATH_DEFAULT_SAVE = Paths
             .get(DEFAULT_DIRECTORY, ATF_DIRECTORY , FILENAME_SAVEINFO);
+
+    /**
+     * These constants define the path of the file containing the storage settings, and the
+     * names and values of the settings in it.
+     */
+    public static final String FILENAME_STORAGE_SETTINGS = "storageSettings.txt";
+    public static final Path FILEPATH_STORAGE_SETTINGS = Paths
+            .get(DEFAULT_DIRECTORY, ATF_DIRECTORY , FILENAME_STORAGE_SETTINGS);
+    public static final String SETTING_FORMAT = "format";
+    public static final String SETTING_FORMAT_JSON = "json";
+    public static final String SETTING_FORMAT_BINARY = "binary";
+    public static final String SETTING_DURABILITY = "durability";
+    public static final String SETTING_SYNC_INTERVAL = "syncIntervalMs";
+    public static final String SETTING_BACKEND = "backend";
+    public static final String SETTING_BACKEND_FILE = "file";
+    public static final String SETTING_BACKEND_JOURNAL = "journal";
+    public static final String SETTING_BACKEND_SHARDED = "sharded";
+    public static final String SETTING_BACKEND_DATABASE = "database";
+
+    /**
+     * These constants define the path of the file containing the name of the backend the tasks
+     * were last saved with, so that they can be moved when the backend setting is changed.
+     */
+    public static final String FILENAME_STORAGE_BACKEND = "storageBackend.txt";
+    public static final Path FILEPATH_STORAGE_BACKEND = Paths
+            .get(DEFAULT_DIRECTORY, ATF_DIRECTORY , FILENAME_STORAGE_BACKEND);
     
     /**
      * These constants define the log file and path of the log file used by the program.
@@ -54,6 +146,21 @@ public final class Constants {
     static final String LOG_LOADED = "Tasks loaded from: %s";
     static final String LOG_MKDIR = "Directory created: %s";
     static final String LOG_CHANGE_PREFERED_DIR = "Directory changed to: %s";
+    static final String LOG_JOURNAL_APPENDED = "%d changes appended to: %s";
+    static final String LOG_JOURNAL_COMPACTED = "Journal compacted into: %s";
+    static final String LOG_WRITE_BEHIND_FAILED = "Background save failed: %s";
+    static final String LOG_JOURNAL_TRUNCATED = "Incomplete journal records removed from: %s";
+    static final String LOG_JOURNAL_STALE = "Journal of an earlier data file removed: %s";
+    static final String LOG_BACKUP = "Data file copied to backup: %s";
+    static final String LOG_SHARDS_SAVED = "%d shards written to: %s";
+    static final String LOG_SHARDS_RECOVERED = "Interrupted save of shards completed in: %s";
+    static final String LOG_SYNC_FAILED = "Unable to force data file onto disk: %s";
+    static final String LOG_SETTING_INVALID = "Storage setting %s has invalid value: %s";
+    static final String LOG_BACKEND_CHANGED = "%d tasks moved from the %s backend to the %s backend";
+    static final String LOG_DATABASE_TRUNCATED = "Ignored incomplete database record in: %s";
+    static final String LOG_DATABASE_COMPACTED = "Database compacted: %s";
+    static final String LOG_DATABASE_MIGRATED = "%d tasks moved from %s into the database";
+    static final String LOG_DATABASE_UPDATED = "%d tasks updated in: %s";
     
 
     
@@ -0,0 +1,122 @@
+package storage;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Opens data files for reading. Data files of at least <code>MAPPED_READ_THRESHOLD</code>
+ * bytes are memory-mapped and read directly from the mapped buffer, without copying the file
+ * through read calls. Smaller files are read through a buffered stream.
+ * <p>
+ * Mapped reads are disabled by default on Windows, where a mapped file cannot be replaced
+ * until the mapping is garbage collected, which would make the next save fail.
+ */
+class DataFileInput {
+
+    private static final int BYTE_MASK = 0xff;
+
+    private static boolean isMappedReadEnabled = !System.getProperty("os.name", "")
+            .startsWith("Windows");
+
+    static void setMappedReadEnabled(boolean isEnabled) {
+        isMappedReadEnabled = isEnabled;
+    }
+
+    /**
+     * Opens the data file at the specified path as a stream of bytes.
+     * <p>
+     * @param filePath The path of the data file.
+     * @return A stream of the contents of the data file, which must be closed after use.
+     * @throws FileNotFoundException The specified file does not exist.
+     * @throws IOException Error opening the file.
+     */
+    static InputStream open(String filePath) throws FileNotFoundException, IOException {
+        if(filePath == null) {
+            throw new FileNotFoundException("No file to read from");
+        }
+        if (!isMappedReadEnabled) {
+            return new BufferedInputStream(new FileInputStream(filePath));
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(filePath);
+        }
+        try {
+            long size = channel.size();
+            if (size < Constants.MAPPED_READ_THRESHOLD || size > Integer.MAX_VALUE) {
+                return new BufferedInputStream(new FileInputStream(filePath));
+            }
+            // The mapping remains valid after the channel is closed
+            return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Opens the data file at the specified path as a stream of characters, decoded in the
+     * same charset that data files in Json are written in.
+     */
+    static Reader openReader(String filePath) throws FileNotFoundException, IOException {
+        return new InputStreamReader(open(filePath), Charset.defaultCharset());
+    }
+
+    /**
+     * Reads the bytes of a mapped data file.
+     */
+    private static class MappedInputStream extends InputStream {
+
+        private ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & BYTE_MASK;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+}
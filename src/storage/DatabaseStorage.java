@@ -0,0 +1,269 @@
+package storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import com.google.gson.JsonSyntaxException;
+
+import common.AtfLogger;
+import common.TaskObject;
+
+/**
+ * Implementation of the APIs of the Storage component which keeps the tasks in a
+ * {@link TaskDatabase} beside the data file, so that a save only writes the tasks which have
+ * changed.
+ * <p>
+ * Saving a task list still goes through the whole list: every task is serialized and its 
+ * digest compared with the digest of the stored task, and only the tasks which differ are 
+ * inserted, updated or deleted. A change in the order of the tasks writes the keys of every 
+ * task. The cost of a save in time therefore grows with the number of tasks, while the bytes
+ * written grow with the number of changed tasks. Tasks are stored under keys given out by this
+ * class, so that a task list with repeated taskIds is stored as it is, like in the data file.
+ * Only the keys of the stored tasks are kept in memory.
+ * <p>
+ * When there is no database at the save location yet, the tasks in the data file are moved
+ * into a new database the first time it is opened. The database is written beside it under a
+ * temporary name and then renamed, so that it is only found once all the tasks are in it. The
+ * data file itself is left untouched.
+ */
+public class DatabaseStorage implements IStorage {
+
+    private static DatabaseStorage instance = null;
+
+    private TaskDatabase database = null;
+    // Keys of the tasks currently stored in the database by taskId, in the order of the tasks
+    private HashMap<Integer, ArrayList<Integer>> storedKeys =
+            new HashMap<Integer, ArrayList<Integer>>();
+    private int nextKey = 1;
+    private int savesSinceBackup = 0;
+
+    private DatabaseStorage() {
+    }
+
+    public static DatabaseStorage getInstance() {
+        if (instance == null) {
+            instance = new DatabaseStorage();
+        }
+        return instance;
+    }
+
+    @Override
+    public synchronized void save(ArrayList<TaskObject> newTaskList) throws IOException {
+        TaskDatabase database = getDatabase(FileStorage.getSavePath());
+        // The n-th task with a taskId is stored under the n-th key stored for the taskId
+        HashMap<Integer, ArrayList<Integer>> newKeys = new HashMap<Integer, ArrayList<Integer>>();
+        ArrayList<Integer> newOrder = new ArrayList<Integer>(newTaskList.size());
+        int updated = 0;
+        for (int i = 0; i < newTaskList.size(); i++) {
+            TaskObject task = newTaskList.get(i);
+            ArrayList<Integer> keys = getKeys(newKeys, task.getTaskId());
+            ArrayList<Integer> oldKeys = storedKeys.get(task.getTaskId());
+            int key = nextKey;
+            if (oldKeys != null && keys.size() < oldKeys.size()) {
+                key = oldKeys.get(keys.size());
+            } else {
+                nextKey++;
+            }
+            keys.add(key);
+            newOrder.add(key);
+            if (database.upsert(key, task)) {
+                updated++;
+            }
+        }
+        for (Map.Entry<Integer, ArrayList<Integer>> entry : storedKeys.entrySet()) {
+            ArrayList<Integer> oldKeys = entry.getValue();
+            ArrayList<Integer> keys = newKeys.get(entry.getKey());
+            for (int i = keys == null ? 0 : keys.size(); i < oldKeys.size(); i++) {
+                database.delete(oldKeys.get(i));
+                updated++;
+            }
+        }
+        storedKeys = newKeys;
+        database.setOrder(newOrder);
+        Logger logger = AtfLogger.getLogger();
+        logger.info(String.format(Constants.LOG_DATABASE_UPDATED, updated, database.getPath()));
+        backupIfNeeded(newTaskList);
+    }
+
+    @Override
+    public synchronized ArrayList<TaskObject> load()
+            throws InvalidPathException, FileNotFoundException, IOException , JsonSyntaxException {
+        String filePath = null;
+        try {
+            filePath = FilePath.getCachedPath();
+        } catch (FileNotFoundException e) {
+            return new ArrayList<TaskObject>();
+        }
+        return getDatabase(filePath).getAll();
+    }
+
+    @Override
+    public synchronized ArrayList<TaskObject> load(String filePath)
+            throws InvalidPathException, FileNotFoundException, IOException, JsonSyntaxException {
+        Path databasePath = getDatabasePath(filePath);
+        if (!Files.exists(databasePath)) {
+            if (!FilePath.pathValid(filePath)) {
+                throw new InvalidPathException(filePath, "Invalid Directory");
+            }
+            return TaskData.readTasksOfAnyFormat(filePath);
+        }
+        if (database != null && database.getPath().equals(databasePath)) {
+            return database.getAll();
+        }
+        TaskDatabase otherDatabase = TaskDatabase.open(databasePath);
+        try {
+            return otherDatabase.getAll();
+        } finally {
+            otherDatabase.close();
+        }
+    }
+
+    @Override
+    public ArrayList<TaskObject> loadBackup() throws InvalidPathException,
+            JsonSyntaxException, FileNotFoundException, IOException {
+        return TaskData.readTasksOfAnyFormat(Constants.FILEPATH_BACKUP_DATA.toString());
+    }
+
+    @Override
+    public String createCopy(String directory , String fileName)
+            throws InvalidPathException ,IOException  {
+        if (!FilePath.directoryValid(directory)) {
+            throw new InvalidPathException(directory, "Invalid Directory");
+        }
+        ArrayList<TaskObject> taskList = load();
+        return FileStorage.writeNewTxtFile(directory, fileName, taskList);
+    }
+
+    @Override
+    public synchronized void changeSaveLocation (String directory)
+            throws InvalidPathException, IOException {
+        if (!FilePath.directoryValid(directory)) {
+            throw new InvalidPathException(directory, "Invalid Directory");
+        }
+        ArrayList<TaskObject> taskList = load();
+        try {
+            deleteExistingSave();
+        } catch (FileNotFoundException e) {
+            //No existing Saved File to delete
+        }
+        FilePath.changePreferedDirectory(directory);
+        save(taskList);
+    }
+
+    /**
+     * Forces the changes written to the database so far onto the disk.
+     * @throws IOException Error forcing the database file.
+     */
+    public synchronized void sync() throws IOException {
+        if (database != null) {
+            database.sync();
+        }
+    }
+
+    /**
+     * Closes the database. It is opened again on the next call to the storage.
+     * @throws IOException Error closing the database file.
+     */
+    public synchronized void close() throws IOException {
+        if (database != null) {
+            database.close();
+            database = null;
+        }
+        storedKeys.clear();
+        nextKey = 1;
+    }
+
+    // Opens the database beside the data file at the specified path, moving the tasks in the
+    // data file into the database if there is no database yet
+    private TaskDatabase getDatabase(String filePath) throws IOException, JsonSyntaxException {
+        Path databasePath = getDatabasePath(filePath);
+        if (database != null && database.getPath().equals(databasePath)
+                && Files.exists(databasePath)) {
+            return database;
+        }
+        close();
+        if (!Files.exists(databasePath) && Files.exists(Paths.get(filePath))) {
+            migrate(filePath, databasePath);
+        }
+        database = TaskDatabase.open(databasePath);
+        ArrayList<Integer> keys = database.getKeys();
+        ArrayList<Integer> taskIds = database.getTaskIds();
+        for (int i = 0; i < keys.size(); i++) {
+            getKeys(storedKeys, taskIds.get(i)).add(keys.get(i));
+            nextKey = Math.max(nextKey, keys.get(i) + 1);
+        }
+        return database;
+    }
+
+    // Writes the tasks in the data file into a new database under a temporary name, which
+    // replaces the database only once every task has been written and forced onto the disk
+    private void migrate(String filePath, Path databasePath)
+            throws IOException, JsonSyntaxException {
+        ArrayList<TaskObject> taskList = TaskData.readTasksOfAnyFormat(filePath);
+        if (taskList == null) {
+            return;
+        }
+        Path tempPath = Paths.get(databasePath.toString() + Constants.SUFFIX_TEMP);
+        // A database left by an interrupted migration is started again
+        Files.deleteIfExists(tempPath);
+        boolean isReplaced = false;
+        try {
+            TaskDatabase newDatabase = TaskDatabase.open(tempPath);
+            try {
+                for (int i = 0; i < taskList.size(); i++) {
+                    newDatabase.upsert(i + 1, taskList.get(i));
+                }
+                newDatabase.sync();
+            } finally {
+                newDatabase.close();
+            }
+            AtomicFile.replace(tempPath, databasePath, true);
+            isReplaced = true;
+        } finally {
+            if (!isReplaced) {
+                Files.deleteIfExists(tempPath);
+            }
+        }
+        Logger logger = AtfLogger.getLogger();
+        logger.info(String.format(Constants.LOG_DATABASE_MIGRATED, taskList.size(), filePath));
+    }
+
+    private static ArrayList<Integer> getKeys(HashMap<Integer, ArrayList<Integer>> keysByTaskId,
+            int taskId) {
+        ArrayList<Integer> keys = keysByTaskId.get(taskId);
+        if (keys == null) {
+            keys = new ArrayList<Integer>();
+            keysByTaskId.put(taskId, keys);
+        }
+        return keys;
+    }
+
+    private void backupIfNeeded(ArrayList<TaskObject> taskList) throws IOException {
+        savesSinceBackup++;
+        if (savesSinceBackup >= Constants.BACKUP_SAVE_LIMIT
+                || !Files.exists(Constants.FILEPATH_BACKUP_DATA)) {
+            TaskData.writeTasks(taskList, Constants.FILEPATH_BACKUP_DATA.toString());
+            savesSinceBackup = 0;
+        }
+    }
+
+    private void deleteExistingSave() throws FileNotFoundException, IOException {
+        String filePath = FilePath.getPath();
+        close();
+        Files.deleteIfExists(getDatabasePath(filePath));
+        Files.deleteIfExists(Paths.get(filePath));
+    }
+
+    private static Path getDatabasePath(String filePath) {
+        return Paths.get(filePath + Constants.SUFFIX_DATABASE).toAbsolutePath().normalize();
+    }
+
+}
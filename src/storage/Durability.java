@@ -0,0 +1,38 @@
+package storage;
+
+/**
+ * Levels of durability for saves made by FileStorage. Every save replaces the data file in
+ * a single atomic move, so a crash of the program leaves either the previous or the new data
+ * file. The durability level decides when the written data is forced from the operating
+ * system's cache onto the disk, trading the time taken to save for the saves which survive a
+ * power failure.
+ * <p>
+ * EVERY_SAVE forces every new data file before it is moved over the previous one, and
+ * INTERVAL forces those saved once the sync interval has passed. An unforced move may reach
+ * the disk before the data, so a power failure can leave an empty or partly written data file
+ * in place of the previous one.
+ */
+public enum Durability {
+
+    /**
+     * The data file is never forced, and is written to disk by the operating system. A power
+     * failure can leave an empty or partly written data file.
+     */
+    NONE,
+
+    /**
+     * The data file is forced once when the program exits. A power failure before then can
+     * leave an empty or partly written data file.
+     */
+    ON_EXIT,
+
+    /** The data file is forced by every save before the save completes. */
+    EVERY_SAVE,
+
+    /**
+     * The data file is forced at most once every sync interval while there are unforced saves.
+     * A power failure after an unforced save can leave an empty or partly written data file.
+     */
+    INTERVAL
+
+}
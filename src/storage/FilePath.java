@@ -9,10 +9,15 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.logging.Logger;
 
 import common.AtfLogger;
@@ -25,6 +30,11 @@ import common.AtfLogger;
  */
 public class FilePath {
 
+    // Path returned by the last call to getCachedPath, null when it has to be read again
+    private static String cachedPath = null;
+    // Watches the directory containing the save location file for changes made outside FilePath
+    private static WatchService saveInfoWatcher = null;
+
     /**
      * Changes the default directory location to store the data file to the provided path.
      * <p>
@@ -37,6 +47,7 @@ public class FilePath {
         if (!directoryValid(directory)) {
             throw new InvalidPathException(directory, "Cannot be used");
         }
+        invalidateCachedPath();
         writePreferredDirectory(directory);
         logger.info(String.format(Constants.LOG_CHANGE_PREFERED_DIR, directory));
     }
@@ -58,6 +69,39 @@ public class FilePath {
         return path.toString();
     }
 
+    /**
+     * Returns the path of the file containing saved tasks, as <code>getPath</code> does.
+     * The path is read once and kept until the save location is changed through 
+     * <code>changePreferedDirectory</code>, or until the file containing the save location
+     * is changed, created or deleted by other means, so that repeated saves do not read the
+     * save location from the disk.
+     * <p>
+     * @return String of path of the file containing saved tasks.
+     * @throws InvalidPathException Specified preferred directory is invalid.
+     * @throws IOException Error reading file containing default path.
+     */
+    protected static synchronized String getCachedPath() throws InvalidPathException, IOException {
+        if (cachedPath != null && !isSaveInfoChanged()) {
+            return cachedPath;
+        }
+        cachedPath = null;
+        // Watching starts before the save location is read, so that no change is missed
+        boolean isWatched = watchSaveInfo();
+        String path = getPath();
+        if (isWatched) {
+            cachedPath = path;
+        }
+        return path;
+    }
+
+    /**
+     * Discards the path kept by <code>getCachedPath</code>, so that it is read from the disk
+     * the next time it is needed.
+     */
+    protected static synchronized void invalidateCachedPath() {
+        cachedPath = null;
+    }
+
     /**
      * Sets the save location to the default if the save location has not been specified. 
      * The location where the data files created by the program will be set 
@@ -96,6 +140,42 @@ public class FilePath {
         return Files.isReadable(path) && Files.isWritable(path);
     }
     
+    // Returns true if the file containing the save location may have changed since it was last 
+    // read. Only events already received are checked, without accessing the disk.
+    private static boolean isSaveInfoChanged() {
+        boolean isChanged = false;
+        WatchKey key = saveInfoWatcher.poll();
+        while (key != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || Constants.FILENAME_SAVEINFO
+                        .equals(event.context().toString())) {
+                    isChanged = true;
+                }
+            }
+            if (!key.reset()) {
+                isChanged = true;
+            }
+            key = saveInfoWatcher.poll();
+        }
+        return isChanged;
+    }
+
+    // Starts watching the directory containing the file with the save location. Returns false if 
+    // the directory cannot be watched, in which case the save location is not cached.
+    private static boolean watchSaveInfo() {
+        Path directory = Constants.FILEPATH_SAVEINFO.toAbsolutePath().getParent();
+        try {
+            if (saveInfoWatcher == null) {
+                saveInfoWatcher = FileSystems.getDefault().newWatchService();
+            }
+            directory.register(saveInfoWatcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
     private static String readPreferedDirectory() throws FileNotFoundException, IOException  {
         BufferedReader fileReader = new BufferedReader(
                 new FileReader (Constants.FILEPATH_SAVEINFO.toString()));
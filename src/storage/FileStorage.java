@@ -5,15 +5,22 @@ package storage;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Timer;
+import java.util.TimerTask;
 
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
+import common.AtfLogger;
 import common.TaskObject;
 
 /**
@@ -25,6 +32,26 @@ public class FileStorage implements IStorage {
 
     private static FileStorage instance = null;
 
+    // Background writer used in write-behind mode, null when saves are written immediately
+    private StorageWriter writer = null;
+    // Held while changing, or copying to be written, a task list saved in write-behind mode
+    private final Object taskListLock = new Object();
+    // Storage which tasks are saved with in place of the data file, null to use the data file
+    private IStorage backend = null;
+    private boolean isBinaryFormat = false;
+    // Saves written since, and time of, the last copy of the data file to the backup file
+    private int savesSinceBackup = 0;
+    private long lastBackupTime = 0;
+    private Durability durability = Durability.ON_EXIT;
+    private long syncIntervalMs = Constants.SYNC_INTERVAL_MS;
+    // Data file written since it was last forced onto the disk, null if every save is on the disk
+    private String unsyncedFilePath = null;
+    private long lastSyncTime = 0;
+    private Timer syncTimer = null;
+    // Number of deferSaves calls not yet resumed, and whether a save was made while deferred
+    private int deferredSaveDepth = 0;
+    private boolean hasDeferredSave = false;
+
     private FileStorage() {
     }
 
@@ -35,19 +62,346 @@ public class FileStorage implements IStorage {
         return instance;
     }
 
+    /**
+     * In write-behind mode, the task list is written to disk by a background thread. Saves 
+     * made in quick succession are combined into a single write, and the task list is only
+     * copied once for each write, while holding the lock returned by 
+     * <code>getTaskListLock</code>. Errors from background writes are retrieved with 
+     * <code>pollWriteError</code>. Tasks still waiting to be written are written before
+     * the program exits.
+     * <p>
+     * @param isWriteBehind <code>true</code> to write saves in the background, 
+     * <code>false</code> to write saves before <code>save</code> returns.
+     * @throws InterruptedException Interrupted while waiting for pending writes when 
+     * leaving write-behind mode.
+     */
+    public synchronized void setWriteBehind(boolean isWriteBehind) throws InterruptedException {
+        if (isWriteBehind && writer == null) {
+            writer = new StorageWriter(this);
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        flush();
+                        sync();
+                    } catch (InterruptedException e) {
+                        //Exiting without waiting for the write to complete
+                    } catch (IOException e) {
+                        //Exiting without the data file forced onto the disk
+                    }
+                }
+            }));
+        } else if (!isWriteBehind && writer != null) {
+            writer.stop();
+            writer = null;
+        }
+    }
+
+    /**
+     * Returns the lock which must be held while changing a task list after it has been saved
+     * in write-behind mode. The background writer holds it while copying the latest saved
+     * list, so that the copy does not see a change half made.
+     */
+    public Object getTaskListLock() {
+        return taskListLock;
+    }
+
+    /**
+     * Applies the settings in the storage settings file, such as the format of the data 
+     * file, the durability level of saves and the backend tasks are saved with. Settings 
+     * missing from the file, or the file itself, leave the default in place.
+     * <p>
+     * @throws IOException Error reading the storage settings file, forcing earlier saves
+     * when changing to the <code>EVERY_SAVE</code> durability level, or moving the tasks
+     * when changing the backend.
+     */
+    public void applySettings() throws IOException {
+        StorageSettings settings = StorageSettings.read();
+        setBinaryFormat(settings.isBinaryFormat());
+        setDurability(settings.getDurability(), settings.getSyncIntervalMs());
+        setBackend(settings.getBackend());
+    }
+
+    // Saves and loads go through the named backend once every earlier save has been written. 
+    // Tasks last saved with another backend are loaded from it and saved with this one, so that
+    // the tasks are not left behind when the setting is changed.
+    private void setBackend(String backendName) throws IOException {
+        awaitPendingWrites();
+        String savedBackendName = readSavedBackendName();
+        synchronized (this) {
+            if (backendName.equals(savedBackendName)) {
+                backend = StorageSettings.getBackendStorage(backendName);
+                return;
+            }
+            ArrayList<TaskObject> taskList = loadSavedTasks(
+                    StorageSettings.getBackendStorage(savedBackendName));
+            backend = StorageSettings.getBackendStorage(backendName);
+            if (taskList != null) {
+                writeToDisk(taskList);
+                AtfLogger.getLogger().info(String.format(Constants.LOG_BACKEND_CHANGED, 
+                        taskList.size(), savedBackendName, backendName));
+            }
+            Files.createDirectories(Constants.FILEPATH_STORAGE_BACKEND.getParent());
+            AtomicFile.write(Constants.FILEPATH_STORAGE_BACKEND.toString(), 
+                    new AtomicFile.Content() {
+                        @Override
+                        public void writeTo(OutputStream output) throws IOException {
+                            output.write(backendName.getBytes(Charset.defaultCharset()));
+                        }
+                    }, false);
+        }
+    }
+
+    private String readSavedBackendName() throws IOException {
+        if (!Files.exists(Constants.FILEPATH_STORAGE_BACKEND)) {
+            return Constants.SETTING_BACKEND_FILE;
+        }
+        byte[] name = Files.readAllBytes(Constants.FILEPATH_STORAGE_BACKEND);
+        return new String(name, Charset.defaultCharset()).trim();
+    }
+
+    // Returns the tasks saved with the backend, or null if no tasks have been saved yet
+    private ArrayList<TaskObject> loadSavedTasks(IStorage savedBackend) throws IOException {
+        try {
+            if (savedBackend != null) {
+                return savedBackend.load();
+            }
+            return TaskData.readTasksOfAnyFormat(FilePath.getCachedPath());
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sets the format of the data file and backup file written by <code>save</code>. Data files
+     * are read in either format regardless of this setting, so existing Json data files are
+     * converted to the binary snapshot format by the first save after this is enabled.
+     * <p>
+     * @param isBinaryFormat <code>true</code> to save tasks as a binary snapshot, 
+     * <code>false</code> to save tasks in Json.
+     */
+    public void setBinaryFormat(boolean isBinaryFormat) {
+        this.isBinaryFormat = isBinaryFormat;
+    }
+
+    /**
+     * Discards the save location kept in memory, so that it is read from the disk by the next
+     * save or load. Changes to the file containing the save location made outside storage are
+     * otherwise seen only once they have been reported by the file system, shortly after they
+     * are made.
+     */
+    public void reloadSaveLocation() {
+        FilePath.invalidateCachedPath();
+    }
+
+    /**
+     * Sets whether large data files are memory-mapped when loaded, instead of being read
+     * through a stream. Enabled by default except on Windows.
+     * <p>
+     * @param isMappedRead <code>true</code> to map data files of at least
+     * <code>MAPPED_READ_THRESHOLD</code> bytes, <code>false</code> to read all data files 
+     * through a stream.
+     */
+    public void setMappedRead(boolean isMappedRead) {
+        DataFileInput.setMappedReadEnabled(isMappedRead);
+    }
+
+    /**
+     * Sets when saves are forced onto the disk. Saves made with a lower durability than
+     * <code>EVERY_SAVE</code> can be forced with <code>sync</code>.
+     * <p>
+     * @param durability The durability level of saves.
+     * @param syncIntervalMs The longest time a save is left unforced with the 
+     * <code>INTERVAL</code> durability level.
+     * @throws IOException Error forcing earlier saves when changing to <code>EVERY_SAVE</code>.
+     */
+    public synchronized void setDurability(Durability durability, long syncIntervalMs) 
+            throws IOException {
+        this.durability = durability;
+        this.syncIntervalMs = syncIntervalMs;
+        if (syncTimer != null) {
+            syncTimer.cancel();
+            syncTimer = null;
+        }
+        if (durability == Durability.INTERVAL) {
+            startSyncTimer();
+        } else if (durability == Durability.EVERY_SAVE) {
+            sync();
+        }
+    }
+
+    public void setDurability(Durability durability) throws IOException {
+        setDurability(durability, Constants.SYNC_INTERVAL_MS);
+    }
+
+    /**
+     * Forces the most recently written data file onto the disk if it has not been forced.
+     * Does nothing with the <code>NONE</code> durability level.
+     * @throws IOException Error forcing the data file.
+     */
+    public synchronized void sync() throws IOException {
+        if (unsyncedFilePath == null || durability == Durability.NONE) {
+            return;
+        }
+        try {
+            AtomicFile.force(Paths.get(unsyncedFilePath));
+        } catch (NoSuchFileException e) {
+            //Data file has since been moved or deleted
+        }
+        unsyncedFilePath = null;
+        lastSyncTime = System.currentTimeMillis();
+    }
+
+    private void startSyncTimer() {
+        syncTimer = new Timer("atf-storage-sync", true);
+        syncTimer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    sync();
+                } catch (IOException e) {
+                    AtfLogger.getLogger().warning(
+                            String.format(Constants.LOG_SYNC_FAILED, e.getMessage()));
+                }
+            }
+        }, syncIntervalMs, syncIntervalMs);
+    }
+
+    /**
+     * Waits until all tasks saved so far have been written to disk. Returns immediately if
+     * not in write-behind mode.
+     * @throws InterruptedException Interrupted while waiting for pending writes.
+     */
+    public void flush() throws InterruptedException {
+        StorageWriter currentWriter = writer;
+        if (currentWriter != null) {
+            currentWriter.flush();
+        }
+    }
+
+    /**
+     * Returns the error thrown by the most recent failed background write and clears it.
+     * @return The error, or <code>null</code> if no background write has failed since the 
+     * last call.
+     */
+    public IOException pollWriteError() {
+        StorageWriter currentWriter = writer;
+        if (currentWriter == null) {
+            return null;
+        }
+        return currentWriter.pollWriteError();
+    }
+
+    /**
+     * Holds back saves until <code>resumeSaves</code> is called, so that the commands of a
+     * batch are written to disk once instead of once per command. Saves made in the meantime
+     * are neither copied nor written. Calls may be nested, in which case saves are held back 
+     * until every call has been resumed.
+     */
+    public synchronized void deferSaves() {
+        deferredSaveDepth++;
+    }
+
+    /**
+     * Ends a call to <code>deferSaves</code>. Once every call has been resumed, the task list
+     * is saved if any save was held back.
+     * <p>
+     * @param taskList The list of tasks at the end of the batch, saved in place of the 
+     * task lists of the saves held back.
+     * @return <code>true</code> if the task list was saved.
+     * @throws IOException Error with saving tasks to disks
+     */
+    public boolean resumeSaves(ArrayList<TaskObject> taskList) throws IOException {
+        synchronized (this) {
+            if (deferredSaveDepth == 0) {
+                return false;
+            }
+            deferredSaveDepth--;
+            if (deferredSaveDepth > 0 || !hasDeferredSave) {
+                return false;
+            }
+            hasDeferredSave = false;
+        }
+        save(taskList);
+        return true;
+    }
+
     @Override
     public void save(ArrayList<TaskObject> newTaskList) 
             throws NoSuchFileException, IOException {
-        overwriteSave(newTaskList);
-        overwriteBackup(newTaskList);
+        synchronized (this) {
+            if (deferredSaveDepth > 0) {
+                hasDeferredSave = true;
+                return;
+            }
+        }
+        StorageWriter currentWriter = writer;
+        if (currentWriter != null) {
+            currentWriter.submit(newTaskList);
+            return;
+        }
+        writeToDisk(newTaskList);
+    }
+
+    /**
+     * Writes the task list to the data file. The backup file is replaced with a copy of the
+     * data file when it is missing, or when <code>BACKUP_SAVE_LIMIT</code> saves or 
+     * <code>BACKUP_INTERVAL_MS</code> have passed since it was last replaced. Both files are
+     * forced onto the disk when required by the durability level.
+     */
+    synchronized void writeToDisk(ArrayList<TaskObject> newTaskList) 
+            throws NoSuchFileException, IOException {
+        if (backend != null) {
+            backend.save(newTaskList);
+            return;
+        }
+        boolean isForced = isSyncDue();
+        String filePath = overwriteSave(newTaskList, isForced);
+        if (isForced) {
+            unsyncedFilePath = null;
+            lastSyncTime = System.currentTimeMillis();
+        } else {
+            unsyncedFilePath = filePath;
+        }
+        savesSinceBackup++;
+        if (isBackupDue()) {
+            overwriteBackup(filePath, isForced);
+        }
+    }
+
+    /**
+     * Replaces the backup file with a copy of the data file, after all saves so far have been
+     * written. Called before exiting so that the backup file holds the latest tasks.
+     * @throws IOException Error copying the data file.
+     */
+    public void backup() throws IOException {
+        awaitPendingWrites();
+        String filePath = FilePath.getCachedPath();
+        synchronized (this) {
+            if (backend != null) {
+                TaskData.writeTasks(backend.load(), Constants.FILEPATH_BACKUP_DATA.toString());
+                return;
+            }
+            overwriteBackup(filePath, durability != Durability.NONE);
+        }
     }
 
     @Override
     public ArrayList<TaskObject> load() 
             throws InvalidPathException, FileNotFoundException, IOException , JsonSyntaxException {
+        awaitPendingWrites();
+        synchronized (this) {
+            if (backend != null) {
+                return backend.load();
+            }
+        }
         String filePath = null;
         try {
-            filePath = FilePath.getPath();
+            filePath = FilePath.getCachedPath();
         } catch (FileNotFoundException e) {
             return new ArrayList<TaskObject>();
         } 
@@ -58,13 +412,78 @@ public class FileStorage implements IStorage {
     @Override
     public ArrayList<TaskObject> load(String filePath) 
             throws InvalidPathException, FileNotFoundException, IOException, JsonSyntaxException{
+        awaitPendingWrites();
         if (!FilePath.pathValid(filePath)) {
             throw new InvalidPathException(filePath, "Invalid Directory");
         }
-        ArrayList<TaskObject> taskList = TaskData.readTasks(filePath);
+        ArrayList<TaskObject> taskList = TaskData.readTasksOfAnyFormat(filePath);
         return taskList;
     }
-    
+
+    /**
+     * Loads the tasks in the current save location one at a time, passing each task to the
+     * listener as soon as it is read instead of after the whole file has been read.
+     * <p>
+     * @param listener Receives each task in the order it is stored.
+     * @return The number of tasks loaded, 0 if the save location has not been specified.
+     * @throws InvalidPathException The save location is invalid.
+     * @throws FileNotFoundException The data file does not exist.
+     * @throws IOException Error reading from the data file.
+     * @throws JsonSyntaxException The data file is not in the correct format.
+     */
+    public int load(TaskLoadListener listener)
+            throws InvalidPathException, FileNotFoundException, IOException, JsonSyntaxException {
+        awaitPendingWrites();
+        ArrayList<TaskObject> backendTaskList = null;
+        synchronized (this) {
+            if (backend != null) {
+                backendTaskList = backend.load();
+            }
+        }
+        if (backendTaskList != null) {
+            for (int i = 0; i < backendTaskList.size(); i++) {
+                listener.taskLoaded(backendTaskList.get(i));
+            }
+            return backendTaskList.size();
+        }
+        String filePath = null;
+        try {
+            filePath = FilePath.getCachedPath();
+        } catch (FileNotFoundException e) {
+            return 0;
+        }
+        int loaded = 0;
+        try (TaskStream taskStream = openTasks(filePath)) {
+            while (taskStream.hasNext()) {
+                listener.taskLoaded(taskStream.next());
+                loaded++;
+            }
+        } catch (JsonIOException e) {
+            throw new IOException(e);
+        }
+        return loaded;
+    }
+
+    /**
+     * Opens the data file at the specified path to read its tasks one at a time.
+     * The returned stream must be closed after use.
+     * <p>
+     * @param filePath The path of the file containing the stored tasks information.
+     * @return A stream of the tasks in the file.
+     * @throws InvalidPathException The specified path is invalid.
+     * @throws FileNotFoundException The specified file does not exist.
+     * @throws IOException Error reading from the file.
+     * @throws JsonSyntaxException The file is not in the correct format.
+     */
+    public TaskStream openTasks(String filePath)
+            throws InvalidPathException, FileNotFoundException, IOException, JsonSyntaxException {
+        awaitPendingWrites();
+        if (!FilePath.pathValid(filePath)) {
+            throw new InvalidPathException(filePath, "Invalid Directory");
+        }
+        return TaskStream.open(filePath);
+    }
+
     @Override
     public ArrayList<TaskObject> loadBackup() throws InvalidPathException, 
             JsonSyntaxException, FileNotFoundException, IOException {
@@ -81,7 +500,7 @@ public class FileStorage implements IStorage {
         return writeNewTxtFile(directory, fileName, taskList);
     }
 
-    private String writeNewTxtFile(String directory, String fileName, ArrayList<TaskObject> taskList) 
+    static String writeNewTxtFile(String directory, String fileName, ArrayList<TaskObject> taskList) 
             throws IOException {
         String filePath = Paths.get(directory, fileName).toString();
         File toSave = new File(filePath.concat(".txt"));
@@ -102,6 +521,13 @@ public class FileStorage implements IStorage {
         if (!FilePath.directoryValid(directory)) {
             throw new InvalidPathException(directory, "Invalid Directory");
         }
+        awaitPendingWrites();
+        synchronized (this) {
+            if (backend != null) {
+                backend.changeSaveLocation(directory);
+                return;
+            }
+        }
         ArrayList<TaskObject> taskList = load();
         try {
             deleteExistingSave();
@@ -112,24 +538,94 @@ public class FileStorage implements IStorage {
         save(taskList);
     }
     
-    private void overwriteBackup(ArrayList<TaskObject> newTaskList) throws IOException {
-        String filePath = Constants.FILEPATH_BACKUP_DATA.toString();
-        TaskData.writeTasks(newTaskList, filePath);
+    ArrayList<TaskObject> copyTaskList(ArrayList<TaskObject> taskList) {
+        ArrayList<TaskObject> copy = new ArrayList<TaskObject>(taskList.size());
+        for (int i = 0; i < taskList.size(); i++) {
+            copy.add(new TaskObject(taskList.get(i)));
+        }
+        return copy;
+    }
+
+    // Ensures that reads and moves of the data file see every save made before them
+    private void awaitPendingWrites() throws IOException {
+        try {
+            flush();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("Interrupted while waiting for pending saves");
+        }
+    }
+
+    private boolean isBackupDue() {
+        return savesSinceBackup >= Constants.BACKUP_SAVE_LIMIT
+                || System.currentTimeMillis() - lastBackupTime >= Constants.BACKUP_INTERVAL_MS
+                || !Files.exists(Constants.FILEPATH_BACKUP_DATA);
+    }
+
+    private boolean isSyncDue() {
+        switch (durability) {
+            case EVERY_SAVE :
+                return true;
+            case INTERVAL :
+                return System.currentTimeMillis() - lastSyncTime >= syncIntervalMs;
+            default :
+                return false;
+        }
     }
 
-    private void overwriteSave(ArrayList<TaskObject> newTaskList) throws IOException, FileNotFoundException {
+    private void overwriteBackup(String savedFilePath, boolean isForced) throws IOException {
+        copyToBackup(savedFilePath, isForced);
+        savesSinceBackup = 0;
+        lastBackupTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Copies the data file at the specified path over the backup file. The backup file is
+     * never left partly written.
+     * @param savedFilePath Path of the data file that has just been written.
+     * @param isForced <code>true</code> to force the copy onto the disk.
+     * @throws IOException Error copying the data file.
+     */
+    static void copyToBackup(String savedFilePath, boolean isForced) throws IOException {
+        Path backupPath = Constants.FILEPATH_BACKUP_DATA;
+        AtomicFile.copy(Paths.get(savedFilePath), backupPath, isForced);
+        AtfLogger.getLogger().info(String.format(Constants.LOG_BACKUP, backupPath));
+    }
+
+    private String overwriteSave(ArrayList<TaskObject> newTaskList, boolean isForced) 
+            throws IOException, FileNotFoundException {
+        String filePath = getSavePath();
+        writeTaskFile(newTaskList, filePath, isForced);
+        return filePath;
+    }
+
+    private void writeTaskFile(ArrayList<TaskObject> taskList, String filePath, boolean isForced)
+            throws IOException {
+        if (isBinaryFormat) {
+            BinaryTaskData.writeTasks(taskList, filePath, isForced);
+        } else {
+            TaskData.writeTasks(taskList, filePath, isForced);
+        }
+    }
+
+    /**
+     * Returns the path of the data file that tasks are saved to, setting the save location
+     * to the default if it has not been specified.
+     * @return String of path of the data file.
+     * @throws IOException Error reading or creating the file containing the save location.
+     */
+    static String getSavePath() throws IOException, FileNotFoundException {
         String filePath = null;
         try {
-        filePath = FilePath.getPath();
+        filePath = FilePath.getCachedPath();
         } catch (FileNotFoundException e) {
             FilePath.initializeDefaultSave();
-            filePath = FilePath.getPath();
+            filePath = FilePath.getCachedPath();
         }
         if (filePath == null) { // defensive measure
             FilePath.initializeDefaultSave();
-            filePath = FilePath.getPath();
+            filePath = FilePath.getCachedPath();
         }
-        TaskData.writeTasks(newTaskList, filePath);
+        return filePath;
     }
     
     private void deleteExistingSave() throws FileNotFoundException, IOException {
@@ -0,0 +1,111 @@
+package storage;
+
+import java.util.ArrayList;
+
+import common.TaskObject;
+
+/**
+ * A single change appended to the journal. Each record is keyed by the taskId of the
+ * task it changes and is stored on its own line as Json.
+ * <p>
+ * The first record of a journal is a snapshot record holding the digest of the data file
+ * the journal was started on, so that a journal left behind beside a newer data file is 
+ * not replayed over it.
+ */
+class JournalRecord {
+
+    static final String OPERATION_ADD = "add";
+    static final String OPERATION_EDIT = "edit";
+    static final String OPERATION_DELETE = "delete";
+    static final String OPERATION_STATUS = "status";
+    static final String OPERATION_ORDER = "order";
+    static final String OPERATION_MOVE = "move";
+    static final String OPERATION_SNAPSHOT = "snapshot";
+
+    private String operation;
+    private int taskId = -1;
+    private TaskObject task;
+    private String status;
+    private ArrayList<Integer> order;
+    // Task the moved task is placed after, null to place it first
+    private Integer afterTaskId;
+    private String snapshot;
+
+    private JournalRecord(String operation) {
+        this.operation = operation;
+    }
+
+    static JournalRecord add(TaskObject task) {
+        JournalRecord record = new JournalRecord(OPERATION_ADD);
+        record.taskId = task.getTaskId();
+        record.task = task;
+        return record;
+    }
+
+    static JournalRecord edit(TaskObject task) {
+        JournalRecord record = new JournalRecord(OPERATION_EDIT);
+        record.taskId = task.getTaskId();
+        record.task = task;
+        return record;
+    }
+
+    static JournalRecord delete(int taskId) {
+        JournalRecord record = new JournalRecord(OPERATION_DELETE);
+        record.taskId = taskId;
+        return record;
+    }
+
+    static JournalRecord status(int taskId, String status) {
+        JournalRecord record = new JournalRecord(OPERATION_STATUS);
+        record.taskId = taskId;
+        record.status = status;
+        return record;
+    }
+
+    static JournalRecord order(ArrayList<Integer> order) {
+        JournalRecord record = new JournalRecord(OPERATION_ORDER);
+        record.order = order;
+        return record;
+    }
+
+    static JournalRecord move(int taskId, Integer afterTaskId) {
+        JournalRecord record = new JournalRecord(OPERATION_MOVE);
+        record.taskId = taskId;
+        record.afterTaskId = afterTaskId;
+        return record;
+    }
+
+    static JournalRecord snapshot(String snapshotDigest) {
+        JournalRecord record = new JournalRecord(OPERATION_SNAPSHOT);
+        record.snapshot = snapshotDigest;
+        return record;
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    int getTaskId() {
+        return taskId;
+    }
+
+    TaskObject getTask() {
+        return task;
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    ArrayList<Integer> getOrder() {
+        return order;
+    }
+
+    Integer getAfterTaskId() {
+        return afterTaskId;
+    }
+
+    String getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,512 @@
+package storage;
+
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+
+import common.AtfLogger;
+import common.TaskObject;
+
+/**
+ * Implementation of the APIs of the Storage component which only writes the changes made
+ * to the task list on every save.
+ * <p>
+ * The data file is kept as a snapshot of the task list. Every save compares the task list
+ * with the tasks currently stored and appends one record per added, edited, deleted or
+ * re-marked task to a journal kept beside the data file. Once the journal grows past
+ * {@link Constants#JOURNAL_COMPACTION_THRESHOLD} records, the whole task list is written
+ * to the data file again and the journal is cleared. Loading reads the snapshot and
+ * replays the journal over it.
+ * <p>
+ * Tasks which change place are written as records moving each of them after the task 
+ * before it, leaving in place the longest run of tasks whose order has not changed, so that
+ * adding a task in the middle of the sorted list writes a single move. Only when more than
+ * one in <code>MOVED_TASKS_PER_ORDER_RECORD</code> tasks move is the whole order written.
+ * <p>
+ * A journal starts with the digest of the data file it was started on. If the program stops
+ * after compaction has written the data file but before the journal is cleared, the digest
+ * no longer matches and the journal, whose changes are already in the data file, is dropped.
+ */
+public class JournalStorage implements IStorage {
+
+    private static final String NEW_LINE = "\n";
+    private static final byte NEW_LINE_BYTE = '\n';
+    private static final int MOVED_TASKS_PER_ORDER_RECORD = 4;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static JournalStorage instance = null;
+
+    // Copies of the tasks as they are currently stored on disk, keyed by taskId
+    private HashMap<Integer, TaskObject> storedTasks = new HashMap<Integer, TaskObject>();
+    private ArrayList<Integer> storedOrder = new ArrayList<Integer>();
+    // Path of the data file the stored tasks belong to, null if nothing has been stored yet
+    private String storedPath = null;
+    // Digest of the data file the stored tasks were read from, null until it is needed
+    private String snapshotDigest = null;
+    private int journalSize = 0;
+    private int replayedRecords = 0;
+
+    private JournalStorage() {
+    }
+
+    public static JournalStorage getInstance() {
+        if (instance == null) {
+            instance = new JournalStorage();
+        }
+        return instance;
+    }
+
+    @Override
+    public void save(ArrayList<TaskObject> newTaskList) throws IOException {
+        String filePath = FileStorage.getSavePath();
+        if (!filePath.equals(storedPath) || !Files.exists(Paths.get(filePath))
+                || hasDuplicateTaskId(newTaskList)) {
+            compact(newTaskList, filePath);
+            return;
+        }
+        ArrayList<Integer> newOrder = new ArrayList<Integer>();
+        ArrayList<JournalRecord> records = getChanges(newTaskList, newOrder);
+        if (records.isEmpty()) {
+            return;
+        }
+        // The snapshot record is not a change, so it is not counted towards compaction
+        journalSize += records.size();
+        if (!Files.exists(Paths.get(getJournalPath(filePath)))) {
+            records.add(0, JournalRecord.snapshot(getSnapshotDigest(filePath)));
+        }
+        appendRecords(records, getJournalPath(filePath));
+        updateStoredTasks(records, newOrder);
+        if (journalSize >= Constants.JOURNAL_COMPACTION_THRESHOLD) {
+            compact(newTaskList, filePath);
+        }
+    }
+
+    @Override
+    public ArrayList<TaskObject> load()
+            throws InvalidPathException, FileNotFoundException, IOException , JsonSyntaxException {
+        String filePath = null;
+        try {
+            filePath = FilePath.getCachedPath();
+        } catch (FileNotFoundException e) {
+            return new ArrayList<TaskObject>();
+        }
+        ArrayList<TaskObject> taskList = load(filePath);
+        setStoredTasks(taskList, filePath);
+        journalSize = replayedRecords;
+        return taskList;
+    }
+
+    @Override
+    public ArrayList<TaskObject> load(String filePath)
+            throws InvalidPathException, FileNotFoundException, IOException, JsonSyntaxException {
+        if (!FilePath.pathValid(filePath)) {
+            throw new InvalidPathException(filePath, "Invalid Directory");
+        }
+        ArrayList<TaskObject> snapshot = TaskData.readTasksOfAnyFormat(filePath);
+        return replayJournal(snapshot, filePath);
+    }
+
+    @Override
+    public ArrayList<TaskObject> loadBackup() throws InvalidPathException,
+            JsonSyntaxException, FileNotFoundException, IOException {
+        return load(Constants.FILEPATH_BACKUP_DATA.toString());
+    }
+
+    @Override
+    public String createCopy(String directory , String fileName)
+            throws InvalidPathException ,IOException  {
+        if (!FilePath.directoryValid(directory)) {
+            throw new InvalidPathException(directory, "Invalid Directory");
+        }
+        ArrayList<TaskObject> taskList = load();
+        return FileStorage.writeNewTxtFile(directory, fileName, taskList);
+    }
+
+    @Override
+    public void changeSaveLocation (String directory)
+            throws InvalidPathException, IOException {
+        if (!FilePath.directoryValid(directory)) {
+            throw new InvalidPathException(directory, "Invalid Directory");
+        }
+        ArrayList<TaskObject> taskList = load();
+        try {
+            deleteExistingSave();
+        } catch (FileNotFoundException e) {
+            //No existing Saved File to delete
+        }
+        FilePath.changePreferedDirectory(directory);
+        save(taskList);
+    }
+
+    /**
+     * Writes the whole task list to the data file and the backup file, and clears the journal.
+     */
+    private void compact(ArrayList<TaskObject> taskList, String filePath) throws IOException {
+        Logger logger = AtfLogger.getLogger();
+        TaskData.writeTasks(taskList, filePath);
+        FileStorage.copyToBackup(filePath, false);
+        Files.deleteIfExists(Paths.get(getJournalPath(filePath)));
+        setStoredTasks(taskList, filePath);
+        journalSize = 0;
+        logger.info(String.format(Constants.LOG_JOURNAL_COMPACTED, filePath));
+    }
+
+    /**
+     * Compares the task list with the stored tasks and creates the records needed to bring
+     * the stored tasks up to date. The order of taskIds in the task list is written into
+     * <code>newOrder</code>.
+     */
+    private ArrayList<JournalRecord> getChanges(ArrayList<TaskObject> taskList,
+            ArrayList<Integer> newOrder) {
+        ArrayList<JournalRecord> records = new ArrayList<JournalRecord>();
+        HashSet<Integer> newTaskIds = new HashSet<Integer>();
+        ArrayList<Integer> addedTaskIds = new ArrayList<Integer>();
+        for (int i = 0; i < taskList.size(); i++) {
+            TaskObject task = taskList.get(i);
+            int taskId = task.getTaskId();
+            newTaskIds.add(taskId);
+            newOrder.add(taskId);
+            TaskObject storedTask = storedTasks.get(taskId);
+            if (storedTask == null) {
+                records.add(JournalRecord.add(task));
+                addedTaskIds.add(taskId);
+            } else if (isOnlyStatusChanged(storedTask, task)) {
+                records.add(JournalRecord.status(taskId, task.getStatus()));
+            } else if (!storedTask.hasSameDetails(task)) {
+                records.add(JournalRecord.edit(task));
+            }
+        }
+
+        // Order the tasks would be replayed in without an order record
+        ArrayList<Integer> replayedOrder = new ArrayList<Integer>();
+        for (int i = 0; i < storedOrder.size(); i++) {
+            int taskId = storedOrder.get(i);
+            if (newTaskIds.contains(taskId)) {
+                replayedOrder.add(taskId);
+            } else {
+                records.add(JournalRecord.delete(taskId));
+            }
+        }
+        replayedOrder.addAll(addedTaskIds);
+        if (!replayedOrder.equals(newOrder)) {
+            ArrayList<JournalRecord> moves = getMoves(replayedOrder, newOrder);
+            if (moves.size() * MOVED_TASKS_PER_ORDER_RECORD > newOrder.size()) {
+                records.add(JournalRecord.order(newOrder));
+            } else {
+                records.addAll(moves);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Creates the records moving tasks from their place in <code>replayedOrder</code> to 
+     * their place in <code>newOrder</code>. The longest run of tasks which are in the same
+     * order in both stays in place, and every other task is moved after the task before it in
+     * <code>newOrder</code>. The moves follow <code>newOrder</code>, so that the task each 
+     * task is moved after is already in its place.
+     */
+    private ArrayList<JournalRecord> getMoves(ArrayList<Integer> replayedOrder,
+            ArrayList<Integer> newOrder) {
+        HashMap<Integer, Integer> replayedPositions = new HashMap<Integer, Integer>();
+        for (int i = 0; i < replayedOrder.size(); i++) {
+            replayedPositions.put(replayedOrder.get(i), i);
+        }
+        int size = newOrder.size();
+        // Longest increasing run of replayed positions, with the index in newOrder of the
+        // last task of the best run of each length and the task before each task in its run
+        int[] runEnds = new int[size];
+        int[] previous = new int[size];
+        int runLength = 0;
+        for (int i = 0; i < size; i++) {
+            int position = replayedPositions.get(newOrder.get(i));
+            int low = 0;
+            int high = runLength;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (replayedPositions.get(newOrder.get(runEnds[middle])) < position) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? runEnds[low - 1] : -1;
+            runEnds[low] = i;
+            if (low == runLength) {
+                runLength++;
+            }
+        }
+        boolean[] isKept = new boolean[size];
+        for (int i = runLength > 0 ? runEnds[runLength - 1] : -1; i != -1; i = previous[i]) {
+            isKept[i] = true;
+        }
+        ArrayList<JournalRecord> moves = new ArrayList<JournalRecord>();
+        for (int i = 0; i < size; i++) {
+            if (!isKept[i]) {
+                moves.add(JournalRecord.move(newOrder.get(i), i > 0 ? newOrder.get(i - 1) : null));
+            }
+        }
+        return moves;
+    }
+
+    private boolean isOnlyStatusChanged(TaskObject storedTask, TaskObject task) {
+        String storedStatus = storedTask.getStatus();
+        if (storedStatus.equals(task.getStatus())) {
+            return false;
+        }
+        // Stored tasks are private copies, so the status can be swapped in for the comparison
+        storedTask.setStatus(task.getStatus());
+        boolean isSameOtherwise = storedTask.hasSameDetails(task);
+        storedTask.setStatus(storedStatus);
+        return isSameOtherwise;
+    }
+
+    private void appendRecords(ArrayList<JournalRecord> records, String journalPath)
+            throws IOException {
+        Logger logger = AtfLogger.getLogger();
+        BufferedWriter writer = new BufferedWriter(new FileWriter(journalPath, true));
+        Gson gson = new Gson();
+        for (int i = 0; i < records.size(); i++) {
+            writer.write(gson.toJson(records.get(i)) + NEW_LINE);
+        }
+        writer.close();
+        logger.info(String.format(Constants.LOG_JOURNAL_APPENDED, records.size(), journalPath));
+    }
+
+    private void updateStoredTasks(ArrayList<JournalRecord> records, ArrayList<Integer> newOrder) {
+        for (int i = 0; i < records.size(); i++) {
+            JournalRecord record = records.get(i);
+            switch (record.getOperation()) {
+                case JournalRecord.OPERATION_ADD :
+                case JournalRecord.OPERATION_EDIT :
+                    storedTasks.put(record.getTaskId(), new TaskObject(record.getTask()));
+                    break;
+                case JournalRecord.OPERATION_STATUS :
+                    storedTasks.get(record.getTaskId()).setStatus(record.getStatus());
+                    break;
+                case JournalRecord.OPERATION_DELETE :
+                    storedTasks.remove(record.getTaskId());
+                    break;
+                default :
+                    break;
+            }
+        }
+        storedOrder = newOrder;
+    }
+
+    private void setStoredTasks(ArrayList<TaskObject> taskList, String filePath) {
+        storedTasks.clear();
+        storedOrder = new ArrayList<Integer>();
+        if (taskList != null) {
+            for (int i = 0; i < taskList.size(); i++) {
+                TaskObject task = taskList.get(i);
+                storedTasks.put(task.getTaskId(), new TaskObject(task));
+                storedOrder.add(task.getTaskId());
+            }
+        }
+        storedPath = filePath;
+        snapshotDigest = null;
+    }
+
+    private String getSnapshotDigest(String filePath) throws IOException {
+        if (snapshotDigest == null) {
+            snapshotDigest = digest(Paths.get(filePath));
+        }
+        return snapshotDigest;
+    }
+
+    // Returns the digest of the file, or null if there is no file
+    private static String digest(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            return Base64.getEncoder().encodeToString(digest.digest(Files.readAllBytes(path)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support the algorithm
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Applies the records in the journal beside the data file at the specified path, if any,
+     * to the tasks read from the snapshot. Replaying stops at the first record which is 
+     * incomplete or cannot be read, such as a record left behind if the program stopped while
+     * appending to it. The journal is then cut short after the last record replayed, as 
+     * records appended after an incomplete record would otherwise be joined onto it and lost.
+     * A journal started on another data file is deleted without being replayed.
+     */
+    private ArrayList<TaskObject> replayJournal(ArrayList<TaskObject> snapshot, String filePath)
+            throws IOException {
+        replayedRecords = 0;
+        String journalPath = getJournalPath(filePath);
+        Path path = Paths.get(journalPath);
+        if (!Files.exists(path)) {
+            return snapshot;
+        }
+        Logger logger = AtfLogger.getLogger();
+        LinkedHashMap<Integer, TaskObject> tasks = new LinkedHashMap<Integer, TaskObject>();
+        if (snapshot != null) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                tasks.put(snapshot.get(i).getTaskId(), snapshot.get(i));
+            }
+        }
+        byte[] journal = Files.readAllBytes(path);
+        Gson gson = new Gson();
+        // Records are only complete once the new line after them has been written
+        int replayedLength = 0;
+        int lineEnd = indexOfNewLine(journal, replayedLength);
+        while (lineEnd != -1) {
+            String line = new String(journal, replayedLength, lineEnd - replayedLength,
+                    Charset.defaultCharset());
+            JournalRecord record;
+            try {
+                record = gson.fromJson(line, JournalRecord.class);
+            } catch (JsonParseException e) {
+                break;
+            }
+            if (record != null) {
+                if (record.getOperation() == null) {
+                    break;
+                }
+                if (record.getOperation().equals(JournalRecord.OPERATION_SNAPSHOT)) {
+                    if (!Objects.equals(record.getSnapshot(), digest(Paths.get(filePath)))) {
+                        Files.delete(path);
+                        logger.warning(String.format(Constants.LOG_JOURNAL_STALE, journalPath));
+                        return snapshot;
+                    }
+                } else {
+                    replayedRecords++;
+                }
+                tasks = applyRecord(tasks, record);
+            }
+            replayedLength = lineEnd + 1;
+            lineEnd = indexOfNewLine(journal, replayedLength);
+        }
+        if (replayedLength < journal.length) {
+            truncate(path, replayedLength);
+            logger.warning(String.format(Constants.LOG_JOURNAL_TRUNCATED, journalPath));
+        }
+        logger.info(String.format(Constants.LOG_LOADED, journalPath));
+        return new ArrayList<TaskObject>(tasks.values());
+    }
+
+    private static int indexOfNewLine(byte[] journal, int start) {
+        for (int i = start; i < journal.length; i++) {
+            if (journal[i] == NEW_LINE_BYTE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void truncate(Path path, long length) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(length);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private LinkedHashMap<Integer, TaskObject> applyRecord(LinkedHashMap<Integer, TaskObject> tasks,
+            JournalRecord record) {
+        switch (record.getOperation()) {
+            case JournalRecord.OPERATION_ADD :
+            case JournalRecord.OPERATION_EDIT :
+                tasks.put(record.getTaskId(), record.getTask());
+                break;
+            case JournalRecord.OPERATION_STATUS :
+                if (tasks.containsKey(record.getTaskId())) {
+                    tasks.get(record.getTaskId()).setStatus(record.getStatus());
+                }
+                break;
+            case JournalRecord.OPERATION_DELETE :
+                tasks.remove(record.getTaskId());
+                break;
+            case JournalRecord.OPERATION_ORDER :
+                LinkedHashMap<Integer, TaskObject> orderedTasks =
+                        new LinkedHashMap<Integer, TaskObject>();
+                ArrayList<Integer> order = record.getOrder();
+                for (int i = 0; i < order.size(); i++) {
+                    if (tasks.containsKey(order.get(i))) {
+                        orderedTasks.put(order.get(i), tasks.get(order.get(i)));
+                    }
+                }
+                return orderedTasks;
+            case JournalRecord.OPERATION_MOVE :
+                return moveTask(tasks, record.getTaskId(), record.getAfterTaskId());
+            default :
+                break;
+        }
+        return tasks;
+    }
+
+    private LinkedHashMap<Integer, TaskObject> moveTask(LinkedHashMap<Integer, TaskObject> tasks,
+            int taskId, Integer afterTaskId) {
+        TaskObject movedTask = tasks.get(taskId);
+        if (movedTask == null) {
+            return tasks;
+        }
+        LinkedHashMap<Integer, TaskObject> movedTasks = new LinkedHashMap<Integer, TaskObject>();
+        if (afterTaskId == null) {
+            movedTasks.put(taskId, movedTask);
+        }
+        for (Map.Entry<Integer, TaskObject> entry : tasks.entrySet()) {
+            if (entry.getKey() != taskId) {
+                movedTasks.put(entry.getKey(), entry.getValue());
+                if (afterTaskId != null && entry.getKey().equals(afterTaskId)) {
+                    movedTasks.put(taskId, movedTask);
+                }
+            }
+        }
+        // The task stays last if the task it is placed after is missing
+        movedTasks.put(taskId, movedTask);
+        return movedTasks;
+    }
+
+    private boolean hasDuplicateTaskId(ArrayList<TaskObject> taskList) {
+        HashSet<Integer> taskIds = new HashSet<Integer>();
+        for (int i = 0; i < taskList.size(); i++) {
+            if (!taskIds.add(taskList.get(i).getTaskId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void deleteExistingSave() throws FileNotFoundException, IOException {
+        String filePath = FilePath.getPath();
+        Files.deleteIfExists(Paths.get(filePath));
+        Files.deleteIfExists(Paths.get(getJournalPath(filePath)));
+        storedPath = null;
+    }
+
+    private static String getJournalPath(String filePath) {
+        return filePath + Constants.SUFFIX_JOURNAL;
+    }
+
+}
@@ -0,0 +1,418 @@
+package storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+import common.AtfLogger;
+import common.TaskObject;
+import common.TaskStatus;
+
+/**
+ * Implementation of the APIs of the Storage component which splits the tasks into several
+ * shard files, and only rewrites the shards which have changed on every save.
+ * <p>
+ * The shards are kept in a directory beside the data file. Tasks which are not completed are
+ * kept in the active shard. Completed tasks are archived in one shard per month of their start
+ * date, and completed tasks without a date in the undated shard. Completed tasks are rarely
+ * changed, so most saves only rewrite the active shard.
+ * <p>
+ * Loading reads the active shard followed by the archive shards in order of month, which is
+ * the order of a task list sorted by status and date. Every shard is read, as Logic keeps all
+ * tasks, including completed ones, in its task list. If the shard directory does not exist,
+ * tasks are loaded from the data file, and the first save moves them into shards.
+ * <p>
+ * A save which changes several shards, such as one which completes a task and so moves it
+ * from the active shard into an archive shard, writes each changed shard to a pending file
+ * first. A commit file listing the shards written and deleted is then written in a single
+ * atomic move, after which the pending files replace the shards. If the program stops before
+ * the commit file is written, the pending files are discarded and the previous shards are
+ * kept. If it stops after, the next load or save completes replacing the shards, so the shards
+ * never hold a task twice or lose a task moved between them.
+ */
+public class ShardedStorage implements IStorage {
+
+    private static ShardedStorage instance = null;
+
+    // Copies of the tasks as currently stored in each shard, keyed by the name of the shard file
+    private HashMap<String, ArrayList<TaskObject>> storedShards =
+            new HashMap<String, ArrayList<TaskObject>>();
+    // Shard directory the stored shards belong to, null if the stored shards are unknown
+    private Path storedDirectory = null;
+    private int savesSinceBackup = 0;
+
+    private ShardedStorage() {
+    }
+
+    public static ShardedStorage getInstance() {
+        if (instance == null) {
+            instance = new ShardedStorage();
+        }
+        return instance;
+    }
+
+    @Override
+    public void save(ArrayList<TaskObject> newTaskList) throws IOException {
+        Path directory = getShardDirectory(FileStorage.getSavePath());
+        TreeMap<String, ArrayList<TaskObject>> newShards = splitIntoShards(newTaskList);
+        // A commit left by a failed save means the stored shards are no longer known
+        if (!directory.equals(storedDirectory) || !Files.isDirectory(directory)
+                || Files.exists(directory.resolve(Constants.FILENAME_SHARD_COMMIT))) {
+            Files.createDirectories(directory);
+            recoverCommit(directory);
+            storedShards = readStoredShardNames(directory);
+            storedDirectory = directory;
+        }
+        Logger logger = AtfLogger.getLogger();
+        ShardCommit commit = new ShardCommit();
+        for (Map.Entry<String, ArrayList<TaskObject>> shard : newShards.entrySet()) {
+            if (!isSameTasks(shard.getValue(), storedShards.get(shard.getKey()))) {
+                TaskData.writeTasks(shard.getValue(), 
+                        getPendingPath(directory, shard.getKey()).toString());
+                commit.written.add(shard.getKey());
+            }
+        }
+        Iterator<String> storedNames = storedShards.keySet().iterator();
+        while (storedNames.hasNext()) {
+            String name = storedNames.next();
+            if (!newShards.containsKey(name)) {
+                commit.deleted.add(name);
+            }
+        }
+        if (!commit.written.isEmpty() || !commit.deleted.isEmpty()) {
+            writeCommit(directory, commit);
+            applyCommit(directory, commit);
+        }
+        storedShards = copyShards(newShards);
+        logger.info(String.format(Constants.LOG_SHARDS_SAVED, 
+                commit.written.size() + commit.deleted.size(), directory));
+
+        savesSinceBackup++;
+        if (savesSinceBackup >= Constants.BACKUP_SAVE_LIMIT
+                || !Files.exists(Constants.FILEPATH_BACKUP_DATA)) {
+            TaskData.writeTasks(newTaskList, Constants.FILEPATH_BACKUP_DATA.toString());
+            savesSinceBackup = 0;
+        }
+    }
+
+    @Override
+    public ArrayList<TaskObject> load()
+            throws InvalidPathException, FileNotFoundException, IOException , JsonSyntaxException {
+        String filePath = null;
+        try {
+            filePath = FilePath.getCachedPath();
+        } catch (FileNotFoundException e) {
+            return new ArrayList<TaskObject>();
+        }
+        Path directory = getShardDirectory(filePath);
+        if (!Files.isDirectory(directory)) {
+            storedDirectory = null;
+            return load(filePath);
+        }
+        recoverCommit(directory);
+        TreeMap<String, ArrayList<TaskObject>> shards = readShards(directory);
+        storedShards = copyShards(shards);
+        storedDirectory = directory;
+        return joinShards(shards);
+    }
+
+    @Override
+    public ArrayList<TaskObject> load(String filePath)
+            throws InvalidPathException, FileNotFoundException, IOException, JsonSyntaxException {
+        if (!FilePath.pathValid(filePath)) {
+            throw new InvalidPathException(filePath, "Invalid Directory");
+        }
+        return TaskData.readTasksOfAnyFormat(filePath);
+    }
+
+    @Override
+    public ArrayList<TaskObject> loadBackup() throws InvalidPathException,
+            JsonSyntaxException, FileNotFoundException, IOException {
+        return load(Constants.FILEPATH_BACKUP_DATA.toString());
+    }
+
+    @Override
+    public String createCopy(String directory , String fileName)
+            throws InvalidPathException ,IOException  {
+        if (!FilePath.directoryValid(directory)) {
+            throw new InvalidPathException(directory, "Invalid Directory");
+        }
+        ArrayList<TaskObject> taskList = load();
+        return FileStorage.writeNewTxtFile(directory, fileName, taskList);
+    }
+
+    @Override
+    public void changeSaveLocation (String directory)
+            throws InvalidPathException, IOException {
+        if (!FilePath.directoryValid(directory)) {
+            throw new InvalidPathException(directory, "Invalid Directory");
+        }
+        ArrayList<TaskObject> taskList = load();
+        try {
+            deleteExistingSave();
+        } catch (FileNotFoundException e) {
+            //No existing Saved File to delete
+        }
+        FilePath.changePreferedDirectory(directory);
+        save(taskList);
+    }
+
+    /**
+     * Returns the name of the shard file which the task is stored in.
+     */
+    static String getShardName(TaskObject task) {
+        if (task.getStatusType() != TaskStatus.COMPLETED) {
+            return Constants.FILENAME_SHARD_ACTIVE;
+        }
+        LocalDateTime startDateTime = task.getStartDateTime();
+        if (startDateTime == null || startDateTime.equals(LocalDateTime.MAX)) {
+            return Constants.FILENAME_SHARD_UNDATED;
+        }
+        return String.format(Constants.FORMAT_SHARD_MONTH, startDateTime.getYear(),
+                startDateTime.getMonthValue());
+    }
+
+    // Reads every shard in the directory, in the order the tasks are loaded
+    private TreeMap<String, ArrayList<TaskObject>> readShards(Path directory)
+            throws IOException, JsonSyntaxException {
+        TreeMap<String, ArrayList<TaskObject>> shards = new TreeMap<String, ArrayList<TaskObject>>();
+        DirectoryStream<Path> files = Files.newDirectoryStream(directory);
+        try {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (isShardName(name)) {
+                    ArrayList<TaskObject> tasks = TaskData.readTasksOfAnyFormat(file.toString());
+                    shards.put(name, tasks == null ? new ArrayList<TaskObject>() : tasks);
+                }
+            }
+        } finally {
+            files.close();
+        }
+        return orderShards(shards);
+    }
+
+    private static boolean isShardName(String name) {
+        return name.equals(Constants.FILENAME_SHARD_ACTIVE)
+                || name.equals(Constants.FILENAME_SHARD_UNDATED) || getShardMonth(name) != null;
+    }
+
+    private static YearMonth getShardMonth(String name) {
+        String prefix = Constants.FORMAT_SHARD_MONTH.substring(0,
+                Constants.FORMAT_SHARD_MONTH.indexOf('%'));
+        String suffix = Constants.FORMAT_SHARD_MONTH.substring(
+                Constants.FORMAT_SHARD_MONTH.lastIndexOf('d') + 1);
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+            return null;
+        }
+        String month = name.substring(prefix.length(), name.length() - suffix.length());
+        try {
+            return YearMonth.parse(month);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // Splits the task list into shards, keeping the order of the tasks within each shard
+    private TreeMap<String, ArrayList<TaskObject>> splitIntoShards(ArrayList<TaskObject> taskList) {
+        TreeMap<String, ArrayList<TaskObject>> shards = new TreeMap<String, ArrayList<TaskObject>>();
+        for (int i = 0; i < taskList.size(); i++) {
+            String name = getShardName(taskList.get(i));
+            ArrayList<TaskObject> shard = shards.get(name);
+            if (shard == null) {
+                shard = new ArrayList<TaskObject>();
+                shards.put(name, shard);
+            }
+            shard.add(taskList.get(i));
+        }
+        return orderShards(shards);
+    }
+
+    // Orders the shards as active, archive shards by month, then undated
+    private TreeMap<String, ArrayList<TaskObject>> orderShards(
+            TreeMap<String, ArrayList<TaskObject>> shards) {
+        TreeMap<String, ArrayList<TaskObject>> orderedShards =
+                new TreeMap<String, ArrayList<TaskObject>>(new ShardOrder());
+        orderedShards.putAll(shards);
+        return orderedShards;
+    }
+
+    private ArrayList<TaskObject> joinShards(TreeMap<String, ArrayList<TaskObject>> shards) {
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
+        for (ArrayList<TaskObject> shard : shards.values()) {
+            taskList.addAll(shard);
+        }
+        return taskList;
+    }
+
+    // Shards already in the directory are treated as changed, so that every shard is written
+    private HashMap<String, ArrayList<TaskObject>> readStoredShardNames(Path directory)
+            throws IOException {
+        HashMap<String, ArrayList<TaskObject>> shards = new HashMap<String, ArrayList<TaskObject>>();
+        DirectoryStream<Path> files = Files.newDirectoryStream(directory);
+        try {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (isShardName(name)) {
+                    shards.put(name, null);
+                }
+            }
+        } finally {
+            files.close();
+        }
+        return shards;
+    }
+
+    private HashMap<String, ArrayList<TaskObject>> copyShards(
+            Map<String, ArrayList<TaskObject>> shards) {
+        HashMap<String, ArrayList<TaskObject>> copy = new HashMap<String, ArrayList<TaskObject>>();
+        for (Map.Entry<String, ArrayList<TaskObject>> shard : shards.entrySet()) {
+            ArrayList<TaskObject> tasks = new ArrayList<TaskObject>(shard.getValue().size());
+            for (int i = 0; i < shard.getValue().size(); i++) {
+                tasks.add(new TaskObject(shard.getValue().get(i)));
+            }
+            copy.put(shard.getKey(), tasks);
+        }
+        return copy;
+    }
+
+    private boolean isSameTasks(ArrayList<TaskObject> tasks, ArrayList<TaskObject> storedTasks) {
+        if (storedTasks == null || tasks.size() != storedTasks.size()) {
+            return false;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            if (!tasks.get(i).hasSameDetails(storedTasks.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void deleteExistingSave() throws FileNotFoundException, IOException {
+        String filePath = FilePath.getPath();
+        Path directory = getShardDirectory(filePath);
+        if (Files.isDirectory(directory)) {
+            recoverCommit(directory);
+            DirectoryStream<Path> files = Files.newDirectoryStream(directory);
+            try {
+                for (Path file : files) {
+                    if (isShardName(file.getFileName().toString())) {
+                        Files.delete(file);
+                    }
+                }
+            } finally {
+                files.close();
+            }
+            Files.deleteIfExists(directory);
+        }
+        Files.deleteIfExists(Paths.get(filePath));
+        storedDirectory = null;
+    }
+
+    private static Path getShardDirectory(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().resolveSibling(Constants.DIRECTORY_SHARDS);
+    }
+
+    private static Path getPendingPath(Path directory, String name) {
+        return directory.resolve(name + Constants.SUFFIX_SHARD_PENDING);
+    }
+
+    private static void writeCommit(Path directory, final ShardCommit commit) throws IOException {
+        Path commitPath = directory.resolve(Constants.FILENAME_SHARD_COMMIT);
+        AtomicFile.write(commitPath.toString(), new AtomicFile.Content() {
+            @Override
+            public void writeTo(OutputStream output) throws IOException {
+                Writer writer = new OutputStreamWriter(output, Charset.defaultCharset());
+                new Gson().toJson(commit, writer);
+                writer.flush();
+            }
+        }, false);
+    }
+
+    // Replaces the shards written by the commit with their pending files and deletes the shards
+    // deleted by it. Shards already replaced by an earlier attempt have no pending file left.
+    private static void applyCommit(Path directory, ShardCommit commit) throws IOException {
+        for (int i = 0; i < commit.written.size(); i++) {
+            Path pendingPath = getPendingPath(directory, commit.written.get(i));
+            if (Files.exists(pendingPath)) {
+                AtomicFile.replace(pendingPath, directory.resolve(commit.written.get(i)), false);
+            }
+        }
+        for (int i = 0; i < commit.deleted.size(); i++) {
+            Files.deleteIfExists(directory.resolve(commit.deleted.get(i)));
+        }
+        Files.delete(directory.resolve(Constants.FILENAME_SHARD_COMMIT));
+    }
+
+    // Completes a save which stopped after writing its commit file, and discards the pending
+    // files of a save which stopped before writing it
+    private static void recoverCommit(Path directory) throws IOException, JsonSyntaxException {
+        Path commitPath = directory.resolve(Constants.FILENAME_SHARD_COMMIT);
+        if (Files.exists(commitPath)) {
+            String json = new String(Files.readAllBytes(commitPath), Charset.defaultCharset());
+            ShardCommit commit = new Gson().fromJson(json, ShardCommit.class);
+            applyCommit(directory, commit == null ? new ShardCommit() : commit);
+            AtfLogger.getLogger().warning(String.format(Constants.LOG_SHARDS_RECOVERED, directory));
+        }
+        DirectoryStream<Path> files = Files.newDirectoryStream(directory, 
+                "*" + Constants.SUFFIX_SHARD_PENDING);
+        try {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        } finally {
+            files.close();
+        }
+    }
+
+    /**
+     * Names of the shards written and deleted by a save, written to the commit file.
+     */
+    private static class ShardCommit {
+        private ArrayList<String> written = new ArrayList<String>();
+        private ArrayList<String> deleted = new ArrayList<String>();
+    }
+
+    /**
+     * Orders shard names as the active shard, the archive shards by month, then the undated shard.
+     */
+    private static class ShardOrder implements Comparator<String> {
+        @Override
+        public int compare(String name1, String name2) {
+            int rankCompare = Integer.compare(getRank(name1), getRank(name2));
+            if (rankCompare != 0) {
+                return rankCompare;
+            }
+            return name1.compareTo(name2);
+        }
+
+        private int getRank(String name) {
+            if (name.equals(Constants.FILENAME_SHARD_ACTIVE)) {
+                return 0;
+            } else if (name.equals(Constants.FILENAME_SHARD_UNDATED)) {
+                return 2;
+            }
+            return 1;
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package storage;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import common.AtfLogger;
+
+/**
+ * Settings of the Storage component, read from the storage settings file in the program
+ * folder. Each line of the file holds one setting as <code>name=value</code>. Settings 
+ * missing from the file, or with a value which is not recognised, keep their defaults.
+ * <ul>
+ * <li><code>format</code>: <code>json</code> (default) or <code>binary</code>, the format
+ * of the data file written by saves. Data files in either format can always be read.
+ * <li><code>durability</code>: <code>none</code>, <code>on_exit</code> (default), 
+ * <code>every_save</code> or <code>interval</code>, when saves are forced onto the disk.
+ * <li><code>syncIntervalMs</code>: the longest time in milliseconds a save is left unforced
+ * with the <code>interval</code> durability level, <code>SYNC_INTERVAL_MS</code> by default.
+ * <li><code>backend</code>: <code>file</code> (default), <code>journal</code>, 
+ * <code>sharded</code> or <code>database</code>, where tasks are saved. <code>file</code> saves
+ * every task in the data file, while the others keep tasks beside it as described by 
+ * JournalStorage, ShardedStorage and DatabaseStorage. The format and durability settings only 
+ * apply to the data file.
+ * </ul>
+ */
+class StorageSettings {
+
+    private boolean isBinaryFormat = false;
+    private Durability durability = Durability.ON_EXIT;
+    private long syncIntervalMs = Constants.SYNC_INTERVAL_MS;
+    private String backend = Constants.SETTING_BACKEND_FILE;
+
+    private StorageSettings() {
+    }
+
+    /**
+     * Reads the storage settings file.
+     * @return The settings in the file, or the defaults if there is no such file.
+     * @throws IOException Error reading the storage settings file.
+     */
+    static StorageSettings read() throws IOException {
+        StorageSettings settings = new StorageSettings();
+        if (!Files.exists(Constants.FILEPATH_STORAGE_SETTINGS)) {
+            return settings;
+        }
+        Properties properties = new Properties();
+        InputStream input = new FileInputStream(Constants.FILEPATH_STORAGE_SETTINGS.toFile());
+        try {
+            properties.load(input);
+        } finally {
+            input.close();
+        }
+        String format = readSetting(properties, Constants.SETTING_FORMAT, 
+                Constants.SETTING_FORMAT_JSON, Constants.SETTING_FORMAT_BINARY);
+        settings.isBinaryFormat = Constants.SETTING_FORMAT_BINARY.equals(format);
+        String durability = readSetting(properties, Constants.SETTING_DURABILITY, 
+                getDurabilityNames());
+        if (durability != null) {
+            settings.durability = Durability.valueOf(durability.toUpperCase());
+        }
+        long syncIntervalMs = readPositiveNumber(properties, Constants.SETTING_SYNC_INTERVAL);
+        if (syncIntervalMs > 0) {
+            settings.syncIntervalMs = syncIntervalMs;
+        }
+        String backend = readSetting(properties, Constants.SETTING_BACKEND,
+                Constants.SETTING_BACKEND_FILE, Constants.SETTING_BACKEND_JOURNAL,
+                Constants.SETTING_BACKEND_SHARDED, Constants.SETTING_BACKEND_DATABASE);
+        if (backend != null) {
+            settings.backend = backend;
+        }
+        return settings;
+    }
+
+    boolean isBinaryFormat() {
+        return isBinaryFormat;
+    }
+
+    Durability getDurability() {
+        return durability;
+    }
+
+    long getSyncIntervalMs() {
+        return syncIntervalMs;
+    }
+
+    String getBackend() {
+        return backend;
+    }
+
+    /**
+     * Returns the storage which saves tasks with the named backend.
+     * @return The storage, or <code>null</code> for the <code>file</code> backend, which is
+     * FileStorage itself.
+     */
+    static IStorage getBackendStorage(String backend) {
+        if (Constants.SETTING_BACKEND_JOURNAL.equals(backend)) {
+            return JournalStorage.getInstance();
+        } else if (Constants.SETTING_BACKEND_SHARDED.equals(backend)) {
+            return ShardedStorage.getInstance();
+        } else if (Constants.SETTING_BACKEND_DATABASE.equals(backend)) {
+            return DatabaseStorage.getInstance();
+        }
+        return null;
+    }
+
+    private static String[] getDurabilityNames() {
+        Durability[] levels = Durability.values();
+        String[] names = new String[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            names[i] = levels[i].name().toLowerCase();
+        }
+        return names;
+    }
+
+    // Returns the value of the setting if it is a positive whole number, and 0 otherwise
+    private static long readPositiveNumber(Properties properties, String name) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            long number = Long.parseLong(value.trim());
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Logged below as an invalid value
+        }
+        Logger logger = AtfLogger.getLogger();
+        logger.warning(String.format(Constants.LOG_SETTING_INVALID, name, value));
+        return 0;
+    }
+
+    // Returns the value of the setting if it is one of the values given, ignoring case, and
+    // null otherwise
+    private static String readSetting(Properties properties, String name, String... values) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return null;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equalsIgnoreCase(value.trim())) {
+                return values[i];
+            }
+        }
+        Logger logger = AtfLogger.getLogger();
+        logger.warning(String.format(Constants.LOG_SETTING_INVALID, name, value));
+        return null;
+    }
+}
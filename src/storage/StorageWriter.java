@@ -0,0 +1,195 @@
+package storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+import common.AtfLogger;
+import common.TaskObject;
+
+/**
+ * Background writer used by FileStorage when saving in write-behind mode.
+ * <p>
+ * A single thread writes task lists to disk. Task lists submitted while a write is pending
+ * replace the pending list, so a burst of saves, such as the save after adding a task and
+ * the save after sorting the task list, results in a single write of the latest list.
+ * <p>
+ * Submitted task lists are not copied until they are about to be written, once
+ * <code>WRITE_BEHIND_DELAY_MS</code> have passed since the first save of the burst. The copy
+ * is made while holding the task list lock of FileStorage, so that the list is not changed
+ * while it is copied.
+ * <p>
+ * Copies may be taken both by the writer thread and by a thread flushing while it holds the
+ * task list lock, so each copy is tagged with the count of the submit it was taken for. Copies
+ * are written one at a time, and a copy older than the last one written is dropped instead of
+ * replacing the newer file on disk.
+ */
+class StorageWriter implements Runnable {
+
+    private static final String THREAD_NAME = "atf-storage-writer";
+
+    private FileStorage storage;
+    private Thread thread;
+
+    private ArrayList<TaskObject> pendingTaskList = null;
+    // Time by which the pending task list is written
+    private long writeDeadline = 0;
+    private long requestedCount = 0;
+    // Count of the latest submit waited for by a flush, written without waiting for the deadline
+    private long flushedCount = 0;
+    private long writtenCount = 0;
+    // Held while writing a copy, which is only written if it is newer than diskCount
+    private final Object diskLock = new Object();
+    private long diskCount = 0;
+    private IOException writeError = null;
+    private boolean isStopped = false;
+
+    StorageWriter(FileStorage storage) {
+        this.storage = storage;
+        thread = new Thread(this, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues the task list to be written, replacing any list still waiting to be written.
+     * The task list must only be changed while holding the task list lock of FileStorage
+     * after it has been submitted.
+     */
+    synchronized void submit(ArrayList<TaskObject> taskList) {
+        if (pendingTaskList == null) {
+            writeDeadline = System.currentTimeMillis() + Constants.WRITE_BEHIND_DELAY_MS;
+        }
+        pendingTaskList = taskList;
+        requestedCount++;
+        notifyAll();
+    }
+
+    /**
+     * Blocks until every task list submitted before this call has been written to disk.
+     * The pending task list is written by the calling thread if it holds the task list lock,
+     * as the writer thread cannot copy the list until the lock is released.
+     */
+    void flush() throws InterruptedException {
+        if (Thread.holdsLock(storage.getTaskListLock())) {
+            writePending();
+        }
+        synchronized (this) {
+            long targetCount = requestedCount;
+            flushedCount = targetCount;
+            notifyAll();
+            while (writtenCount < targetCount && !isStopped) {
+                wait();
+            }
+        }
+    }
+
+    /**
+     * Writes any pending task list and stops the writer thread.
+     */
+    void stop() throws InterruptedException {
+        flush();
+        synchronized (this) {
+            isStopped = true;
+            notifyAll();
+        }
+        thread.join();
+    }
+
+    /**
+     * Returns the error from the most recent failed write, and clears it.
+     * @return The error thrown while writing, <code>null</code> if no write has failed.
+     */
+    synchronized IOException pollWriteError() {
+        IOException error = writeError;
+        writeError = null;
+        return error;
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            synchronized (this) {
+                try {
+                    awaitWriteDue();
+                } catch (InterruptedException e) {
+                    isStopped = true;
+                    notifyAll();
+                    return;
+                }
+                if (pendingTaskList == null && isStopped) {
+                    return;
+                }
+            }
+            writePending();
+        }
+    }
+
+    // Waits until a task list is pending and either its deadline has passed or a flush is 
+    // waiting for it. Submits made in the meantime replace the pending list without moving
+    // the deadline.
+    private void awaitWriteDue() throws InterruptedException {
+        while (pendingTaskList == null && !isStopped) {
+            wait();
+        }
+        long remainingMs = writeDeadline - System.currentTimeMillis();
+        while (pendingTaskList != null && remainingMs > 0 && flushedCount < requestedCount
+                && !isStopped) {
+            wait(remainingMs);
+            remainingMs = writeDeadline - System.currentTimeMillis();
+        }
+    }
+
+    // Copies the pending task list while holding the task list lock and writes the copy.
+    // Returns at once if the pending list has already been taken by another thread.
+    private void writePending() {
+        Logger logger = AtfLogger.getLogger();
+        ArrayList<TaskObject> taskList;
+        long count;
+        IOException error = null;
+        synchronized (storage.getTaskListLock()) {
+            synchronized (this) {
+                if (pendingTaskList == null) {
+                    return;
+                }
+                taskList = pendingTaskList;
+                count = requestedCount;
+                pendingTaskList = null;
+            }
+            try {
+                taskList = storage.copyTaskList(taskList);
+            } catch (RuntimeException e) {
+                error = new IOException(e);
+            }
+        }
+        try {
+            if (error == null) {
+                writeIfNewer(taskList, count);
+            }
+        } catch (IOException e) {
+            error = e;
+        } catch (RuntimeException e) {
+            error = new IOException(e);
+        }
+        synchronized (this) {
+            if (error != null) {
+                writeError = error;
+                logger.warning(String.format(Constants.LOG_WRITE_BEHIND_FAILED, 
+                        error.getMessage()));
+            }
+            writtenCount = Math.max(writtenCount, count);
+            notifyAll();
+        }
+    }
+
+    // Writes the copy unless a copy taken for a later submit has already been written
+    private void writeIfNewer(ArrayList<TaskObject> taskList, long count) throws IOException {
+        synchronized (diskLock) {
+            if (count <= diskCount) {
+                return;
+            }
+            storage.writeToDisk(taskList);
+            diskCount = count;
+        }
+    }
+}
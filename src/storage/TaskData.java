@@ -3,12 +3,13 @@
 package storage;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
 import java.util.logging.Logger;
@@ -44,15 +45,36 @@ public class TaskData {
      */
     protected static void writeTasks(ArrayList<TaskObject> taskList, String filePath) 
             throws IOException {
+        writeTasks(taskList, filePath, false);
+    }
+
+    /**
+     * Creates a file at the specified path containing details of the tasks to be stored.
+     * The existing file at the specified path is replaced only once the new file has been
+     * completely written, so it is never left partly written.
+     * <p>
+     * @param taskList An <code>ArrayList</code> containing all the task objects to be
+     * stored into the file.
+     * @param filePath The file path of the file to be created.
+     * @param isForced <code>true</code> to force the file onto the disk before returning.
+     * @throws IOException Error writing to specified path.
+     */
+    static void writeTasks(final ArrayList<TaskObject> taskList, String filePath, 
+            boolean isForced) throws IOException {
         if(filePath == null) {
             throw new InvalidPathException("Saving to invalid Path", filePath);
         }
         Logger logger = AtfLogger.getLogger();
-        BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, false));
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        String json = gson.toJson(taskList);
-        writer.write(json + NEW_LINE);
-        writer.close();
+        AtomicFile.write(filePath, new AtomicFile.Content() {
+            @Override
+            public void writeTo(OutputStream output) throws IOException {
+                Writer writer = new OutputStreamWriter(output, Charset.defaultCharset());
+                Gson gson = new GsonBuilder().setPrettyPrinting().create();
+                gson.toJson(taskList, writer);
+                writer.write(NEW_LINE);
+                writer.flush();
+            }
+        }, isForced);
         logger.info(String.format(Constants.LOG_SAVED, filePath));
     }
     
@@ -76,7 +98,7 @@ public class TaskData {
         }
         Logger logger = AtfLogger.getLogger();
         ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
-        BufferedReader fileReader = new BufferedReader (new FileReader(filePath));
+        BufferedReader fileReader = new BufferedReader (DataFileInput.openReader(filePath));
         Type typeOfTaskList = new TypeToken<ArrayList<TaskObject>>(){}.getType();
         Gson gson = new Gson();
         taskList = gson.fromJson(fileReader, typeOfTaskList);
@@ -85,4 +107,25 @@ public class TaskData {
         return taskList;
     }
 
+    /**
+     * Reads from the file at the specified filePath, which may contain either tasks 
+     * serialized in Json or a binary snapshot written by <code>BinaryTaskData</code>.
+     * The format is detected from the start of the file.
+     * <p>
+     * @param filePath The path of the file containing the stored tasks information.
+     * @return An <code>ArrayList</code> containing all the task objects that are 
+     * read from the file. 
+     * @throws FileNotFoundException The specified file path does not exist.
+     * @throws IOException Error reading from existing file.
+     * @throws JsonSyntaxException The file is neither a binary snapshot nor contains tasks
+     * that are correctly represented in Json.
+     */
+    static ArrayList<TaskObject> readTasksOfAnyFormat(String filePath) 
+            throws FileNotFoundException, IOException, JsonSyntaxException {
+        if (filePath != null && BinaryTaskData.isBinary(filePath)) {
+            return BinaryTaskData.readTasks(filePath);
+        }
+        return readTasks(filePath);
+    }
+
 }
@@ -0,0 +1,468 @@
+package storage;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+import common.AtfLogger;
+import common.TaskObject;
+
+/**
+ * An embedded database of tasks kept in a single file, which is updated one task at a time.
+ * <p>
+ * The file is a log of records. Inserting or updating a task appends the task as a new record,
+ * deleting a task appends a delete record, and changing the order of the tasks appends an order
+ * record, so no change rewrites the tasks which have not changed. Every record carries a
+ * checksum, and an incomplete record at the end of the file, left behind if the program stopped
+ * while appending it, is dropped when the database is opened.
+ * <p>
+ * Every task is stored under a key chosen by the caller, so that tasks sharing a taskId can be
+ * stored side by side. Only the index is kept in memory. It maps the key of every task to the
+ * position of its latest record and a digest of the record, and is kept in the order of the
+ * tasks. The digest lets a task which has not changed be skipped without reading its record,
+ * although the task still has to be serialized to be compared. Once records which are no 
+ * longer used make up more than half of the file, the live records are written into a new 
+ * file which replaces it.
+ */
+public class TaskDatabase implements Closeable {
+
+    private static final byte[] MAGIC = { 'A', 'T', 'F', 'D' };
+    private static final byte VERSION = 1;
+
+    private static final byte RECORD_UPSERT = 1;
+    private static final byte RECORD_DELETE = 2;
+    private static final byte RECORD_ORDER = 3;
+    // Type, key or number of tasks, length of payload and checksum of payload
+    private static final int RECORD_HEADER_SIZE = 1 + 4 + 4 + 4;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private Path path;
+    private FileChannel channel;
+    private long endPosition;
+    private Gson gson = new Gson();
+
+    // Position of the latest record of every task by key, in the order of the tasks
+    private LinkedHashMap<Integer, IndexEntry> entries = new LinkedHashMap<Integer, IndexEntry>();
+    // Number of records in the file which are no longer used
+    private int unusedRecords = 0;
+    private boolean hasOrderRecord = false;
+
+    private TaskDatabase(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens the database in the file at the specified path, creating an empty database if
+     * the file does not exist, and reads the index of the tasks stored in it.
+     * <p>
+     * @param path The path of the database file.
+     * @return The opened database, which must be closed once it is no longer used.
+     * @throws IOException Error reading the file, or the file is not a database file.
+     */
+    public static TaskDatabase open(Path path) throws IOException {
+        TaskDatabase database = new TaskDatabase(path);
+        database.openChannel();
+        return database;
+    }
+
+    /**
+     * Inserts the task under the key, or replaces the task stored under it. Nothing is written
+     * if the stored task is the same as the task.
+     * <p>
+     * @param key The key the task is stored under.
+     * @param task The task to be stored.
+     * @return <code>true</code> if the task has been written.
+     * @throws IOException Error writing to the database file.
+     */
+    public synchronized boolean upsert(int key, TaskObject task) throws IOException {
+        byte[] payload = gson.toJson(task).getBytes(StandardCharsets.UTF_8);
+        byte[] digest = digest(payload);
+        IndexEntry storedEntry = entries.get(key);
+        if (storedEntry != null && Arrays.equals(storedEntry.digest, digest)) {
+            return false;
+        }
+        long position = appendRecord(RECORD_UPSERT, key, payload);
+        if (entries.put(key, new IndexEntry(position, payload.length, digest, task)) != null) {
+            unusedRecords++;
+        }
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Deletes the task stored under the key.
+     * <p>
+     * @param key The key of the task to be deleted.
+     * @return <code>true</code> if a task was stored under the key and has been deleted.
+     * @throws IOException Error writing to the database file.
+     */
+    public synchronized boolean delete(int key) throws IOException {
+        if (!entries.containsKey(key)) {
+            return false;
+        }
+        appendRecord(RECORD_DELETE, key, new byte[0]);
+        entries.remove(key);
+        // Both the delete record and the record of the deleted task are no longer used
+        unusedRecords += 2;
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Changes the order of the stored tasks. Keys which no task is stored under are ignored,
+     * and stored tasks missing from the order are placed after the other tasks.
+     * <p>
+     * @param keys The keys of the stored tasks in their new order.
+     * @throws IOException Error writing to the database file.
+     */
+    public synchronized void setOrder(ArrayList<Integer> keys) throws IOException {
+        if (getKeys().equals(keys)) {
+            return;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(4 * keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            payload.putInt(keys.get(i));
+        }
+        appendRecord(RECORD_ORDER, keys.size(), payload.array());
+        if (hasOrderRecord) {
+            unusedRecords++;
+        }
+        hasOrderRecord = true;
+        reorderEntries(keys);
+        compactIfNeeded();
+    }
+
+    /**
+     * Reads the task stored under the key.
+     * <p>
+     * @return The stored task, or <code>null</code> if no task is stored under the key.
+     * @throws IOException Error reading from the database file.
+     * @throws JsonSyntaxException The record of the task is not in the correct format.
+     */
+    public synchronized TaskObject get(int key) throws IOException, JsonSyntaxException {
+        IndexEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        return readTask(entry);
+    }
+
+    public synchronized boolean contains(int key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the keys of the stored tasks, in the order of the tasks.
+     */
+    public synchronized ArrayList<Integer> getKeys() {
+        return new ArrayList<Integer>(entries.keySet());
+    }
+
+    /**
+     * Returns the taskIds of the stored tasks, in the order of the tasks, without reading
+     * the tasks.
+     */
+    public synchronized ArrayList<Integer> getTaskIds() {
+        ArrayList<Integer> taskIds = new ArrayList<Integer>(entries.size());
+        for (IndexEntry entry : entries.values()) {
+            taskIds.add(entry.taskId);
+        }
+        return taskIds;
+    }
+
+    /**
+     * Reads all stored tasks, in the order of the tasks.
+     * <p>
+     * @throws IOException Error reading from the database file.
+     * @throws JsonSyntaxException The record of a task is not in the correct format.
+     */
+    public synchronized ArrayList<TaskObject> getAll() throws IOException, JsonSyntaxException {
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>(entries.size());
+        for (IndexEntry entry : entries.values()) {
+            taskList.add(readTask(entry));
+        }
+        return taskList;
+    }
+
+    /**
+     * Forces the records appended so far onto the disk.
+     * @throws IOException Error forcing the database file.
+     */
+    public synchronized void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getUnusedRecords() {
+        return unusedRecords;
+    }
+
+    private void openChannel() throws IOException {
+        boolean isNew = !Files.exists(path);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (isNew || channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1);
+                header.put(MAGIC).put(VERSION).flip();
+                writeFully(header, 0);
+                endPosition = header.capacity();
+            } else {
+                readIndexes();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Reads every record in the file to rebuild the index, and drops an incomplete record
+    // at the end of the file
+    private void readIndexes() throws IOException {
+        Logger logger = AtfLogger.getLogger();
+        long fileSize = channel.size();
+        DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(0))));
+        byte[] magic = new byte[MAGIC.length];
+        input.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC) || input.readByte() != VERSION) {
+            throw new IOException("Not a task database: " + path);
+        }
+        long position = MAGIC.length + 1;
+        CRC32 crc = new CRC32();
+        while (position < fileSize) {
+            byte type;
+            int key;
+            byte[] payload;
+            try {
+                type = input.readByte();
+                key = input.readInt();
+                int length = input.readInt();
+                int checksum = input.readInt();
+                if (length < 0 || position + RECORD_HEADER_SIZE + length > fileSize) {
+                    break;
+                }
+                payload = new byte[length];
+                input.readFully(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+            applyRecord(type, key, payload, position);
+            position += RECORD_HEADER_SIZE + payload.length;
+        }
+        if (position < fileSize) {
+            channel.truncate(position);
+            logger.warning(String.format(Constants.LOG_DATABASE_TRUNCATED, path));
+        }
+        endPosition = position;
+        logger.info(String.format(Constants.LOG_LOADED, path));
+    }
+
+    private void applyRecord(byte type, int key, byte[] payload, long position)
+            throws JsonSyntaxException {
+        switch (type) {
+            case RECORD_UPSERT :
+                TaskObject task = gson.fromJson(new String(payload, StandardCharsets.UTF_8),
+                        TaskObject.class);
+                IndexEntry entry = new IndexEntry(position, payload.length, digest(payload),
+                        task);
+                if (entries.put(key, entry) != null) {
+                    unusedRecords++;
+                }
+                break;
+            case RECORD_DELETE :
+                entries.remove(key);
+                unusedRecords += 2;
+                break;
+            case RECORD_ORDER :
+                ByteBuffer buffer = ByteBuffer.wrap(payload);
+                ArrayList<Integer> keys = new ArrayList<Integer>(key);
+                for (int i = 0; i < key; i++) {
+                    keys.add(buffer.getInt());
+                }
+                if (hasOrderRecord) {
+                    unusedRecords++;
+                }
+                hasOrderRecord = true;
+                reorderEntries(keys);
+                break;
+            default :
+                unusedRecords++;
+                break;
+        }
+    }
+
+    private long appendRecord(byte type, int key, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        record.put(type).putInt(key).putInt(payload.length).putInt((int) crc.getValue());
+        record.put(payload).flip();
+        long position = endPosition;
+        writeFully(record, position);
+        endPosition += record.capacity();
+        return position;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private byte[] readPayload(IndexEntry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        long position = entry.position + RECORD_HEADER_SIZE;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Incomplete record in: " + path);
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    private TaskObject readTask(IndexEntry entry) throws IOException, JsonSyntaxException {
+        return gson.fromJson(new String(readPayload(entry), StandardCharsets.UTF_8),
+                TaskObject.class);
+    }
+
+    private void reorderEntries(ArrayList<Integer> keys) {
+        LinkedHashMap<Integer, IndexEntry> orderedEntries =
+                new LinkedHashMap<Integer, IndexEntry>();
+        for (int i = 0; i < keys.size(); i++) {
+            IndexEntry entry = entries.get(keys.get(i));
+            if (entry != null) {
+                orderedEntries.put(keys.get(i), entry);
+            }
+        }
+        for (Map.Entry<Integer, IndexEntry> entry : entries.entrySet()) {
+            if (!orderedEntries.containsKey(entry.getKey())) {
+                orderedEntries.put(entry.getKey(), entry.getValue());
+            }
+        }
+        entries = orderedEntries;
+    }
+
+    private void compactIfNeeded() throws IOException {
+        if (unusedRecords >= Constants.DATABASE_COMPACTION_THRESHOLD
+                && unusedRecords > entries.size()) {
+            compact();
+        }
+    }
+
+    // Writes the latest record of every task, in the order of the tasks, into a new file which
+    // then replaces the database file. The database is opened again whether or not the new file
+    // was written, reading the index from whichever file is in place.
+    private void compact() throws IOException {
+        Logger logger = AtfLogger.getLogger();
+        final ArrayList<byte[]> payloads = new ArrayList<byte[]>(entries.size());
+        final ArrayList<Integer> keys = getKeys();
+        Iterator<IndexEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            payloads.add(readPayload(iterator.next()));
+        }
+        channel.close();
+        try {
+            writeCompacted(keys, payloads);
+        } finally {
+            entries.clear();
+            unusedRecords = 0;
+            hasOrderRecord = false;
+            openChannel();
+        }
+        logger.info(String.format(Constants.LOG_DATABASE_COMPACTED, path));
+    }
+
+    private void writeCompacted(final ArrayList<Integer> keys, final ArrayList<byte[]> payloads)
+            throws IOException {
+        AtomicFile.write(path.toString(), new AtomicFile.Content() {
+            @Override
+            public void writeTo(OutputStream output) throws IOException {
+                DataOutputStream dataOutput = new DataOutputStream(output);
+                dataOutput.write(MAGIC);
+                dataOutput.writeByte(VERSION);
+                CRC32 crc = new CRC32();
+                for (int i = 0; i < payloads.size(); i++) {
+                    crc.reset();
+                    crc.update(payloads.get(i));
+                    dataOutput.writeByte(RECORD_UPSERT);
+                    dataOutput.writeInt(keys.get(i));
+                    dataOutput.writeInt(payloads.get(i).length);
+                    dataOutput.writeInt((int) crc.getValue());
+                    dataOutput.write(payloads.get(i));
+                }
+                dataOutput.flush();
+            }
+        }, false);
+    }
+
+    private static byte[] digest(byte[] payload) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(payload);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support the algorithm
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The position and digest of the latest record of a task in the database file, and the
+     * taskId of the task.
+     */
+    private static class IndexEntry {
+        private final long position;
+        private final int length;
+        private final byte[] digest;
+        private final int taskId;
+
+        private IndexEntry(long position, int length, byte[] digest, TaskObject task) {
+            this.position = position;
+            this.length = length;
+            this.digest = digest;
+            this.taskId = task.getTaskId();
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package storage;
+
+import common.TaskObject;
+
+/**
+ * Receives tasks one at a time as they are read from a data file by
+ * {@link FileStorage#load(TaskLoadListener)}.
+ */
+public interface TaskLoadListener {
+
+    /**
+     * Called for every task in the data file, in the order the tasks are stored.
+     * @param task The task that has just been read.
+     */
+    void taskLoaded(TaskObject task);
+
+}
@@ -0,0 +1,141 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import common.TaskObject;
+
+/**
+ * Reads the tasks in a data file one at a time, without first reading the whole file.
+ * Both data files in Json and binary snapshots are supported.
+ * <p>
+ * Errors while reading tasks are thrown as the unchecked <code>JsonSyntaxException</code> for
+ * badly formatted files and <code>JsonIOException</code> for other read errors. The stream
+ * must be closed once it is no longer used.
+ */
+public class TaskStream implements Iterator<TaskObject>, Closeable {
+
+    private Closeable source;
+
+    // Set when reading Json
+    private JsonReader jsonReader = null;
+    private Gson gson = null;
+
+    // Set when reading a binary snapshot
+    private DataInputStream binaryInput = null;
+    private String[] pool = null;
+    private int remainingTasks = 0;
+
+    private TaskStream() {
+    }
+
+    /**
+     * Opens the data file at the specified path and reads up to the first task.
+     * <p>
+     * @param filePath The path of the file containing the stored tasks information.
+     * @return A stream of the tasks in the file.
+     * @throws FileNotFoundException The specified file path does not exist.
+     * @throws IOException Error reading from the file.
+     * @throws JsonSyntaxException The file does not contain a list of tasks.
+     */
+    static TaskStream open(String filePath)
+            throws FileNotFoundException, IOException, JsonSyntaxException {
+        if(filePath == null) {
+            throw new FileNotFoundException("No file to read from");
+        }
+        TaskStream stream = new TaskStream();
+        try {
+            if (BinaryTaskData.isBinary(filePath)) {
+                stream.openBinary(filePath);
+            } else {
+                stream.openJson(filePath);
+            }
+        } catch (IOException | RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+        return stream;
+    }
+
+    private void openBinary(String filePath) throws IOException {
+        binaryInput = new DataInputStream(DataFileInput.open(filePath));
+        source = binaryInput;
+        pool = BinaryTaskData.readHeader(binaryInput);
+        remainingTasks = BinaryTaskData.readTaskCount(binaryInput);
+    }
+
+    private void openJson(String filePath) throws IOException {
+        BufferedReader fileReader = new BufferedReader(DataFileInput.openReader(filePath));
+        source = fileReader;
+        jsonReader = new JsonReader(fileReader);
+        gson = new Gson();
+        try {
+            JsonToken token = jsonReader.peek();
+            if (token == JsonToken.NULL) {
+                jsonReader.nextNull();
+                jsonReader = null;
+            } else {
+                jsonReader.beginArray();
+            }
+        } catch (EOFException e) {
+            // Empty file, which contains no tasks
+            jsonReader = null;
+        } catch (MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (binaryInput != null) {
+            return remainingTasks > 0;
+        }
+        if (jsonReader == null) {
+            return false;
+        }
+        try {
+            return jsonReader.hasNext();
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    public TaskObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (binaryInput != null) {
+            remainingTasks--;
+            try {
+                return BinaryTaskData.readTask(binaryInput, pool);
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
+        }
+        return gson.fromJson(jsonReader, TaskObject.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (source != null) {
+            source.close();
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import parser.BatchParser;
+import parser.InputParser;
+import parser.ParseResult;
+
+/**
+ * Compares the time taken to parse a bulk import of inputs one by one with InputParser, as Logic did for each
+ * input of a batch before, and with BatchParser on fork-join pools of one thread up to one thread for each
+ * processor.
+ * <p>
+ * Usage: BatchParserBenchmark [number of inputs]
+ */
+public class BatchParserBenchmark {
+
+	private static final int DEFAULT_INPUTS = 100000;
+	private static final int ROUNDS = 3;
+
+	private static final String[] INPUTS = {
+		"add homework IE2100 by 29.2.16 9am", "add meeting tomorrow 2pm to 4pm",
+		"add gym every monday 7am until 30 jun", "add report by next fri 5pm", "add call mum",
+		"edit 5 6pm start", "done 2", "delete 3", "search meeting"
+	};
+
+	public static void main(String[] args) throws Exception {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_INPUTS;
+		ArrayList<String> inputs = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++) {
+			inputs.add(INPUTS[i % INPUTS.length]);
+		}
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		long sequentialTime = Long.MAX_VALUE;
+		long[] parallelTimes = new long[processors + 1];
+		for (int threads = 1; threads <= processors; threads++) {
+			parallelTimes[threads] = Long.MAX_VALUE;
+		}
+		// first round warms up the JIT, the fastest round is reported
+		for (int round = 0; round <= ROUNDS; round++) {
+			long sequential = timeSequential(inputs);
+			if (round > 0) {
+				sequentialTime = Math.min(sequentialTime, sequential);
+			}
+			for (int threads = 1; threads <= processors; threads++) {
+				long parallel = timeParallel(inputs, threads);
+				if (round > 0) {
+					parallelTimes[threads] = Math.min(parallelTimes[threads], parallel);
+				}
+			}
+		}
+
+		System.out.println(String.format("inputs=%,d processors=%d", count, processors));
+		System.out.println(String.format("sequential: %,d ms", sequentialTime / 1000000));
+		for (int threads = 1; threads <= processors; threads++) {
+			System.out.println(String.format("%d thread(s): %,d ms (%.2fx)", threads,
+					parallelTimes[threads] / 1000000, (double) sequentialTime / parallelTimes[threads]));
+		}
+	}
+
+	private static long timeSequential(ArrayList<String> inputs) throws Exception {
+		InputParser parser = InputParser.getInstance();
+		int found = 0;
+		long startTime = System.nanoTime();
+		for (int i = 0; i < inputs.size(); i++) {
+			found += parser.parse(inputs.get(i)).getCommandType();
+		}
+		long time = System.nanoTime() - startTime;
+		consume(found);
+		return time;
+	}
+
+	private static long timeParallel(ArrayList<String> inputs, int threads) {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			int found = 0;
+			long startTime = System.nanoTime();
+			ArrayList<ParseResult> results = new BatchParser(pool).parseAll(inputs);
+			for (int i = 0; i < results.size(); i++) {
+				found += results.get(i).getCommandType();
+			}
+			long time = System.nanoTime() - startTime;
+			consume(found);
+			return time;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// keeps the results in use so that the work is not left out
+	private static void consume(int found) {
+		if (found == Integer.MIN_VALUE) {
+			System.out.println(found);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package test;
+
+import java.util.regex.Pattern;
+
+import parser.CommandDispatcher;
+import parser.Constants;
+import parser.Parser;
+
+/**
+ * Compares the time taken to identify the command keyword of inputs like those in ParserTest by checking
+ * each keyword expression in turn, compiling it for every check as Parser did before, and by matching them
+ * all at once with CommandDispatcher. The time taken to parse the inputs fully with Parser is also reported.
+ * <p>
+ * Usage: ParserBenchmark [passes over the inputs per round]
+ */
+public class ParserBenchmark {
+
+	private static final int DEFAULT_PASSES = 2000;
+	private static final int ROUNDS = 5;
+
+	private static final String[] INPUTS = {
+		"add homework by 14.29pm", "add homework IE2100 by 29.2.16 9am", "add meeting tomorrow 2pm to 4pm",
+		"add gym every monday 7am until 30 jun", "edit 5 6pm start", "update all 2 title report",
+		"delete 3", "delete all 4", "done 2", "undone 2", "undo", "redo", "search meeting", "view",
+		"find tomorrow", "help add", "save data/tasks.txt", "load backup", "meeting notes"
+	};
+
+	// keyword expressions in the order Parser checked them before
+	private static final String[] KEYWORD_REGEXES = {
+		Constants.REGEX_PARSER_EXIT, Constants.REGEX_PARSER_HELP, Constants.REGEX_PARSER_UNDO,
+		Constants.REGEX_PARSER_REDO, Constants.REGEX_PARSER_EDIT, Constants.REGEX_PARSER_SAVE,
+		Constants.REGEX_PARSER_DELETE, Constants.REGEX_PARSER_ADD, Constants.REGEX_PARSER_DONE,
+		Constants.REGEX_PARSER_NOTDONE, Constants.REGEX_PARSER_SEARCH, Constants.REGEX_PARSER_LOAD
+	};
+
+	public static void main(String[] args) throws Exception {
+		int passes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PASSES;
+		long chainTime = Long.MAX_VALUE;
+		long dispatchTime = Long.MAX_VALUE;
+		long parseTime = Long.MAX_VALUE;
+		// first round warms up the JIT, the fastest round is reported
+		for (int round = 0; round <= ROUNDS; round++) {
+			long chain = timeChain(passes);
+			long dispatch = timeDispatch(passes);
+			long parse = timeParse(passes);
+			if (round > 0) {
+				chainTime = Math.min(chainTime, chain);
+				dispatchTime = Math.min(dispatchTime, dispatch);
+				parseTime = Math.min(parseTime, parse);
+			}
+		}
+		int inputs = passes * INPUTS.length;
+		System.out.println(String.format("inputs=%,d chain=%,d ns/op dispatcher=%,d ns/op parse=%,d ns/op",
+				inputs, chainTime / inputs, dispatchTime / inputs, parseTime / inputs));
+	}
+
+	private static long timeChain(int passes) {
+		int found = 0;
+		long startTime = System.nanoTime();
+		for (int pass = 0; pass < passes; pass++) {
+			for (int i = 0; i < INPUTS.length; i++) {
+				found += findKeyword(INPUTS[i]);
+			}
+		}
+		long time = System.nanoTime() - startTime;
+		consume(found);
+		return time;
+	}
+
+	private static int findKeyword(String command) {
+		for (int i = 0; i < KEYWORD_REGEXES.length; i++) {
+			if (i == 2 ? command.matches(KEYWORD_REGEXES[i])
+					: Pattern.compile(KEYWORD_REGEXES[i]).matcher(command).find()) {
+				return i;
+			}
+		}
+		return KEYWORD_REGEXES.length;
+	}
+
+	private static long timeDispatch(int passes) {
+		int found = 0;
+		long startTime = System.nanoTime();
+		for (int pass = 0; pass < passes; pass++) {
+			for (int i = 0; i < INPUTS.length; i++) {
+				found += CommandDispatcher.dispatch(INPUTS[i]).getVerb().ordinal();
+			}
+		}
+		long time = System.nanoTime() - startTime;
+		consume(found);
+		return time;
+	}
+
+	private static long timeParse(int passes) throws Exception {
+		int found = 0;
+		long startTime = System.nanoTime();
+		for (int pass = 0; pass < passes; pass++) {
+			for (int i = 0; i < INPUTS.length; i++) {
+				found += new Parser(INPUTS[i], i + 1).run().getCommandType();
+			}
+		}
+		long time = System.nanoTime() - startTime;
+		consume(found);
+		return time;
+	}
+
+	// keeps the results in use so that the work is not left out
+	private static void consume(int found) {
+		if (found == Integer.MIN_VALUE) {
+			System.out.println(found);
+		}
+	}
+}
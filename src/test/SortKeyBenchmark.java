@@ -0,0 +1,83 @@
+package test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+
+import common.TaskObject;
+import logic.sort.Sort;
+
+/**
+ * Compares the time taken to sort a shuffled task list by comparing the fields of the tasks, as Sort did
+ * before, and by comparing their packed sort keys first. The sort keys are worked out before timing, as
+ * they are for a task list which has been sorted before.
+ * <p>
+ * Usage: SortKeyBenchmark [number of tasks] [rounds]
+ */
+public class SortKeyBenchmark {
+
+	private static final int DEFAULT_TASKS = 100000;
+	private static final int DEFAULT_ROUNDS = 5;
+	private static final String[] STATUSES = { "overdue", "incomplete", "completed" };
+
+	private static final Comparator<TaskObject> FIELD_ORDER = new Comparator<TaskObject>() {
+		@Override
+		public int compare(final TaskObject o1, final TaskObject o2) {
+			return Sort.compareFields(o1, o2);
+		}
+	};
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+		ArrayList<TaskObject> taskList = createTaskList(size);
+		Collections.sort(taskList, Sort.TASK_ORDER);
+
+		long fieldTime = Long.MAX_VALUE;
+		long keyTime = Long.MAX_VALUE;
+		// first round warms up the JIT, the fastest round is reported
+		for (int round = 0; round <= rounds; round++) {
+			long field = timeSort(taskList, FIELD_ORDER, round);
+			long key = timeSort(taskList, Sort.TASK_ORDER, round);
+			if (round > 0) {
+				fieldTime = Math.min(fieldTime, field);
+				keyTime = Math.min(keyTime, key);
+			}
+		}
+		System.out.println(String.format("tasks=%,d fields=%,d us keys=%,d us", size, fieldTime / 1000,
+				keyTime / 1000));
+	}
+
+	private static ArrayList<TaskObject> createTaskList(int size) {
+		ArrayList<TaskObject> taskList = new ArrayList<TaskObject>(size);
+		Random random = new Random(size);
+		LocalDateTime base = LocalDateTime.of(2016, 1, 1, 0, 0);
+		for (int i = 1; i <= size; i++) {
+			String status = STATUSES[random.nextInt(STATUSES.length)];
+			if (i % 10 == 0) {
+				taskList.add(new TaskObject("task " + i, "floating", status, i));
+			} else {
+				// few distinct start times, so that the end times and titles also decide the order
+				LocalDateTime start = base.plusHours(random.nextInt(size / 10 + 1));
+				LocalDateTime end = start.plusMinutes(30 * (random.nextInt(4) + 1));
+				taskList.add(new TaskObject("task " + i, start, end, "event", status, i));
+			}
+		}
+		return taskList;
+	}
+
+	private static long timeSort(ArrayList<TaskObject> sortedList, Comparator<TaskObject> comparator,
+			int round) {
+		ArrayList<TaskObject> taskList = new ArrayList<TaskObject>(sortedList);
+		Collections.shuffle(taskList, new Random(round));
+		long startTime = System.nanoTime();
+		Collections.sort(taskList, comparator);
+		long time = System.nanoTime() - startTime;
+		if (!taskList.equals(sortedList)) {
+			throw new IllegalStateException("Tasks sorted in a different order");
+		}
+		return time;
+	}
+}
@@ -0,0 +1,71 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import common.TaskList;
+import common.TaskObject;
+
+/**
+ * Compares the time taken to find tasks by task ID, as every command which refers to a task does, in a
+ * TaskList and by going through a plain ArrayList. The time per lookup in a TaskList should stay the same as
+ * the list grows, while it grows with the list for a plain ArrayList.
+ * <p>
+ * Usage: TaskListBenchmark [largest number of tasks] [lookups per round]
+ */
+public class TaskListBenchmark {
+
+	private static final int DEFAULT_LARGEST_SIZE = 1000000;
+	private static final int DEFAULT_LOOKUPS = 2000;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		int largestSize = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LARGEST_SIZE;
+		int lookups = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LOOKUPS;
+		for (int size = 1000; size <= largestSize; size *= 10) {
+			runSize(size, lookups);
+		}
+	}
+
+	private static void runSize(int size, int lookups) {
+		TaskList taskList = new TaskList();
+		for (int i = 1; i <= size; i++) {
+			taskList.add(new TaskObject("task " + i, "floating", "incomplete", i));
+		}
+		ArrayList<TaskObject> plainList = new ArrayList<TaskObject>(taskList);
+		int[] taskIds = new int[lookups];
+		Random random = new Random(size);
+		for (int i = 0; i < lookups; i++) {
+			taskIds[i] = random.nextInt(size) + 1;
+		}
+
+		long indexedTime = Long.MAX_VALUE;
+		long scannedTime = Long.MAX_VALUE;
+		// first round warms up the JIT, the fastest round is reported
+		for (int round = 0; round <= ROUNDS; round++) {
+			long indexed = timeLookups(taskList, taskIds);
+			long scanned = timeLookups(plainList, taskIds);
+			if (round > 0) {
+				indexedTime = Math.min(indexedTime, indexed);
+				scannedTime = Math.min(scannedTime, scanned);
+			}
+		}
+		System.out.println(String.format("tasks=%,d indexed=%,d ns/lookup scanned=%,d ns/lookup", size,
+				indexedTime / lookups, scannedTime / lookups));
+	}
+
+	private static long timeLookups(ArrayList<TaskObject> taskList, int[] taskIds) {
+		long startTime = System.nanoTime();
+		int found = 0;
+		for (int i = 0; i < taskIds.length; i++) {
+			if (TaskList.findByTaskId(taskList, taskIds[i]) != null) {
+				found++;
+			}
+		}
+		long time = System.nanoTime() - startTime;
+		if (found != taskIds.length) {
+			throw new IllegalStateException("Missing tasks: " + (taskIds.length - found));
+		}
+		return time;
+	}
+}
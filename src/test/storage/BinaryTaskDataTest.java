@@ -0,0 +1,137 @@
+package test.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import common.Interval;
+import common.LocalDateTimePair;
+import common.TaskObject;
+import storage.BinaryTaskData;
+import storage.Constants;
+import storage.FileStorage;
+
+public class BinaryTaskDataTest {
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+    static Path convertedFilePath = Paths.get(Constants.ATF_DIRECTORY, "converted.txt");
+
+    ArrayList<TaskObject> taskList;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteInfo();
+        taskList = createTaskList();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileStorage.getInstance().setBinaryFormat(false);
+        deleteInfo();
+    }
+
+    private static void deleteInfo() throws IOException {
+        Files.deleteIfExists(dataFilePath);
+        Files.deleteIfExists(convertedFilePath);
+        Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+        FileStorage.getInstance().reloadSaveLocation();
+    }
+
+    private ArrayList<TaskObject> createTaskList() throws Exception {
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
+        taskList.add(new TaskObject("floating task", "floating", "incomplete", 1));
+        taskList.add(new TaskObject("deadline task", LocalDateTime.of(2016, 4, 15, 23, 59),
+                "deadline", "overdue", 2));
+
+        ArrayList<LocalDateTimePair> occurrences = new ArrayList<LocalDateTimePair>();
+        LocalDateTime start = LocalDateTime.of(2016, 4, 16, 15, 0);
+        for (int i = 0; i < 3; i++) {
+            occurrences.add(new LocalDateTimePair(start.plusWeeks(i), start.plusWeeks(i).plusHours(3)));
+        }
+        TaskObject recurringTask = new TaskObject("recurring event", start, start.plusHours(3),
+                "event", "incomplete", 3, true, occurrences);
+        Interval interval = new Interval("WEEKLY", 1, 3, "SA");
+        interval.setByDay(6);
+        recurringTask.setInterval(interval);
+        recurringTask.addToDeletedTaskDateTimes(new LocalDateTimePair(start.minusWeeks(1),
+                start.minusWeeks(1).plusHours(3)));
+        taskList.add(recurringTask);
+        return taskList;
+    }
+
+    private void assertSameTasks(String description, ArrayList<TaskObject> expectedTaskList,
+            ArrayList<TaskObject> actualTaskList) {
+        assertEquals(description + " size", expectedTaskList.size(), actualTaskList.size());
+        for (int i = 0; i < expectedTaskList.size(); i++) {
+            assertTrue(description + " task " + i,
+                    expectedTaskList.get(i).hasSameDetails(actualTaskList.get(i)));
+        }
+    }
+
+    /**
+     * Tests that every attribute of the tasks is kept when saved as a binary snapshot.
+     * @throws IOException
+     */
+    @Test
+    public void testBinarySaveLoad() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.setBinaryFormat(true);
+        storage.save(taskList);
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        assertSameTasks("BinarySaveLoad", taskList, actualTaskList);
+    }
+
+    /**
+     * Tests that the binary snapshot is smaller than the same tasks saved in Json.
+     * @throws IOException
+     */
+    @Test
+    public void testBinarySmallerThanJson() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.save(taskList);
+        long jsonSize = Files.size(dataFilePath);
+        storage.setBinaryFormat(true);
+        storage.save(taskList);
+        long binarySize = Files.size(dataFilePath);
+        assertTrue("Binary size " + binarySize + " Json size " + jsonSize, binarySize < jsonSize);
+    }
+
+    /**
+     * Tests that existing Json data files can still be read after switching to binary snapshots.
+     * @throws IOException
+     */
+    @Test
+    public void testJsonDetectedWhenBinary() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.save(taskList);
+        storage.setBinaryFormat(true);
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        assertSameTasks("JsonDetectedWhenBinary", taskList, actualTaskList);
+    }
+
+    /**
+     * Tests that a Json data file can be converted into a binary snapshot.
+     * @throws IOException
+     */
+    @Test
+    public void testConvertFromJson() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.save(taskList);
+        int converted = BinaryTaskData.convertFromJson(dataFilePath.toString(),
+                convertedFilePath.toString());
+        ArrayList<TaskObject> actualTaskList = storage.load(convertedFilePath.toString());
+        assertEquals("Converted", taskList.size(), converted);
+        assertSameTasks("ConvertFromJson", taskList, actualTaskList);
+    }
+
+}
@@ -0,0 +1,224 @@
+package test.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import common.TaskObject;
+import storage.Constants;
+import storage.DatabaseStorage;
+import storage.FileStorage;
+
+public class DatabaseStorageTest {
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+    static Path databasePath = Paths.get(Constants.DEFAULT_DIRECTORY,
+            Constants.FILENAME_DATA + Constants.SUFFIX_DATABASE);
+    static Path tempPath = Paths.get(databasePath.toString() + Constants.SUFFIX_TEMP);
+
+    ArrayList<TaskObject> taskList;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteInfo();
+        taskList = createTaskList();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteInfo();
+    }
+
+    private static void deleteInfo() throws IOException {
+        DatabaseStorage.getInstance().close();
+        Files.deleteIfExists(dataFilePath);
+        Files.deleteIfExists(databasePath);
+        deleteTempPath();
+        Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+        FileStorage.getInstance().reloadSaveLocation();
+    }
+
+    private static void deleteTempPath() throws IOException {
+        Files.deleteIfExists(tempPath.resolve("blocked"));
+        Files.deleteIfExists(tempPath);
+    }
+
+    private ArrayList<TaskObject> createTaskList() {
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
+        taskList.add(new TaskObject("deadline", LocalDateTime.of(2016, 4, 20, 10, 0),
+                "deadline", "incomplete", 1));
+        taskList.add(new TaskObject("floating", "floating", "incomplete", 2));
+        taskList.add(new TaskObject("done deadline", LocalDateTime.of(2016, 4, 2, 10, 0),
+                "deadline", "completed", 3));
+        taskList.add(new TaskObject("event", LocalDateTime.of(2016, 5, 3, 10, 0),
+                LocalDateTime.of(2016, 5, 3, 12, 0), "event", "incomplete", 4));
+        return taskList;
+    }
+
+    private void assertSameTasks(String message, ArrayList<TaskObject> expected,
+            ArrayList<TaskObject> actual) {
+        assertEquals(message + " size", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(message + " task " + i, expected.get(i).hasSameDetails(actual.get(i)));
+        }
+    }
+
+    /**
+     * Tests that saved tasks are loaded in the same order after the database is reopened.
+     * @throws IOException
+     */
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        storage.save(taskList);
+        TaskObject firstTask = taskList.remove(0);
+        taskList.add(firstTask);
+        storage.save(taskList);
+        storage.close();
+        assertSameTasks("SaveAndLoad", taskList, storage.load());
+    }
+
+    /**
+     * Tests that saving a changed task list only appends the changed tasks to the database.
+     * @throws IOException
+     */
+    @Test
+    public void testOnlyChangesWritten() throws IOException {
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        storage.save(taskList);
+        long initialSize = Files.size(databasePath);
+        storage.save(taskList);
+        assertEquals("Unchanged save written", initialSize, Files.size(databasePath));
+
+        taskList.get(1).setTitle("renamed floating");
+        taskList.remove(2);
+        storage.save(taskList);
+        long changeSize = Files.size(databasePath) - initialSize;
+        assertTrue("Whole task list written", changeSize < initialSize / 2);
+        storage.close();
+        assertSameTasks("OnlyChangesWritten", taskList, storage.load());
+    }
+
+    /**
+     * Tests that the tasks in an existing data file are moved into a new database.
+     * @throws IOException
+     */
+    @Test
+    public void testMigrationFromDataFile() throws IOException {
+        FileStorage.getInstance().save(taskList);
+        assertEquals("Database created", false, Files.exists(databasePath));
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        assertSameTasks("Migration", taskList, storage.load());
+        assertTrue("Database not created", Files.exists(databasePath));
+    }
+
+    /**
+     * Tests that a database left by an interrupted migration is replaced by a complete one.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testInterruptedMigrationRestarted() throws IOException, InterruptedException {
+        FileStorage.getInstance().save(taskList);
+        FileStorage.getInstance().flush();
+        Files.write(tempPath, new byte[] { 'A', 'T', 'F', 'D', 1, 1, 0, 0 });
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        assertSameTasks("InterruptedMigration", taskList, storage.load());
+        assertEquals("Temporary database kept", false, Files.exists(tempPath));
+        storage.close();
+        assertSameTasks("InterruptedMigrationReopened", taskList, storage.load());
+    }
+
+    /**
+     * Tests that tasks sharing a taskId are all stored, as they are in the data file.
+     * @throws IOException
+     */
+    @Test
+    public void testRepeatedTaskIdsStored() throws IOException {
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        taskList.add(new TaskObject("repeated floating", "floating", "incomplete", 2));
+        storage.save(taskList);
+        storage.close();
+        assertSameTasks("RepeatedTaskIds", taskList, storage.load());
+
+        taskList.get(4).setTitle("renamed repeated floating");
+        storage.save(taskList);
+        taskList.remove(1);
+        storage.save(taskList);
+        storage.close();
+        assertSameTasks("RepeatedTaskIdsChanged", taskList, storage.load());
+    }
+
+    /**
+     * Tests that the database can still be used after a compaction fails to be written.
+     * @throws IOException
+     */
+    @Test
+    public void testFailedCompactionReopened() throws IOException {
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        storage.save(taskList);
+        // The new file cannot be written while a directory is in its place
+        Files.createDirectories(tempPath.resolve("blocked"));
+        boolean isFailed = false;
+        for (int i = 0; i < Constants.DATABASE_COMPACTION_THRESHOLD && !isFailed; i++) {
+            taskList.get(0).setTitle("title " + i);
+            try {
+                storage.save(taskList);
+            } catch (IOException e) {
+                isFailed = true;
+            }
+        }
+        assertTrue("Compaction not attempted", isFailed);
+        deleteTempPath();
+        taskList.get(1).setTitle("renamed floating");
+        storage.save(taskList);
+        storage.close();
+        assertSameTasks("FailedCompaction", taskList, storage.load());
+    }
+
+    /**
+     * Tests that an incomplete record at the end of the database is ignored.
+     * @throws IOException
+     */
+    @Test
+    public void testIncompleteRecordIgnored() throws IOException {
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        storage.save(taskList);
+        storage.close();
+        long size = Files.size(databasePath);
+        Files.write(databasePath, new byte[] { 1, 0, 0, 0, 9, 0, 0, 1 },
+                StandardOpenOption.APPEND);
+        assertSameTasks("IncompleteRecord", taskList, storage.load());
+        assertEquals("Incomplete record kept", size, Files.size(databasePath));
+    }
+
+    /**
+     * Tests that unused records are dropped once they outnumber the stored tasks.
+     * @throws IOException
+     */
+    @Test
+    public void testDatabaseCompacted() throws IOException {
+        DatabaseStorage storage = DatabaseStorage.getInstance();
+        storage.save(taskList);
+        long initialSize = Files.size(databasePath);
+        for (int i = 0; i < Constants.DATABASE_COMPACTION_THRESHOLD; i++) {
+            taskList.get(0).setTitle("title " + i);
+            storage.save(taskList);
+        }
+        assertTrue("Database not compacted", Files.size(databasePath) < initialSize * 2);
+        storage.close();
+        assertSameTasks("DatabaseCompacted", taskList, storage.load());
+    }
+
+}
@@ -29,7 +29,7 @@ public class FilePathTest extends storage.FilePath {
         Path path2 = Paths.get(".", "bin" , "save");
         Files.deleteIfExists(path);
         Files.deleteIfExists(path2);
-        
+        invalidateCachedPath();
     }
     
     
@@ -110,6 +110,43 @@ public class FilePathTest extends storage.FilePath {
         assertEquals( "Change Directory to bin" , expectedPath.toString() , getPath() );
     }
         
+    /**
+     * Test case to check that the cached path follows changes made through the change
+     * directory command immediately.
+     * @throws IOException
+     */
+    @Test
+    public void testCachedPathChangeDirectory() throws IOException {
+        String saveDir = Paths.get(".").toAbsolutePath().normalize().toString();
+        changePreferedDirectory(saveDir);
+        assertEquals("Cached path", Paths.get(saveDir, DATA_FILE_NAME).toString(), getCachedPath());
+        Path path = Paths.get(saveDir, "bin");
+        changePreferedDirectory(path.toString());
+        assertEquals("Cached path after change", Paths.get(saveDir, "bin", DATA_FILE_NAME).toString(), 
+                getCachedPath());
+    }
+
+    /**
+     * Test case to check that the cached path follows changes made to the settings file
+     * by other programs, once the change has been observed.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testCachedPathExternalChange() throws IOException, InterruptedException {
+        String saveDir = Paths.get(".").toAbsolutePath().normalize().toString();
+        writeSaveDir(saveDir);
+        assertEquals("Cached path", Paths.get(saveDir, DATA_FILE_NAME).toString(), getCachedPath());
+        String expectedFilePath = Paths.get(saveDir, "bin", DATA_FILE_NAME).toString();
+        writeSaveDir(Paths.get(saveDir, "bin").toString());
+        String actualFilePath = getCachedPath();
+        for (int i = 0; i < 100 && !expectedFilePath.equals(actualFilePath); i++) {
+            Thread.sleep(50);
+            actualFilePath = getCachedPath();
+        }
+        assertEquals("Cached path after external change", expectedFilePath, actualFilePath);
+    }
+
     private void writeSaveDir(String directory) throws IOException {
         FileWriter fileWriter = new FileWriter(Constants.FILEPATH_SAVEINFO.toString() , false);
         PrintWriter printWriter = new PrintWriter(fileWriter);
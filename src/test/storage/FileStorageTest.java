@@ -3,6 +3,7 @@
 package test.storage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
@@ -24,6 +25,7 @@ import com.google.gson.JsonSyntaxException;
 
 import common.TaskObject;
 import storage.Constants;
+import storage.Durability;
 import storage.FileStorage;
 import storage.IStorage;
 import test.AssertHelper;
@@ -69,6 +71,7 @@ public class FileStorageTest {
         Files.deleteIfExists(moveFilePath);
         Files.deleteIfExists(copyFilePath2);
         Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+        FileStorage.getInstance().reloadSaveLocation();
     }
 
     /**
@@ -152,6 +155,220 @@ public class FileStorageTest {
         AssertHelper.assertTaskListEquals("CreateCopyLoadFrom" , taskList1 , actualTaskList);
     }
 
+    /**
+     * Tests that saves made while saves are deferred are not written, and that the task list
+     * passed when they are resumed is written once the outermost deferral is resumed.
+     * @throws IOException
+     */
+    @Test
+    public void testDeferredSaves() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.save(taskList1);
+        storage.deferSaves();
+        storage.deferSaves();
+        storage.save(taskList2);
+        assertEquals("Inner resume saved", false, storage.resumeSaves(taskList2));
+        AssertHelper.assertTaskListEquals("DeferredSaves" , taskList1 , storage.load());
+        assertEquals("Outer resume saved", true, storage.resumeSaves(taskList2));
+        AssertHelper.assertTaskListEquals("DeferredSaves" , taskList2 , storage.load());
+
+        storage.deferSaves();
+        assertEquals("Resume without saves saved", false, storage.resumeSaves(taskList1));
+        AssertHelper.assertTaskListEquals("DeferredSaves" , taskList2 , storage.load());
+    }
+
+    /**
+     * Tests that tasks saved in write-behind mode are written to disk once flushed, and that 
+     * only the latest of several saves made in quick succession is kept.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testWriteBehindSaveLoad() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.setWriteBehind(true);
+        try {
+            storage.save(taskList1);
+            storage.save(taskList2);
+            storage.flush();
+            ArrayList<TaskObject> actualTaskList = storage.load();
+            AssertHelper.assertTaskListEquals("WriteBehindSaveLoad" , taskList2 , actualTaskList);
+            assertEquals("Write error", null, storage.pollWriteError());
+        } finally {
+            storage.setWriteBehind(false);
+        }
+    }
+
+    /**
+     * Tests that the task list saved in write-behind mode is copied when it is written, so
+     * that changes made to it while holding the task list lock are written, and that a flush
+     * made while holding the lock writes the list itself instead of waiting for the writer.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testWriteBehindCopiesOnWrite() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.setWriteBehind(true);
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>(taskList1);
+        try {
+            synchronized (storage.getTaskListLock()) {
+                storage.save(taskList);
+                taskList.remove(0);
+                storage.flush();
+            }
+            ArrayList<TaskObject> actualTaskList = storage.load();
+            AssertHelper.assertTaskListEquals("WriteBehindCopiesOnWrite" , taskList , actualTaskList);
+            assertEquals("Write error", null, storage.pollWriteError());
+        } finally {
+            storage.setWriteBehind(false);
+        }
+    }
+
+    /**
+     * Tests that a copy taken by the writer thread which is still waiting to be written when a
+     * flush writes a later save is dropped, instead of replacing the later save on disk.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testWriteBehindOlderCopyDropped() throws IOException, InterruptedException {
+        final FileStorage storage = FileStorage.getInstance();
+        storage.setWriteBehind(true);
+        final Exception[] flushError = new Exception[1];
+        Thread flushThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    synchronized (storage.getTaskListLock()) {
+                        storage.save(taskList2);
+                        storage.flush();
+                    }
+                } catch (Exception e) {
+                    flushError[0] = e;
+                }
+            }
+        });
+        try {
+            // Writes wait while the storage is locked, after the writer has copied taskList1
+            synchronized (storage) {
+                storage.save(taskList1);
+                Thread.sleep(Constants.WRITE_BEHIND_DELAY_MS * 4);
+                flushThread.start();
+                Thread.sleep(Constants.WRITE_BEHIND_DELAY_MS * 2);
+            }
+            flushThread.join();
+            storage.flush();
+            assertEquals("Flush error", null, flushError[0]);
+            ArrayList<TaskObject> actualTaskList = storage.load();
+            AssertHelper.assertTaskListEquals("WriteBehindOlderCopyDropped" , taskList2 , 
+                    actualTaskList);
+            assertEquals("Write error", null, storage.pollWriteError());
+        } finally {
+            storage.setWriteBehind(false);
+        }
+    }
+
+    /**
+     * Tests that the backup file is created by the first save, is not rewritten by every
+     * save after it, and holds the latest tasks after an explicit backup.
+     * @throws IOException
+     */
+    @Test
+    public void testBackupRateLimited() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        Files.deleteIfExists(Constants.FILEPATH_BACKUP_DATA);
+        storage.save(taskList1);
+        storage.save(taskList2);
+        ArrayList<TaskObject> actualBackupBefore = storage.loadBackup();
+        storage.backup();
+        ArrayList<TaskObject> actualBackupAfter = storage.loadBackup();
+        AssertHelper.assertTaskListEquals("BackupBefore" , taskList1 , actualBackupBefore);
+        AssertHelper.assertTaskListEquals("BackupAfter" , taskList2 , actualBackupAfter);
+    }
+
+    /**
+     * Tests that saves forced onto the disk with each durability level can be read back, and 
+     * that no temporary file is left beside the data file.
+     * @throws IOException
+     */
+    @Test
+    public void testDurabilityLevels() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        Path tempFilePath = Paths.get(defaultFilePath.toString() + Constants.SUFFIX_TEMP);
+        try {
+            for (Durability durability : Durability.values()) {
+                storage.setDurability(durability, 10);
+                storage.save(taskList1);
+                storage.save(taskList2);
+                storage.sync();
+                ArrayList<TaskObject> actualTaskList = storage.load();
+                AssertHelper.assertTaskListEquals("Durability " + durability, taskList2, 
+                        actualTaskList);
+                assertEquals("Temp file " + durability, false, Files.exists(tempFilePath));
+            }
+        } finally {
+            storage.setDurability(Durability.ON_EXIT);
+        }
+    }
+
+    /**
+     * Tests that the temporary file written by a save is deleted when it cannot replace the
+     * data file, whether the save is written at once or in write-behind mode.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testFailedSaveLeavesNoTempFile() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        Path tempFilePath = Paths.get(defaultFilePath.toString() + Constants.SUFFIX_TEMP);
+        // A directory which is not empty cannot be replaced by the data file
+        Path blockingFilePath = Paths.get(defaultFilePath.toString(), "blocking.txt");
+        Files.deleteIfExists(defaultFilePath);
+        Files.createDirectories(defaultFilePath);
+        Files.createFile(blockingFilePath);
+        boolean isSaveFailed = false;
+        try {
+            storage.save(taskList1);
+            storage.flush();
+            isSaveFailed = storage.pollWriteError() != null;
+        } catch (IOException e) {
+            isSaveFailed = true;
+        } finally {
+            Files.delete(blockingFilePath);
+            Files.delete(defaultFilePath);
+        }
+        assertEquals("Save failed", true, isSaveFailed);
+        assertEquals("Temp file", false, Files.exists(tempFilePath));
+    }
+
+    /**
+     * Tests that a data file large enough to be memory-mapped is read the same as when it is
+     * read through a stream.
+     * @throws IOException
+     */
+    @Test
+    public void testMappedLoad() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        // About 3 MB in Json, above MAPPED_READ_THRESHOLD
+        ArrayList<TaskObject> taskList = SnapshotBenchmark.createTaskList(1000);
+        storage.save(taskList);
+        try {
+            storage.setMappedRead(true);
+            ArrayList<TaskObject> actualMappedTaskList = storage.load();
+            storage.setMappedRead(false);
+            ArrayList<TaskObject> actualStreamTaskList = storage.load();
+            assertEquals("Mapped size", taskList.size(), actualMappedTaskList.size());
+            assertEquals("Stream size", taskList.size(), actualStreamTaskList.size());
+            for (int i = 0; i < taskList.size(); i++) {
+                assertTrue("Mapped task " + i, taskList.get(i).hasSameDetails(actualMappedTaskList.get(i)));
+                assertTrue("Stream task " + i, taskList.get(i).hasSameDetails(actualStreamTaskList.get(i)));
+            }
+        } finally {
+            storage.setMappedRead(true);
+        }
+    }
+
     @Test (expected = InvalidPathException.class)
     public void testLoadFrom() throws InvalidPathException, JsonSyntaxException, FileNotFoundException, IOException {
         IStorage storage = FileStorage.getInstance();
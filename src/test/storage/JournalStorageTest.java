@@ -0,0 +1,201 @@
+package test.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import common.TaskObject;
+import storage.Constants;
+import storage.FileStorage;
+import storage.IStorage;
+import storage.JournalStorage;
+import test.AssertHelper;
+import test.TaskGenerator;
+
+public class JournalStorageTest {
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+    static Path journalFilePath = Paths.get(Constants.DEFAULT_DIRECTORY,
+            Constants.FILENAME_DATA + Constants.SUFFIX_JOURNAL);
+
+    ArrayList<TaskObject> taskList;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteInfo();
+        TaskGenerator taskGen = new TaskGenerator();
+        taskList = new ArrayList<TaskObject>(taskGen.getTaskList(5));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteInfo();
+    }
+
+    private static void deleteInfo() throws IOException {
+        Files.deleteIfExists(dataFilePath);
+        Files.deleteIfExists(journalFilePath);
+        Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+        FileStorage.getInstance().reloadSaveLocation();
+    }
+
+    /**
+     * Tests that the first save writes a full snapshot without a journal.
+     * @throws IOException
+     */
+    @Test
+    public void testFirstSaveWritesSnapshot() throws IOException {
+        IStorage storage = JournalStorage.getInstance();
+        storage.save(taskList);
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        assertEquals("Journal created", false, Files.exists(journalFilePath));
+        AssertHelper.assertTaskListEquals("FirstSave" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that changes after the first save are appended to the journal and replayed on load.
+     * @throws IOException
+     */
+    @Test
+    public void testChangesReplayed() throws IOException {
+        IStorage storage = JournalStorage.getInstance();
+        storage.save(taskList);
+        long snapshotSize = Files.size(dataFilePath);
+
+        taskList.get(0).setStatus("completed");
+        taskList.get(1).setTitle("renamed task");
+        taskList.remove(2);
+        taskList.add(new TaskGenerator().getTask());
+        storage.save(taskList);
+
+        assertEquals("Snapshot unchanged", snapshotSize, Files.size(dataFilePath));
+        assertTrue("Journal created", Files.exists(journalFilePath));
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("ChangesReplayed" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that a change in the order of tasks is kept after the journal is replayed.
+     * @throws IOException
+     */
+    @Test
+    public void testReorderReplayed() throws IOException {
+        IStorage storage = JournalStorage.getInstance();
+        storage.save(taskList);
+        TaskObject firstTask = taskList.remove(0);
+        taskList.add(firstTask);
+        storage.save(taskList);
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("ReorderReplayed" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that a task added in the middle of the list is written as a single move instead
+     * of the order of every task.
+     * @throws IOException
+     */
+    @Test
+    public void testInsertWritesMove() throws IOException {
+        IStorage storage = JournalStorage.getInstance();
+        for (int i = 0; i < 20; i++) {
+            taskList.add(new TaskGenerator().getTask());
+        }
+        storage.save(taskList);
+        TaskObject newTask = new TaskGenerator().getTask();
+        newTask.setTaskId(1000);
+        taskList.add(3, newTask);
+        storage.save(taskList);
+
+        List<String> records = Files.readAllLines(journalFilePath);
+        assertEquals("Journal records", 3, records.size());
+        assertTrue("Move record", records.get(2).contains("\"move\""));
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("InsertWritesMove" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that a journal left beside a data file written after it, as when the program 
+     * stops while compacting, is not replayed over the data file.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testStaleJournalDropped() throws IOException, InterruptedException {
+        IStorage storage = JournalStorage.getInstance();
+        storage.save(taskList);
+        taskList.get(0).setTitle("journalled title");
+        storage.save(taskList);
+        assertTrue("Journal created", Files.exists(journalFilePath));
+
+        taskList.get(0).setTitle("compacted title");
+        taskList.remove(1);
+        FileStorage.getInstance().save(taskList);
+        FileStorage.getInstance().flush();
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("StaleJournalDropped" , taskList , actualTaskList);
+        assertEquals("Journal kept", false, Files.exists(journalFilePath));
+    }
+
+    /**
+     * Tests that saving an unchanged list does not write anything to the journal.
+     * @throws IOException
+     */
+    @Test
+    public void testUnchangedSaveSkipped() throws IOException {
+        IStorage storage = JournalStorage.getInstance();
+        storage.save(taskList);
+        storage.save(taskList);
+        assertEquals("Journal created", false, Files.exists(journalFilePath));
+    }
+
+    /**
+     * Tests that the journal is folded back into the data file once it grows too large.
+     * @throws IOException
+     */
+    @Test
+    public void testJournalCompacted() throws IOException {
+        IStorage storage = JournalStorage.getInstance();
+        storage.save(taskList);
+        for (int i = 0; i < Constants.JOURNAL_COMPACTION_THRESHOLD; i++) {
+            taskList.get(0).setTitle("title " + i);
+            storage.save(taskList);
+        }
+        assertEquals("Journal cleared", false, Files.exists(journalFilePath));
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("JournalCompacted" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that an incomplete record at the end of the journal is removed when loading,
+     * so that records saved afterwards can still be loaded.
+     * @throws IOException
+     */
+    @Test
+    public void testTornTailRecovered() throws IOException {
+        IStorage storage = JournalStorage.getInstance();
+        storage.save(taskList);
+        taskList.get(0).setTitle("first change");
+        storage.save(taskList);
+        Files.write(journalFilePath, "{\"operation\":\"upsert\",\"ta".getBytes(),
+                StandardOpenOption.APPEND);
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("TornTailIgnored" , taskList , actualTaskList);
+
+        taskList.get(1).setTitle("second change");
+        storage.save(taskList);
+        actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("TornTailRecovered" , taskList , actualTaskList);
+    }
+
+}
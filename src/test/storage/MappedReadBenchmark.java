@@ -0,0 +1,64 @@
+package test.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import common.TaskObject;
+import storage.Constants;
+import storage.FileStorage;
+
+/**
+ * Compares the time taken to load a large data file through a stream and through a memory
+ * mapping, for data files in Json and in the binary snapshot format. Run from the working
+ * directory of the program, as the data file in the default save location is overwritten.
+ * The data file is in the operating system's cache after it is saved, so the times exclude
+ * reading the file from the disk.
+ * <p>
+ * Usage: MappedReadBenchmark [number of tasks] [rounds]
+ */
+public class MappedReadBenchmark {
+
+    private static final int DEFAULT_TASKS = 20000;
+    private static final int DEFAULT_ROUNDS = 5;
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        ArrayList<TaskObject> taskList = SnapshotBenchmark.createTaskList(size);
+        FileStorage storage = FileStorage.getInstance();
+
+        runFormat(storage, taskList, false, rounds);
+        runFormat(storage, taskList, true, rounds);
+        storage.setBinaryFormat(false);
+        storage.setMappedRead(true);
+        Files.deleteIfExists(dataFilePath);
+    }
+
+    private static void runFormat(FileStorage storage, ArrayList<TaskObject> taskList,
+            boolean isBinaryFormat, int rounds) throws IOException {
+        storage.setBinaryFormat(isBinaryFormat);
+        storage.save(taskList);
+        // first round warms up the JIT and is not reported
+        for (int round = 0; round <= rounds; round++) {
+            long streamTime = timeLoad(storage, false);
+            long mappedTime = timeLoad(storage, true);
+            if (round > 0) {
+                System.out.println(String.format("%-6s size=%,d bytes stream=%d ms mapped=%d ms",
+                        isBinaryFormat ? "binary" : "json", Files.size(dataFilePath),
+                        streamTime / 1000000, mappedTime / 1000000));
+            }
+        }
+    }
+
+    private static long timeLoad(FileStorage storage, boolean isMappedRead) throws IOException {
+        storage.setMappedRead(isMappedRead);
+        long loadStart = System.nanoTime();
+        storage.load();
+        return System.nanoTime() - loadStart;
+    }
+}
@@ -0,0 +1,204 @@
+package test.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import common.TaskObject;
+import storage.Constants;
+import storage.FileStorage;
+import storage.ShardedStorage;
+
+public class ShardedStorageTest {
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+    static Path shardDirectory = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.DIRECTORY_SHARDS);
+    static Path activeShardPath = shardDirectory.resolve(Constants.FILENAME_SHARD_ACTIVE);
+    static Path aprilShardPath = shardDirectory.resolve(
+            String.format(Constants.FORMAT_SHARD_MONTH, 2016, 4));
+    static Path mayShardPath = shardDirectory.resolve(
+            String.format(Constants.FORMAT_SHARD_MONTH, 2016, 5));
+
+    ArrayList<TaskObject> taskList;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteInfo();
+        taskList = createTaskList();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteInfo();
+    }
+
+    private static void deleteInfo() throws IOException {
+        if (Files.isDirectory(shardDirectory)) {
+            DirectoryStream<Path> files = Files.newDirectoryStream(shardDirectory);
+            try {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            } finally {
+                files.close();
+            }
+            Files.delete(shardDirectory);
+        }
+        Files.deleteIfExists(dataFilePath);
+        Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+        FileStorage.getInstance().reloadSaveLocation();
+    }
+
+    // Sorted as the task list is sorted by Logic, with tasks which are not completed first
+    private ArrayList<TaskObject> createTaskList() {
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>();
+        taskList.add(new TaskObject("active deadline", LocalDateTime.of(2016, 4, 20, 10, 0),
+                "deadline", "incomplete", 1));
+        taskList.add(new TaskObject("active floating", "floating", "incomplete", 2));
+        taskList.add(new TaskObject("april deadline", LocalDateTime.of(2016, 4, 2, 10, 0),
+                "deadline", "completed", 3));
+        taskList.add(new TaskObject("may event", LocalDateTime.of(2016, 5, 3, 10, 0),
+                LocalDateTime.of(2016, 5, 3, 12, 0), "event", "completed", 4));
+        taskList.add(new TaskObject("completed floating", "floating", "completed", 5));
+        return taskList;
+    }
+
+    private void assertSameTasks(String description, ArrayList<TaskObject> expectedTaskList,
+            ArrayList<TaskObject> actualTaskList) {
+        assertEquals(description + " size", expectedTaskList.size(), actualTaskList.size());
+        for (int i = 0; i < expectedTaskList.size(); i++) {
+            assertTrue(description + " task " + i,
+                    expectedTaskList.get(i).hasSameDetails(actualTaskList.get(i)));
+        }
+    }
+
+    /**
+     * Tests that tasks are split into shards and loaded back in the same order.
+     * @throws IOException
+     */
+    @Test
+    public void testSaveLoad() throws IOException {
+        ShardedStorage storage = ShardedStorage.getInstance();
+        storage.save(taskList);
+        assertTrue("Active shard", Files.exists(activeShardPath));
+        assertTrue("April shard", Files.exists(aprilShardPath));
+        assertTrue("May shard", Files.exists(mayShardPath));
+        assertSameTasks("SaveLoad", taskList, storage.load());
+    }
+
+    /**
+     * Tests that a change to a task which is not completed only rewrites the active shard.
+     * @throws IOException
+     */
+    @Test
+    public void testOnlyChangedShardWritten() throws IOException {
+        ShardedStorage storage = ShardedStorage.getInstance();
+        storage.save(taskList);
+        FileTime unchangedTime = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(activeShardPath, unchangedTime);
+        Files.setLastModifiedTime(aprilShardPath, unchangedTime);
+
+        taskList.get(0).setTitle("renamed deadline");
+        storage.save(taskList);
+        assertTrue("Active shard written",
+                !unchangedTime.equals(Files.getLastModifiedTime(activeShardPath)));
+        assertEquals("April shard written", unchangedTime, Files.getLastModifiedTime(aprilShardPath));
+        assertSameTasks("OnlyChangedShardWritten", taskList, storage.load());
+    }
+
+    /**
+     * Tests that the shard of a month is deleted once it holds no tasks.
+     * @throws IOException
+     */
+    @Test
+    public void testEmptyShardDeleted() throws IOException {
+        ShardedStorage storage = ShardedStorage.getInstance();
+        storage.save(taskList);
+        taskList.remove(3);
+        storage.save(taskList);
+        assertEquals("May shard", false, Files.exists(mayShardPath));
+        assertSameTasks("EmptyShardDeleted", taskList, storage.load());
+    }
+
+    /**
+     * Tests that tasks in an existing data file are loaded and moved into shards by a save.
+     * @throws IOException
+     */
+    @Test
+    public void testLoadFromDataFile() throws IOException {
+        FileStorage.getInstance().save(taskList);
+        ShardedStorage storage = ShardedStorage.getInstance();
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        assertSameTasks("DataFile", taskList, actualTaskList);
+        storage.save(actualTaskList);
+        assertTrue("Active shard", Files.exists(activeShardPath));
+        assertSameTasks("Sharded", taskList, storage.load());
+    }
+
+    // Saves the task list, leaving as pending shards the active and April shards of the task list
+    // with its first task completed, as written by a save which moves the task into the April shard
+    private ArrayList<TaskObject> savePendingMove(ShardedStorage storage) throws IOException {
+        ArrayList<TaskObject> movedTaskList = createTaskList();
+        movedTaskList.get(0).setStatus("completed");
+        storage.save(movedTaskList);
+        ArrayList<TaskObject> savedTaskList = storage.load();
+        byte[] movedActiveShard = Files.readAllBytes(activeShardPath);
+        byte[] movedAprilShard = Files.readAllBytes(aprilShardPath);
+        storage.save(taskList);
+        Files.write(getPendingPath(activeShardPath), movedActiveShard);
+        Files.write(getPendingPath(aprilShardPath), movedAprilShard);
+        return savedTaskList;
+    }
+
+    private static Path getPendingPath(Path shardPath) {
+        return Paths.get(shardPath.toString() + Constants.SUFFIX_SHARD_PENDING);
+    }
+
+    /**
+     * Tests that a save which moves a task between shards, and which stopped after writing its
+     * commit file, is completed by the next load.
+     * @throws IOException
+     */
+    @Test
+    public void testInterruptedMoveCompleted() throws IOException {
+        ShardedStorage storage = ShardedStorage.getInstance();
+        ArrayList<TaskObject> movedTaskList = savePendingMove(storage);
+        Path commitPath = shardDirectory.resolve(Constants.FILENAME_SHARD_COMMIT);
+        String commit = "{\"written\":[\"" + Constants.FILENAME_SHARD_ACTIVE + "\",\"" 
+                + aprilShardPath.getFileName() + "\"],\"deleted\":[]}";
+        Files.write(commitPath, commit.getBytes());
+
+        assertSameTasks("InterruptedMoveCompleted", movedTaskList, storage.load());
+        assertEquals("Commit file", false, Files.exists(commitPath));
+        assertEquals("Pending active shard", false, Files.exists(getPendingPath(activeShardPath)));
+        assertEquals("Pending April shard", false, Files.exists(getPendingPath(aprilShardPath)));
+    }
+
+    /**
+     * Tests that the shards written by a save which stopped before writing its commit file are
+     * discarded, leaving the shards of the save before it.
+     * @throws IOException
+     */
+    @Test
+    public void testUncommittedMoveDiscarded() throws IOException {
+        ShardedStorage storage = ShardedStorage.getInstance();
+        savePendingMove(storage);
+
+        assertSameTasks("UncommittedMoveDiscarded", taskList, storage.load());
+        assertEquals("Pending active shard", false, Files.exists(getPendingPath(activeShardPath)));
+        assertEquals("Pending April shard", false, Files.exists(getPendingPath(aprilShardPath)));
+    }
+
+}
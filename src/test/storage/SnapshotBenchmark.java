@@ -0,0 +1,96 @@
+package test.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import common.LocalDateTimePair;
+import common.TaskObject;
+import storage.Constants;
+import storage.FileStorage;
+
+/**
+ * Compares the time taken to save and load a large task list in Json and in the binary
+ * snapshot format. Run from the working directory of the program, as the data file in the
+ * default save location is overwritten.
+ * <p>
+ * Usage: SnapshotBenchmark [number of tasks] [rounds]
+ */
+public class SnapshotBenchmark {
+
+    private static final int DEFAULT_TASKS = 100000;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int OCCURRENCES_PER_RECURRING_TASK = 10;
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASKS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        ArrayList<TaskObject> taskList = createTaskList(size);
+        FileStorage storage = FileStorage.getInstance();
+
+        // first round of each format warms up the JIT and is not reported
+        for (int round = 0; round <= rounds; round++) {
+            runFormat(storage, taskList, false, round > 0);
+            runFormat(storage, taskList, true, round > 0);
+        }
+        storage.setBinaryFormat(false);
+        Files.deleteIfExists(dataFilePath);
+    }
+
+    private static void runFormat(FileStorage storage, ArrayList<TaskObject> taskList,
+            boolean isBinaryFormat, boolean isReported) throws IOException {
+        storage.setBinaryFormat(isBinaryFormat);
+        long saveStart = System.nanoTime();
+        storage.save(taskList);
+        long saveTime = System.nanoTime() - saveStart;
+
+        long loadStart = System.nanoTime();
+        ArrayList<TaskObject> loadedTaskList = storage.load();
+        long loadTime = System.nanoTime() - loadStart;
+
+        if (isReported) {
+            System.out.println(String.format("%-6s tasks=%d size=%,d bytes save=%d ms load=%d ms",
+                    isBinaryFormat ? "binary" : "json", loadedTaskList.size(),
+                    Files.size(dataFilePath), saveTime / 1000000, loadTime / 1000000));
+        }
+    }
+
+    static ArrayList<TaskObject> createTaskList(int size) {
+        ArrayList<TaskObject> taskList = new ArrayList<TaskObject>(size);
+        LocalDateTime start = LocalDateTime.of(2016, 4, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime taskStart = start.plusHours(i);
+            TaskObject task;
+            switch (i % 4) {
+                case 0 :
+                    task = new TaskObject("floating task " + i, "floating", "incomplete", i);
+                    break;
+                case 1 :
+                    task = new TaskObject("deadline task " + i, taskStart, "deadline", "overdue", i);
+                    task.addToTaskDateTimes();
+                    break;
+                case 2 :
+                    task = new TaskObject("event task " + i, taskStart, taskStart.plusHours(2),
+                            "event", "completed", i);
+                    task.addToTaskDateTimes();
+                    break;
+                default :
+                    ArrayList<LocalDateTimePair> occurrences = new ArrayList<LocalDateTimePair>();
+                    for (int j = 0; j < OCCURRENCES_PER_RECURRING_TASK; j++) {
+                        occurrences.add(new LocalDateTimePair(taskStart.plusWeeks(j),
+                                taskStart.plusWeeks(j).plusHours(1)));
+                    }
+                    task = new TaskObject("recurring task " + i, taskStart, taskStart.plusHours(1),
+                            "event", "incomplete", i, true, occurrences);
+                    break;
+            }
+            taskList.add(task);
+        }
+        return taskList;
+    }
+}
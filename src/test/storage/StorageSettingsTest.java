@@ -0,0 +1,204 @@
+package test.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import common.TaskObject;
+import storage.Constants;
+import storage.DatabaseStorage;
+import storage.FileStorage;
+import test.AssertHelper;
+import test.TaskGenerator;
+
+public class StorageSettingsTest {
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+    static Path shardDirectory = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.DIRECTORY_SHARDS);
+    static Path databasePath = Paths.get(Constants.DEFAULT_DIRECTORY,
+            Constants.FILENAME_DATA + Constants.SUFFIX_DATABASE);
+    static byte[] binaryHeader = { 'A', 'T', 'F', 'B' };
+
+    ArrayList<TaskObject> taskList;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteInfo();
+        TaskGenerator taskGen = new TaskGenerator();
+        taskList = new ArrayList<TaskObject>(taskGen.getTaskList(5));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteInfo();
+        FileStorage.getInstance().applySettings();
+    }
+
+    private static void deleteInfo() throws IOException {
+        if (Files.isDirectory(shardDirectory)) {
+            DirectoryStream<Path> files = Files.newDirectoryStream(shardDirectory);
+            try {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            } finally {
+                files.close();
+            }
+            Files.delete(shardDirectory);
+        }
+        DatabaseStorage.getInstance().close();
+        Files.deleteIfExists(databasePath);
+        Files.deleteIfExists(dataFilePath);
+        Files.deleteIfExists(Constants.FILEPATH_STORAGE_SETTINGS);
+        Files.deleteIfExists(Constants.FILEPATH_STORAGE_BACKEND);
+        Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+        FileStorage.getInstance().reloadSaveLocation();
+    }
+
+    private static void writeSettings(String... lines) throws IOException {
+        Files.createDirectories(Constants.FILEPATH_STORAGE_SETTINGS.getParent());
+        Files.write(Constants.FILEPATH_STORAGE_SETTINGS, Arrays.asList(lines));
+    }
+
+    private static boolean isBinaryDataFile() throws IOException {
+        byte[] data = Files.readAllBytes(dataFilePath);
+        return data.length >= binaryHeader.length 
+                && Arrays.equals(binaryHeader, Arrays.copyOf(data, binaryHeader.length));
+    }
+
+    /**
+     * Tests that the data file is saved in the format given by the settings file.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testBinaryFormatSetting() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        writeSettings(Constants.SETTING_FORMAT + "=" + Constants.SETTING_FORMAT_BINARY);
+        storage.applySettings();
+        storage.save(taskList);
+        storage.flush();
+        assertEquals("Binary data file", true, isBinaryDataFile());
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("BinaryFormatSetting" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that settings are reset to their defaults once the settings file is removed.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testDefaultWithoutSettings() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        writeSettings(Constants.SETTING_FORMAT + "=" + Constants.SETTING_FORMAT_BINARY);
+        storage.applySettings();
+        Files.delete(Constants.FILEPATH_STORAGE_SETTINGS);
+        storage.applySettings();
+        storage.save(taskList);
+        storage.flush();
+        assertEquals("Binary data file", false, isBinaryDataFile());
+    }
+
+    /**
+     * Tests that saves are written with the durability level given by the settings file.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testDurabilitySetting() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        writeSettings(Constants.SETTING_DURABILITY + "=every_save", 
+                Constants.SETTING_SYNC_INTERVAL + "=10");
+        storage.applySettings();
+        storage.save(taskList);
+        storage.flush();
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("DurabilitySetting" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that a setting with a value which is not recognised keeps its default.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testInvalidSettingIgnored() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        writeSettings(Constants.SETTING_FORMAT + "=xml", Constants.SETTING_DURABILITY + "=always",
+                Constants.SETTING_SYNC_INTERVAL + "=-1");
+        storage.applySettings();
+        storage.save(taskList);
+        storage.flush();
+        assertEquals("Binary data file", false, isBinaryDataFile());
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("InvalidSettingIgnored" , taskList , actualTaskList);
+    }
+
+    /**
+     * Tests that tasks are moved to the backend given by the settings file, and back to the 
+     * data file once the setting is removed.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testBackendSetting() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.save(taskList);
+        storage.flush();
+        writeSettings(Constants.SETTING_BACKEND + "=" + Constants.SETTING_BACKEND_SHARDED);
+        storage.applySettings();
+        assertEquals("Shards written", true, Files.isDirectory(shardDirectory));
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("BackendSettingMoved" , taskList , actualTaskList);
+
+        ArrayList<TaskObject> newTaskList = new ArrayList<TaskObject>(taskList);
+        newTaskList.remove(0);
+        storage.save(newTaskList);
+        storage.flush();
+        actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("BackendSettingSaved" , newTaskList , actualTaskList);
+
+        Files.delete(Constants.FILEPATH_STORAGE_SETTINGS);
+        storage.applySettings();
+        actualTaskList = FileStorage.getInstance().load(dataFilePath.toString());
+        AssertHelper.assertTaskListEquals("BackendSettingReverted" , newTaskList , 
+                actualTaskList);
+    }
+
+    /**
+     * Tests that tasks are saved in the database once it is the backend given by the settings
+     * file.
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testDatabaseBackendSetting() throws IOException, InterruptedException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.save(taskList);
+        storage.flush();
+        writeSettings(Constants.SETTING_BACKEND + "=" + Constants.SETTING_BACKEND_DATABASE);
+        storage.applySettings();
+        assertEquals("Database written", true, Files.exists(databasePath));
+
+        ArrayList<TaskObject> newTaskList = new ArrayList<TaskObject>(taskList);
+        newTaskList.remove(0);
+        storage.save(newTaskList);
+        storage.flush();
+        DatabaseStorage.getInstance().close();
+        ArrayList<TaskObject> actualTaskList = storage.load();
+        AssertHelper.assertTaskListEquals("DatabaseBackendSetting" , newTaskList , 
+                actualTaskList);
+    }
+
+}
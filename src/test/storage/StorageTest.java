@@ -12,6 +12,11 @@ import org.junit.runners.Suite.SuiteClasses;
  * 
  * FilePathTest contains unit tests covering the methods of the filePath class.
  * FileStorageTests consist of test cases covering the APIs of the storage component.
+ * JournalStorageTest covers saving changes to the journal and replaying them.
+ * BinaryTaskDataTest covers saving and loading tasks in the binary snapshot format.
+ * TaskStreamTest covers reading the tasks in a data file one at a time.
+ * ShardedStorageTest covers splitting the tasks into shards and only rewriting the changed shards.
+ * DatabaseStorageTest covers writing only the changed tasks to the task database.
  * 
  * Refer to the respective source files for descriptions of the individual test cases.
  * 
@@ -23,6 +28,11 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
     FilePathTest.class,
     FileStorageTest.class,
+    JournalStorageTest.class,
+    BinaryTaskDataTest.class,
+    TaskStreamTest.class,
+    ShardedStorageTest.class,
+    DatabaseStorageTest.class,
 })
 
 public class StorageTest {}
@@ -0,0 +1,158 @@
+package test.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonSyntaxException;
+
+import common.TaskCategory;
+import common.TaskObject;
+import common.TaskStatus;
+import storage.Constants;
+import storage.FileStorage;
+import storage.TaskLoadListener;
+import storage.TaskStream;
+import test.TaskGenerator;
+
+public class TaskStreamTest {
+
+    static Path dataFilePath = Paths.get(Constants.DEFAULT_DIRECTORY, Constants.FILENAME_DATA);
+
+    ArrayList<TaskObject> taskList;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteInfo();
+        taskList = new TaskGenerator().getTaskList(10);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileStorage.getInstance().setBinaryFormat(false);
+        deleteInfo();
+    }
+
+    private static void deleteInfo() throws IOException {
+        Files.deleteIfExists(dataFilePath);
+        Files.deleteIfExists(Constants.FILEPATH_DEFAULT_SAVE);
+        FileStorage.getInstance().reloadSaveLocation();
+    }
+
+    private ArrayList<TaskObject> loadWithListener() throws IOException {
+        final ArrayList<TaskObject> loadedTaskList = new ArrayList<TaskObject>();
+        int loaded = FileStorage.getInstance().load(new TaskLoadListener() {
+            @Override
+            public void taskLoaded(TaskObject task) {
+                loadedTaskList.add(task);
+            }
+        });
+        assertEquals("Loaded count", loadedTaskList.size(), loaded);
+        return loadedTaskList;
+    }
+
+    private void assertSameTasks(String description, ArrayList<TaskObject> expectedTaskList,
+            ArrayList<TaskObject> actualTaskList) {
+        assertEquals(description + " size", expectedTaskList.size(), actualTaskList.size());
+        for (int i = 0; i < expectedTaskList.size(); i++) {
+            assertTrue(description + " task " + i,
+                    expectedTaskList.get(i).hasSameDetails(actualTaskList.get(i)));
+        }
+    }
+
+    /**
+     * Tests that tasks saved in Json are passed to the listener in the order they are stored.
+     * @throws IOException
+     */
+    @Test
+    public void testListenerJson() throws IOException {
+        FileStorage.getInstance().save(taskList);
+        assertSameTasks("ListenerJson", taskList, loadWithListener());
+    }
+
+    /**
+     * Tests that tasks saved as a binary snapshot are passed to the listener.
+     * @throws IOException
+     */
+    @Test
+    public void testListenerBinary() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.setBinaryFormat(true);
+        storage.save(taskList);
+        assertSameTasks("ListenerBinary", taskList, loadWithListener());
+    }
+
+    /**
+     * Tests that tasks can be read one at a time with the stream, and that an empty list 
+     * and an empty file contain no tasks.
+     * @throws IOException
+     */
+    @Test
+    public void testStream() throws IOException {
+        FileStorage storage = FileStorage.getInstance();
+        storage.save(taskList);
+        ArrayList<TaskObject> actualTaskList = new ArrayList<TaskObject>();
+        try (TaskStream taskStream = storage.openTasks(dataFilePath.toString())) {
+            while (taskStream.hasNext()) {
+                actualTaskList.add(taskStream.next());
+            }
+        }
+        assertSameTasks("Stream", taskList, actualTaskList);
+
+        storage.save(new ArrayList<TaskObject>());
+        try (TaskStream taskStream = storage.openTasks(dataFilePath.toString())) {
+            assertFalse("Empty list", taskStream.hasNext());
+        }
+
+        Files.write(dataFilePath, new byte[0]);
+        try (TaskStream taskStream = storage.openTasks(dataFilePath.toString())) {
+            assertFalse("Empty file", taskStream.hasNext());
+        }
+    }
+
+    /**
+     * Tests that a file which does not contain a list of tasks is rejected.
+     * @throws IOException
+     */
+    @Test(expected = JsonSyntaxException.class)
+    public void testMalformedFile() throws IOException {
+        FileStorage.getInstance().save(taskList);
+        Files.write(dataFilePath, "{not a task list".getBytes());
+        loadWithListener();
+    }
+
+    /**
+     * Tests that status and category are saved as the same names in Json as when they were strings,
+     * and that statuses which are not known names are kept.
+     * @throws IOException
+     */
+    @Test
+    public void testStatusAndCategoryNames() throws IOException {
+        ArrayList<TaskObject> namedTaskList = new ArrayList<TaskObject>();
+        namedTaskList.add(new TaskObject("named", "event", "overdue", 1));
+        namedTaskList.add(new TaskObject("other", "floating", "undone", 2));
+        FileStorage.getInstance().save(namedTaskList);
+
+        String json = new String(Files.readAllBytes(dataFilePath)).replaceAll("\\s", "");
+        assertTrue("Status name", json.contains("\"status\":\"overdue\""));
+        assertTrue("Category name", json.contains("\"category\":\"event\""));
+
+        ArrayList<TaskObject> loadedTaskList = loadWithListener();
+        assertSameTasks("Named", namedTaskList, loadedTaskList);
+        assertEquals(TaskStatus.OVERDUE, loadedTaskList.get(0).getStatusType());
+        assertEquals(TaskCategory.EVENT, loadedTaskList.get(0).getCategoryType());
+        assertEquals(TaskStatus.OTHER, loadedTaskList.get(1).getStatusType());
+        assertEquals("undone", loadedTaskList.get(1).getStatus());
+    }
+
+}